@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package fr.systerel.editor.tests;
+
+import static fr.systerel.editor.tests.TestUtils.copyTestFileInProject;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eventb.core.IAction;
+import org.eventb.core.IAxiom;
+import org.eventb.core.IEvent;
+import org.eventb.core.IGuard;
+import org.eventb.core.ILabeledElement;
+import org.eventb.core.IPredicateElement;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.emf.api.itf.ILElement;
+
+import fr.systerel.editor.internal.documentModel.DocumentMapper;
+import fr.systerel.editor.internal.documentModel.Interval;
+import fr.systerel.editor.internal.editors.RodinEditor;
+import fr.systerel.editor.internal.presentation.updaters.EditorResynchronizer;
+import fr.systerel.editor.tests.commandTests.OperationTestHelper;
+
+/**
+ * Tests that regenerating the text of changed elements only gives the same
+ * document and intervals as regenerating the whole text.
+ */
+public class IncrementalResynchronizationTests {
+
+	private static final String contextName = "context2.buc";
+	private static final String machineName = "machine2.bum";
+
+	private static IRodinProject rodinProject;
+	private static IProject project;
+
+	private RodinEditor editor;
+	private OperationTestHelper helper;
+
+	@BeforeClass
+	public static void beforeClass() throws Exception {
+		rodinProject = TestUtils.createRodinProject("P");
+		project = rodinProject.getProject();
+		copyTestFileInProject(contextName, project);
+		copyTestFileInProject(machineName, project);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (helper != null) {
+			helper.closeRodinEditor();
+			helper = null;
+		}
+	}
+
+	@AfterClass
+	public static void afterClass() throws CoreException {
+		TestUtils.deleteProject("P");
+	}
+
+	private void openEditor(String fileName) throws Exception {
+		final IFile testFile = project.getFile(fileName);
+		helper = new OperationTestHelper(testFile);
+		editor = helper.getEditor();
+	}
+
+	private List<ILElement> getAxioms() {
+		final ILElement root = editor.getResource().getRoot();
+		return root.getChildrenOfType(IAxiom.ELEMENT_TYPE);
+	}
+
+	private ILElement getEvent(int index) {
+		final ILElement root = editor.getResource().getRoot();
+		return root.getChildrenOfType(IEvent.ELEMENT_TYPE).get(index);
+	}
+
+	private String getText() {
+		return editor.getDocumentProvider().getDocument().get();
+	}
+
+	private String getIntervals() {
+		final DocumentMapper mapper = editor.getDocumentMapper();
+		final StringBuilder sb = new StringBuilder();
+		for (Interval interval : mapper.getIntervals()) {
+			sb.append(interval.getOffset());
+			sb.append(",");
+			sb.append(interval.getLength());
+			sb.append(" ");
+			sb.append(interval.getContentType().getName());
+			sb.append(" ");
+			sb.append(interval.getRodinElement());
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Resynchronizes the editor incrementally, then completely, and checks
+	 * that both give the same results.
+	 */
+	private void assertIncrementalResynchronization(
+			Collection<ILElement> changed) {
+		new EditorResynchronizer(editor, null, null, changed)
+				.resynchronizeForTests();
+		final String incrementalText = getText();
+		final String incrementalIntervals = getIntervals();
+
+		new EditorResynchronizer(editor, null).resynchronizeForTests();
+		assertEquals(getText(), incrementalText);
+		assertEquals(getIntervals(), incrementalIntervals);
+	}
+
+	/**
+	 * Ensures that the text of an element whose attribute has changed is
+	 * regenerated.
+	 */
+	@Test
+	public void testAttributeChanged() throws Exception {
+		openEditor(contextName);
+		final ILElement axm2 = getAxioms().get(1);
+		((IPredicateElement) axm2.getElement()).setPredicateString(
+				"1 = 1 ∨ 2 = 2", null);
+		assertIncrementalResynchronization(asList(axm2));
+	}
+
+	/**
+	 * Ensures that the text of several changed elements is regenerated, and
+	 * that the text following them is kept.
+	 */
+	@Test
+	public void testSeveralElementsChanged() throws Exception {
+		openEditor(contextName);
+		final List<ILElement> axioms = getAxioms();
+		final ILElement axm1 = axioms.get(0);
+		final ILElement axm4 = axioms.get(3);
+		((ILabeledElement) axm1.getElement()).setLabel("a", null);
+		((IPredicateElement) axm4.getElement()).setPredicateString(
+				"⊤ ∧ ⊤ ∧ ⊤", null);
+		assertIncrementalResynchronization(asList(axm1, axm4));
+	}
+
+	/**
+	 * Ensures that the text of a changed guard is regenerated within its
+	 * event.
+	 */
+	@Test
+	public void testGuardChanged() throws Exception {
+		openEditor(machineName);
+		final ILElement grd1 = getEvent(1).getChildrenOfType(
+				IGuard.ELEMENT_TYPE).get(0);
+		((IPredicateElement) grd1.getElement()).setPredicateString(
+				"x < 10 ∧ x ≠ 5", null);
+		assertIncrementalResynchronization(asList(grd1));
+	}
+
+	/**
+	 * Ensures that adding the first guard of an event regenerates the text of
+	 * the event, together with the header introducing its guards.
+	 */
+	@Test
+	public void testFirstGuardAdded() throws Exception {
+		openEditor(machineName);
+		final ILElement reset = getEvent(2);
+		final IEvent event = (IEvent) reset.getElement();
+		final IAction act1 = event.getActions()[0];
+		final IGuard grd1 = event.createChild(IGuard.ELEMENT_TYPE, act1, null);
+		grd1.setLabel("grd1", null);
+		grd1.setPredicateString("x > 0", null);
+		assertIncrementalResynchronization(asList(reset));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,12 +7,14 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - regenerated the text of single elements
  *******************************************************************************/
 package fr.systerel.editor.internal.documentModel;
 
 import static fr.systerel.editor.internal.actions.operations.RodinOperationUtils.isReadOnly;
 import static fr.systerel.editor.internal.documentModel.DocumentElementUtils.getChildrenTypes;
 import static fr.systerel.editor.internal.editors.EditPos.isValidStartEnd;
+import static fr.systerel.editor.internal.editors.EditPos.newPosOffLen;
 import static fr.systerel.editor.internal.editors.EditPos.newPosStartEnd;
 
 import java.util.ArrayList;
@@ -20,8 +22,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
@@ -63,6 +67,9 @@ public class DocumentMapper {
 	private OrderedEditorItemMap editorElements = new OrderedEditorItemMap();
 	private Map<IInternalElementType<?>, EditorSection> sections = new LinkedHashMap<IInternalElementType<?>, EditorSection>();
 
+	// true while the text of an element is being replaced in the document
+	private boolean replacingElementText;
+
 	/**
 	 * Adds an interval to the document mapper at the end of the list. The
 	 * intervals must be added in the order they appear in the text!
@@ -384,6 +391,126 @@ public class DocumentMapper {
 		updateElementFolding();
 	}
 
+	/**
+	 * Replaces the text of the given element and of its descendants with the
+	 * given text, which has been generated with the given regions. The
+	 * intervals and editor items of these elements are replaced by new ones
+	 * built from the regions, whose offsets are relative to the beginning of
+	 * the element text. The intervals, editor items and sections of the rest
+	 * of the document are kept, only their offsets are patched.
+	 * <p>
+	 * The element must be displayed in the document.
+	 * </p>
+	 * 
+	 * @param element
+	 *            the element whose text has been regenerated
+	 * @param regions
+	 *            the regions of the regenerated text
+	 * @param text
+	 *            the regenerated text
+	 */
+	public void replaceElementText(ILElement element,
+			List<EditorRegion> regions, String text) {
+		final EditorElement item = findEditorElement(element);
+		final int first = intervals.indexOf(item.getIntervals().get(0));
+		int end = first + 1;
+		while (end < intervals.size()
+				&& isSelfOrDescendant(intervals.get(end).getElement(), element)) {
+			end++;
+		}
+		final int start = intervals.get(first).getOffset();
+		final int oldEnd;
+		if (end < intervals.size()) {
+			oldEnd = intervals.get(end).getOffset();
+		} else {
+			oldEnd = document.getLength();
+		}
+		final int delta = text.length() - (oldEnd - start);
+
+		final List<Interval> oldIntervals = intervals.subList(first, end);
+		final Set<ILElement> oldElements = new LinkedHashSet<ILElement>();
+		for (Interval interval : oldIntervals) {
+			oldElements.add(interval.getElement());
+		}
+		final int itemIndex = editorElements.removeAll(oldElements);
+		oldIntervals.clear();
+		adaptIntervalOffsetsFrom(first, delta);
+
+		final List<Interval> newIntervals = new ArrayList<Interval>();
+		final Map<ILElement, EditorElement> newItems = new LinkedHashMap<ILElement, EditorElement>();
+		for (EditorRegion r : regions) {
+			final ILElement regionElement = r.getElement();
+			final EditPos pos = r.getPos();
+			final Interval inter = new Interval(newPosOffLen(
+					start + pos.getOffset(), pos.getLength()), regionElement,
+					regionElement.getElementType(), r.getType(),
+					r.getManipulation(), r.getMultiline(),
+					r.isAddWhitespace());
+			inter.setAlignement(r.getAlignement());
+			newIntervals.add(inter);
+			EditorElement el = newItems.get(regionElement);
+			if (el == null) {
+				el = new EditorElement(regionElement);
+				newItems.put(regionElement, el);
+			}
+			el.addInterval(inter);
+		}
+		intervals.addAll(first, newIntervals);
+		editorElements.addAll(itemIndex, newItems.values());
+		adaptSections(start, delta);
+		updateElementFolding();
+
+		replacingElementText = true;
+		try {
+			documentProvider.replaceTextInDocument(start, oldEnd - start, text);
+		} finally {
+			replacingElementText = false;
+		}
+	}
+
+	private static boolean isSelfOrDescendant(ILElement element,
+			ILElement ancestor) {
+		for (ILElement e = element; e != null; e = e.getParent()) {
+			if (e == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adapts the folding positions of sections to a change of the given length
+	 * at the given offset.
+	 */
+	private void adaptSections(int offset, int delta) {
+		if (delta == 0) {
+			return;
+		}
+		for (EditorSection section : sections.values()) {
+			final Position pos = section.getFoldingPosition();
+			if (pos == null) {
+				continue;
+			}
+			if (pos.getOffset() > offset) {
+				section.setFoldingPosition(pos.getOffset() + delta,
+						pos.getLength());
+			} else if (pos.getOffset() + pos.getLength() >= offset) {
+				section.setFoldingPosition(pos.getOffset(), pos.getLength()
+						+ delta);
+			}
+		}
+	}
+
+	/**
+	 * Tells whether the text of an element is being replaced in the document,
+	 * in which case partitions shall be recomputed from intervals.
+	 * 
+	 * @return <code>true</code> iff the text of an element is being replaced
+	 */
+	public boolean isReplacingElementText() {
+		return replacingElementText;
+	}
+
 	private void updateElementFolding() {
 		for (EditorElement el : editorElements.getItems()) {
 			final EditPos pos = getItemPosition(el);
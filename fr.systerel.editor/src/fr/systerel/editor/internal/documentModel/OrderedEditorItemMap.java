@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,14 +7,17 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - replaced items of regenerated elements in place
  *******************************************************************************/
 package fr.systerel.editor.internal.documentModel;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinElement;
@@ -113,6 +116,52 @@ public class OrderedEditorItemMap {
 		return el;
 	}
 
+	/**
+	 * Removes the editor items associated with the given elements.
+	 * 
+	 * @param elements
+	 *            the elements whose items shall be removed
+	 * @return the index in the order of the first removed item, or the number
+	 *         of items if none was removed
+	 */
+	public int removeAll(Collection<ILElement> elements) {
+		final Set<FSPAIR<ILElement, IRodinElement>> keys = new HashSet<FSPAIR<ILElement, IRodinElement>>();
+		for (ILElement element : elements) {
+			final FSPAIR<ILElement, IRodinElement> key = FSPAIR.getKey(element);
+			if (items.remove(key) != null) {
+				keys.add(key);
+			}
+		}
+		int first = order.size();
+		for (int i = 0; i < order.size(); i++) {
+			if (keys.contains(order.get(i))) {
+				first = i;
+				break;
+			}
+		}
+		order.removeAll(keys);
+		return first;
+	}
+
+	/**
+	 * Registers the given editor items at the given index in the order.
+	 * 
+	 * @param index
+	 *            the index in the order of the first item to register
+	 * @param newItems
+	 *            the items to register, in the order they appear in the text
+	 */
+	public void addAll(int index, Collection<EditorElement> newItems) {
+		final List<FSPAIR<ILElement, IRodinElement>> keys = new ArrayList<FSPAIR<ILElement, IRodinElement>>();
+		for (EditorElement item : newItems) {
+			final FSPAIR<ILElement, IRodinElement> key = FSPAIR.getKey(item
+					.getLightElement());
+			items.put(key, item);
+			keys.add(key);
+		}
+		order.addAll(index, keys);
+	}
+
 	public EditorElement get(ILElement element) {
 		return items.get(FSPAIR.getKey(element));
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,12 +7,16 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - synchronized changed elements only
  *******************************************************************************/
 package fr.systerel.editor.internal.documentModel;
 
 import static fr.systerel.editor.internal.presentation.RodinConfiguration.getContentTypeNames;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
@@ -185,6 +189,76 @@ public class RodinDocumentProvider extends AbstractDocumentProvider {
 			doSynchronize(inputRoot, monitor);
 	}
 
+	/**
+	 * Synchronizes the document with the given changed elements. Only the text
+	 * of these elements and of their descendants is regenerated, unless some
+	 * element cannot be regenerated alone (e.g. the root, an implicit element
+	 * or an element not displayed yet), in which case the whole document is
+	 * regenerated.
+	 * 
+	 * @param elements
+	 *            the elements which have changed, a <code>null</code> element
+	 *            standing for an unknown change
+	 * @param monitor
+	 *            a progress monitor, or <code>null</code>
+	 */
+	public void synchronizeElements(Collection<ILElement> elements,
+			IProgressMonitor monitor) {
+		if (inputRoot == null)
+			return;
+		final List<ILElement> toUpdate = getElementsToUpdate(elements);
+		if (toUpdate == null) {
+			doSynchronize(inputRoot, monitor);
+			return;
+		}
+		final boolean showImplicit = editor.isShowImplicitElements();
+		for (ILElement element : toUpdate) {
+			textGenerator.updateText(element, showImplicit);
+		}
+	}
+
+	/*
+	 * Returns the given elements which have no ancestor among them, or null if
+	 * some of them cannot be regenerated alone. Elements which are no longer
+	 * in the root are ignored, as their removal is notified on their parent.
+	 */
+	private List<ILElement> getElementsToUpdate(Collection<ILElement> elements) {
+		if (elements.contains(null)) {
+			return null;
+		}
+		final List<ILElement> result = new ArrayList<ILElement>();
+		for (ILElement element : elements) {
+			if (hasAncestorIn(element, elements) || !isInRoot(element)) {
+				continue;
+			}
+			if (element == inputRoot || element.isImplicit()
+					|| documentMapper.findEditorElement(element) == null) {
+				return null;
+			}
+			result.add(element);
+		}
+		return result;
+	}
+
+	private boolean isInRoot(ILElement element) {
+		for (ILElement e = element; e != null; e = e.getParent()) {
+			if (e == inputRoot) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasAncestorIn(ILElement element,
+			Collection<ILElement> elements) {
+		for (ILElement e = element.getParent(); e != null; e = e.getParent()) {
+			if (elements.contains(e)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public boolean isReadOnly(Object element) {
 		return false;
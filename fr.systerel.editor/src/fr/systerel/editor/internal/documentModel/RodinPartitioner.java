@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - recomputed partitions when element text is replaced
  *******************************************************************************/
 package fr.systerel.editor.internal.documentModel;
 
@@ -257,15 +258,16 @@ public class RodinPartitioner extends FastPartitioner {
 	}
 
 	/**
-	 * There should never be more than one partition affected.
+	 * There should never be more than one partition affected, unless the text
+	 * of an element is replaced.
 	 */
 	@Override
 	public IRegion documentChanged2(DocumentEvent event) {
 		checkInitialization();
 		Assert.isTrue(event.getDocument() == fDocument);
-		// if the document changed from the beginning, restart from scratch by
-		// initializing
-		if (event.getOffset() == 0) {
+		// if the document changed from the beginning or if the text of an
+		// element was replaced, restart from scratch by initializing
+		if (event.getOffset() == 0 || mapper.isReplacingElementText()) {
 			try {
 				final String positionCategory = getPositionCategory();
 				fDocument.removePositionCategory(positionCategory);
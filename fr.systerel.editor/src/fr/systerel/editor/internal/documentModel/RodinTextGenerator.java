@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added regeneration of single elements
  *******************************************************************************/
 package fr.systerel.editor.internal.documentModel;
 
@@ -59,6 +60,11 @@ import fr.systerel.editor.internal.presentation.RodinConfiguration.ContentType;
 /**
  * Creates the text for a given root. The intervals and editor elements are
  * built too and registered with the document mapper.
+ * <p>
+ * The text of a single element of the root, together with its descendants, can
+ * also be regenerated, in which case only the intervals and editor elements of
+ * this part of the text are replaced in the document mapper.
+ * </p>
  */
 public class RodinTextGenerator {
 
@@ -66,6 +72,8 @@ public class RodinTextGenerator {
 	private static final String WHITESPACE = " ";
 	
 	private RodinTextStream stream;
+	// true when only the text of an element is generated
+	private boolean elementOnly;
 
 	public RodinTextGenerator(DocumentMapper mapper) {
 		this.mapper = mapper;
@@ -84,11 +92,45 @@ public class RodinTextGenerator {
 	public String createText(ILElement inputRoot, boolean showImplicitElements) {
 		mapper.reinitialize();
 		stream = new RodinTextStream();
+		elementOnly = false;
 		traverseRoot(null, inputRoot, showImplicitElements);
 		mapper.processIntervals(stream.getRegions());
 		return stream.getText();
 	}
 
+	/**
+	 * Regenerates the text of the given element and of its descendants, and
+	 * replaces it in the document, together with the corresponding intervals
+	 * and editor elements.
+	 * 
+	 * @param element
+	 *            an element displayed in the document, other than the root
+	 * @param showImplicitElements
+	 *            boolean value telling whether implicit elements should be
+	 *            displayed or not
+	 */
+	public void updateText(ILElement element, boolean showImplicitElements) {
+		stream = new RodinTextStream();
+		stream.incrementIndentation(getLevel(element) - MIN_LEVEL);
+		elementOnly = true;
+		stream.appendLeftPresentationTabs(element);
+		processElement(element);
+		traverse(null, element, showImplicitElements);
+		mapper.replaceElementText(element, stream.getRegions(),
+				stream.getText());
+	}
+
+	// the indentation level at which the given element is displayed
+	private static int getLevel(ILElement element) {
+		int level = MIN_LEVEL;
+		for (ILElement e = element.getParent(); e != null; e = e.getParent()) {
+			if (e.getElementType().equals(IEvent.ELEMENT_TYPE)) {
+				level++;
+			}
+		}
+		return level;
+	}
+
 	private void traverseRoot(IProgressMonitor monitor, ILElement e,
 			boolean showImplicitElements) {
 		final IElementDesc desc = getElementDesc(e);
@@ -148,7 +190,7 @@ public class RodinTextGenerator {
 				}
 			}
 			final int length = stream.getLength() - start -1;
-			if (start != -1 && stream.getLevel() <= MIN_LEVEL) {
+			if (start != -1 && stream.getLevel() <= MIN_LEVEL && !elementOnly) {
 				mapper.addEditorSection(childType, start, length);
 				start = -1;
 			}
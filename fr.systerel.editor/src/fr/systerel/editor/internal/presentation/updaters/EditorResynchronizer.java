@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2014 Systerel and others.
+ * Copyright (c) 2013, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,11 +7,14 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - resynchronized changed elements only
  *******************************************************************************/
 package fr.systerel.editor.internal.presentation.updaters;
 
 import static fr.systerel.editor.internal.editors.RodinEditor.DEBUG;
 
+import java.util.Collection;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.widgets.Display;
@@ -23,6 +26,10 @@ import fr.systerel.editor.internal.editors.SelectionController;
 /**
  * Abstract class defining the default algorithm to refresh the Rodin editor
  * main <code>styledText</code>.
+ * <p>
+ * When the changed elements are known, only their text is regenerated.
+ * Otherwise, the whole text is.
+ * </p>
  *
  * @author Thomas Muller
  */
@@ -31,6 +38,7 @@ public class EditorResynchronizer {
 	private final IProgressMonitor monitor;
 	protected final RodinEditor editor;
 	private final ILElement newElement;
+	private final Collection<ILElement> changedElements;
 
 	protected EditorSnapshot snapshot;
 
@@ -40,9 +48,29 @@ public class EditorResynchronizer {
 
 	public EditorResynchronizer(RodinEditor editor, IProgressMonitor monitor,
 			ILElement newElement) {
+		this(editor, monitor, newElement, null);
+	}
+
+	/**
+	 * Creates a resynchronizer which only regenerates the text of the given
+	 * changed elements, when possible.
+	 * 
+	 * @param editor
+	 *            the editor to resynchronize
+	 * @param monitor
+	 *            a progress monitor, or <code>null</code>
+	 * @param newElement
+	 *            the element to put the caret on, or <code>null</code>
+	 * @param changedElements
+	 *            the changed elements, or <code>null</code> to regenerate the
+	 *            whole text
+	 */
+	public EditorResynchronizer(RodinEditor editor, IProgressMonitor monitor,
+			ILElement newElement, Collection<ILElement> changedElements) {
 		this.editor = editor;
 		this.monitor = monitor;
 		this.newElement = newElement;
+		this.changedElements = changedElements;
 	}
 
 	/**
@@ -109,7 +137,12 @@ public class EditorResynchronizer {
 	}
 
 	protected void synchronize() {
-		editor.getDocumentProvider().synchronizeRoot(monitor);
+		if (changedElements == null) {
+			editor.getDocumentProvider().synchronizeRoot(monitor);
+		} else {
+			editor.getDocumentProvider().synchronizeElements(changedElements,
+					monitor);
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2018 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - resynchronized changed elements only
  *******************************************************************************/
 package fr.systerel.editor.internal.presentation.updaters;
 
@@ -14,11 +15,14 @@ import static org.rodinp.keyboard.ui.preferences.PreferenceConstants.RODIN_MATH_
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -42,6 +46,10 @@ import fr.systerel.editor.internal.editors.RodinEditor;
  * at the cost of having asynchronous processing that does nothing (because the
  * notification has already been processed by a previous one).
  * </p>
+ * <p>
+ * The notifications processed at once are mapped to the elements they are
+ * about, so that only the text of these elements is regenerated.
+ * </p>
  * 
  * @author "Thomas Muller"
  */
@@ -73,32 +81,63 @@ public class PresentationUpdater extends EContentAdapter implements
 			}
 
 			/*
-			 * Cases where the editor shall be completely resynchronized.
+			 * Cases where the editor shall be resynchronized.
 			 */
+			final Set<ILElement> changedElements = new LinkedHashSet<ILElement>();
+			boolean resynchronize = false;
+			ILElement newElement = null;
 			for (Notification notification : currentNotifications) {
-				final EditorResynchronizer snzr = getSynchronizer(notification);
-				if (snzr != null) {
-					snzr.resynchronize();
-					return;
+				if (!needsResynchronization(notification)) {
+					continue;
+				}
+				if (!resynchronize) {
+					resynchronize = true;
+					newElement = getNewElement(notification);
 				}
+				changedElements.add(getChangedElement(notification));
+			}
+			if (resynchronize) {
+				new EditorResynchronizer(updater.getEditor(), null, newElement,
+						changedElements).resynchronize();
 			}
-
 		}
 
-		private EditorResynchronizer getSynchronizer(Notification notification) {
-			final int eventType = notification.getEventType();
-			final RodinEditor editor = updater.getEditor();
-			switch (eventType) {
+		private static boolean needsResynchronization(Notification notification) {
+			switch (notification.getEventType()) {
 			case Notification.SET:
 			case Notification.ADD:
-				if (notification.getNewValue() instanceof ILElement) {
-					return new EditorResynchronizer(editor, null,
-							(ILElement) notification.getNewValue());
-				}
 			case Notification.MOVE:
 			case Notification.REMOVE:
 			case Notification.REMOVE_MANY:
-				return new EditorResynchronizer(editor, null);
+				return true;
+			}
+			return false;
+		}
+
+		private static ILElement getNewElement(Notification notification) {
+			switch (notification.getEventType()) {
+			case Notification.SET:
+			case Notification.ADD:
+				if (notification.getNewValue() instanceof ILElement) {
+					return (ILElement) notification.getNewValue();
+				}
+			}
+			return null;
+		}
+
+		/*
+		 * Returns the element whose text is changed by the given notification,
+		 * that is the closest element containing the notifier (the notifier
+		 * itself, or the element of a changed attribute), or null if unknown.
+		 */
+		private static ILElement getChangedElement(Notification notification) {
+			Object notifier = notification.getNotifier();
+			while (notifier instanceof EObject
+					&& !(notifier instanceof ILElement)) {
+				notifier = ((EObject) notifier).eContainer();
+			}
+			if (notifier instanceof ILElement) {
+				return (ILElement) notifier;
 			}
 			return null;
 		}
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON results of a JMH run with a baseline.
+ * <p>
+ * Usage: <code>BaselineComparator baseline.json result.json [tolerance]</code>
+ * where the tolerance is the accepted slowdown in percent (10 by default).
+ * Every benchmark present in both files is reported. The exit code is
+ * <code>1</code> if some benchmark is slower than its baseline by more than
+ * the tolerance. If the baseline file does not exist, the results are copied
+ * to it and become the new baseline.
+ * </p>
+ */
+public final class BaselineComparator {
+
+	private static final double DEFAULT_TOLERANCE = 10;
+
+	/*
+	 * The score of a benchmark, with its parameters.
+	 */
+	private static class Score {
+
+		final double value;
+		final String unit;
+		// Whether a lower score is better (time per operation)
+		final boolean lowerIsBetter;
+
+		Score(double value, String unit, boolean lowerIsBetter) {
+			this.value = value;
+			this.unit = unit;
+			this.lowerIsBetter = lowerIsBetter;
+		}
+
+		// Returns the slowdown of this score with respect to the given one
+		double slowdownFrom(Score base) {
+			final double ratio = lowerIsBetter ? value / base.value
+					: base.value / value;
+			return (ratio - 1) * 100;
+		}
+
+	}
+
+	private BaselineComparator() {
+		// Static methods only
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2 || args.length > 3) {
+			System.err.println("Usage: BaselineComparator baseline.json"
+					+ " result.json [tolerance]");
+			System.exit(2);
+		}
+		final Path baselinePath = Paths.get(args[0]);
+		final Path resultPath = Paths.get(args[1]);
+		final double tolerance = args.length == 3 ? Double
+				.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+		if (!Files.exists(baselinePath)) {
+			if (baselinePath.getParent() != null) {
+				Files.createDirectories(baselinePath.getParent());
+			}
+			Files.copy(resultPath, baselinePath,
+					StandardCopyOption.REPLACE_EXISTING);
+			System.out.println("Published new baseline " + baselinePath);
+			return;
+		}
+		final Map<String, Score> baseline = readScores(baselinePath);
+		final Map<String, Score> result = readScores(resultPath);
+		final List<String> regressions = new ArrayList<String>();
+		for (Map.Entry<String, Score> entry : result.entrySet()) {
+			final String name = entry.getKey();
+			final Score score = entry.getValue();
+			final Score base = baseline.get(name);
+			if (base == null) {
+				System.out.printf("%-70s %12.3f %s (new)%n", name,
+						score.value, score.unit);
+				continue;
+			}
+			final double slowdown = score.slowdownFrom(base);
+			System.out.printf("%-70s %12.3f %s %+7.1f%%%n", name,
+					score.value, score.unit, slowdown);
+			if (slowdown > tolerance) {
+				regressions.add(name);
+			}
+		}
+		if (!regressions.isEmpty()) {
+			System.out.println("Performance regressions (more than "
+					+ tolerance + "% slower than baseline):");
+			for (String name : regressions) {
+				System.out.println("  " + name);
+			}
+			System.exit(1);
+		}
+	}
+
+	/*
+	 * Reads the scores of a JMH result file, keyed by the name of the benchmark
+	 * followed by its parameters.
+	 */
+	private static Map<String, Score> readScores(Path path) throws IOException {
+		final String json = new String(Files.readAllBytes(path),
+				StandardCharsets.UTF_8);
+		final Map<String, Score> result = new TreeMap<String, Score>();
+		for (Object item : (List<?>) new JsonParser(json).parse()) {
+			final Map<?, ?> run = (Map<?, ?>) item;
+			final StringBuilder name = new StringBuilder();
+			name.append(run.get("benchmark"));
+			final Map<?, ?> params = (Map<?, ?>) run.get("params");
+			if (params != null) {
+				name.append(new TreeMap<Object, Object>(params));
+			}
+			final Map<?, ?> metric = (Map<?, ?>) run.get("primaryMetric");
+			final boolean lowerIsBetter = !"thrpt".equals(run.get("mode"));
+			result.put(name.toString(), new Score(
+					((Number) metric.get("score")).doubleValue(),
+					(String) metric.get("scoreUnit"), lowerIsBetter));
+		}
+		return result;
+	}
+
+	/*
+	 * Minimal parser for the JSON files written by JMH. Objects are returned as
+	 * maps, arrays as lists, numbers as doubles.
+	 */
+	private static class JsonParser {
+
+		private final String text;
+		private int pos;
+
+		JsonParser(String text) {
+			this.text = text;
+		}
+
+		Object parse() {
+			final Object result = parseValue();
+			skipSpaces();
+			if (pos != text.length()) {
+				throw error("end of input expected");
+			}
+			return result;
+		}
+
+		private Object parseValue() {
+			skipSpaces();
+			if (pos >= text.length()) {
+				throw error("value expected");
+			}
+			final char c = text.charAt(pos);
+			switch (c) {
+			case '{':
+				return parseObject();
+			case '[':
+				return parseArray();
+			case '"':
+				return parseString();
+			case 't':
+				expect("true");
+				return Boolean.TRUE;
+			case 'f':
+				expect("false");
+				return Boolean.FALSE;
+			case 'n':
+				expect("null");
+				return null;
+			default:
+				return parseNumber();
+			}
+		}
+
+		private Map<String, Object> parseObject() {
+			final Map<String, Object> result = new LinkedHashMap<String, Object>();
+			expect("{");
+			skipSpaces();
+			if (peek('}')) {
+				++pos;
+				return result;
+			}
+			do {
+				skipSpaces();
+				final String key = parseString();
+				skipSpaces();
+				expect(":");
+				result.put(key, parseValue());
+				skipSpaces();
+			} while (consume(','));
+			expect("}");
+			return result;
+		}
+
+		private List<Object> parseArray() {
+			final List<Object> result = new ArrayList<Object>();
+			expect("[");
+			skipSpaces();
+			if (peek(']')) {
+				++pos;
+				return result;
+			}
+			do {
+				result.add(parseValue());
+				skipSpaces();
+			} while (consume(','));
+			expect("]");
+			return result;
+		}
+
+		private String parseString() {
+			expect("\"");
+			final StringBuilder sb = new StringBuilder();
+			while (pos < text.length()) {
+				final char c = text.charAt(pos++);
+				if (c == '"') {
+					return sb.toString();
+				}
+				if (c != '\\') {
+					sb.append(c);
+					continue;
+				}
+				final char escaped = text.charAt(pos++);
+				switch (escaped) {
+				case 'n':
+					sb.append('\n');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 'b':
+					sb.append('\b');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'u':
+					sb.append((char) Integer.parseInt(
+							text.substring(pos, pos + 4), 16));
+					pos += 4;
+					break;
+				default:
+					sb.append(escaped);
+				}
+			}
+			throw error("unterminated string");
+		}
+
+		private Object parseNumber() {
+			final int start = pos;
+			while (pos < text.length()
+					&& "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+				++pos;
+			}
+			final String image = text.substring(start, pos);
+			if (image.isEmpty()) {
+				throw error("unexpected character");
+			}
+			return Double.valueOf(image);
+		}
+
+		private void skipSpaces() {
+			while (pos < text.length()
+					&& Character.isWhitespace(text.charAt(pos))) {
+				++pos;
+			}
+		}
+
+		private boolean peek(char c) {
+			return pos < text.length() && text.charAt(pos) == c;
+		}
+
+		private boolean consume(char c) {
+			if (peek(c)) {
+				++pos;
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(String token) {
+			if (!text.startsWith(token, pos)) {
+				throw error("'" + token + "' expected");
+			}
+			pos += token.length();
+		}
+
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException("Invalid JMH result at offset "
+					+ pos + ": " + message);
+		}
+
+	}
+
+}
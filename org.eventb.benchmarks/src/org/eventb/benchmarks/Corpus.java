@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.IParseResult;
+import org.eventb.core.ast.ITypeCheckResult;
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.core.ast.Predicate;
+
+/**
+ * Formulas shared by the benchmarks. They are representative of the
+ * hypotheses found in the proof obligations of industrial models: membership
+ * in relations and functions, set operators, quantifiers and arithmetic,
+ * together with some predicates that the automatic rewriters simplify.
+ * <p>
+ * The type of every identifier can be inferred from the predicates that
+ * precede it in {@link #PREDICATES}.
+ * </p>
+ */
+public final class Corpus {
+
+	public static final FormulaFactory FACTORY = FormulaFactory.getDefault();
+
+	public static final String[] PREDICATES = {
+			"x ∈ ℕ",
+			"y ∈ ℕ ∧ y ≤ x + 1",
+			"A ⊆ ℕ ∧ B ⊆ ℕ",
+			"f ∈ ℕ → ℕ",
+			"g ∈ ℕ ⇸ BOOL",
+			"r ∈ A ↔ B",
+			"∀z·z ∈ A ⇒ f(z) ≥ 0",
+			"dom(g) ⊆ A ∪ B",
+			"card(A) ≤ 10",
+			"r∼[B] ⊆ A",
+			"∃w·w ∈ B ∧ w = x ∗ 2",
+			"f[A] ∩ B = ∅",
+			"x ↦ y ∈ f ∨ f(x) = y",
+			"(λn·n ∈ ℕ ∣ n + 1)(x) = y",
+			"x ∈ {n·n ∈ A ∣ n ∗ n}",
+			"{x, y} ⊆ A ∖ (B ∩ A)",
+			"r ∈ A ⤖ B ⇒ ran(r) = B",
+			"∀a,b·a ↦ b ∈ r ⇒ a ∈ A ∧ b ∈ B",
+			"union({A, B}) = A ∪ B",
+			"f;(r;r∼) ⊆ ℕ × A",
+			// Predicates simplified by the automatic rewriters
+			"⊤ ⇒ x = 1",
+			"¬¬(y > 0)",
+			"A ∪ ∅ = A",
+			"x + 0 = y ∗ 1",
+			"bool(x = y) = TRUE",
+			"x ∈ {x} ∧ y ∈ {y, x}",
+			"A ∩ A ⊆ B ∪ B",
+			"dom(f) = ℕ ∧ ran(∅ ⦂ ℙ(ℤ×ℤ)) = ∅",
+	};
+
+	/**
+	 * Proof obligations given to newPP, as hypotheses followed by a goal. Some
+	 * of them are not provable, so that newPP explores its search space until
+	 * the step limit. As for {@link #PREDICATES}, types can be inferred in
+	 * order.
+	 */
+	public static final String[][] SEQUENTS = {
+			{ "A ⊆ ℤ ∧ B ⊆ ℤ", "f ∈ A → B", "x ∈ A", "f(x) ∈ B" },
+			{ "A ⊆ ℤ", "A ⊆ B", "B ⊆ C", "x ∈ A", "x ∈ C" },
+			{ "A ⊆ ℤ ∧ B ⊆ BOOL", "r ∈ A ↔ B", "r∼ ∈ B → A", "dom(r∼) = B" },
+			{ "S ⊆ ℤ", "∀x·x ∈ S ⇒ x ∈ T", "∀x·x ∈ T ⇒ x ∈ U", "S ⊆ U" },
+			{ "A ⊆ ℤ ∧ B ⊆ ℤ ∧ C ⊆ ℤ", "f ∈ A ⤖ B", "g ∈ B ⤖ C", "f;g ∈ A ⤖ C" },
+			{ "S ⊆ ℤ", "a ∈ S", "b ∈ S", "a ≠ b", "S ⊆ T", "{a, b} ⊆ T" },
+			{ "p ⊆ ℤ × ℤ", "∀x,y·x ↦ y ∈ p ⇒ y ↦ x ∈ p", "p = p∼" },
+			{ "A ⊆ ℤ", "A ∩ B = ∅", "x ∈ A", "y ∈ B", "x = y" },
+	};
+
+	private Corpus() {
+		// Static methods only
+	}
+
+	/**
+	 * Parses and type-checks the given predicates in order, inferring the type
+	 * environment along the way.
+	 *
+	 * @param images
+	 *            the strings to parse
+	 * @param typeEnv
+	 *            the type environment to use and complete
+	 * @return the type-checked predicates
+	 */
+	public static List<Predicate> parse(String[] images,
+			ITypeEnvironmentBuilder typeEnv) {
+		final List<Predicate> result = new ArrayList<Predicate>(images.length);
+		for (String image : images) {
+			result.add(parse(image, typeEnv));
+		}
+		return result;
+	}
+
+	/**
+	 * Parses and type-checks the given predicate, then adds the inferred types
+	 * to the given type environment.
+	 *
+	 * @param image
+	 *            the string to parse
+	 * @param typeEnv
+	 *            the type environment to use and complete
+	 * @return the type-checked predicate
+	 */
+	public static Predicate parse(String image, ITypeEnvironmentBuilder typeEnv) {
+		final IParseResult parseResult = FACTORY.parsePredicate(image, null);
+		if (parseResult.hasProblem()) {
+			throw new IllegalArgumentException("Cannot parse " + image + ": "
+					+ parseResult.getProblems());
+		}
+		final Predicate pred = parseResult.getParsedPredicate();
+		final ITypeCheckResult tcResult = pred.typeCheck(typeEnv);
+		if (tcResult.hasProblem()) {
+			throw new IllegalArgumentException("Cannot type-check " + image
+					+ ": " + tcResult.getProblems());
+		}
+		typeEnv.addAll(tcResult.getInferredEnvironment());
+		return pred;
+	}
+
+	/**
+	 * Returns the predicates of the corpus, type-checked.
+	 *
+	 * @return the type-checked predicates of the corpus
+	 */
+	public static List<Predicate> predicates() {
+		return parse(PREDICATES, FACTORY.makeTypeEnvironment());
+	}
+
+}
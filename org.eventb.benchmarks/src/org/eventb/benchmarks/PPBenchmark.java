@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.benchmarks;
+
+import static org.eventb.benchmarks.Corpus.FACTORY;
+import static org.eventb.benchmarks.Corpus.SEQUENTS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.seqprover.transformer.ISimpleSequent;
+import org.eventb.core.seqprover.transformer.SimpleSequents;
+import org.eventb.pp.PPProof;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of newPP on the sequents of the corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PPBenchmark {
+
+	/**
+	 * Maximal number of steps of each proof.
+	 */
+	@Param({ "2000" })
+	public long maxSteps;
+
+	private List<ISimpleSequent> sequents;
+
+	@Setup
+	public void setUp() {
+		sequents = new ArrayList<ISimpleSequent>(SEQUENTS.length);
+		for (String[] images : SEQUENTS) {
+			final ITypeEnvironmentBuilder typeEnv = FACTORY
+					.makeTypeEnvironment();
+			final List<Predicate> preds = Corpus.parse(images, typeEnv);
+			final int last = preds.size() - 1;
+			sequents.add(SimpleSequents.make(preds.subList(0, last),
+					preds.get(last), FACTORY));
+		}
+	}
+
+	/**
+	 * Translates and loads the sequents, without proving them.
+	 */
+	@Benchmark
+	public void load(Blackhole blackhole) {
+		for (ISimpleSequent sequent : sequents) {
+			final PPProof proof = new PPProof(sequent, null);
+			proof.translate();
+			proof.load();
+			blackhole.consume(proof.getClauses());
+		}
+	}
+
+	/**
+	 * Runs the whole proof of the sequents.
+	 */
+	@Benchmark
+	public void prove(Blackhole blackhole) {
+		for (ISimpleSequent sequent : sequents) {
+			final PPProof proof = new PPProof(sequent, null);
+			proof.translate();
+			proof.load();
+			proof.prove(maxSteps);
+			blackhole.consume(proof.getResult());
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.benchmarks;
+
+import static org.eventb.benchmarks.Corpus.FACTORY;
+import static org.eventb.benchmarks.Corpus.PREDICATES;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eventb.core.ast.ISealedTypeEnvironment;
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.core.ast.Predicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of parsing and type-checking with the formula factory.
+ * <p>
+ * Benchmark {@link #readPredicateSet(Blackhole)} mimics the work done by
+ * <code>POLoader.readPO()</code> on a predicate set, that is parsing and
+ * type-checking its predicates within a known type environment, then
+ * computing their well-definedness predicates. The loader itself needs a
+ * Rodin workspace and cannot be run by JMH.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	private ISealedTypeEnvironment typeEnv;
+
+	@Setup
+	public void setUp() {
+		final ITypeEnvironmentBuilder builder = FACTORY.makeTypeEnvironment();
+		Corpus.parse(PREDICATES, builder);
+		typeEnv = builder.makeSnapshot();
+	}
+
+	/**
+	 * Parses and type-checks the corpus, inferring all types.
+	 */
+	@Benchmark
+	public List<Predicate> parseAndTypeCheck() {
+		return Corpus.parse(PREDICATES, FACTORY.makeTypeEnvironment());
+	}
+
+	/**
+	 * Parses the corpus only.
+	 */
+	@Benchmark
+	public void parse(Blackhole blackhole) {
+		for (String image : PREDICATES) {
+			blackhole.consume(FACTORY.parsePredicate(image, null));
+		}
+	}
+
+	/**
+	 * Parses and type-checks the corpus in a known type environment, then
+	 * computes the WD predicates, as done when loading a PO.
+	 */
+	@Benchmark
+	public void readPredicateSet(Blackhole blackhole) {
+		final ITypeEnvironmentBuilder builder = typeEnv.makeBuilder();
+		for (String image : PREDICATES) {
+			final Predicate pred = Corpus.parse(image, builder);
+			blackhole.consume(pred.getWDPredicate());
+		}
+	}
+
+}
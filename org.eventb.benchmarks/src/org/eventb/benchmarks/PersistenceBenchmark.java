@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rodinp.internal.core.DOMProvider;
+import org.rodinp.internal.core.StreamingDOMLoader;
+import org.rodinp.internal.core.StreamingDOMSerializer;
+import org.w3c.dom.Document;
+
+/**
+ * Benchmarks of loading and saving large PO files, as done by the
+ * <code>Buffer</code> class of the Rodin database. A buffer needs a Rodin
+ * workspace, which cannot be run by JMH. Therefore, these benchmarks directly
+ * use the XML loader and serializer of buffers on a generated PO file whose
+ * structure is the same as the files produced by the PO generator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+
+	/**
+	 * Number of proof obligations in the PO file.
+	 */
+	@Param({ "1000" })
+	public int size;
+
+	private DocumentBuilder builder;
+
+	private byte[] contents;
+
+	private Document document;
+
+	@Setup
+	public void setUp() throws Exception {
+		builder = DOMProvider.getInstance().getDocumentBuilder();
+		contents = generatePOFile(size).getBytes(StandardCharsets.UTF_8);
+		document = load();
+	}
+
+	private static String generatePOFile(int size) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+		sb.append("<org.eventb.core.poFile org.eventb.core.poStamp=\"1\">\n");
+		sb.append("<org.eventb.core.poPredicateSet name=\"ALLHYP\" org.eventb.core.poStamp=\"1\">\n");
+		for (int i = 0; i < size; i++) {
+			sb.append("<org.eventb.core.poIdentifier name=\"v" + i
+					+ "\" org.eventb.core.type=\"ℤ\"/>\n");
+			sb.append("<org.eventb.core.poPredicate name=\"p" + i
+					+ "\" org.eventb.core.predicate=\"v" + i
+					+ "∈ℕ ∧ v" + i + "&lt;card(S)\""
+					+ " org.eventb.core.source=\"/P/m.bum|org.eventb.core.machineFile#m|org.eventb.core.invariant#inv"
+					+ i + "\"/>\n");
+		}
+		sb.append("</org.eventb.core.poPredicateSet>\n");
+		for (int i = 0; i < size; i++) {
+			sb.append("<org.eventb.core.poSequent name=\"evt" + i
+					+ "/inv" + i + "/INV\" org.eventb.core.accurate=\"true\""
+					+ " org.eventb.core.poDesc=\"Invariant preservation\""
+					+ " org.eventb.core.poStamp=\"1\">\n");
+			sb.append("<org.eventb.core.poPredicateSet name=\"SEQHYP\""
+					+ " org.eventb.core.parentSet=\"/P/m.bpo|org.eventb.core.poFile#m|org.eventb.core.poPredicateSet#ALLHYP\""
+					+ " org.eventb.core.poStamp=\"1\">\n");
+			sb.append("<org.eventb.core.poPredicate name=\"h\" org.eventb.core.predicate=\"v"
+					+ i + "≠0\" org.eventb.core.source=\"/P/m.bum|org.eventb.core.machineFile#m|org.eventb.core.event#evt"
+					+ i + "\"/>\n");
+			sb.append("</org.eventb.core.poPredicateSet>\n");
+			sb.append("<org.eventb.core.poPredicate name=\"goal\" org.eventb.core.predicate=\"v"
+					+ i + "−1∈ℕ\" org.eventb.core.source=\"/P/m.bum|org.eventb.core.machineFile#m|org.eventb.core.invariant#inv"
+					+ i + "\"/>\n");
+			sb.append("<org.eventb.core.poSource name=\"s\" org.eventb.core.poRole=\"ABSTRACT\""
+					+ " org.eventb.core.source=\"/P/m.bum|org.eventb.core.machineFile#m|org.eventb.core.event#evt"
+					+ i + "\"/>\n");
+			sb.append("</org.eventb.core.poSequent>\n");
+		}
+		sb.append("</org.eventb.core.poFile>\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Loads the PO file into a DOM document.
+	 */
+	@Benchmark
+	public Document load() throws Exception {
+		final Document result = builder.newDocument();
+		StreamingDOMLoader.load(result, new ByteArrayInputStream(contents));
+		return result;
+	}
+
+	/**
+	 * Saves the DOM document of the PO file.
+	 */
+	@Benchmark
+	public byte[] save() throws Exception {
+		final ByteArrayOutputStream stream = new ByteArrayOutputStream(
+				contents.length);
+		StreamingDOMSerializer.serialize(document, stream);
+		return stream.toByteArray();
+	}
+
+}
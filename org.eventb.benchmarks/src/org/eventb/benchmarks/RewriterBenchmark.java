@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eventb.core.ast.IFormulaRewriter;
+import org.eventb.core.ast.Predicate;
+import org.eventb.internal.core.seqprover.eventbExtensions.rewriters.AutoRewriterImpl;
+import org.eventb.internal.core.seqprover.eventbExtensions.rewriters.AutoRewrites.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of <code>Formula.rewrite()</code> with the automatic rewriters,
+ * at every level.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewriterBenchmark {
+
+	@Param({ "L0", "L2", "L4" })
+	public Level level;
+
+	private List<Predicate> predicates;
+
+	private List<Predicate> normalForms;
+
+	@Setup
+	public void setUp() {
+		predicates = Corpus.predicates();
+		normalForms = Corpus.predicates();
+		final IFormulaRewriter rewriter = new AutoRewriterImpl(level);
+		for (int i = 0; i < normalForms.size(); i++) {
+			normalForms.set(i, normalize(normalForms.get(i), rewriter));
+		}
+	}
+
+	// Same as AbstractAutoRewrites.recursiveRewrite()
+	private static Predicate normalize(Predicate pred, IFormulaRewriter rewriter) {
+		Predicate result = pred.rewrite(rewriter);
+		while (result != pred) {
+			pred = result;
+			result = pred.rewrite(rewriter);
+		}
+		return result;
+	}
+
+	/**
+	 * Rewrites the corpus to a fix-point.
+	 */
+	@Benchmark
+	public void rewrite(Blackhole blackhole) {
+		final IFormulaRewriter rewriter = new AutoRewriterImpl(level);
+		for (Predicate pred : predicates) {
+			blackhole.consume(normalize(pred, rewriter));
+		}
+	}
+
+	/**
+	 * Rewrites the normal forms of the corpus, which is what the automatic
+	 * rewriters do most of the time in a proof tree.
+	 */
+	@Benchmark
+	public void rewriteNormalForms(Blackhole blackhole) {
+		final IFormulaRewriter rewriter = new AutoRewriterImpl(level);
+		for (Predicate pred : normalForms) {
+			blackhole.consume(pred.rewrite(rewriter));
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.benchmarks;
+
+import static java.util.Collections.singleton;
+import static org.eventb.core.seqprover.ProverFactory.makeDeselectHypAction;
+import static org.eventb.core.seqprover.ProverFactory.makeHideHypAction;
+import static org.eventb.core.seqprover.ProverFactory.makeRewriteHypAction;
+import static org.eventb.core.seqprover.ProverFactory.makeSelectHypAction;
+import static org.eventb.core.seqprover.ProverFactory.makeShowHypAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.seqprover.IHypAction;
+import org.eventb.core.seqprover.ProverFactory;
+import org.eventb.internal.core.seqprover.IInternalHypAction;
+import org.eventb.internal.core.seqprover.IInternalProverSequent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of hypothesis actions on prover sequents, as performed when
+ * applying proof rules along a branch of a proof tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequentBenchmark {
+
+	/**
+	 * Number of hypotheses of the sequent.
+	 */
+	@Param({ "100", "1000" })
+	public int size;
+
+	private IInternalProverSequent sequent;
+
+	private List<IHypAction> actions;
+
+	@Setup
+	public void setUp() {
+		final ITypeEnvironmentBuilder typeEnv = Corpus.FACTORY
+				.makeTypeEnvironment();
+		final List<Predicate> hyps = new ArrayList<Predicate>(size);
+		for (int i = 0; i < size; i++) {
+			hyps.add(Corpus.parse("x" + i + " ≤ x" + (i + 1), typeEnv));
+		}
+		final Predicate goal = Corpus.parse("x0 ≤ x" + size, typeEnv);
+		sequent = (IInternalProverSequent) ProverFactory.makeSequent(typeEnv,
+				hyps, hyps.subList(0, size / 2), goal);
+
+		// A typical mix of actions, each on a few hypotheses
+		actions = new ArrayList<IHypAction>();
+		for (int i = 0; i < size; i += 10) {
+			final Predicate hyp = hyps.get(i);
+			final Predicate next = hyps.get(i + 1);
+			actions.add(makeSelectHypAction(singleton(next)));
+			actions.add(makeDeselectHypAction(singleton(hyp)));
+			actions.add(makeHideHypAction(singleton(hyp)));
+			actions.add(makeShowHypAction(singleton(hyp)));
+			final Predicate rewritten = Corpus.parse("x" + i + " < x" + (i + 1)
+					+ " + 1", typeEnv);
+			actions.add(makeRewriteHypAction(singleton(next),
+					singleton(rewritten), singleton(next)));
+		}
+	}
+
+	/**
+	 * Performs all actions in sequence, each on the result of the previous
+	 * one.
+	 */
+	@Benchmark
+	public IInternalProverSequent performHypActions() {
+		IInternalProverSequent result = sequent;
+		for (IHypAction action : actions) {
+			result = ((IInternalHypAction) action).perform(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Iterates over the visible hypotheses, as most reasoners do.
+	 */
+	@Benchmark
+	public int iterateVisibleHyps() {
+		int count = 0;
+		for (Predicate hyp : sequent.visibleHypIterable()) {
+			if (sequent.isSelected(hyp)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.ast.tests;
+
+import static org.eventb.core.ast.Formula.CSET;
+import static org.eventb.core.ast.Formula.EQUAL;
+import static org.eventb.core.ast.Formula.FORALL;
+import static org.eventb.core.ast.Formula.IN;
+import static org.eventb.core.ast.Formula.INTEGER;
+import static org.eventb.core.ast.Formula.PLUS;
+import static org.eventb.core.ast.QuantifiedExpression.Form.Explicit;
+import static org.eventb.core.ast.QuantifiedExpression.Form.Lambda;
+import static org.eventb.core.ast.tests.FastFactory.mAssociativeExpression;
+import static org.eventb.core.ast.tests.FastFactory.mBoundIdentDecl;
+import static org.eventb.core.ast.tests.FastFactory.mBoundIdentifier;
+import static org.eventb.core.ast.tests.FastFactory.mFreeIdentifier;
+import static org.eventb.core.ast.tests.FastFactory.mIntegerLiteral;
+import static org.eventb.core.ast.tests.FastFactory.mList;
+import static org.eventb.core.ast.tests.FastFactory.mMaplet;
+import static org.eventb.core.ast.tests.FastFactory.mQuantifiedExpression;
+import static org.eventb.core.ast.tests.FastFactory.mQuantifiedPredicate;
+import static org.eventb.core.ast.tests.FastFactory.mRelationalPredicate;
+import static org.eventb.core.ast.tests.FastFactory.mTypeEnvironment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eventb.core.ast.BoundIdentDecl;
+import org.eventb.core.ast.Expression;
+import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.ast.QuantifiedExpression.Form;
+import org.eventb.core.ast.SourceLocation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the interning mode of formula factories.
+ */
+public class TestFormulaInterning extends AbstractTests {
+
+	@Before
+	public void setUp() {
+		ff.setInterning(true);
+	}
+
+	@After
+	public void tearDown() {
+		ff.setInterning(false);
+	}
+
+	private static Expression x() {
+		return mFreeIdentifier("x", INT_TYPE);
+	}
+
+	private static Expression xPlusOne() {
+		return mAssociativeExpression(PLUS, x(), mIntegerLiteral(1));
+	}
+
+	/**
+	 * Ensures that equal type-checked formulas built separately are shared.
+	 */
+	@Test
+	public void typedFormulasAreShared() {
+		assertTrue(ff.isInterning());
+		assertSame(x(), x());
+		final Expression expr = xPlusOne();
+		assertSame(expr, xPlusOne());
+		assertSame(mRelationalPredicate(EQUAL, expr, x()),
+				mRelationalPredicate(EQUAL, xPlusOne(), x()));
+	}
+
+	/**
+	 * Ensures that nothing is shared when interning is off.
+	 */
+	@Test
+	public void interningOff() {
+		ff.setInterning(false);
+		assertFalse(ff.isInterning());
+		assertNotSame(xPlusOne(), xPlusOne());
+		final Expression expr = xPlusOne();
+		assertSame(expr, ff.intern(expr));
+	}
+
+	/**
+	 * Ensures that formulas which are not type-checked are not interned, as
+	 * they are modified by type-checking.
+	 */
+	@Test
+	public void untypedFormulasAreNotShared() {
+		final FreeIdentifier x = mFreeIdentifier("x");
+		assertFalse(x.isTypeChecked());
+		assertNotSame(x, mFreeIdentifier("x"));
+	}
+
+	/**
+	 * Ensures that formulas carrying a source location are not interned when
+	 * built, but that an explicit call returns their canonical instance,
+	 * which has no location.
+	 */
+	@Test
+	public void locatedFormulasAreNotShared() {
+		final SourceLocation loc = new SourceLocation(0, 0);
+		final FreeIdentifier x = ff.makeFreeIdentifier("x", loc, INT_TYPE);
+		assertNotSame(x, ff.makeFreeIdentifier("x", loc, INT_TYPE));
+		assertNotSame(x, x());
+		final Expression interned = ff.intern(x);
+		assertSame(x(), interned);
+		assertNull(interned.getSourceLocation());
+	}
+
+	/**
+	 * Ensures that the same predicate parsed twice is shared once type-checked
+	 * and interned, together with its sub-formulas.
+	 */
+	@Test
+	public void parsedFormulasAreShared() {
+		final Predicate pred1 = parsePredicate("x + 1 = x");
+		final Predicate pred2 = parsePredicate("x + 1 = x");
+		typeCheck(pred1, mTypeEnvironment("x=ℤ", ff));
+		typeCheck(pred2, mTypeEnvironment("x=ℤ", ff));
+		assertNotSame(pred1, pred2);
+		final Predicate interned = ff.intern(pred1);
+		assertSame(interned, ff.intern(pred2));
+		assertSame(mRelationalPredicate(EQUAL, xPlusOne(), x()), interned);
+		assertNull(interned.getSourceLocation());
+	}
+
+	/**
+	 * Ensures that alpha-equivalent formulas are not merged, as they differ in
+	 * the names of their bound identifiers.
+	 */
+	@Test
+	public void boundNamesAreKept() {
+		final Predicate pred1 = forall("y");
+		final Predicate pred2 = forall("z");
+		assertEquals(pred1, pred2);
+		assertNotSame(pred1, pred2);
+		assertSame(pred1, forall("y"));
+	}
+
+	private static Predicate forall(String name) {
+		final BoundIdentDecl decl = mBoundIdentDecl(name, INT_TYPE);
+		return mQuantifiedPredicate(FORALL, mList(decl), mRelationalPredicate(
+				EQUAL, mBoundIdentifier(0, INT_TYPE), x()));
+	}
+
+	/**
+	 * Ensures that quantified expressions that differ only by their form are
+	 * not merged.
+	 */
+	@Test
+	public void quantifiedFormsAreKept() {
+		final Expression lambda = lambda(Lambda);
+		final Expression explicit = lambda(Explicit);
+		assertEquals(lambda, explicit);
+		assertNotSame(lambda, explicit);
+		assertSame(lambda, lambda(Lambda));
+	}
+
+	private static Expression lambda(Form form) {
+		final Expression b = mBoundIdentifier(0, INT_TYPE);
+		final Predicate pred = mRelationalPredicate(IN, b,
+				ff.makeAtomicExpression(INTEGER, null));
+		return mQuantifiedExpression(CSET, form,
+				mList(mBoundIdentDecl("n", INT_TYPE)), pred, mMaplet(b, b));
+	}
+
+	/**
+	 * Ensures that a formula type-checked after construction is interned,
+	 * together with its sub-formulas, by an explicit call.
+	 */
+	@Test
+	public void explicitInterning() {
+		final Expression expr = mAssociativeExpression(PLUS,
+				mFreeIdentifier("x"), mIntegerLiteral(1));
+		typeCheck(expr, mTypeEnvironment("x=ℤ", ff));
+		assertNotSame(xPlusOne(), expr);
+		final Expression interned = ff.intern(expr);
+		assertSame(xPlusOne(), interned);
+		assertSame(x(), interned.getChild(0));
+	}
+
+}
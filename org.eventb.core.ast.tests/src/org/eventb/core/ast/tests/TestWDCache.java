@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.ast.tests;
+
+import static org.eventb.core.ast.tests.FastFactory.mTypeEnvironment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.eventb.core.ast.ITypeEnvironment;
+import org.eventb.core.ast.Predicate;
+import org.eventb.internal.core.ast.wd.WDCache;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the cache of WD predicates.
+ */
+public class TestWDCache extends AbstractTests {
+
+	private static final ITypeEnvironment TYPENV = mTypeEnvironment(
+			"x=ℤ; y=ℤ; f=ℤ↔ℤ", ff);
+
+	private final WDCache cache = WDCache.getDefault();
+
+	@Before
+	public void setUp() {
+		cache.clear();
+	}
+
+	/**
+	 * Ensures that the WD predicate of equal formulas is computed once.
+	 */
+	@Test
+	public void equalFormulas() {
+		final long hits = cache.getHits();
+		final Predicate wd = parsePredicate("f(x) ÷ y = 0", TYPENV)
+				.getWDPredicate();
+		assertEquals(hits, cache.getHits());
+		assertSame(wd, parsePredicate("f(x)÷y=0", TYPENV).getWDPredicate());
+		assertEquals(hits + 1, cache.getHits());
+	}
+
+	/**
+	 * Ensures that alpha-equivalent formulas do not share their WD predicate,
+	 * so that bound identifier names are preserved.
+	 */
+	@Test
+	public void alphaEquivalentFormulas() {
+		final Predicate wd1 = parsePredicate("∀a·a ∈ dom(f) ⇒ f(a) > 0",
+				TYPENV).getWDPredicate();
+		final Predicate wd2 = parsePredicate("∀b·b ∈ dom(f) ⇒ f(b) > 0",
+				TYPENV).getWDPredicate();
+		assertEquals(wd1, wd2);
+		assertEquals("∀a·a∈dom(f)⇒f∈ℤ ⇸ ℤ", wd1.toString());
+		assertEquals("∀b·b∈dom(f)⇒f∈ℤ ⇸ ℤ", wd2.toString());
+	}
+
+}
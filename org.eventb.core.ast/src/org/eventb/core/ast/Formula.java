@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2018 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,6 +18,7 @@
  *     Systerel - add given sets to free identifier cache
  *     Systerel - store factory used to build a formula
  *     Systerel - added support for factory translation
+ *     ISP RAS - cached WD predicates
  *******************************************************************************/
 package org.eventb.core.ast;
 
@@ -48,8 +49,7 @@ import org.eventb.internal.core.ast.Specialization;
 import org.eventb.internal.core.ast.Substitution;
 import org.eventb.internal.core.ast.extension.IToStringMediator;
 import org.eventb.internal.core.ast.extension.KindMediator;
-import org.eventb.internal.core.ast.wd.WDComputer;
-import org.eventb.internal.core.ast.wd.WDImprover;
+import org.eventb.internal.core.ast.wd.WDCache;
 import org.eventb.internal.core.typecheck.TypeCheckResult;
 import org.eventb.internal.core.typecheck.TypeUnifier;
 
@@ -2005,10 +2005,7 @@ public abstract class Formula<T extends Formula<T>> {
 	 */
 	public final Predicate getWDPredicate() {
 		ensureTypeChecked();
-		final WDComputer wdComputer = new WDComputer(fac);
-		final Predicate wdLemma = wdComputer.getWDLemma(this);
-		final WDImprover wdImprover = new WDImprover(fac);
-		return wdImprover.improve(wdLemma);
+		return WDCache.getDefault().getWDPredicate(this);
 	}
 
 	/**
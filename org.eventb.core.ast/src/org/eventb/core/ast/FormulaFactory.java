@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2018 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
  *     Systerel - added support for mathematical extensions
  *     Systerel - added support for specialization
  *     Systerel - store factory used to build a formula or type
+ *     ISP RAS - added interning of type-checked formulas
  *******************************************************************************/
 package org.eventb.core.ast;
 
@@ -50,6 +51,8 @@ import org.eventb.core.ast.extension.IGrammar;
 import org.eventb.core.ast.extension.IOperatorGroup;
 import org.eventb.core.ast.extension.IOperatorProperties;
 import org.eventb.core.ast.extension.IPredicateExtension;
+import org.eventb.internal.core.ast.FormulaInterner;
+import org.eventb.internal.core.ast.InterningRewriter;
 import org.eventb.internal.core.ast.Position;
 import org.eventb.internal.core.ast.Specialization;
 import org.eventb.internal.core.ast.datatype.DatatypeBuilder;
@@ -104,11 +107,21 @@ public class FormulaFactory {
 			B_MATH_V1);
 	
 	private static volatile int nextExtensionTag = Formula.FIRST_EXTENSION_TAG;
+
+	/**
+	 * Name of the system property which, when set to <code>true</code>, turns
+	 * on interning in all factories at creation.
+	 */
+	private static final String INTERNING_PROPERTY = "org.eventb.core.ast.interning";
 	
 	// tags of extensions managed by this formula factory
 	private final Map<Integer, IFormulaExtension> extensions;
 	
 	private final BMath grammar;
+
+	// table of canonical formulas, null when interning is off
+	private volatile FormulaInterner interner = Boolean
+			.getBoolean(INTERNING_PROPERTY) ? new FormulaInterner() : null;
 	
 	/**
 	 * Returns the default instance of the formula factory which corresponds to
@@ -476,8 +489,8 @@ public class FormulaFactory {
 			IExpressionExtension extension, Expression[] expressions,
 			Predicate[] predicates, SourceLocation location, Type type) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedExpression(tag, expressions.clone(),
-				predicates.clone(), location, this, extension, type);
+		return interned(new ExtendedExpression(tag, expressions.clone(),
+				predicates.clone(), location, this, extension, type));
 	}
 
 	/**
@@ -540,8 +553,8 @@ public class FormulaFactory {
 			IExpressionExtension extension, Collection<Expression> expressions,
 			Collection<Predicate> predicates, SourceLocation location, Type type) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedExpression(tag, toExprArray(expressions),
-				toPredArray(predicates), location, this, extension, type);
+		return interned(new ExtendedExpression(tag, toExprArray(expressions),
+				toPredArray(predicates), location, this, extension, type));
 	}
 
 	/**
@@ -599,8 +612,8 @@ public class FormulaFactory {
 			IPredicateExtension extension, Expression[] expressions,
 			Predicate[] predicates, SourceLocation location) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedPredicate(tag, expressions.clone(),
-				predicates.clone(), location, this, extension);
+		return interned(new ExtendedPredicate(tag, expressions.clone(),
+				predicates.clone(), location, this, extension));
 	}
 
 	/**
@@ -629,8 +642,8 @@ public class FormulaFactory {
 			IPredicateExtension extension, Collection<Expression> expressions,
 			Collection<Predicate> predicates, SourceLocation location) {
 		final int tag = getCheckedExtensionTag(extension);
-		return new ExtendedPredicate(tag, toExprArray(expressions),
-				toPredArray(predicates), location, this, extension);
+		return interned(new ExtendedPredicate(tag, toExprArray(expressions),
+				toPredArray(predicates), location, this, extension));
 	}
 
 	/**
@@ -714,6 +727,98 @@ public class FormulaFactory {
 	public Set<IFormulaExtension> getExtensions() {
 		return new LinkedHashSet<IFormulaExtension>(extensions.values());
 	}
+
+	/**
+	 * Turns interning of formulas on or off for this factory.
+	 * <p>
+	 * When interning is on, the <code>make</code> methods of this factory return
+	 * a canonical instance for every type-checked formula which has no source
+	 * location. Equal formulas built separately are then most often the same
+	 * object, which saves memory and makes comparisons cheaper. Other formulas,
+	 * such as parsed ones, can be shared with {@link #intern(Formula)}. Canonical
+	 * instances are weakly referenced and are collected when not used any more.
+	 * Interning can also be turned on for all factories by setting the system
+	 * property <code>org.eventb.core.ast.interning</code> to <code>true</code>.
+	 * </p>
+	 * <p>
+	 * Turning interning off discards the table of canonical instances.
+	 * </p>
+	 * 
+	 * @param enabled
+	 *            <code>true</code> to turn interning on, <code>false</code> to
+	 *            turn it off
+	 * @see #intern(Formula)
+	 * @since 3.5
+	 */
+	public synchronized void setInterning(boolean enabled) {
+		if (enabled == (interner != null)) {
+			return;
+		}
+		interner = enabled ? new FormulaInterner() : null;
+	}
+
+	/**
+	 * Tells whether this factory interns the formulas it builds.
+	 * 
+	 * @return <code>true</code> iff interning is on
+	 * @see #setInterning(boolean)
+	 * @since 3.5
+	 */
+	public boolean isInterning() {
+		return interner != null;
+	}
+
+	/**
+	 * Returns the canonical instance of the given formula, if interning is on.
+	 * Sub-formulas are interned also, so that the result can be shared with
+	 * the formulas subsequently built by this factory. The given formula is
+	 * returned unchanged if interning is off, or if it is not type-checked.
+	 * <p>
+	 * Canonical instances carry no source location. Hence, this method can be
+	 * used to share parsed formulas, once type-checked: the source locations
+	 * of the given formula are dropped from the result.
+	 * </p>
+	 * <p>
+	 * The canonical instance is not only equal to the given formula, it also
+	 * has the same bound identifier names and the same form for quantified
+	 * expressions.
+	 * </p>
+	 * 
+	 * @param formula
+	 *            the formula to intern, must have been built by this factory
+	 * @return the canonical instance of the given formula
+	 * @throws IllegalArgumentException
+	 *             if the formula was built by another factory
+	 * @see #setInterning(boolean)
+	 * @since 3.5
+	 */
+	public <T extends Formula<T>> T intern(T formula) {
+		if (formula.getFactory() != this) {
+			throw new IllegalArgumentException("Formula " + formula
+					+ " has factory " + formula.getFactory()
+					+ " instead of " + this);
+		}
+		final FormulaInterner current = interner;
+		if (current == null || !formula.isTypeChecked()) {
+			return formula;
+		}
+		return formula.rewrite(new InterningRewriter(this, current));
+	}
+
+	private static boolean isInternable(Formula<?> formula) {
+		return formula.isTypeChecked() && formula.getSourceLocation() == null;
+	}
+
+	/*
+	 * Returns the canonical instance of a formula just built by this factory.
+	 */
+	private <T extends Formula<?>> T interned(T formula) {
+		final FormulaInterner current = interner;
+		if (current == null || !isInternable(formula)) {
+			return formula;
+		}
+		return current.intern(formula);
+	}
 	
 	/**
 	 * Returns a new associative expression. The allowed tag values are
@@ -743,7 +848,8 @@ public class FormulaFactory {
 	 */
 	public AssociativeExpression makeAssociativeExpression(
 			int tag, Expression[] children, SourceLocation location) {
-		return new AssociativeExpression(children.clone(), tag, location, this);
+		return interned(new AssociativeExpression(children.clone(), tag,
+				location, this));
 	}
 
 	/**
@@ -774,7 +880,8 @@ public class FormulaFactory {
 	 */
 	public AssociativeExpression makeAssociativeExpression(
 			int tag, Collection<Expression> children, SourceLocation location) {
-		return new AssociativeExpression(toExprArray(children), tag, location, this);
+		return interned(new AssociativeExpression(toExprArray(children), tag,
+				location, this));
 	}
 	
 	/**
@@ -800,8 +907,8 @@ public class FormulaFactory {
 	 */
 	public AssociativePredicate makeAssociativePredicate(
 			int tag, Collection<Predicate> predicates, SourceLocation location) {
-		return new AssociativePredicate(toPredArray(predicates), tag, location,
-				this);
+		return interned(new AssociativePredicate(toPredArray(predicates), tag, location,
+				this));
 	}
 
 	/**
@@ -827,7 +934,8 @@ public class FormulaFactory {
 	 */
 	public AssociativePredicate makeAssociativePredicate(
 			int tag, Predicate[] predicates, SourceLocation location) {
-		return new AssociativePredicate(predicates.clone(), tag, location, this);
+		return interned(new AssociativePredicate(predicates.clone(), tag,
+				location, this));
 	}
 
 	/**
@@ -863,7 +971,7 @@ public class FormulaFactory {
 		if (this == V1_INSTANCE && isV2Specific(tag)) {
 			throw new IllegalArgumentException("Unsupported tag in V1: " + tag);
 		}
-		return new AtomicExpression(tag, location, null, this);
+		return interned(new AtomicExpression(tag, location, null, this));
 	}
 
 	/**
@@ -918,7 +1026,7 @@ public class FormulaFactory {
 		if (this == V1_INSTANCE && isV2Specific(tag)) {
 			throw new IllegalArgumentException("Unsupported tag in V1: " + tag);
 		}
-		return new AtomicExpression(tag, location, type, this);
+		return interned(new AtomicExpression(tag, location, type, this));
 	}
 
 	/**
@@ -937,7 +1045,8 @@ public class FormulaFactory {
 	 *             if the given type has been built with a different factory
 	 */
 	public AtomicExpression makeEmptySet(Type type, SourceLocation location) {
-		return new AtomicExpression(Formula.EMPTYSET, location, type, this);
+		return interned(new AtomicExpression(Formula.EMPTYSET, location, type,
+				this));
 	}
 
 	/**
@@ -1154,7 +1263,7 @@ public class FormulaFactory {
 	 */
 	public BinaryExpression makeBinaryExpression(int tag,
 			Expression left, Expression right, SourceLocation location) {
-		return new BinaryExpression(left, right, tag, location, this);
+		return interned(new BinaryExpression(left, right, tag, location, this));
 	}
 
 	/**
@@ -1180,7 +1289,7 @@ public class FormulaFactory {
 	 */
 	public BinaryPredicate makeBinaryPredicate(int tag,
 			Predicate left, Predicate right, SourceLocation location) {
-		return new BinaryPredicate(left, right, tag, location, this);
+		return interned(new BinaryPredicate(left, right, tag, location, this));
 	}
 
 	/**
@@ -1195,7 +1304,7 @@ public class FormulaFactory {
 	 *             if the given child has been built with a different factory
 	 */
 	public BoolExpression makeBoolExpression(Predicate child, SourceLocation location) {
-		return new BoolExpression(child, location, this);
+		return interned(new BoolExpression(child, location, this));
 	}
 
 	/**
@@ -1223,7 +1332,7 @@ public class FormulaFactory {
 	 */
 	public BoundIdentDecl makeBoundIdentDecl(String name,
 			SourceLocation location) {
-		return new BoundIdentDecl(name, location, null, this);
+		return interned(new BoundIdentDecl(name, location, null, this));
 	}
 
 	/**
@@ -1255,7 +1364,7 @@ public class FormulaFactory {
 	 */
 	public BoundIdentDecl makeBoundIdentDecl(String name,
 			SourceLocation location, Type type) {
-		return new BoundIdentDecl(name, location, type, this);
+		return interned(new BoundIdentDecl(name, location, type, this));
 	}
 
 	/**
@@ -1274,7 +1383,7 @@ public class FormulaFactory {
 	 */
 	public BoundIdentifier makeBoundIdentifier(int index,
 			SourceLocation location) {
-		return new BoundIdentifier(index, location, null, this);
+		return interned(new BoundIdentifier(index, location, null, this));
 	}
 
 	/**
@@ -1297,7 +1406,7 @@ public class FormulaFactory {
 	 */
 	public BoundIdentifier makeBoundIdentifier(int index,
 			SourceLocation location, Type type) {
-		return new BoundIdentifier(index, location, type, this);
+		return interned(new BoundIdentifier(index, location, type, this));
 	}
 
 	/**
@@ -1317,7 +1426,7 @@ public class FormulaFactory {
 	 */
 	public FreeIdentifier makeFreeIdentifier(String name,
 			SourceLocation location) {
-		return new FreeIdentifier(name, location, null, this);
+		return interned(new FreeIdentifier(name, location, null, this));
 	}
 	
 	/**
@@ -1349,7 +1458,7 @@ public class FormulaFactory {
 	 */
 	public FreeIdentifier makeFreeIdentifier(String name,
 			SourceLocation location, Type type) {
-		return new FreeIdentifier(name, location, type, this);
+		return interned(new FreeIdentifier(name, location, type, this));
 	}
 
 	/**
@@ -1363,7 +1472,7 @@ public class FormulaFactory {
 	 */
 	public IntegerLiteral makeIntegerLiteral(BigInteger literal,
 			SourceLocation location) {
-		return new IntegerLiteral(literal, location, this);
+		return interned(new IntegerLiteral(literal, location, this));
 	}
 
 	/**
@@ -1383,7 +1492,7 @@ public class FormulaFactory {
 	 */
 	public LiteralPredicate makeLiteralPredicate(int tag,
 			SourceLocation location) {
-		return new LiteralPredicate(tag, location, this);
+		return interned(new LiteralPredicate(tag, location, this));
 	}
 
 	/**
@@ -1461,8 +1570,8 @@ public class FormulaFactory {
 	public QuantifiedExpression makeQuantifiedExpression(int tag,
 			BoundIdentDecl[] boundIdentifiers, Predicate pred, Expression expr,
 			SourceLocation location, Form form) {
-		return new QuantifiedExpression(expr, pred, boundIdentifiers.clone(),
-				tag, location, form, this);
+		return interned(new QuantifiedExpression(expr, pred, boundIdentifiers.clone(),
+				tag, location, form, this));
 	}
 
 	/**
@@ -1508,8 +1617,8 @@ public class FormulaFactory {
 	public QuantifiedExpression makeQuantifiedExpression(int tag,
 			Collection<BoundIdentDecl> boundIdentifiers, Predicate pred, Expression expr,
 			SourceLocation location, Form form) {
-		return new QuantifiedExpression(expr, pred,
-				toBIDArray(boundIdentifiers), tag, location, form, this);
+		return interned(new QuantifiedExpression(expr, pred,
+				toBIDArray(boundIdentifiers), tag, location, form, this));
 	}
 
 	/**
@@ -1538,8 +1647,8 @@ public class FormulaFactory {
 	public QuantifiedPredicate makeQuantifiedPredicate(int tag,
 			BoundIdentDecl[] boundIdentifiers, Predicate pred,
 			SourceLocation location) {
-		return new QuantifiedPredicate(pred, boundIdentifiers.clone(), tag,
-				location, this);
+		return interned(new QuantifiedPredicate(pred, boundIdentifiers.clone(), tag,
+				location, this));
 	}
 
 	/**
@@ -1568,8 +1677,8 @@ public class FormulaFactory {
 	public QuantifiedPredicate makeQuantifiedPredicate(int tag,
 			Collection<BoundIdentDecl> boundIdentifiers, Predicate pred,
 			SourceLocation location) {
-		return new QuantifiedPredicate(pred, toBIDArray(boundIdentifiers), tag,
-				location, this);
+		return interned(new QuantifiedPredicate(pred, toBIDArray(boundIdentifiers), tag,
+				location, this));
 	}
 	
 	/**
@@ -1605,7 +1714,8 @@ public class FormulaFactory {
 	 */
 	public RelationalPredicate makeRelationalPredicate(int tag,
 			Expression left, Expression right, SourceLocation location) {
-		return new RelationalPredicate(left, right, tag, location, this);
+		return interned(new RelationalPredicate(left, right, tag, location,
+				this));
 	}
 
 	/**
@@ -1621,8 +1731,8 @@ public class FormulaFactory {
 	 */
 	public SetExtension makeSetExtension(Expression expression,
 			SourceLocation location) {
-		return new SetExtension(new Expression[] { expression }, location,
-				this, null);
+		return interned(new SetExtension(new Expression[] { expression }, location,
+				this, null));
 	}
 
 	/**
@@ -1638,7 +1748,8 @@ public class FormulaFactory {
 	 */
 	public SetExtension makeSetExtension(Expression[] members,
 			SourceLocation location) {
-		return new SetExtension(members.clone(), location, this, null);
+		return interned(new SetExtension(members.clone(), location, this,
+				null));
 	}
 
 	/**
@@ -1661,7 +1772,7 @@ public class FormulaFactory {
 	 * @since 2.6
 	 */
 	public SetExtension makeEmptySetExtension(Type type, SourceLocation location) {
-		return new SetExtension(NO_EXPRESSIONS, location, this, type);
+		return interned(new SetExtension(NO_EXPRESSIONS, location, this, type));
 	}
 
 	/**
@@ -1677,7 +1788,8 @@ public class FormulaFactory {
 	 */
 	public SetExtension makeSetExtension(Collection<Expression> members,
 			SourceLocation location) {
-		return new SetExtension(toExprArray(members), location, this, null);
+		return interned(new SetExtension(toExprArray(members), location, this,
+				null));
 	}
 
 	/**
@@ -1700,7 +1812,7 @@ public class FormulaFactory {
 	 */
 	public SimplePredicate makeSimplePredicate(int tag, Expression child,
 			SourceLocation location) {
-		return new SimplePredicate(child, tag, location, this);
+		return interned(new SimplePredicate(child, tag, location, this));
 	}
 
 	/**
@@ -1755,7 +1867,7 @@ public class FormulaFactory {
 		if (this != V1_INSTANCE && isV1Specific(tag)) {
 			throw new IllegalArgumentException("Unsupported V1 tag: " + tag);
 		}
-		return new UnaryExpression(child, tag, location, this);
+		return interned(new UnaryExpression(child, tag, location, this));
 	}
 
 	/**
@@ -1778,7 +1890,7 @@ public class FormulaFactory {
 	 */
 	public UnaryPredicate makeUnaryPredicate(int tag, Predicate child,
 			SourceLocation location) {
-		return new UnaryPredicate(child, tag, location, this);
+		return interned(new UnaryPredicate(child, tag, location, this));
 	}
 	
 	/**
@@ -1810,7 +1922,8 @@ public class FormulaFactory {
 		if (this == V1_INSTANCE) {
 			throw new IllegalArgumentException("Unsupported in V1");
 		}
-		return new MultiplePredicate(children.clone(), tag, location, this);
+		return interned(new MultiplePredicate(children.clone(), tag, location,
+				this));
 	}
 
 	/**
@@ -1842,7 +1955,8 @@ public class FormulaFactory {
 		if (this == V1_INSTANCE) {
 			throw new IllegalArgumentException("Unsupported in V1");
 		}
-		return new MultiplePredicate(toExprArray(children), tag, location, this);
+		return interned(new MultiplePredicate(toExprArray(children), tag,
+				location, this));
 	}
 
 	/**
@@ -0,0 +1,235 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.ast;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import org.eventb.core.ast.BoundIdentDecl;
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.QuantifiedExpression;
+import org.eventb.core.ast.SourceLocation;
+
+/**
+ * Table of canonical formula nodes, used by a formula factory in interning
+ * mode. Entries are weakly referenced, so that a node which is not used any
+ * more can be garbage-collected, and the table is split into independently
+ * locked segments to support concurrent access.
+ * <p>
+ * As <code>equals()</code> on formulas is modulo alpha-conversion, two equal
+ * formulas may still be distinguished by clients (e.g., through the names of
+ * their bound identifiers or their source locations). Therefore a node is
+ * considered a duplicate of an interned one only if no query on the nodes and
+ * their sub-formulas can tell them apart.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class FormulaInterner {
+
+	private static final int SEGMENT_COUNT = 16;
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private final Segment[] segments;
+
+	public FormulaInterner() {
+		segments = new Segment[SEGMENT_COUNT];
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	/**
+	 * Returns the canonical instance of the given type-checked formula. If
+	 * there is none yet, the given formula becomes the canonical one.
+	 *
+	 * @param formula
+	 *            a type-checked formula
+	 * @return the canonical formula which is the same as the given one
+	 */
+	public <T extends Formula<?>> T intern(T formula) {
+		final int hash = spread(formula.hashCode());
+		@SuppressWarnings("unchecked")
+		final T result = (T) segmentFor(hash).intern(formula, hash);
+		return result;
+	}
+
+	/**
+	 * Returns the number of formulas currently interned. Formulas that have
+	 * been garbage-collected but not removed yet from the table are counted.
+	 *
+	 * @return the number of interned formulas
+	 */
+	public int size() {
+		int result = 0;
+		for (Segment segment : segments) {
+			result += segment.size();
+		}
+		return result;
+	}
+
+	private Segment segmentFor(int hash) {
+		return segments[(hash >>> 16) & (SEGMENT_COUNT - 1)];
+	}
+
+	// Formula hash codes are poorly distributed in their low bits
+	private static int spread(int h) {
+		h ^= (h >>> 20) ^ (h >>> 12);
+		return h ^ (h >>> 7) ^ (h >>> 4);
+	}
+
+	/**
+	 * Tells whether two equal formulas are exactly the same, that is also
+	 * have the same bound identifier names and quantified expression forms
+	 * in all their sub-formulas, and optionally the same source locations.
+	 * 
+	 * @param left
+	 *            some formula
+	 * @param right
+	 *            a formula equal to <code>left</code>
+	 * @param withLocations
+	 *            whether source locations shall be compared also
+	 * @return <code>true</code> iff the two formulas cannot be told apart
+	 */
+	public static boolean isSame(Formula<?> left, Formula<?> right,
+			boolean withLocations) {
+		if (left == right) {
+			return true;
+		}
+		if (withLocations
+				&& !sameLocation(left.getSourceLocation(),
+						right.getSourceLocation())) {
+			return false;
+		}
+		if (left instanceof BoundIdentDecl) {
+			final String leftName = ((BoundIdentDecl) left).getName();
+			final String rightName = ((BoundIdentDecl) right).getName();
+			return leftName.equals(rightName);
+		}
+		if (left instanceof QuantifiedExpression) {
+			final QuantifiedExpression.Form leftForm = ((QuantifiedExpression) left)
+					.getForm();
+			if (leftForm != ((QuantifiedExpression) right).getForm()) {
+				return false;
+			}
+		}
+		final int count = left.getChildCount();
+		for (int i = 0; i < count; i++) {
+			if (!isSame(left.getChild(i), right.getChild(i), withLocations)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean sameLocation(SourceLocation left,
+			SourceLocation right) {
+		return left == null ? right == null : left.equals(right);
+	}
+
+	private static class Entry extends WeakReference<Formula<?>> {
+
+		final int hash;
+		Entry next;
+
+		Entry(Formula<?> formula, int hash, Entry next,
+				ReferenceQueue<Formula<?>> queue) {
+			super(formula, queue);
+			this.hash = hash;
+			this.next = next;
+		}
+
+	}
+
+	/*
+	 * A chained hash table of weak entries, protected by its own lock.
+	 */
+	private static class Segment {
+
+		private final ReferenceQueue<Formula<?>> queue = new ReferenceQueue<Formula<?>>();
+
+		private Entry[] table = new Entry[INITIAL_CAPACITY];
+
+		private int count;
+
+		synchronized Formula<?> intern(Formula<?> formula, int hash) {
+			expungeStaleEntries();
+			final int index = hash & (table.length - 1);
+			for (Entry e = table[index]; e != null; e = e.next) {
+				if (e.hash != hash) {
+					continue;
+				}
+				final Formula<?> candidate = e.get();
+				if (candidate != null && candidate.equals(formula)
+						&& isSame(candidate, formula, true)) {
+					return candidate;
+				}
+			}
+			table[index] = new Entry(formula, hash, table[index], queue);
+			if (++count > table.length * 3 / 4) {
+				resize();
+			}
+			return formula;
+		}
+
+		synchronized int size() {
+			expungeStaleEntries();
+			return count;
+		}
+
+		private void expungeStaleEntries() {
+			Object ref;
+			while ((ref = queue.poll()) != null) {
+				final Entry stale = (Entry) ref;
+				final int index = stale.hash & (table.length - 1);
+				Entry prev = null;
+				for (Entry e = table[index]; e != null; e = e.next) {
+					if (e == stale) {
+						if (prev == null) {
+							table[index] = e.next;
+						} else {
+							prev.next = e.next;
+						}
+						--count;
+						break;
+					}
+					prev = e;
+				}
+			}
+		}
+
+		private void resize() {
+			final Entry[] oldTable = table;
+			final Entry[] newTable = new Entry[oldTable.length * 2];
+			for (Entry head : oldTable) {
+				Entry e = head;
+				while (e != null) {
+					final Entry next = e.next;
+					if (e.get() == null) {
+						// Will be ignored when dequeued
+						e.next = null;
+						--count;
+					} else {
+						final int index = e.hash & (newTable.length - 1);
+						e.next = newTable[index];
+						newTable[index] = e;
+					}
+					e = next;
+				}
+			}
+			table = newTable;
+		}
+
+	}
+
+}
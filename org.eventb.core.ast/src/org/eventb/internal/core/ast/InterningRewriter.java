@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.ast;
+
+import org.eventb.core.ast.AssociativeExpression;
+import org.eventb.core.ast.AssociativePredicate;
+import org.eventb.core.ast.AtomicExpression;
+import org.eventb.core.ast.BinaryExpression;
+import org.eventb.core.ast.BinaryPredicate;
+import org.eventb.core.ast.BoolExpression;
+import org.eventb.core.ast.BoundIdentDecl;
+import org.eventb.core.ast.BoundIdentifier;
+import org.eventb.core.ast.Expression;
+import org.eventb.core.ast.ExtendedExpression;
+import org.eventb.core.ast.ExtendedPredicate;
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IntegerLiteral;
+import org.eventb.core.ast.LiteralPredicate;
+import org.eventb.core.ast.MultiplePredicate;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.ast.QuantifiedExpression;
+import org.eventb.core.ast.QuantifiedPredicate;
+import org.eventb.core.ast.RelationalPredicate;
+import org.eventb.core.ast.SetExtension;
+import org.eventb.core.ast.SimplePredicate;
+import org.eventb.core.ast.UnaryExpression;
+import org.eventb.core.ast.UnaryPredicate;
+
+/**
+ * Rewriter that replaces every sub-formula by its canonical instance. It is
+ * used to intern a formula that was not built with interning on, so that all
+ * its nodes get shared.
+ * <p>
+ * Canonical instances carry no source location. Hence, nodes carrying a source
+ * location, such as parsed formulas, are replaced by a copy without location
+ * before being interned. Nodes that are not type-checked are left unchanged.
+ * Predicate variables are not interned either.
+ * </p>
+ */
+public class InterningRewriter extends DefaultTypeCheckingRewriter {
+
+	private final FormulaInterner interner;
+
+	public InterningRewriter(FormulaFactory ff, FormulaInterner interner) {
+		super(ff);
+		this.interner = interner;
+	}
+
+	private <T extends Formula<?>> T intern(T formula) {
+		if (!formula.isTypeChecked()) {
+			return formula;
+		}
+		assert formula.getSourceLocation() == null;
+		return interner.intern(formula);
+	}
+
+	private static boolean isLocated(Formula<?> formula) {
+		return formula.getSourceLocation() != null;
+	}
+
+	@Override
+	public BoundIdentDecl rewrite(BoundIdentDecl src) {
+		BoundIdentDecl result = super.rewrite(src);
+		if (isLocated(result)) {
+			result = ff.makeBoundIdentDecl(result.getName(), null,
+					result.getType());
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Expression rewrite(AssociativeExpression src,
+			AssociativeExpression expr) {
+		if (isLocated(expr)) {
+			expr = ff.makeAssociativeExpression(expr.getTag(),
+					expr.getChildren(), null);
+		}
+		return intern(expr);
+	}
+
+	@Override
+	public Predicate rewrite(AssociativePredicate src, AssociativePredicate pred) {
+		if (isLocated(pred)) {
+			pred = ff.makeAssociativePredicate(pred.getTag(),
+					pred.getChildren(), null);
+		}
+		return intern(pred);
+	}
+
+	@Override
+	public Expression rewrite(AtomicExpression src) {
+		Expression result = super.rewrite(src);
+		if (isLocated(result)) {
+			result = ff.makeAtomicExpression(result.getTag(), null,
+					result.getType());
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Expression rewrite(BinaryExpression src, BinaryExpression expr) {
+		if (isLocated(expr)) {
+			expr = ff.makeBinaryExpression(expr.getTag(), expr.getLeft(),
+					expr.getRight(), null);
+		}
+		return intern(expr);
+	}
+
+	@Override
+	public Predicate rewrite(BinaryPredicate src, BinaryPredicate pred) {
+		if (isLocated(pred)) {
+			pred = ff.makeBinaryPredicate(pred.getTag(), pred.getLeft(),
+					pred.getRight(), null);
+		}
+		return intern(pred);
+	}
+
+	@Override
+	public Expression rewrite(BoolExpression src, BoolExpression expr) {
+		if (isLocated(expr)) {
+			expr = ff.makeBoolExpression(expr.getPredicate(), null);
+		}
+		return intern(expr);
+	}
+
+	@Override
+	public Expression rewrite(BoundIdentifier src) {
+		Expression result = super.rewrite(src);
+		if (isLocated(result)) {
+			result = ff.makeBoundIdentifier(
+					((BoundIdentifier) result).getBoundIndex(), null,
+					result.getType());
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Expression rewrite(FreeIdentifier src) {
+		Expression result = super.rewrite(src);
+		if (isLocated(result)) {
+			result = ff.makeFreeIdentifier(
+					((FreeIdentifier) result).getName(), null,
+					result.getType());
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Expression rewrite(IntegerLiteral src) {
+		return intern(withoutLocation((IntegerLiteral) super.rewrite(src)));
+	}
+
+	private IntegerLiteral withoutLocation(IntegerLiteral literal) {
+		if (isLocated(literal)) {
+			return ff.makeIntegerLiteral(literal.getValue(), null);
+		}
+		return literal;
+	}
+
+	@Override
+	public Predicate rewrite(LiteralPredicate src) {
+		Predicate result = super.rewrite(src);
+		if (isLocated(result)) {
+			result = ff.makeLiteralPredicate(result.getTag(), null);
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Predicate rewrite(MultiplePredicate src, MultiplePredicate pred) {
+		if (isLocated(pred)) {
+			pred = ff.makeMultiplePredicate(pred.getTag(),
+					pred.getChildren(), null);
+		}
+		return intern(pred);
+	}
+
+	@Override
+	public Expression rewrite(QuantifiedExpression src, QuantifiedExpression expr) {
+		if (isLocated(expr)) {
+			expr = ff.makeQuantifiedExpression(expr.getTag(),
+					expr.getBoundIdentDecls(), expr.getPredicate(),
+					expr.getExpression(), null, expr.getForm());
+		}
+		return intern(expr);
+	}
+
+	@Override
+	public Predicate rewrite(QuantifiedPredicate src, QuantifiedPredicate pred) {
+		if (isLocated(pred)) {
+			pred = ff.makeQuantifiedPredicate(pred.getTag(),
+					pred.getBoundIdentDecls(), pred.getPredicate(), null);
+		}
+		return intern(pred);
+	}
+
+	@Override
+	public Predicate rewrite(RelationalPredicate src, RelationalPredicate pred) {
+		if (isLocated(pred)) {
+			pred = ff.makeRelationalPredicate(pred.getTag(), pred.getLeft(),
+					pred.getRight(), null);
+		}
+		return intern(pred);
+	}
+
+	@Override
+	public Expression rewrite(SetExtension src, SetExtension expr) {
+		Expression result = super.rewrite(src, expr);
+		if (isLocated(result)) {
+			final Expression[] members = ((SetExtension) result).getMembers();
+			if (members.length == 0) {
+				result = ff.makeEmptySetExtension(result.getType(), null);
+			} else {
+				result = ff.makeSetExtension(members, null);
+			}
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Predicate rewrite(SimplePredicate src, SimplePredicate pred) {
+		if (isLocated(pred)) {
+			pred = ff.makeSimplePredicate(pred.getTag(), pred.getExpression(),
+					null);
+		}
+		return intern(pred);
+	}
+
+	@Override
+	public Expression rewrite(UnaryExpression src, boolean changed,
+			Expression newChild) {
+		Expression result = super.rewrite(src, changed, newChild);
+		if (isLocated(result)) {
+			result = ff.makeUnaryExpression(result.getTag(), newChild, null);
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Expression rewrite(UnaryExpression src, IntegerLiteral expr) {
+		return intern(withoutLocation(expr));
+	}
+
+	@Override
+	public Predicate rewrite(UnaryPredicate src, UnaryPredicate pred) {
+		if (isLocated(pred)) {
+			pred = ff.makeUnaryPredicate(pred.getTag(), pred.getChild(), null);
+		}
+		return intern(pred);
+	}
+
+	@Override
+	public Expression rewrite(ExtendedExpression src, boolean changed,
+			Expression[] newChildExprs, Predicate[] newChildPreds) {
+		Expression result = super.rewrite(src, changed, newChildExprs,
+				newChildPreds);
+		if (isLocated(result)) {
+			result = ff.makeExtendedExpression(src.getExtension(),
+					newChildExprs, newChildPreds, null, result.getType());
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Predicate rewrite(ExtendedPredicate src, boolean changed,
+			Expression[] newChildExprs, Predicate[] newChildPreds) {
+		Predicate result = super.rewrite(src, changed, newChildExprs,
+				newChildPreds);
+		if (isLocated(result)) {
+			result = ff.makeExtendedPredicate(src.getExtension(),
+					newChildExprs, newChildPreds, null);
+		}
+		return intern(result);
+	}
+
+	@Override
+	public Expression rewriteToEmptySet(SetExtension src) {
+		Expression result = super.rewriteToEmptySet(src);
+		if (isLocated(result)) {
+			result = ff.makeEmptySet(result.getType(), null);
+		}
+		return intern(result);
+	}
+
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.ast.wd;
+
+import static org.eventb.internal.core.ast.FormulaInterner.isSame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.Predicate;
+
+/**
+ * Cache of the well-definedness predicates of formulas, as returned by
+ * <code>Formula.getWDPredicate()</code>.
+ * <p>
+ * The same formulas are asked for their WD predicate many times: once by the
+ * proof obligation loader for every hypothesis of every proof obligation, and
+ * again by the sequent prover for every rewritten or inferred hypothesis.
+ * Entries are keyed by formulas which are equal and have the same bound
+ * identifier names, so that the cached WD predicate is exactly the one that
+ * would be computed. Source locations are ignored, as they are not relevant
+ * to well-definedness. When formulas are interned by their factory, keys are
+ * most often compared by reference only.
+ * </p>
+ * <p>
+ * Only a bounded number of entries are kept, the least recently used ones
+ * being discarded first. The bound is given by system property
+ * {@value #CACHE_SIZE}; a non-positive value disables the cache.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class WDCache {
+
+	/**
+	 * Name of the system property giving the maximal number of entries.
+	 */
+	public static final String CACHE_SIZE = "org.eventb.core.ast.wdCacheSize";
+
+	private static final int DEFAULT_CACHE_SIZE = 4096;
+
+	private static final WDCache DEFAULT_INSTANCE = new WDCache(
+			Integer.getInteger(CACHE_SIZE, DEFAULT_CACHE_SIZE));
+
+	/**
+	 * Returns the cache shared by all formulas.
+	 *
+	 * @return the shared WD cache
+	 */
+	public static WDCache getDefault() {
+		return DEFAULT_INSTANCE;
+	}
+
+	/*
+	 * A formula compared up to source locations, together with its factory.
+	 */
+	private static final class Key {
+
+		private final Formula<?> formula;
+
+		Key(Formula<?> formula) {
+			this.formula = formula;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * formula.hashCode()
+					+ System.identityHashCode(formula.getFactory());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Formula<?> other = ((Key) obj).formula;
+			return formula.getFactory() == other.getFactory()
+					&& formula.equals(other) && isSame(formula, other, false);
+		}
+
+	}
+
+	private final int maxSize;
+
+	// Access-ordered, to discard the least recently used entries first
+	private final Map<Key, Predicate> entries;
+
+	private long hits;
+	private long misses;
+
+	WDCache(final int maxSize) {
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<Key, Predicate>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Predicate> eldest) {
+				return size() > maxSize;
+			}
+
+		};
+	}
+
+	/**
+	 * Tells whether this cache is enabled.
+	 *
+	 * @return <code>true</code> iff this cache may record entries
+	 */
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * Returns the WD predicate of the given type-checked formula, taking it
+	 * from this cache if possible.
+	 *
+	 * @param formula
+	 *            a type-checked formula
+	 * @return the WD predicate of the given formula
+	 */
+	public Predicate getWDPredicate(Formula<?> formula) {
+		if (!isEnabled()) {
+			return computeWDPredicate(formula);
+		}
+		final Key key = new Key(formula);
+		synchronized (this) {
+			final Predicate cached = entries.get(key);
+			if (cached != null) {
+				++hits;
+				return cached;
+			}
+			++misses;
+		}
+		// Computed outside the lock, concurrent computations are harmless
+		final Predicate result = computeWDPredicate(formula);
+		synchronized (this) {
+			entries.put(key, result);
+		}
+		return result;
+	}
+
+	private static Predicate computeWDPredicate(Formula<?> formula) {
+		final FormulaFactory fac = formula.getFactory();
+		final WDComputer wdComputer = new WDComputer(fac);
+		final Predicate wdLemma = wdComputer.getWDLemma(formula);
+		final WDImprover wdImprover = new WDImprover(fac);
+		return wdImprover.improve(wdLemma);
+	}
+
+	/**
+	 * Removes all entries from this cache.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of entries in this cache.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of successful lookups since the creation of this
+	 * cache, for tracing purposes.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of failed lookups since the creation of this cache,
+	 * for tracing purposes.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added tests for the portfolio combinator
  *******************************************************************************/
 package org.eventb.core.seqprover.autoTacticExtentionTests;
 
@@ -20,8 +21,10 @@ import static org.eventb.core.seqprover.autoTacticExtentionTests.DefaultCombinat
 import static org.eventb.core.seqprover.autoTacticExtentionTests.DefaultCombinatorTests.TracingSuccess3.SUCCESS_3;
 import static org.eventb.core.seqprover.tests.TestLib.genSeq;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -46,6 +49,7 @@ import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.ComposeUntil
 import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.ComposeUntilSuccess;
 import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.Loop;
 import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.OnAllPending;
+import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.Portfolio;
 import org.eventb.core.seqprover.eventbExtensions.TacticCombinators.Sequence;
 import org.eventb.core.seqprover.eventbExtensions.Tactics;
 import org.eventb.core.seqprover.reasonerInputs.EmptyInput;
@@ -73,8 +77,10 @@ public class DefaultCombinatorTests {
 
 		@Override
 		public Object apply(IProofTreeNode ptNode, IProofMonitor pm) {
-			trace.append(id);
-			trace.append(';');
+			synchronized (trace) {
+				trace.append(id);
+				trace.append(';');
+			}
 			return result;
 		}
 
@@ -401,4 +407,89 @@ public class DefaultCombinatorTests {
 		assertApply(attemptOnAllPendingSuccess.getTacticInstance(), node,
 				false, SUCCESS, SUCCESS, SUCCESS, SUCCESS);
 	}
+
+	/**
+	 * Tactic that never ends until it is cancelled.
+	 */
+	private static class WaitForCancel implements ITactic {
+
+		volatile boolean terminated;
+
+		@Override
+		public Object apply(IProofTreeNode ptNode, IProofMonitor pm) {
+			while (!pm.isCanceled()) {
+				Thread.yield();
+			}
+			terminated = true;
+			return "cancelled";
+		}
+
+	}
+
+	@Test
+	public void testPortfolio_Discharge() throws Exception {
+		final ITactic portfolio = combine(Portfolio.COMBINATOR_ID, FAILURE,
+				DISCHARGE);
+		final IProofTreeNode node = makeSimpleNode();
+		assertNull(portfolio.apply(node, null));
+		assertTrue(node.isClosed());
+	}
+
+	@Test
+	public void testPortfolio_Fail() throws Exception {
+		final ITactic portfolio = BasicTactics.portfolio(new TracingFailure(),
+				new TracingFailure());
+		final IProofTreeNode node = makeSimpleNode();
+		assertNotNull(portfolio.apply(node, null));
+		assertTrue(node.isOpen());
+		assertTrace(FAILURE, FAILURE);
+	}
+
+	/**
+	 * Ensures that a discharging tactic is preferred to a successful one, and
+	 * that the other tactics are cancelled.
+	 */
+	@Test
+	public void testPortfolio_DischargeCancels() throws Exception {
+		final WaitForCancel waiting = new WaitForCancel();
+		final ITactic portfolio = BasicTactics.portfolio(new TracingSuccess(),
+				waiting, new TracingDischarge());
+		final IProofTreeNode node = makeSimpleNode();
+		assertNull(portfolio.apply(node, null));
+		assertTrue(node.isClosed());
+		assertTrue(waiting.terminated);
+	}
+
+	/**
+	 * Ensures that nested portfolios terminate, even when they have more
+	 * alternatives than there are threads to run them.
+	 */
+	@Test(timeout = 60000)
+	public void testPortfolio_Nested() throws Exception {
+		final int count = Runtime.getRuntime().availableProcessors() + 2;
+		final ITactic[] inner = new ITactic[count];
+		for (int i = 0; i < count; i++) {
+			inner[i] = BasicTactics.portfolio(new TracingFailure(),
+					new TracingSuccess(), new TracingDischarge());
+		}
+		final ITactic portfolio = BasicTactics.portfolio(inner);
+		final IProofTreeNode node = makeSimpleNode();
+		assertNull(portfolio.apply(node, null));
+		assertTrue(node.isClosed());
+	}
+
+	/**
+	 * Ensures that the first successful tactic is kept when no tactic
+	 * discharges the node.
+	 */
+	@Test
+	public void testPortfolio_FirstSuccess() throws Exception {
+		final IProofTreeNode node = makeSimpleNode("a=TRUE ∧ b=FALSE");
+		final ITactic portfolio = BasicTactics.portfolio(new TracingFailure(),
+				Tactics.conjI(), new TracingSuccess());
+		assertNull(portfolio.apply(node, null));
+		assertFalse(node.isOpen());
+		assertEquals(2, node.getChildNodes().length);
+	}
+
 }
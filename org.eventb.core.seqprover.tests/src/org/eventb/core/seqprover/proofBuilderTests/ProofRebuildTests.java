@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2016 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added replay cache tests
  *******************************************************************************/
 package org.eventb.core.seqprover.proofBuilderTests;
 
@@ -22,6 +23,7 @@ import static org.eventb.core.seqprover.proofBuilderTests.ProofTreeShape.open;
 import static org.eventb.core.seqprover.proofBuilderTests.ProofTreeShape.reasoner;
 import static org.eventb.core.seqprover.proofBuilderTests.ProofTreeShape.splitGoal;
 import static org.eventb.core.seqprover.proofBuilderTests.ProofTreeShape.splitImplication;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -29,6 +31,7 @@ import org.eventb.core.seqprover.IConfidence;
 import org.eventb.core.seqprover.IProofSkeleton;
 import org.eventb.core.seqprover.IProofTreeNode;
 import org.eventb.core.seqprover.proofBuilder.ProofBuilder;
+import org.eventb.core.seqprover.proofBuilder.ReplayCache;
 import org.eventb.core.seqprover.reasonerInputs.EmptyInput;
 import org.junit.Before;
 import org.junit.Test;
@@ -300,4 +303,115 @@ public class ProofRebuildTests {
 		assertRebuild(node, proof, false);
 		uncertain.check(node);
 	}
-}
\ No newline at end of file
+
+	private static void assertRebuild(IProofTreeNode node,
+			IProofSkeleton skeleton, ReplayCache cache) {
+		assertTrue(ProofBuilder.rebuild(node, skeleton, null, true, cache,
+				null));
+	}
+
+	/**
+	 * Ensures that a replayed rule is taken from the replay cache when the
+	 * same reasoner is replayed with the same input on the same sequent.
+	 */
+	@Test
+	public void rebuildWithReplayCache() throws Exception {
+		final ReplayCache cache = new ReplayCache();
+		IProofTreeNode proof = makeProofTreeNode(P);
+		uncertain().create(proof);
+		UncertainReasoner.certain = true;
+
+		IProofTreeNode node = makeProofTreeNode(P);
+		assertRebuild(node, proof, cache);
+		certain().check(node);
+		assertEquals(0, cache.getHits());
+
+		// The reasoner would fail if it were called again
+		UncertainReasoner.fail = true;
+		IProofTreeNode other = makeProofTreeNode(P);
+		assertRebuild(other, proof, cache);
+		certain().check(other);
+		// Both the uncertain rule and its child were found in the cache
+		assertEquals(2, cache.getHits());
+	}
+
+	/**
+	 * Ensures that failed replays are not recorded in the replay cache.
+	 */
+	@Test
+	public void rebuildWithReplayCacheFailure() throws Exception {
+		final ReplayCache cache = new ReplayCache();
+		IProofTreeNode proof = makeProofTreeNode(P);
+		final ProofTreeShape uncertain = uncertain();
+		uncertain.create(proof);
+		UncertainReasoner.fail = true;
+
+		IProofTreeNode node = makeProofTreeNode(P);
+		assertRebuild(node, proof, cache);
+		uncertain.check(node);
+
+		// The reasoner is replayed again, rather than the failure reused
+		UncertainReasoner.reset();
+		UncertainReasoner.certain = true;
+		IProofTreeNode other = makeProofTreeNode(P);
+		assertRebuild(other, proof, cache);
+		certain().check(other);
+	}
+
+	/**
+	 * Ensures that a replayed rule is shared between sequents that only differ
+	 * in hypotheses which the rule does not need.
+	 */
+	@Test
+	public void rebuildWithReplayCacheOtherHypotheses() throws Exception {
+		final ReplayCache cache = new ReplayCache();
+		IProofTreeNode proof = makeProofTreeNode(P);
+		uncertain().create(proof);
+		UncertainReasoner.certain = true;
+
+		assertRebuild(makeProofTreeNode(P), proof, cache);
+		assertEquals(0, cache.getHits());
+
+		// The reasoner would fail if it were called again
+		UncertainReasoner.fail = true;
+		IProofTreeNode other = makeProofTreeNode(R, P);
+		assertRebuild(other, proof, cache);
+		certain().check(other);
+		assertEquals(2, cache.getHits());
+	}
+
+	/**
+	 * Ensures that a replayed rule is not shared between different goals.
+	 */
+	@Test
+	public void rebuildWithReplayCacheOtherGoal() throws Exception {
+		final ReplayCache cache = new ReplayCache();
+		IProofTreeNode proof = makeProofTreeNode(P);
+		uncertain().create(proof);
+		UncertainReasoner.certain = true;
+
+		assertRebuild(makeProofTreeNode(P), proof, cache);
+		assertRebuild(makeProofTreeNode(R), proof, cache);
+		// Only the child rule, whose goal is Q in both proofs, is shared
+		assertEquals(1, cache.getHits());
+	}
+
+	/**
+	 * Ensures that the reasoner is replayed when the recorded rule does not
+	 * apply to the sequent at hand.
+	 */
+	@Test
+	public void rebuildWithReplayCacheNotApplicable() throws Exception {
+		final ReplayCache cache = new ReplayCache();
+		IProofTreeNode proof = makeProofTreeNode(P);
+		uncertain().create(proof);
+		UncertainReasoner.certain = true;
+
+		assertRebuild(makeProofTreeNode(P), proof, cache);
+		// The recorded rule introduces Q, which is not fresh here
+		IProofTreeNode other = makeProofTreeNode(Q, P);
+		assertRebuild(other, proof, cache);
+		certain().check(other);
+	}
+
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.seqprover.rewriterTests;
+
+import static org.eventb.core.seqprover.tests.TestLib.genPred;
+import static org.eventb.core.seqprover.tests.TestLib.genSeq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.seqprover.IProofRule;
+import org.eventb.core.seqprover.IProofTree;
+import org.eventb.core.seqprover.IProofTreeNode;
+import org.eventb.core.seqprover.IProverSequent;
+import org.eventb.core.seqprover.IReasonerFailure;
+import org.eventb.core.seqprover.IReasonerOutput;
+import org.eventb.core.seqprover.ProverFactory;
+import org.eventb.core.seqprover.reasonerInputs.EmptyInput;
+import org.eventb.core.seqprover.tactics.BasicTactics;
+import org.eventb.internal.core.seqprover.eventbExtensions.rewriters.AutoRewrites.Level;
+import org.eventb.internal.core.seqprover.eventbExtensions.rewriters.AutoRewritesL2;
+import org.eventb.internal.core.seqprover.eventbExtensions.rewriters.AutoRewritesL4;
+import org.eventb.internal.core.seqprover.eventbExtensions.rewriters.NormalFormCache;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the memoization of normal forms by automatic rewriters.
+ */
+public class NormalFormCacheTests {
+
+	private static final NormalFormCache CACHE = NormalFormCache.getDefault();
+
+	@Before
+	public void clearCache() {
+		CACHE.clear();
+	}
+
+	private static IReasonerOutput apply(IProverSequent sequent) {
+		return new AutoRewritesL4().apply(sequent, new EmptyInput(), null);
+	}
+
+	/**
+	 * Ensures that the normal form of a rewritten hypothesis is recorded for
+	 * the hypothesis and for the normal form itself, for the rewriter level
+	 * only.
+	 */
+	@Test
+	public void normalFormRecorded() {
+		final Predicate hyp = genPred("⊤ ⇒ x = 1");
+		final IReasonerOutput output = apply(genSeq(hyp, genPred("⊥")));
+		assertTrue(output instanceof IProofRule);
+
+		final Predicate normal = CACHE.get(hyp, Level.L4);
+		assertEquals(genPred("x = 1"), normal);
+		assertSame(normal, CACHE.get(normal, Level.L4));
+		assertNull(CACHE.get(hyp, Level.L2));
+	}
+
+	/**
+	 * Ensures that rewriting again the hypotheses of a sequent, or the
+	 * hypotheses of a descendant sequent, only hits the cache and gives the
+	 * same result as without cache.
+	 */
+	@Test
+	public void rewriteAgain() {
+		final IProverSequent sequent = genSeq("x = 2 ;; ⊤ ⇒ x = 1 |- ⊥");
+		final IProofTree tree = ProverFactory.makeProofTree(sequent, null);
+		final IProofTreeNode root = tree.getRoot();
+		BasicTactics.reasonerTac(new AutoRewritesL4(), new EmptyInput())
+				.apply(root, null);
+		final IProverSequent child = root.getChildNodes()[0].getSequent();
+
+		final long misses = CACHE.getMisses();
+		final long hits = CACHE.getHits();
+		assertTrue(apply(child) instanceof IReasonerFailure);
+		assertEquals(misses, CACHE.getMisses());
+		// Two visible hypotheses and the goal
+		assertEquals(hits + 3, CACHE.getHits());
+
+		assertTrue(apply(sequent) instanceof IProofRule);
+		assertEquals(misses, CACHE.getMisses());
+
+		// Another level does not share normal forms
+		new AutoRewritesL2().apply(child, new EmptyInput(), null);
+		assertEquals(misses + 3, CACHE.getMisses());
+	}
+
+	/**
+	 * Ensures that concurrent lookups and records are all accounted for, and
+	 * that every recorded normal form can be retrieved afterwards.
+	 */
+	@Test
+	public void concurrentAccesses() throws Exception {
+		final int count = 8;
+		final Predicate[] preds = new Predicate[count];
+		final Predicate[] normals = new Predicate[count];
+		for (int i = 0; i < count; i++) {
+			preds[i] = genPred("⊤ ⇒ x = " + i);
+			normals[i] = genPred("x = " + i);
+		}
+		final long lookups = CACHE.getHits() + CACHE.getMisses();
+		final int rounds = 1000;
+		final List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < count; i++) {
+			final int index = i;
+			final Thread thread = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < rounds; j++) {
+						if (CACHE.get(preds[index], Level.L4) == null) {
+							CACHE.put(preds[index], Level.L4, normals[index]);
+						}
+					}
+				}
+			};
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(lookups + count * rounds, CACHE.getHits()
+				+ CACHE.getMisses());
+		assertEquals(2 * count, CACHE.size());
+		for (int i = 0; i < count; i++) {
+			assertSame(normals[i], CACHE.get(preds[i], Level.L4));
+		}
+	}
+
+}
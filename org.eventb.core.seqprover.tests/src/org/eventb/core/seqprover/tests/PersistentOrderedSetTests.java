@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.seqprover.tests;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.eventb.internal.core.seqprover.PersistentOrderedSet;
+import org.junit.Test;
+
+/**
+ * Unit tests for class {@link PersistentOrderedSet}, which must behave as an
+ * immutable <code>LinkedHashSet</code>.
+ */
+public class PersistentOrderedSetTests {
+
+	/*
+	 * Key with a hash code chosen by the test, to create collisions.
+	 */
+	private static class Key {
+
+		final int id;
+		final int hash;
+
+		Key(int id, int hash) {
+			this.id = id;
+			this.hash = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).id == id;
+		}
+
+		@Override
+		public String toString() {
+			return "k" + id;
+		}
+
+	}
+
+	private static <T> void assertSameSet(LinkedHashSet<T> expected,
+			PersistentOrderedSet<T> actual) {
+		assertEquals(new ArrayList<T>(expected), new ArrayList<T>(actual));
+		assertEquals(expected.size(), actual.size());
+		for (T t : expected) {
+			assertTrue(actual.contains(t));
+		}
+	}
+
+	/**
+	 * Ensures that elements are iterated in insertion order and that adding
+	 * an element already present does not change anything.
+	 */
+	@Test
+	public void insertionOrder() {
+		final PersistentOrderedSet<String> empty = PersistentOrderedSet.empty();
+		final PersistentOrderedSet<String> set = empty.plusAll(asList("c",
+				"a", "b"));
+		assertEquals(asList("c", "a", "b"), new ArrayList<String>(set));
+		assertSame(set, set.plus("a"));
+		assertSame(set, set.minus("d"));
+		assertFalse(set.contains(null));
+		final PersistentOrderedSet<String> readded = set.minus("c").plus("c");
+		assertEquals(asList("a", "b", "c"), new ArrayList<String>(readded));
+		assertTrue(empty.isEmpty());
+		assertEquals(3, set.size());
+	}
+
+	/**
+	 * Ensures that modifying a set does not change the original set.
+	 */
+	@Test
+	public void persistence() {
+		final PersistentOrderedSet<Integer> empty = PersistentOrderedSet.empty();
+		final List<PersistentOrderedSet<Integer>> versions = new ArrayList<PersistentOrderedSet<Integer>>();
+		PersistentOrderedSet<Integer> set = empty;
+		for (int i = 0; i < 2000; i++) {
+			versions.add(set);
+			set = set.plus(i);
+		}
+		for (int i = 0; i < versions.size(); i++) {
+			final PersistentOrderedSet<Integer> version = versions.get(i);
+			assertEquals(i, version.size());
+			assertFalse(version.contains(i));
+			if (i > 0) {
+				assertTrue(version.contains(i - 1));
+			}
+		}
+		final PersistentOrderedSet<Integer> removed = set.minus(1000);
+		assertTrue(set.contains(1000));
+		assertFalse(removed.contains(1000));
+		assertEquals(1999, removed.size());
+	}
+
+	/**
+	 * Ensures that the set behaves as a <code>LinkedHashSet</code> for random
+	 * operations, including hash collisions and compaction.
+	 */
+	@Test
+	public void randomOperations() {
+		final Random random = new Random(42);
+		for (final int hashRange : new int[] { 4, 100, Integer.MAX_VALUE }) {
+			final Key[] keys = new Key[300];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = new Key(i, random.nextInt(hashRange));
+			}
+			final LinkedHashSet<Key> expected = new LinkedHashSet<Key>();
+			PersistentOrderedSet<Key> actual = PersistentOrderedSet.empty();
+			for (int step = 0; step < 5000; step++) {
+				final Key key = keys[random.nextInt(keys.length)];
+				if (random.nextInt(3) == 0) {
+					assertEquals(expected.remove(key), actual.contains(key));
+					actual = actual.minus(key);
+				} else {
+					assertEquals(expected.add(key), !actual.contains(key));
+					actual = actual.plus(key);
+				}
+				assertEquals(expected.size(), actual.size());
+			}
+			assertSameSet(expected, actual);
+			for (Key key : keys) {
+				assertEquals(expected.contains(key), actual.contains(key));
+			}
+			actual = actual.minusAll(new ArrayList<Key>(expected));
+			assertTrue(actual.isEmpty());
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,8 @@
  *     Systerel - moved all type-checking code to class TypeChecker
  *     Systerel - added checks about predicate variables
  *     Systerel - added tests for hypotheses search
+ *     ISP RAS - added tests for hypothesis queries
+ *     ISP RAS - added tests for indexed text search
  *******************************************************************************/
 package org.eventb.core.seqprover.tests;
 
@@ -355,6 +357,81 @@ public class ProverSequentTests {
 		assertEquals(mSet(gx, gy, sx, sy), ProverLib.hypsTextSearch(seq, "10",
 				false));
 		assertEquals(mSet(gy, sy), ProverLib.hypsTextSearch(seq, "=10", false));
+
+		// Several words, short words and spurious white spaces
+		assertEquals(mSet(gx, sx), ProverLib.hypsTextSearch(seq, " 10=  + ", false));
+		assertEquals(mSet(gx, hx, sx), ProverLib.hypsTextSearch(seq, "+"));
+		assertEquals(allHyps, ProverLib.hypsTextSearch(seq, " "));
+		assertEquals(mSet(), ProverLib.hypsTextSearch(seq, "10=4"));
+	}
+
+	/**
+	 * Tests that textual search stays accurate on derived sequents.
+	 */
+	@Test
+	public void testHypsTextSearchDerived() {
+		final Predicate p0 = genPred("10=9+1");
+		final Predicate p1 = genPred("9=10−1");
+		final IProverSequent seq = TestLib.genSeq(p0, p1, False);
+		assertEquals(mSet(p0, p1), ProverLib.hypsTextSearch(seq, "10"));
+
+		final Predicate p2 = genPred("10=11−1");
+		final IProverSequent fwdSeq = ((IInternalProverSequent) seq)
+				.performfwdInf(Collections.singleton(p0), null,
+						Collections.singleton(p2));
+		assertEquals(mSet(p0, p1, p2), ProverLib.hypsTextSearch(fwdSeq, "10"));
+		assertEquals(mSet(p1, p2), ProverLib.hypsTextSearch(fwdSeq, "− 1"));
+		assertEquals(mSet(p1), ProverLib.hypsTextSearch(seq, "− 1"));
+
+		final IProverSequent hidSeq = ((IInternalProverSequent) fwdSeq)
+				.hideHypotheses(Collections.singleton(p1));
+		assertEquals(mSet(p1, p2), ProverLib.hypsTextSearch(hidSeq, "− 1"));
+		assertEquals(mSet(p2), ProverLib.hypsTextSearch(hidSeq, "− 1", false));
+	}
+
+	/**
+	 * Tests for hypothesis queries by tag, free identifier and negation.
+	 */
+	@Test
+	public void testHypsQueries() {
+		final Predicate p0 = genPred("x=1");
+		final Predicate p1 = genPred("¬ y=2");
+		final Predicate p2 = genPred("x∈ℕ");
+		final Predicate p3 = genPred("y=x+1");
+		final Predicate p4 = genPred("z∈ℕ");
+		final IProverSequent seq = TestLib.genSeq(p0, p1, p2, p3, p4, False);
+
+		testIterable(new Predicate[] { p0, p3 }, seq.hypsWithTag(Formula.EQUAL));
+		testIterable(new Predicate[] { p2, p4 }, seq.hypsWithTag(Formula.IN));
+		testIterable(new Predicate[] {}, seq.hypsWithTag(Formula.LAND));
+
+		final FreeIdentifier x = freeIdent_x_int;
+		final FreeIdentifier y = freeIdent_y_int;
+		testIterable(new Predicate[] { p0, p2, p3 },
+				seq.hypsWithFreeIdents(Collections.singleton(x)));
+		testIterable(new Predicate[] { p0, p1, p2, p3 },
+				seq.hypsWithFreeIdents(Arrays.asList(y, x)));
+		assertEquals(mSet(p0, p2, p3), ProverLib.hypsFreeIdentsSearch(seq,
+				Collections.singleton(x)));
+
+		assertTrue(seq.containsNegation(genPred("y=2")));
+		assertTrue(seq.containsNegation(genPred("¬ x=1")));
+		assertFalse(seq.containsNegation(genPred("x=1")));
+		assertFalse(seq.containsNegation(genPred("¬ y=2")));
+
+		// Queries also cover hypotheses added by forward inference
+		final Predicate p5 = genPred("z=3");
+		final Predicate p6 = genPred("¬ x∈ℕ");
+		final IProverSequent newSeq = ((IInternalProverSequent) seq)
+				.performfwdInf(Collections.singleton(p4), null,
+						Arrays.asList(p5, p6));
+		testIterable(new Predicate[] { p0, p3, p5 },
+				newSeq.hypsWithTag(Formula.EQUAL));
+		testIterable(new Predicate[] { p0, p2, p3, p6 },
+				newSeq.hypsWithFreeIdents(Collections.singleton(x)));
+		assertTrue(newSeq.containsNegation(p2));
+		assertTrue(newSeq.containsNegation(p6));
+		assertFalse(seq.containsNegation(p2));
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,12 +9,14 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - extended interface with getFormulaFactory() method
  *     Systerel - extended interface with getOrigin() method
+ *     ISP RAS - added hypothesis queries
  *******************************************************************************/
 package org.eventb.core.seqprover;
 
 import java.util.Collection;
 
 import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.FreeIdentifier;
 import org.eventb.core.ast.ISealedTypeEnvironment;
 import org.eventb.core.ast.Predicate;
 import org.eventb.internal.core.seqprover.IInternalProverSequent;
@@ -129,6 +131,49 @@ public interface IProverSequent{
 	 */
 	boolean containsHypotheses(Collection<Predicate> preds);
 	
+	/**
+	 * Returns the hypotheses of this sequent that have the given tag.
+	 * <p>
+	 * Hypotheses are returned in the same order as by {@link #hypIterable()}.
+	 * This method is intended to replace a scan of all hypotheses by an index
+	 * lookup.
+	 * </p>
+	 * 
+	 * @param tag
+	 *            the tag of the hypotheses to return
+	 * @return an iterable over the hypotheses with the given tag
+	 * @since 3.4
+	 */
+	Iterable<Predicate> hypsWithTag(int tag);
+
+	/**
+	 * Returns the hypotheses of this sequent in which at least one of the
+	 * given free identifiers occurs. Free identifiers are compared by name.
+	 * <p>
+	 * Hypotheses are returned in the same order as by {@link #hypIterable()}.
+	 * </p>
+	 * 
+	 * @param idents
+	 *            the free identifiers to search for
+	 * @return an iterable over the hypotheses containing some of the given
+	 *         free identifiers
+	 * @since 3.4
+	 */
+	Iterable<Predicate> hypsWithFreeIdents(Collection<FreeIdentifier> idents);
+
+	/**
+	 * Tells whether the negation of the given predicate is a hypothesis of
+	 * this sequent, that is <code>¬P</code> for a predicate <code>P</code>,
+	 * and <code>P</code> for a predicate <code>¬P</code>.
+	 * 
+	 * @param pred
+	 *            the predicate whose negation is searched for
+	 * @return <code>true</code> iff the negation of the given predicate is a
+	 *         hypothesis of this sequent
+	 * @since 3.4
+	 */
+	boolean containsNegation(Predicate pred);
+	
 	
 	/**
 	 * Returns the goal predicate of this sequent.
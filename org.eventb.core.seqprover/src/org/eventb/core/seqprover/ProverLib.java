@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,18 +13,22 @@
  *     Systerel - added unselected hypotheses
  *     Systerel - checked reasoner conflicts in proof dependencies
  *     Systerel - avoided comparison of rule display names in deepEquals()
+ *     ISP RAS - looked up hypotheses by free identifier
+ *     ISP RAS - indexed text search in hypotheses
  *******************************************************************************/
 package org.eventb.core.seqprover;
 
 import static java.util.Arrays.asList;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eventb.core.ast.FormulaFactory;
@@ -34,6 +38,7 @@ import org.eventb.core.seqprover.IHypAction.IForwardInfHypAction;
 import org.eventb.core.seqprover.IHypAction.IRewriteHypAction;
 import org.eventb.core.seqprover.IHypAction.ISelectionHypAction;
 import org.eventb.core.seqprover.IProofRule.IAntecedent;
+import org.eventb.internal.core.seqprover.IInternalProverSequent;
 import org.eventb.internal.core.seqprover.ProofRule;
 import org.eventb.internal.core.seqprover.Util;
 import org.eventb.internal.core.seqprover.proofSimplifier2.ProofSawyer;
@@ -433,40 +438,30 @@ public class ProverLib {
 	public static Set<Predicate> hypsTextSearch(IProverSequent sequent,
 			String pattern, boolean withHidden) {
 		final Set<Predicate> result = new LinkedHashSet<Predicate>();
-		final Iterable<Predicate> iterable;
-		if (withHidden) {
-			iterable = sequent.hypIterable();
-		} else {
-			iterable = sequent.visibleHypIterable();
-		}
+		final Iterable<Predicate> iterable = ((IInternalProverSequent) sequent)
+				.hypsWithText(splitPattern(pattern));
 		for (final Predicate hypothesis : iterable) {
-			if (patternMatches(hypothesis, pattern)) {
+			if (withHidden || !sequent.isHidden(hypothesis)) {
 				result.add(hypothesis);
 			}
 		}
 		return result;
 	}
 	
-	private static boolean patternMatches(Predicate pred, String pattern) {
-		if (pattern.isEmpty()) {
-			return true;
-		}
-		final String predStr = pred.toString();
-		final String[] toSearch = pattern.split("\\s");
-		for (String str : toSearch) {
-			if (!(predStr.contains(str)))
-				return false;
+	private static List<String> splitPattern(String pattern) {
+		final List<String> result = new ArrayList<String>();
+		for (String str : pattern.split("\\s")) {
+			if (!str.isEmpty()) {
+				result.add(str);
+			}
 		}
-		return true;
+		return result;
 	}
 
 	public static Set<Predicate> hypsFreeIdentsSearch(IProverSequent seq, Set<FreeIdentifier> freeIdents) {
 		Set<Predicate> result = new LinkedHashSet<Predicate>();
-		for (Predicate hypothesis: seq.hypIterable()){
-			if (! Collections.disjoint(
-					Arrays.asList(hypothesis.getFreeIdentifiers()),
-					freeIdents))				
-				result.add(hypothesis);
+		for (Predicate hypothesis: seq.hypsWithFreeIdents(freeIdents)){
+			result.add(hypothesis);
 		}
 		return result;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - replay when reasoner version has changed
  *     Systerel - in reuse(), no more try to replay; check reasoners registered
  *     Systerel - improved rebuild()
+ *     ISP RAS - added replay cache to rebuild()
  *******************************************************************************/
 package org.eventb.core.seqprover.proofBuilder;
 
@@ -351,15 +352,55 @@ public class ProofBuilder {
 	 */
 	public static boolean rebuild(IProofTreeNode node, IProofSkeleton skeleton, ReplayHints replayHints,
 			boolean tryReplayUncertain, IProofMonitor proofMonitor) {
+		return rebuild(node, skeleton, replayHints, tryReplayUncertain, null, proofMonitor);
+	}
+
+	/**
+	 * A method that recursively rebuilds proof tree nodes using a proof
+	 * skeleton and replay hints, taking replayed rules from the given cache
+	 * when possible.
+	 * <p>
+	 * This method behaves as
+	 * {@link #rebuild(IProofTreeNode, IProofSkeleton, ReplayHints, boolean, IProofMonitor)}
+	 * , except that, when a reasoner needs to be replayed, a rule it produced
+	 * with the same input on the same goal is taken from the given cache, if
+	 * present and applicable to the node. Rules produced by new replays are
+	 * recorded in the cache.
+	 * </p>
+	 * 
+	 * @param node
+	 *            The open proof tree node where rebuilding should start. This
+	 *            node MUST be checked to be open before calling this method.
+	 * @param skeleton
+	 *            The proof skeleton to use
+	 * @param replayHints
+	 *            The replay hints to use, or <code>null</code> if none
+	 * @param tryReplayUncertain
+	 *            <code>true</code> to try to replay uncertain rules,
+	 *            <code>false</code> to reuse them as is
+	 * @param replayCache
+	 *            The cache of replayed rules to use, or <code>null</code> if
+	 *            none
+	 * @param proofMonitor
+	 *            The proof monitor that monitors the progress of the rebuild
+	 *            activity
+	 * @return <code>true</code> iff the all proof tree nodes could be
+	 *         completely rebuilt from the proof skeleton nodes WITHOUT
+	 *         recalling any of the reasoners
+	 * @see ReplayCache
+	 * @since 3.4
+	 */
+	public static boolean rebuild(IProofTreeNode node, IProofSkeleton skeleton, ReplayHints replayHints,
+			boolean tryReplayUncertain, ReplayCache replayCache, IProofMonitor proofMonitor) {
 		if (replayHints == null) {
 			replayHints = new ReplayHints(node.getFormulaFactory());
 		}
 		skeleton = getTranslatedSkeleton(node, skeleton);
-		return recRebuild(node, skeleton, replayHints, tryReplayUncertain, proofMonitor);
+		return recRebuild(node, skeleton, replayHints, tryReplayUncertain, replayCache, proofMonitor);
 	}
 
 	private static boolean recRebuild(IProofTreeNode node, IProofSkeleton skeleton, ReplayHints replayHints,
-			boolean tryReplayUncertain, IProofMonitor proofMonitor) {
+			boolean tryReplayUncertain, ReplayCache replayCache, IProofMonitor proofMonitor) {
 
 		node.setComment(skeleton.getComment());
 
@@ -384,7 +425,7 @@ public class ProofBuilder {
 		}
 
 		if (certain ? !reuseSuccessfull : tryReplayUncertain) {
-			replaySuccessfull = tryReplay(reuseProofRule, node, replayHints, proofMonitor);
+			replaySuccessfull = tryReplay(reuseProofRule, node, replayHints, replayCache, proofMonitor);
 		}
 
 		final IProofSkeleton[] skelChildren = skeleton.getChildNodes();
@@ -392,7 +433,8 @@ public class ProofBuilder {
 		if (!(reuseSuccessfull || replaySuccessfull)) {
 			if (ruleIsSkip(node, reuseProofRule)) {
 				// Actually the rule was doing nothing, can be by-passed.
-				return recRebuild(node, skelChildren[0], replayHints, tryReplayUncertain, proofMonitor);
+				return recRebuild(node, skelChildren[0], replayHints, tryReplayUncertain, replayCache,
+						proofMonitor);
 			}
 			final boolean appliedUncertain = tryUncertainRule(node, reuseProofRule);
 			if (!appliedUncertain) {
@@ -416,7 +458,7 @@ public class ProofBuilder {
 				newReplayHints.addHints(reuseProofRule.getAntecedents()[i], node.getRule().getAntecedents()[i]);
 			}
 			combinedResult &= recRebuild(nodeChildren[i], skelChildren[i], newReplayHints, tryReplayUncertain,
-					proofMonitor);
+					replayCache, proofMonitor);
 		}
 		return combinedResult;
 	}
@@ -432,7 +474,7 @@ public class ProofBuilder {
 	}
 
 	private static boolean tryReplay(IProofRule reuseProofRule, IProofTreeNode node, ReplayHints replayHints,
-			IProofMonitor proofMonitor) {
+			ReplayCache replayCache, IProofMonitor proofMonitor) {
 		IReasoner reasoner = reuseProofRule.generatedBy();
 		// Check if the reasoner is installed
 		if (reasoner == null)
@@ -443,12 +485,25 @@ public class ProofBuilder {
 			return false;
 		IProofRule replayProofRule = null;
 		replayHints.applyHints(reasonerInput);
-		final IReasonerOutput replayReasonerOutput = reasoner.apply(node.getSequent(), reasonerInput, proofMonitor);
+		final IProverSequent sequent = node.getSequent();
+		final ReplayCache.Key key = replayCache == null ? null
+				: replayCache.makeKey(reuseProofRule, reasonerInput, sequent);
+		if (key != null) {
+			// A recorded rule may not apply, as keys ignore most hypotheses
+			final IProofRule cachedRule = replayCache.get(key);
+			if (cachedRule != null && node.applyRule(cachedRule)) {
+				return true;
+			}
+		}
+		final IReasonerOutput replayReasonerOutput = reasoner.apply(sequent, reasonerInput, proofMonitor);
 
 		// Check if the reasoner successfully generated a proof rule.
 		if (replayReasonerOutput instanceof IProofRule) {
 			// Try to apply the generated proof rule.
 			replayProofRule = (IProofRule) replayReasonerOutput;
+			if (key != null) {
+				replayCache.put(key, replayProofRule);
+			}
 			return node.applyRule(replayProofRule);
 		}
 		return false;
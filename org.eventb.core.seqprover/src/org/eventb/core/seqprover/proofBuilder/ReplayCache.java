@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.seqprover.proofBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eventb.core.ast.Expression;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.seqprover.IProofRule;
+import org.eventb.core.seqprover.IProverSequent;
+import org.eventb.core.seqprover.IReasoner;
+import org.eventb.core.seqprover.IReasonerInput;
+import org.eventb.core.seqprover.IReasonerInputWriter;
+import org.eventb.core.seqprover.IVersionedReasoner;
+import org.eventb.core.seqprover.SerializeException;
+
+/**
+ * Cache of the rules produced by reasoners when proofs are rebuilt.
+ * <p>
+ * When the proofs of many proof obligations of a component are rebuilt, the
+ * same reasoner is often replayed with the same input on the same goal, the
+ * proof obligations only differing in hypotheses that the reasoner does not
+ * need. This cache records the proof rules produced by such replays, so that
+ * {@link ProofBuilder} can apply the recorded rule instead of calling the
+ * reasoner again.
+ * </p>
+ * <p>
+ * Entries are keyed by the reasoner id and version, the serialized reasoner
+ * input, the goal of the sequent on which the reasoner is applied and the
+ * hypotheses needed by the rule being rebuilt. A recorded rule is thus not
+ * guaranteed to apply to the sequent at hand: it is only reused if it can be
+ * applied to that sequent, the reasoner being called otherwise. As proof rules
+ * are sound whatever the other hypotheses of the sequent, this is enough to
+ * ensure that the rebuilt proof is correct. Only successful replays are
+ * recorded, as failures may be due to cancellation or time limits.
+ * </p>
+ * <p>
+ * A cache is meant to be shared by the rebuilds of the proofs of one
+ * component. Only a bounded number of entries are kept, the least recently
+ * used ones being discarded first.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @see ProofBuilder#rebuild(org.eventb.core.seqprover.IProofTreeNode,
+ *      org.eventb.core.seqprover.IProofSkeleton, ReplayHints, boolean,
+ *      ReplayCache, org.eventb.core.seqprover.IProofMonitor)
+ * @since 3.4
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public final class ReplayCache {
+
+	/**
+	 * Name of the system property giving the default maximal number of
+	 * entries of a cache.
+	 */
+	public static final String CACHE_SIZE = "org.eventb.core.seqprover.replayCacheSize";
+
+	private static final int DEFAULT_CACHE_SIZE = 1024;
+
+	/*
+	 * Records the serialized form of a reasoner input.
+	 */
+	private static class InputRecorder implements IReasonerInputWriter {
+
+		final List<Object> items = new ArrayList<Object>();
+
+		@Override
+		public void putPredicates(String key, Predicate... predicates) {
+			items.add(key);
+			items.add(Arrays.asList(predicates));
+		}
+
+		@Override
+		public void putExpressions(String key, Expression... expressions) {
+			items.add(key);
+			items.add(Arrays.asList(expressions));
+		}
+
+		@Override
+		public void putString(String key, String string) {
+			items.add(key);
+			items.add(string);
+		}
+
+	}
+
+	static final class Key {
+
+		private final List<Object> items;
+		private final int hash;
+
+		Key(List<Object> items) {
+			this.items = items;
+			this.hash = items.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return hash == other.hash && items.equals(other.items);
+		}
+
+	}
+
+	private final int maxSize;
+
+	// Access-ordered, to discard the least recently used entries first
+	private final Map<Key, IProofRule> entries;
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * Creates a new cache, with the maximal size given by system property
+	 * {@value #CACHE_SIZE}.
+	 */
+	public ReplayCache() {
+		this(Integer.getInteger(CACHE_SIZE, DEFAULT_CACHE_SIZE));
+	}
+
+	/**
+	 * Creates a new cache with the given maximal size. A non-positive size
+	 * disables the cache.
+	 *
+	 * @param maxSize
+	 *            the maximal number of entries
+	 */
+	public ReplayCache(final int maxSize) {
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<Key, IProofRule>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, IProofRule> eldest) {
+				return size() > maxSize;
+			}
+
+		};
+	}
+
+	/**
+	 * Tells whether this cache is enabled.
+	 *
+	 * @return <code>true</code> iff this cache may record entries
+	 */
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/*
+	 * Returns the key for replaying the reasoner of the given rule with the
+	 * given input on the given sequent, or null if the input cannot be
+	 * serialized. Only the goal of the sequent is part of the key, together
+	 * with the hypotheses needed by the given rule.
+	 */
+	Key makeKey(IProofRule rule, IReasonerInput input, IProverSequent sequent) {
+		if (!isEnabled()) {
+			return null;
+		}
+		final IReasoner reasoner = rule.generatedBy();
+		final InputRecorder recorder = new InputRecorder();
+		try {
+			reasoner.serializeInput(input, recorder);
+		} catch (SerializeException e) {
+			return null;
+		}
+		final List<Object> items = recorder.items;
+		items.add(reasoner.getReasonerID());
+		if (reasoner instanceof IVersionedReasoner) {
+			items.add(((IVersionedReasoner) reasoner).getVersion());
+		}
+		items.add(sequent.getFormulaFactory());
+		items.add(sequent.goal());
+		items.add(rule.getNeededHyps());
+		return new Key(items);
+	}
+
+	/*
+	 * Returns the rule recorded for the given key, or null if none.
+	 */
+	synchronized IProofRule get(Key key) {
+		final IProofRule result = entries.get(key);
+		if (result == null) {
+			++misses;
+		} else {
+			++hits;
+		}
+		return result;
+	}
+
+	synchronized void put(Key key, IProofRule rule) {
+		entries.put(key, rule);
+	}
+
+	/**
+	 * Removes all entries from this cache.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of entries in this cache.
+	 *
+	 * @return the number of entries in this cache
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of replays avoided by this cache since its creation.
+	 *
+	 * @return the number of successful lookups
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of failed lookups since the creation of this cache.
+	 *
+	 * @return the number of failed lookups
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,8 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - added support for cancellation in several tacticals
  *     ISP RAS - added firstSuccessful tactic
+ *     ISP RAS - added rebuild tactic with replay cache
+ *     ISP RAS - added portfolio tactic
  *******************************************************************************/
 package org.eventb.core.seqprover.tactics;
 
@@ -35,7 +37,9 @@ import org.eventb.core.seqprover.IReasonerInput;
 import org.eventb.core.seqprover.IReasonerOutput;
 import org.eventb.core.seqprover.ITactic;
 import org.eventb.core.seqprover.proofBuilder.ProofBuilder;
+import org.eventb.core.seqprover.proofBuilder.ReplayCache;
 import org.eventb.internal.core.seqprover.Messages;
+import org.eventb.internal.core.seqprover.PortfolioTactic;
 import org.eventb.internal.core.seqprover.ProofTreeNode;
 import org.eventb.internal.core.seqprover.Util;
 
@@ -524,6 +528,32 @@ public class BasicTactics {
 		};
 	}
 
+	/**
+	 * Runs the given tactics concurrently, each on its own copy of the proof
+	 * tree node, and keeps the first proof that discharges the node.
+	 * 
+	 * <p>
+	 * Applying the resulting tactic applies the given tactics simultaneously.
+	 * As soon as one of them discharges its copy of the node, the others are
+	 * cancelled through their proof monitor, and the proof found is copied to
+	 * the node. If no tactic discharges the node, the result of the first
+	 * successful tactic, in the given order, is kept.
+	 * </p>
+	 * <p>
+	 * The resulting tactic fails iff all tactics failed. The given tactics
+	 * must be thread-safe.
+	 * </p>
+	 * 
+	 * @param tactics
+	 * 			Array of tactics to run
+	 * @return
+	 * 			The resulting tactic.
+	 * @since 3.4
+	 */
+	public static ITactic portfolio(final ITactic ... tactics){
+		return new PortfolioTactic(tactics);
+	}
+
 
 	/**
 	 * Proof Reconstruction Tactics
@@ -593,5 +623,32 @@ public class BasicTactics {
 			}
 		};
 	}
+
+	/**
+	 * Encapsulates the proof rebuild method into a tactic, sharing the rules
+	 * produced by replayed reasoners through the given cache.
+	 * 
+	 * @param proofSkeleton
+	 *            The proof skeleton to use
+	 * @param replayCache
+	 *            The cache of replayed rules to use
+	 * @return The resulting tactic
+	 * @see ReplayCache
+	 * @since 3.4
+	 */
+	public static ITactic rebuildTac(final IProofSkeleton proofSkeleton,
+			final ReplayCache replayCache) {
+		return new ITactic() {
+
+			@Override
+			public Object apply(IProofTreeNode pt, IProofMonitor pm) {
+				if (!pt.isOpen()) return "Root already has children";
+				boolean success = rebuild(pt, proofSkeleton, null, true,
+						replayCache, pm);
+				if (success) return null;
+				return "Rebuild unsuccessful";
+			}
+		};
+	}
 	
 }
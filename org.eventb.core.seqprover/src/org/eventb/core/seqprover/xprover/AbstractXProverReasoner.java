@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - extracted a super class to make new API
+ *     ISP RAS - shared executor for prover calls
  *******************************************************************************/
 package org.eventb.core.seqprover.xprover;
 
@@ -32,10 +33,17 @@ import org.eventb.core.seqprover.transformer.ISimpleSequent;
 import org.eventb.core.seqprover.transformer.SimpleSequents;
 import org.eventb.internal.core.seqprover.Messages;
 import org.eventb.internal.core.seqprover.Util;
+import org.eventb.internal.core.seqprover.xprover.XProverExecutor;
 
 /**
  * Common abstract class for external prover reasoners.
  * <p>
+ * Prover calls are run by a shared pool of threads, which bounds the number of
+ * calls running concurrently. The time-out of a call only starts when the call
+ * is actually run. The calling thread waits for the call to terminate and
+ * interrupts it as soon as the proof monitor gets cancelled.
+ * </p>
+ * <p>
  * This class is not intended to be subclassed directly. Instead, external
  * prover contributors should subclass one of its subclasses.
  * </p>
@@ -51,6 +59,36 @@ public abstract class AbstractXProverReasoner implements IReasoner {
 
 	public static boolean DEBUG = false;
 
+	// Delay between two checks for cancellation, in milliseconds
+	private static final long POLL_DELAY = 100;
+
+	/*
+	 * A prover call which remembers when it has been started by the shared
+	 * executor.
+	 */
+	private static class CallTask extends FutureTask<Object> {
+
+		// Start time in milliseconds, zero if not yet started
+		private volatile long startTime;
+
+		CallTask(Runnable call) {
+			super(call, null);
+		}
+
+		@Override
+		public void run() {
+			startTime = System.currentTimeMillis();
+			super.run();
+		}
+
+		// Returns whether the given delay has elapsed since the call started
+		boolean isTimedOut(long delay) {
+			final long start = startTime;
+			return start != 0 && System.currentTimeMillis() - start >= delay;
+		}
+
+	}
+
 	@Override
 	public void serializeInput(IReasonerInput rInput,
 			IReasonerInputWriter writer) throws SerializeException {
@@ -100,15 +138,11 @@ public abstract class AbstractXProverReasoner implements IReasoner {
 				sequent.getFormulaFactory(), sequent.getOrigin());
 		
 		final AbstractXProverCall call = makeCall(input, sSequent, pm);
-		final FutureTask<Object> task = new FutureTask<Object>(call, null);
+		final CallTask task = new CallTask(call);
 		call.setTask(task);
 		try {
-			new Thread(task, "Prover call").start();
-			if (input.timeOutDelay > 0) {
-				task.get(input.timeOutDelay, TimeUnit.MILLISECONDS);
-			} else {
-				task.get();
-			}
+			XProverExecutor.execute(task);
+			waitFor(task, input.timeOutDelay, pm);
 		} catch (InterruptedException e) {
 			// Propagate the interruption
 			Thread.currentThread().interrupt();
@@ -137,6 +171,30 @@ public abstract class AbstractXProverReasoner implements IReasoner {
 		}
 	}
 
+	/*
+	 * Waits for the given task to terminate, checking periodically whether
+	 * it has timed out or has been cancelled. A cancelled task is interrupted.
+	 */
+	private static void waitFor(CallTask task, long timeOutDelay,
+			IProofMonitor pm) throws InterruptedException,
+			ExecutionException, TimeoutException {
+		while (true) {
+			if (pm != null && pm.isCanceled()) {
+				task.cancel(true);
+				return;
+			}
+			if (timeOutDelay > 0 && task.isTimedOut(timeOutDelay)) {
+				throw new TimeoutException();
+			}
+			try {
+				task.get(POLL_DELAY, TimeUnit.MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				// Check again
+			}
+		}
+	}
+
 	private final IReasonerOutput failure(IReasonerInput input, String message) {
 		return ProverFactory.reasonerFailure(this, input, message);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,24 +8,32 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - added command wrapping utility method
+ *     ISP RAS - shared executor for prover calls
  *******************************************************************************/
 package org.eventb.core.seqprover.xprover;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eventb.core.seqprover.SequentProver;
 import org.eventb.internal.core.seqprover.xprover.StreamPumper;
+import org.eventb.internal.core.seqprover.xprover.XProverExecutor;
 import org.osgi.framework.Bundle;
 
 /**
  * Utility class for monitoring an external process.
+ * <p>
+ * The streams of the process are pumped by shared threads. The process is
+ * monitored by the calling thread, which checks the cancellable task
+ * periodically while waiting for the process to terminate.
+ * </p>
  * 
  * @author Laurent Voisin
  * @since 1.0
@@ -101,11 +109,10 @@ public class ProcessMonitor {
 
 		this.process = process;
 		
-		final StreamPumper inputPumper;
+		final Future<?> inputPumper;
 		if (input != null) {
-			inputPumper = new StreamPumper("inputPumper", input, process
-					.getOutputStream());
-			inputPumper.start();
+			inputPumper = XProverExecutor.pump(new StreamPumper(input,
+					process.getOutputStream()));
 		} else {
 			inputPumper = null;
 			try {
@@ -116,61 +123,58 @@ public class ProcessMonitor {
 		}
 
 		outputStream = new ByteArrayOutputStream(DEFAULT_SIZE);
-		final StreamPumper outputPumper = new StreamPumper("outputPumper",
-				process.getInputStream(), outputStream);
-		outputPumper.start();
+		final Future<?> outputPumper = XProverExecutor.pump(new StreamPumper(
+				process.getInputStream(), outputStream));
 
 		errorStream = new ByteArrayOutputStream(DEFAULT_SIZE);
-		final StreamPumper errorPumper = new StreamPumper("errorPumper",
-				process.getErrorStream(), errorStream);
-		errorPumper.start();
+		final Future<?> errorPumper = XProverExecutor.pump(new StreamPumper(
+				process.getErrorStream(), errorStream));
 
-		final Timer timer = new Timer(true);
 		try {
-			timer.schedule(new TimerTask() {
-				@Override
-				public void run() {
-					if (cancellable.isCancelled()) {
-						process.destroy();
-						if (AbstractXProverReasoner.DEBUG) {
-							System.out.println("Destroying external prover.");
-						}
+			while (!process.waitFor(DEFAULT_PERIOD, TimeUnit.MILLISECONDS)) {
+				if (cancellable.isCancelled()) {
+					process.destroy();
+					if (AbstractXProverReasoner.DEBUG) {
+						System.out.println("Destroying external prover.");
 					}
 				}
-			}, DEFAULT_PERIOD, DEFAULT_PERIOD);
-
-			process.waitFor();
+			}
 			if (inputPumper != null) 
-				inputPumper.join();
-			outputPumper.join();
-			errorPumper.join();
+				join(inputPumper);
+			join(outputPumper);
+			join(errorPumper);
 		} catch (InterruptedException e) {
 			// ignore, process will be destroyed
 		} finally {
-			timer.cancel();
 			destroyAndWaitForProcess(process);
 		}
 	}
 
+	private static void join(Future<?> pumper) throws InterruptedException {
+		try {
+			pumper.get();
+		} catch (ExecutionException e) {
+			// ignore, the stream has been closed anyway
+		}
+	}
+
 	private static void destroyAndWaitForProcess(Process process) {
 		// Ensures that the process has indeed terminated
-		while (true) {
-			try {
-				process.exitValue();
-				if (AbstractXProverReasoner.DEBUG) {
-					System.out.println("External prover is now terminated.");
-				}
-				break;
-			} catch (IllegalThreadStateException e) {
-				// Ignore, process has not yet terminated
-			}
+		boolean interrupted = false;
+		while (process.isAlive()) {
 			process.destroy();
 			try {
-				Thread.sleep(DEFAULT_PERIOD);
+				process.waitFor(DEFAULT_PERIOD, TimeUnit.MILLISECONDS);
 			} catch (InterruptedException ie) {
-				Thread.currentThread().interrupt();
+				interrupted = true;
 			}
 		}
+		if (AbstractXProverReasoner.DEBUG) {
+			System.out.println("External prover is now terminated.");
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
 	}
 	
 	public int exitCode() {
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover;
+
+import static java.util.Collections.emptyList;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.ast.UnaryPredicate;
+
+/**
+ * Indexes of a set of hypotheses, by tag, by free identifier, by negation and
+ * by text.
+ * <p>
+ * Indexes are computed lazily, the first time they are queried, and then
+ * kept with the set of hypotheses they index. As sets of hypotheses are
+ * persistent, a set which is shared by several sequents shares its indexes
+ * with all of them. All lists returned by queries are in the iteration order
+ * of the indexed set.
+ * </p>
+ * <p>
+ * The text index is computed separately from the other indexes, as it needs
+ * the string image of every hypothesis. It maps each sequence of three
+ * characters to the hypotheses whose image contains it.
+ * </p>
+ * <p>
+ * This class is thread-safe: concurrent queries may compute the same indexes
+ * twice, which is harmless.
+ * </p>
+ */
+public final class HypothesisIndex {
+
+	/*
+	 * The indexes of a set, computed together.
+	 */
+	private static final class Indexes {
+
+		final Map<Integer, List<Predicate>> byTag = new HashMap<Integer, List<Predicate>>();
+		final Map<String, List<Predicate>> byFreeIdent = new HashMap<String, List<Predicate>>();
+		// Maps P to ¬P, for every hypothesis of the form ¬P
+		final Map<Predicate, Predicate> negations = new HashMap<Predicate, Predicate>();
+		// Position of every hypothesis in the indexed set
+		final Map<Predicate, Integer> positions = new HashMap<Predicate, Integer>();
+
+		Indexes(Iterable<Predicate> hyps) {
+			int position = 0;
+			for (final Predicate hyp : hyps) {
+				positions.put(hyp, position++);
+				add(byTag, hyp.getTag(), hyp);
+				for (final FreeIdentifier ident : hyp.getFreeIdentifiers()) {
+					add(byFreeIdent, ident.getName(), hyp);
+				}
+				if (hyp.getTag() == Formula.NOT) {
+					negations.put(((UnaryPredicate) hyp).getChild(), hyp);
+				}
+			}
+		}
+
+		private static <K> void add(Map<K, List<Predicate>> map, K key,
+				Predicate hyp) {
+			List<Predicate> list = map.get(key);
+			if (list == null) {
+				list = new ArrayList<Predicate>();
+				map.put(key, list);
+			}
+			list.add(hyp);
+		}
+
+	}
+
+	/*
+	 * The string images of the hypotheses of a set, with their trigrams.
+	 */
+	private static final class TextIndex {
+
+		final List<Predicate> hyps = new ArrayList<Predicate>();
+		final List<String> images = new ArrayList<String>();
+		final Map<Long, BitSet> trigrams = new HashMap<Long, BitSet>();
+
+		TextIndex(Iterable<Predicate> preds) {
+			for (final Predicate hyp : preds) {
+				final String image = hyp.toString();
+				final int position = hyps.size();
+				hyps.add(hyp);
+				images.add(image);
+				for (int i = 0; i + 3 <= image.length(); i++) {
+					final Long key = trigram(image, i);
+					BitSet bits = trigrams.get(key);
+					if (bits == null) {
+						bits = new BitSet();
+						trigrams.put(key, bits);
+					}
+					bits.set(position);
+				}
+			}
+		}
+
+		private static Long trigram(String str, int index) {
+			return ((long) str.charAt(index) << 32)
+					| ((long) str.charAt(index + 1) << 16)
+					| str.charAt(index + 2);
+		}
+
+		/*
+		 * Returns the positions of the hypotheses which may contain all the
+		 * given strings, or null if strings are too short to tell.
+		 */
+		private BitSet candidates(Collection<String> strings) {
+			BitSet result = null;
+			for (final String str : strings) {
+				for (int i = 0; i + 3 <= str.length(); i++) {
+					final BitSet bits = trigrams.get(trigram(str, i));
+					if (bits == null) {
+						return new BitSet();
+					}
+					if (result == null) {
+						result = (BitSet) bits.clone();
+					} else {
+						result.and(bits);
+					}
+				}
+			}
+			return result;
+		}
+
+		List<Predicate> containingAll(Collection<String> strings) {
+			final BitSet candidates = candidates(strings);
+			final List<Predicate> result = new ArrayList<Predicate>();
+			if (candidates == null) {
+				for (int i = 0; i < hyps.size(); i++) {
+					addIfContainsAll(i, strings, result);
+				}
+			} else {
+				for (int i = candidates.nextSetBit(0); i >= 0; i = candidates
+						.nextSetBit(i + 1)) {
+					addIfContainsAll(i, strings, result);
+				}
+			}
+			return result;
+		}
+
+		private void addIfContainsAll(int position, Collection<String> strings,
+				List<Predicate> result) {
+			final String image = images.get(position);
+			for (final String str : strings) {
+				if (!image.contains(str)) {
+					return;
+				}
+			}
+			result.add(hyps.get(position));
+		}
+
+	}
+
+	private final Iterable<Predicate> hyps;
+
+	private volatile Indexes indexes;
+
+	private volatile TextIndex textIndex;
+
+	public HypothesisIndex(Iterable<Predicate> hyps) {
+		this.hyps = hyps;
+	}
+
+	private Indexes getIndexes() {
+		Indexes result = indexes;
+		if (result == null) {
+			result = new Indexes(hyps);
+			indexes = result;
+		}
+		return result;
+	}
+
+	private TextIndex getTextIndex() {
+		TextIndex result = textIndex;
+		if (result == null) {
+			result = new TextIndex(hyps);
+			textIndex = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the hypotheses with the given tag.
+	 *
+	 * @param tag
+	 *            a predicate tag
+	 * @return the indexed hypotheses with the given tag
+	 */
+	public List<Predicate> withTag(int tag) {
+		return nonNull(getIndexes().byTag.get(tag));
+	}
+
+	/**
+	 * Returns the hypotheses in which at least one of the given free
+	 * identifiers occurs.
+	 *
+	 * @param idents
+	 *            some free identifiers
+	 * @return the indexed hypotheses where some of the given identifiers occur
+	 */
+	public List<Predicate> withFreeIdents(Collection<FreeIdentifier> idents) {
+		final Indexes idx = getIndexes();
+		if (idents.size() == 1) {
+			final String name = idents.iterator().next().getName();
+			return nonNull(idx.byFreeIdent.get(name));
+		}
+		final Set<Predicate> found = new LinkedHashSet<Predicate>();
+		for (final FreeIdentifier ident : idents) {
+			found.addAll(nonNull(idx.byFreeIdent.get(ident.getName())));
+		}
+		final List<Predicate> result = new ArrayList<Predicate>(found);
+		result.sort(new Comparator<Predicate>() {
+			@Override
+			public int compare(Predicate left, Predicate right) {
+				return idx.positions.get(left) - idx.positions.get(right);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Tells whether the negation of the given predicate is an indexed
+	 * hypothesis. The negation of <code>¬P</code> is <code>P</code>.
+	 *
+	 * @param pred
+	 *            a predicate
+	 * @return <code>true</code> iff the negation of the given predicate is
+	 *         indexed
+	 */
+	public boolean containsNegation(Predicate pred) {
+		final Indexes idx = getIndexes();
+		if (pred.getTag() == Formula.NOT) {
+			return idx.positions.containsKey(((UnaryPredicate) pred).getChild());
+		}
+		return idx.negations.containsKey(pred);
+	}
+
+	/**
+	 * Returns the hypotheses whose string image contains all the given
+	 * strings.
+	 * 
+	 * @param strings
+	 *            some strings to search for
+	 * @return the indexed hypotheses whose image contains all the strings
+	 */
+	public List<Predicate> containingAll(Collection<String> strings) {
+		return getTextIndex().containingAll(strings);
+	}
+
+	private static List<Predicate> nonNull(List<Predicate> list) {
+		if (list == null) {
+			return emptyList();
+		}
+		return list;
+	}
+
+}
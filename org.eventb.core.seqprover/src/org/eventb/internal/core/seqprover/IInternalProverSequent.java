@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - added constraints about predicate variables
  *     Systerel - added unselected hypotheses
+ *     ISP RAS - added indexed text search in hypotheses
  *******************************************************************************/
 package org.eventb.internal.core.seqprover;
 
@@ -242,4 +243,16 @@ public interface IInternalProverSequent extends IProverSequent{
 			FreeIdentifier[] addedIdents, Collection<Predicate> inferredHyps,
 			Collection<Predicate> toHide);
 
+	/**
+	 * Returns the hypotheses of this sequent, hidden or not, whose string
+	 * image contains all the given strings. The string images of hypotheses
+	 * are computed and indexed once for all the sequents sharing them.
+	 * 
+	 * @param strings
+	 *            Strings to search for in hypotheses
+	 * @return An iterable over the matching hypotheses, in the order of
+	 *         {@link #hypIterable()}
+	 */
+	Iterable<Predicate> hypsWithText(Collection<String> strings);
+
 }
@@ -0,0 +1,504 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover;
+
+import static java.lang.Integer.bitCount;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set which preserves insertion order, and whose modified
+ * versions share most of their structure with the original set.
+ * <p>
+ * This set behaves as an unmodifiable <code>LinkedHashSet</code>: it is
+ * iterated in the order in which elements were added, adding an element
+ * already present does not change its position, and an element added after
+ * having been removed comes last. Instead of modifying the set, methods
+ * {@link #plus(Object)} and {@link #minus(Object)} return a new set, which
+ * costs a time and space logarithmic in the size of the set.
+ * </p>
+ * <p>
+ * The set is made of two persistent tries with 32-way branching. The first one
+ * is a hash array mapped trie which maps every element to its position. The
+ * second one is a vector which gives the element at every position, where
+ * removed elements leave a hole. When holes outnumber elements, the set is
+ * rebuilt without holes.
+ * </p>
+ * <p>
+ * Elements must not be <code>null</code>.
+ * </p>
+ *
+ * @param <E>
+ *            type of the elements
+ */
+public final class PersistentOrderedSet<E> extends AbstractSet<E> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	// Minimal number of holes before compacting
+	private static final int MIN_HOLES = 32;
+
+	private static final PersistentOrderedSet<Object> EMPTY = new PersistentOrderedSet<Object>(
+			null, 0, null, 0, 0);
+
+	// Maps elements to their position, null if empty
+	private final HashNode index;
+
+	private final int size;
+
+	// Root of the vector of elements, null if empty
+	private final Object[] order;
+
+	// Shift of the root of the vector
+	private final int shift;
+
+	// Number of positions in the vector, including holes
+	private final int length;
+
+	private PersistentOrderedSet(HashNode index, int size, Object[] order,
+			int shift, int length) {
+		this.index = index;
+		this.size = size;
+		this.order = order;
+		this.shift = shift;
+		this.length = length;
+	}
+
+	/**
+	 * Returns the empty set.
+	 *
+	 * @return the empty set
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E> PersistentOrderedSet<E> empty() {
+		return (PersistentOrderedSet<E>) EMPTY;
+	}
+
+	/**
+	 * Returns a set of the given elements, in the iteration order of the
+	 * given iterable.
+	 *
+	 * @param elements
+	 *            the elements of the set
+	 * @return a set of the given elements
+	 */
+	public static <E> PersistentOrderedSet<E> of(Iterable<? extends E> elements) {
+		if (elements instanceof PersistentOrderedSet<?>) {
+			@SuppressWarnings("unchecked")
+			final PersistentOrderedSet<E> set = (PersistentOrderedSet<E>) elements;
+			return set;
+		}
+		return PersistentOrderedSet.<E> empty().plusAll(elements);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o == null || index == null) {
+			return false;
+		}
+		return index.find(0, o.hashCode(), o) >= 0;
+	}
+
+	/**
+	 * Returns this set with the given element added at the end, or this set if
+	 * it already contains the element.
+	 *
+	 * @param element
+	 *            the element to add
+	 * @return this set with the given element
+	 */
+	public PersistentOrderedSet<E> plus(E element) {
+		final int hash = element.hashCode();
+		final HashNode root = index == null ? HashNode.EMPTY_NODE : index;
+		if (root.find(0, hash, element) >= 0) {
+			return this;
+		}
+		final HashNode newIndex = root.assoc(0, hash, element, length);
+		final Object[] newOrder;
+		final int newShift;
+		if (order == null) {
+			newOrder = new Object[] { element };
+			newShift = 0;
+		} else if (length == 1 << (shift + BITS)) {
+			// Root is full
+			newShift = shift + BITS;
+			newOrder = push(newShift, new Object[] { order }, length, element);
+		} else {
+			newShift = shift;
+			newOrder = push(shift, order, length, element);
+		}
+		return new PersistentOrderedSet<E>(newIndex, size + 1, newOrder,
+				newShift, length + 1);
+	}
+
+	/**
+	 * Returns this set with all the given elements added at the end, in
+	 * iteration order.
+	 *
+	 * @param elements
+	 *            the elements to add
+	 * @return this set with the given elements
+	 */
+	public PersistentOrderedSet<E> plusAll(Iterable<? extends E> elements) {
+		PersistentOrderedSet<E> result = this;
+		for (E element : elements) {
+			result = result.plus(element);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns this set without the given element, or this set if it does not
+	 * contain the element.
+	 *
+	 * @param element
+	 *            the element to remove
+	 * @return this set without the given element
+	 */
+	public PersistentOrderedSet<E> minus(Object element) {
+		if (element == null || index == null) {
+			return this;
+		}
+		final int hash = element.hashCode();
+		final int position = index.find(0, hash, element);
+		if (position < 0) {
+			return this;
+		}
+		if (size == 1) {
+			return empty();
+		}
+		final HashNode newIndex = index.without(0, hash, element);
+		final Object[] newOrder = clear(shift, order, position);
+		final PersistentOrderedSet<E> result = new PersistentOrderedSet<E>(
+				newIndex, size - 1, newOrder, shift, length);
+		final int holes = length - result.size;
+		if (holes >= MIN_HOLES && holes > result.size) {
+			return PersistentOrderedSet.<E> empty().plusAll(result);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns this set without all the given elements.
+	 *
+	 * @param elements
+	 *            the elements to remove
+	 * @return this set without the given elements
+	 */
+	public PersistentOrderedSet<E> minusAll(Iterable<?> elements) {
+		PersistentOrderedSet<E> result = this;
+		for (Object element : elements) {
+			result = result.minus(element);
+		}
+		return result;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	private static Object[] push(int level, Object[] node, int position,
+			Object element) {
+		final int sub = (position >>> level) & MASK;
+		final Object[] copy;
+		if (node == null) {
+			copy = new Object[sub + 1];
+		} else {
+			copy = Arrays.copyOf(node, Math.max(node.length, sub + 1));
+		}
+		if (level == 0) {
+			copy[sub] = element;
+		} else {
+			final Object[] child = node != null && sub < node.length ? (Object[]) node[sub]
+					: null;
+			copy[sub] = push(level - BITS, child, position, element);
+		}
+		return copy;
+	}
+
+	private static Object[] clear(int level, Object[] node, int position) {
+		final int sub = (position >>> level) & MASK;
+		final Object[] copy = node.clone();
+		if (level == 0) {
+			copy[sub] = null;
+		} else {
+			copy[sub] = clear(level - BITS, (Object[]) node[sub], position);
+		}
+		return copy;
+	}
+
+	private Object[] leafFor(int position) {
+		Object[] node = order;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Object[]) node[(position >>> level) & MASK];
+		}
+		return node;
+	}
+
+	private class Itr implements Iterator<E> {
+
+		private int position = 0;
+		private Object[] leaf;
+		private E next;
+
+		Itr() {
+			advance();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void advance() {
+			next = null;
+			while (next == null && position < length) {
+				if (leaf == null || (position & MASK) == 0) {
+					leaf = leafFor(position);
+				}
+				next = (E) leaf[position & MASK];
+				position++;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public E next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			final E result = next;
+			advance();
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	/*
+	 * Node of the hash array mapped trie which maps elements to their
+	 * position. Positions are non-negative, a negative position stands for an
+	 * absent element.
+	 */
+	private static abstract class HashNode {
+
+		static final HashNode EMPTY_NODE = new BitmapNode(0, new Object[0]);
+
+		abstract int find(int shift, int hash, Object key);
+
+		abstract HashNode assoc(int shift, int hash, Object key, int position);
+
+		// Returns null if the resulting node is empty
+		abstract HashNode without(int shift, int hash, Object key);
+
+		static HashNode create(int shift, Object key1, int position1,
+				int hash2, Object key2, int position2) {
+			final int hash1 = key1.hashCode();
+			if (hash1 == hash2) {
+				return new CollisionNode(hash1, new Object[] { key1,
+						position1, key2, position2 });
+			}
+			return EMPTY_NODE.assoc(shift, hash1, key1, position1).assoc(shift,
+					hash2, key2, position2);
+		}
+
+	}
+
+	/*
+	 * Node where entries are stored in an array of pairs. A pair is either a
+	 * key and its position, or null and a child node.
+	 */
+	private static final class BitmapNode extends HashNode {
+
+		private final int bitmap;
+		private final Object[] array;
+
+		BitmapNode(int bitmap, Object[] array) {
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+
+		private static int bit(int shift, int hash) {
+			return 1 << ((hash >>> shift) & MASK);
+		}
+
+		private int indexOf(int bit) {
+			return bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		int find(int shift, int hash, Object key) {
+			final int bit = bit(shift, hash);
+			if ((bitmap & bit) == 0) {
+				return -1;
+			}
+			final int idx = indexOf(bit);
+			final Object k = array[2 * idx];
+			final Object v = array[2 * idx + 1];
+			if (k == null) {
+				return ((HashNode) v).find(shift + BITS, hash, key);
+			}
+			return key.equals(k) ? (Integer) v : -1;
+		}
+
+		@Override
+		HashNode assoc(int shift, int hash, Object key, int position) {
+			final int bit = bit(shift, hash);
+			final int idx = indexOf(bit);
+			if ((bitmap & bit) == 0) {
+				final Object[] newArray = new Object[array.length + 2];
+				System.arraycopy(array, 0, newArray, 0, 2 * idx);
+				newArray[2 * idx] = key;
+				newArray[2 * idx + 1] = position;
+				System.arraycopy(array, 2 * idx, newArray, 2 * idx + 2,
+						array.length - 2 * idx);
+				return new BitmapNode(bitmap | bit, newArray);
+			}
+			final Object k = array[2 * idx];
+			final Object v = array[2 * idx + 1];
+			final Object[] newArray = array.clone();
+			if (k == null) {
+				newArray[2 * idx + 1] = ((HashNode) v).assoc(shift + BITS,
+						hash, key, position);
+			} else if (key.equals(k)) {
+				newArray[2 * idx + 1] = position;
+			} else {
+				newArray[2 * idx] = null;
+				newArray[2 * idx + 1] = create(shift + BITS, k, (Integer) v,
+						hash, key, position);
+			}
+			return new BitmapNode(bitmap, newArray);
+		}
+
+		@Override
+		HashNode without(int shift, int hash, Object key) {
+			final int bit = bit(shift, hash);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			final int idx = indexOf(bit);
+			final Object k = array[2 * idx];
+			final Object v = array[2 * idx + 1];
+			if (k == null) {
+				final HashNode child = (HashNode) v;
+				final HashNode newChild = child.without(shift + BITS, hash,
+						key);
+				if (newChild == child) {
+					return this;
+				}
+				if (newChild != null) {
+					final Object[] newArray = array.clone();
+					newArray[2 * idx + 1] = newChild;
+					return new BitmapNode(bitmap, newArray);
+				}
+			} else if (!key.equals(k)) {
+				return this;
+			}
+			if (bitmap == bit) {
+				return null;
+			}
+			final Object[] newArray = new Object[array.length - 2];
+			System.arraycopy(array, 0, newArray, 0, 2 * idx);
+			System.arraycopy(array, 2 * idx + 2, newArray, 2 * idx,
+					newArray.length - 2 * idx);
+			return new BitmapNode(bitmap ^ bit, newArray);
+		}
+
+	}
+
+	/*
+	 * Node for keys that have the same hash code, stored in an array of pairs
+	 * made of a key and its position.
+	 */
+	private static final class CollisionNode extends HashNode {
+
+		private final int hash;
+		private final Object[] array;
+
+		CollisionNode(int hash, Object[] array) {
+			this.hash = hash;
+			this.array = array;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < array.length; i += 2) {
+				if (key.equals(array[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		int find(int shift, int h, Object key) {
+			if (h != hash) {
+				return -1;
+			}
+			final int i = indexOf(key);
+			return i < 0 ? -1 : (Integer) array[i + 1];
+		}
+
+		@Override
+		HashNode assoc(int shift, int h, Object key, int position) {
+			if (h != hash) {
+				final BitmapNode node = new BitmapNode(
+						1 << ((hash >>> shift) & MASK), new Object[] { null,
+								this });
+				return node.assoc(shift, h, key, position);
+			}
+			final int i = indexOf(key);
+			final Object[] newArray;
+			if (i < 0) {
+				newArray = Arrays.copyOf(array, array.length + 2);
+				newArray[array.length] = key;
+				newArray[array.length + 1] = position;
+			} else {
+				newArray = array.clone();
+				newArray[i + 1] = position;
+			}
+			return new CollisionNode(hash, newArray);
+		}
+
+		@Override
+		HashNode without(int shift, int h, Object key) {
+			if (h != hash) {
+				return this;
+			}
+			final int i = indexOf(key);
+			if (i < 0) {
+				return this;
+			}
+			if (array.length == 2) {
+				return null;
+			}
+			final Object[] newArray = new Object[array.length - 2];
+			System.arraycopy(array, 0, newArray, 0, i);
+			System.arraycopy(array, i + 2, newArray, i, newArray.length - i);
+			return new CollisionNode(hash, newArray);
+		}
+
+	}
+
+}
@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eventb.core.seqprover.IProofMonitor;
+import org.eventb.core.seqprover.IProofRule;
+import org.eventb.core.seqprover.IProofTreeNode;
+import org.eventb.core.seqprover.ITactic;
+import org.eventb.internal.core.seqprover.xprover.XProverExecutor;
+
+/**
+ * Tactic running alternative tactics concurrently, each on its own copy of
+ * the proof tree node where it is applied.
+ * <p>
+ * As soon as an alternative discharges its copy, the other ones are cancelled
+ * through their proof monitor and the proof of the winning copy is grafted
+ * onto the node. If no alternative discharges the node, the result of the
+ * first alternative that succeeded, in the given order, is kept, as would do
+ * {@link org.eventb.core.seqprover.tactics.BasicTactics#composeUntilSuccess(ITactic...)}.
+ * In any case, the portfolio returns only once all its alternatives have
+ * terminated.
+ * </p>
+ * <p>
+ * Alternatives are run by a shared pool of daemon threads, which is bounded
+ * like the pool of prover calls by system property
+ * {@value XProverExecutor#MAX_PROVER_CALLS}. While waiting for results, the
+ * calling thread runs itself the alternatives that no thread of the pool has
+ * started yet, so that nested portfolios cannot exhaust the pool. Alternative
+ * tactics must therefore be thread-safe, and must terminate even when not
+ * cancelled, as they may wait for a thread while other ones are running.
+ * </p>
+ */
+public class PortfolioTactic implements ITactic {
+
+	// Delay between two checks for cancellation, in milliseconds
+	private static final long POLL_DELAY = 100;
+
+	// Delay after which idle threads of the pool terminate, in seconds
+	private static final long KEEP_ALIVE = 60;
+
+	private static final ThreadPoolExecutor EXECUTOR;
+	static {
+		final int max = XProverExecutor.getMaxProverCalls();
+		EXECUTOR = new ThreadPoolExecutor(max, max, KEEP_ALIVE,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new ThreadFactory() {
+
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable r) {
+						final Thread thread = new Thread(r, "Portfolio tactic "
+								+ count.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+
+				});
+		EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	/*
+	 * An alternative, with its own copy of the node and its own monitor, which
+	 * is cancelled whenever the monitor of the portfolio is. An alternative
+	 * that discharges its node cancels all the other ones.
+	 */
+	private static class Alternative implements Callable<Object>,
+			IProofMonitor {
+
+		final int index;
+		final ITactic tactic;
+		final IProofTreeNode node;
+		private final IProofMonitor parent;
+		private final Alternative[] siblings;
+		private volatile boolean canceled;
+
+		Alternative(int index, ITactic tactic, IProofTreeNode node,
+				IProofMonitor parent, Alternative[] siblings) {
+			this.index = index;
+			this.tactic = tactic;
+			this.node = node;
+			this.parent = parent;
+			this.siblings = siblings;
+		}
+
+		@Override
+		public Object call() {
+			final Object result = tactic.apply(node, this);
+			if (!isCanceled() && node.isClosed()) {
+				for (Alternative sibling : siblings) {
+					if (sibling != this) {
+						sibling.setCanceled(true);
+					}
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return canceled || parent != null && parent.isCanceled();
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			canceled = value;
+		}
+
+		@Override
+		public void setTask(String name) {
+			// The monitor of the portfolio is not meant to be shared
+		}
+
+	}
+
+	/*
+	 * Task running an alternative, which reports its completion to the
+	 * portfolio.
+	 */
+	private static class AlternativeTask extends FutureTask<Object> {
+
+		final Alternative alternative;
+		private final BlockingQueue<AlternativeTask> completed;
+
+		AlternativeTask(Alternative alternative,
+				BlockingQueue<AlternativeTask> completed) {
+			super(alternative);
+			this.alternative = alternative;
+			this.completed = completed;
+		}
+
+		@Override
+		protected void done() {
+			completed.add(this);
+		}
+
+	}
+
+	private final ITactic[] tactics;
+
+	public PortfolioTactic(ITactic... tactics) {
+		this.tactics = tactics.clone();
+	}
+
+	@Override
+	public Object apply(IProofTreeNode pt, IProofMonitor pm) {
+		if (tactics.length == 1) {
+			return tactics[0].apply(pt, pm);
+		}
+		if (!pt.isOpen()) {
+			return "Root already has children";
+		}
+		final Alternative[] alternatives = new Alternative[tactics.length];
+		for (int i = 0; i < tactics.length; i++) {
+			alternatives[i] = new Alternative(i, tactics[i], pt
+					.copySubTree().getRoot(), pm, alternatives);
+		}
+		final BlockingQueue<AlternativeTask> completed = new LinkedBlockingQueue<AlternativeTask>();
+		final AlternativeTask[] tasks = new AlternativeTask[tactics.length];
+		for (int i = 0; i < tactics.length; i++) {
+			tasks[i] = new AlternativeTask(alternatives[i], completed);
+			EXECUTOR.execute(tasks[i]);
+		}
+		try {
+			return awaitResults(pt, pm, completed, tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Messages.tactic_cancelled;
+		} finally {
+			for (Alternative alternative : alternatives) {
+				alternative.setCanceled(true);
+			}
+			awaitAll(tasks);
+		}
+	}
+
+	private Object awaitResults(IProofTreeNode pt, IProofMonitor pm,
+			BlockingQueue<AlternativeTask> completed, AlternativeTask[] tasks)
+			throws InterruptedException {
+		final boolean[] succeeded = new boolean[tasks.length];
+		int pending = tasks.length;
+		while (pending > 0) {
+			if (pm != null && pm.isCanceled()) {
+				return Messages.tactic_cancelled;
+			}
+			final AlternativeTask task = completed.poll(POLL_DELAY,
+					TimeUnit.MILLISECONDS);
+			if (task == null) {
+				runQueued(tasks);
+				continue;
+			}
+			--pending;
+			final Alternative alternative = task.alternative;
+			final Object result;
+			try {
+				result = task.get();
+			} catch (ExecutionException e) {
+				Util.log(e.getCause(), "while applying a portfolio tactic");
+				continue;
+			}
+			if (alternative.node.isClosed()) {
+				return graft(pt, alternative);
+			}
+			if (alternative.isCanceled()) {
+				continue;
+			}
+			succeeded[alternative.index] = result == null;
+		}
+		for (int i = 0; i < tasks.length; i++) {
+			if (succeeded[i]) {
+				return graft(pt, tasks[i].alternative);
+			}
+		}
+		return Messages.tactic_failed;
+	}
+
+	// Runs in the calling thread the first task not started by the pool
+	private static void runQueued(AlternativeTask[] tasks) {
+		for (AlternativeTask task : tasks) {
+			if (EXECUTOR.remove(task)) {
+				task.run();
+				return;
+			}
+		}
+	}
+
+	/*
+	 * Waits for all given tasks to terminate, so that losing alternatives do
+	 * not keep on running once the portfolio has returned. Tasks that have
+	 * not been started are dropped. Interruption is deferred until then.
+	 */
+	private static void awaitAll(AlternativeTask[] tasks) {
+		boolean interrupted = false;
+		for (AlternativeTask task : tasks) {
+			if (EXECUTOR.remove(task)) {
+				task.cancel(false);
+			}
+			while (true) {
+				try {
+					task.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					// Either already logged or from a losing alternative
+					break;
+				} catch (CancellationException e) {
+					break;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// Copies the proof of the given alternative onto the given node
+	private static Object graft(IProofTreeNode pt, Alternative alternative) {
+		if (alternative.node.isOpen()) {
+			// Successful, but left the node unchanged
+			return null;
+		}
+		if (copyProof(alternative.node, pt)) {
+			return null;
+		}
+		pt.pruneChildren();
+		return Messages.tactic_failed;
+	}
+
+	/*
+	 * Applies the rules of the source tree to the target node, which bears the
+	 * same sequent. Contrary to proof reuse, rules need not be checked, as
+	 * they have just been produced on the very same sequents.
+	 */
+	private static boolean copyProof(IProofTreeNode source,
+			IProofTreeNode target) {
+		target.setComment(source.getComment());
+		final IProofRule rule = source.getRule();
+		if (rule == null) {
+			return true;
+		}
+		if (!target.applyRule(rule)) {
+			return false;
+		}
+		final IProofTreeNode[] sourceChildren = source.getChildNodes();
+		final IProofTreeNode[] targetChildren = target.getChildNodes();
+		if (sourceChildren.length != targetChildren.length) {
+			return false;
+		}
+		for (int i = 0; i < sourceChildren.length; i++) {
+			if (!copyProof(sourceChildren[i], targetChildren[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
  *     Systerel - added check about predicate variables
  *     Systerel - added unselected added hypotheses
  *     Systerel - added origin
+ *     ISP RAS - hypotheses stored in persistent sets
+ *     ISP RAS - added hypothesis indexes
  *******************************************************************************/
 package org.eventb.internal.core.seqprover;
 
@@ -20,7 +22,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -46,6 +47,16 @@ import org.eventb.core.seqprover.ProverRule;
  *  hypotheses. The global hypotheses are shared by all sequents constructed incrementally using this
  *  sequent.
  *  </p>
+ *  <p>
+ *  Hypotheses are stored in persistent sets, so that the hypotheses of a sequent derived from
+ *  another one share most of their structure with the hypotheses of the original sequent, instead
+ *  of being copies of them.
+ *  </p>
+ *  <p>
+ *  The global and local hypotheses come with lazily computed indexes, which are shared by
+ *  all sequents having the same set of global or local hypotheses. This includes the index
+ *  of their string images used for searching hypotheses.
+ *  </p>
  * 
  * 
  * @author Farhad Mehta
@@ -77,14 +88,18 @@ public final class ProverSequent implements IInternalProverSequent{
 	/**
 	 * Instance fields
 	 * 
-	 * Chosen to be LinkedHashSets to preserve their order.
+	 * Chosen to be persistent ordered sets to preserve their order and share
+	 * their structure between sequents.
 	 */
 	@ProverRule("DBL_HYP")
-	private final LinkedHashSet<Predicate> globalHypotheses;
-	private final LinkedHashSet<Predicate> localHypotheses;
+	private final PersistentOrderedSet<Predicate> globalHypotheses;
+	private final PersistentOrderedSet<Predicate> localHypotheses;
+
+	private final HypothesisIndex globalIndex;
+	private final HypothesisIndex localIndex;
 	
-	private final LinkedHashSet<Predicate> hiddenHypotheses;
-	private final LinkedHashSet<Predicate> selectedHypotheses;
+	private final PersistentOrderedSet<Predicate> hiddenHypotheses;
+	private final PersistentOrderedSet<Predicate> selectedHypotheses;
 	
 	private final Predicate goal;
 
@@ -93,8 +108,8 @@ public final class ProverSequent implements IInternalProverSequent{
 	/**
 	 * Static immutable variables.
 	 */
-	private static final LinkedHashSet<Predicate> NO_HYPS =
-		new LinkedHashSet<Predicate>();
+	private static final PersistentOrderedSet<Predicate> NO_HYPS =
+		PersistentOrderedSet.empty();
 	
 	@Override
 	public ISealedTypeEnvironment typeEnvironment() {
@@ -111,8 +126,8 @@ public final class ProverSequent implements IInternalProverSequent{
 	 * provided fields, or <code>null</code> in case this field should not be overridden.
 	 * 
 	 * <p>
-	 * This should always remain a private constructor. All methods using this constructor must ensure that
-	 * the parameters passed into it have been cloned prior to calling this constructor. 
+	 * This should always remain a private constructor. The sets passed to this constructor are
+	 * persistent, hence they can be shared with other sequents.
 	 * </p>
 	 * 
 	 * @param seq
@@ -124,8 +139,8 @@ public final class ProverSequent implements IInternalProverSequent{
 	 * @param selectedHypotheses
 	 * @param goal
 	 */
-	private ProverSequent(ProverSequent seq, ITypeEnvironment typeEnvironment, LinkedHashSet<Predicate> globalHypotheses,
-			LinkedHashSet<Predicate> localHypotheses, LinkedHashSet<Predicate> hiddenHypotheses, LinkedHashSet<Predicate> selectedHypotheses,
+	private ProverSequent(ProverSequent seq, ITypeEnvironment typeEnvironment, PersistentOrderedSet<Predicate> globalHypotheses,
+			PersistentOrderedSet<Predicate> localHypotheses, PersistentOrderedSet<Predicate> hiddenHypotheses, PersistentOrderedSet<Predicate> selectedHypotheses,
 			Predicate goal){
 		
 		assert (seq != null) | (typeEnvironment != null & globalHypotheses != null & localHypotheses != null & 
@@ -134,11 +149,21 @@ public final class ProverSequent implements IInternalProverSequent{
 		if (typeEnvironment == null) this.typeEnvironment = seq.typeEnvironment;
 		else this.typeEnvironment = typeEnvironment.makeSnapshot();
 		
-		if (globalHypotheses == null) this.globalHypotheses = seq.globalHypotheses;
-		else this.globalHypotheses = globalHypotheses;
+		if (globalHypotheses == null || globalHypotheses == seq.globalHypotheses) {
+			this.globalHypotheses = seq.globalHypotheses;
+			this.globalIndex = seq.globalIndex;
+		} else {
+			this.globalHypotheses = globalHypotheses;
+			this.globalIndex = new HypothesisIndex(globalHypotheses);
+		}
 		
-		if (localHypotheses == null) this.localHypotheses = seq.localHypotheses;
-		else this.localHypotheses = localHypotheses;
+		if (localHypotheses == null || localHypotheses == seq.localHypotheses) {
+			this.localHypotheses = seq.localHypotheses;
+			this.localIndex = seq.localIndex;
+		} else {
+			this.localHypotheses = localHypotheses;
+			this.localIndex = new HypothesisIndex(localHypotheses);
+		}
 		
 		if (hiddenHypotheses == null) this.hiddenHypotheses = seq.hiddenHypotheses;
 		else this.hiddenHypotheses = hiddenHypotheses;
@@ -193,10 +218,12 @@ public final class ProverSequent implements IInternalProverSequent{
 			Collection<Predicate> hiddenHypSet, Collection<Predicate> selectedHypSet,
 			Predicate goal, Object origin) {
 		this.typeEnvironment = typeEnv.makeSnapshot();
-		this.globalHypotheses = globalHypSet == null ? NO_HYPS : new LinkedHashSet<Predicate>(globalHypSet);
+		this.globalHypotheses = globalHypSet == null ? NO_HYPS : PersistentOrderedSet.of(globalHypSet);
 		this.localHypotheses = NO_HYPS;
-		this.hiddenHypotheses = hiddenHypSet== null ? NO_HYPS : new LinkedHashSet<Predicate>(hiddenHypSet);
-		this.selectedHypotheses = selectedHypSet== null ? NO_HYPS : new LinkedHashSet<Predicate>(selectedHypSet);
+		this.globalIndex = new HypothesisIndex(globalHypotheses);
+		this.localIndex = new HypothesisIndex(localHypotheses);
+		this.hiddenHypotheses = hiddenHypSet== null ? NO_HYPS : PersistentOrderedSet.of(hiddenHypSet);
+		this.selectedHypotheses = selectedHypSet== null ? NO_HYPS : PersistentOrderedSet.of(selectedHypSet);
 		this.goal = goal;
 		this.origin = origin;
 		traceCreation();
@@ -208,9 +235,9 @@ public final class ProverSequent implements IInternalProverSequent{
 			Collection<Predicate> unselAddedHyps, Predicate newGoal) {
 		boolean modified = false;
 		final ITypeEnvironment newTypeEnv;
-		LinkedHashSet<Predicate> newLocalHypotheses = null;
-		LinkedHashSet<Predicate> newSelectedHypotheses = null;
-		LinkedHashSet<Predicate> newHiddenHypotheses = null;
+		PersistentOrderedSet<Predicate> newLocalHypotheses = null;
+		PersistentOrderedSet<Predicate> newSelectedHypotheses = null;
+		PersistentOrderedSet<Predicate> newHiddenHypotheses = null;
 
 		final TypeChecker checker = new TypeChecker(
 				typeEnvironment);
@@ -235,20 +262,22 @@ public final class ProverSequent implements IInternalProverSequent{
 		if (addhyps != null && addhyps.size() != 0) {
 			if (unselAddedHyps == null)
 				unselAddedHyps = Collections.emptySet();
-			newLocalHypotheses = new LinkedHashSet<Predicate>(localHypotheses);
-			newSelectedHypotheses = new LinkedHashSet<Predicate>(selectedHypotheses);
-			newHiddenHypotheses = new LinkedHashSet<Predicate>(hiddenHypotheses);
+			newLocalHypotheses = localHypotheses;
+			newSelectedHypotheses = selectedHypotheses;
+			newHiddenHypotheses = hiddenHypotheses;
 			for (Predicate hyp : addhyps) {
 				// if (! typeCheckClosed(hyp,newTypeEnv)) return null;
 				if (! this.containsHypothesis(hyp)){
-					newLocalHypotheses.add(hyp);
-					modified = true;
+					newLocalHypotheses = newLocalHypotheses.plus(hyp);
 				}
 				if (!unselAddedHyps.contains(hyp)) {
-					modified |= newSelectedHypotheses.add(hyp);
+					newSelectedHypotheses = newSelectedHypotheses.plus(hyp);
 				}
-				modified |= newHiddenHypotheses.remove(hyp);
+				newHiddenHypotheses = newHiddenHypotheses.minus(hyp);
 			}
+			modified |= newLocalHypotheses != localHypotheses
+					|| newSelectedHypotheses != selectedHypotheses
+					|| newHiddenHypotheses != hiddenHypotheses;
 		}
 		if (newGoal != null && ! newGoal.equals(goal)) {
 			modified = true;
@@ -266,17 +295,18 @@ public final class ProverSequent implements IInternalProverSequent{
 	@Override
 	public ProverSequent selectHypotheses(Collection<Predicate> toSelect){
 		if (toSelect == null) return this;
-		boolean modified = false;
 		
-		LinkedHashSet<Predicate> newSelectedHypotheses = new LinkedHashSet<Predicate>(this.selectedHypotheses);
-		LinkedHashSet<Predicate> newHiddenHypotheses = new LinkedHashSet<Predicate>(this.hiddenHypotheses);
+		PersistentOrderedSet<Predicate> newSelectedHypotheses = this.selectedHypotheses;
+		PersistentOrderedSet<Predicate> newHiddenHypotheses = this.hiddenHypotheses;
 		
 		for (Predicate hyp:toSelect){
 			if (containsHypothesis(hyp)){
-				modified |= newSelectedHypotheses.add(hyp);
-				modified |= newHiddenHypotheses.remove(hyp);
+				newSelectedHypotheses = newSelectedHypotheses.plus(hyp);
+				newHiddenHypotheses = newHiddenHypotheses.minus(hyp);
 			}
 		}
+		final boolean modified = newSelectedHypotheses != selectedHypotheses
+				|| newHiddenHypotheses != hiddenHypotheses;
 		if (modified) return new ProverSequent(this,null,null,null,newHiddenHypotheses,newSelectedHypotheses,null);
 		return this;
 	}
@@ -284,8 +314,8 @@ public final class ProverSequent implements IInternalProverSequent{
 	@Override
 	public ProverSequent deselectHypotheses(Collection<Predicate> toDeselect){
 		if (toDeselect == null) return this;
-		LinkedHashSet<Predicate> newSelectedHypotheses = new LinkedHashSet<Predicate>(this.selectedHypotheses);
-		boolean modified = newSelectedHypotheses.removeAll(toDeselect);
+		PersistentOrderedSet<Predicate> newSelectedHypotheses = this.selectedHypotheses.minusAll(toDeselect);
+		boolean modified = newSelectedHypotheses != selectedHypotheses;
 		if (modified) return new ProverSequent(this,null,null,null,null,newSelectedHypotheses,null);
 		return this;
 	}
@@ -293,17 +323,18 @@ public final class ProverSequent implements IInternalProverSequent{
 	@Override
 	public ProverSequent hideHypotheses(Collection<Predicate> toHide){
 		if (toHide == null) return this;
-		boolean modified = false;
 		
-		LinkedHashSet<Predicate> newSelectedHypotheses = new LinkedHashSet<Predicate>(this.selectedHypotheses);
-		LinkedHashSet<Predicate> newHiddenHypotheses = new LinkedHashSet<Predicate>(this.hiddenHypotheses);
+		PersistentOrderedSet<Predicate> newSelectedHypotheses = this.selectedHypotheses;
+		PersistentOrderedSet<Predicate> newHiddenHypotheses = this.hiddenHypotheses;
 		
 		for (Predicate hyp:toHide){
 			if (containsHypothesis(hyp)){
-				modified |= newHiddenHypotheses.add(hyp);
-				modified |= newSelectedHypotheses.remove(hyp);
+				newHiddenHypotheses = newHiddenHypotheses.plus(hyp);
+				newSelectedHypotheses = newSelectedHypotheses.minus(hyp);
 			}
 		}
+		final boolean modified = newSelectedHypotheses != selectedHypotheses
+				|| newHiddenHypotheses != hiddenHypotheses;
 		if (modified) return new ProverSequent(this,null,null,null,newHiddenHypotheses,newSelectedHypotheses,null);
 		return this;
 	}
@@ -312,9 +343,9 @@ public final class ProverSequent implements IInternalProverSequent{
 	public ProverSequent showHypotheses(Collection<Predicate> toShow){
 		if (toShow == null)
 			return this;
-		LinkedHashSet<Predicate> newHiddenHypotheses = new LinkedHashSet<Predicate>(
-				this.hiddenHypotheses);
-		boolean modified = newHiddenHypotheses.removeAll(toShow);
+		PersistentOrderedSet<Predicate> newHiddenHypotheses = this.hiddenHypotheses
+				.minusAll(toShow);
+		boolean modified = newHiddenHypotheses != hiddenHypotheses;
 		if (modified)
 			return new ProverSequent(this, null, null, null,
 					newHiddenHypotheses, null, null);
@@ -356,27 +387,26 @@ public final class ProverSequent implements IInternalProverSequent{
 					.containsAll(hyps);
 		}
 
-		LinkedHashSet<Predicate> newLocalHypotheses = null;
-		LinkedHashSet<Predicate> newSelectedHypotheses = null;
-		LinkedHashSet<Predicate> newHiddenHypotheses = null;
+		PersistentOrderedSet<Predicate> newLocalHypotheses = null;
+		PersistentOrderedSet<Predicate> newSelectedHypotheses = null;
+		PersistentOrderedSet<Predicate> newHiddenHypotheses = null;
 
 		if (infHyps != null) {
-			newLocalHypotheses = new LinkedHashSet<Predicate>(localHypotheses);
-			newSelectedHypotheses = new LinkedHashSet<Predicate>(
-					selectedHypotheses);
-			newHiddenHypotheses = new LinkedHashSet<Predicate>(hiddenHypotheses);
+			newLocalHypotheses = localHypotheses;
+			newSelectedHypotheses = selectedHypotheses;
+			newHiddenHypotheses = hiddenHypotheses;
 			for (Predicate infHyp : infHyps) {
 				// if (! typeCheckClosed(infHyp,newTypeEnv)) return this;
 				if (!this.containsHypothesis(infHyp)) {
-					newLocalHypotheses.add(infHyp);
+					newLocalHypotheses = newLocalHypotheses.plus(infHyp);
 					if (selectInfHyps)
-						newSelectedHypotheses.add(infHyp);
+						newSelectedHypotheses = newSelectedHypotheses.plus(infHyp);
 					if (hideInfHyps)
-						newHiddenHypotheses.add(infHyp);
+						newHiddenHypotheses = newHiddenHypotheses.plus(infHyp);
 					modified = true;
 				} else if (selectInfHyps && !hiddenHypotheses.contains(infHyp)) {
 					// Select the hypothesis if not already hidden
-					newSelectedHypotheses.add(infHyp);
+					newSelectedHypotheses = newSelectedHypotheses.plus(infHyp);
 					modified = true;
 				}
 			}
@@ -468,6 +498,52 @@ public final class ProverSequent implements IInternalProverSequent{
 		return true;
 	}
 
+	@Override
+	public Iterable<Predicate> hypsWithTag(final int tag) {
+		return new Iterable<Predicate>(){
+
+			@Override
+			public Iterator<Predicate> iterator() {
+				return new CompositeIterator<Predicate>(
+						globalIndex.withTag(tag).iterator(),
+						localIndex.withTag(tag).iterator());
+			}
+		};
+	}
+
+	@Override
+	public Iterable<Predicate> hypsWithFreeIdents(
+			final Collection<FreeIdentifier> idents) {
+		return new Iterable<Predicate>(){
+
+			@Override
+			public Iterator<Predicate> iterator() {
+				return new CompositeIterator<Predicate>(
+						globalIndex.withFreeIdents(idents).iterator(),
+						localIndex.withFreeIdents(idents).iterator());
+			}
+		};
+	}
+
+	@Override
+	public Iterable<Predicate> hypsWithText(final Collection<String> strings) {
+		return new Iterable<Predicate>(){
+
+			@Override
+			public Iterator<Predicate> iterator() {
+				return new CompositeIterator<Predicate>(
+						globalIndex.containingAll(strings).iterator(),
+						localIndex.containingAll(strings).iterator());
+			}
+		};
+	}
+
+	@Override
+	public boolean containsNegation(Predicate pred) {
+		return globalIndex.containsNegation(pred)
+				|| localIndex.containsNegation(pred);
+	}
+
 	@Override
 	public Iterable<Predicate> hypIterable() {
 		return new Iterable<Predicate>(){
@@ -700,12 +776,11 @@ public final class ProverSequent implements IInternalProverSequent{
 		}		
 	}
 	
-	private static LinkedHashSet<Predicate> translatePreds(
+	private static PersistentOrderedSet<Predicate> translatePreds(
 			Set<Predicate> preds, FormulaFactory factory) {
-		final LinkedHashSet<Predicate> trPreds = new LinkedHashSet<Predicate>(
-				preds.size());
+		PersistentOrderedSet<Predicate> trPreds = PersistentOrderedSet.empty();
 		for (Predicate pred : preds) {
-			trPreds.add(pred.translate(factory));
+			trPreds = trPreds.plus(pred.translate(factory));
 		}
 		return trPreds;
 	}
@@ -714,14 +789,14 @@ public final class ProverSequent implements IInternalProverSequent{
 	public IProverSequent translate(FormulaFactory factory) {
 		final ITypeEnvironment trTypeEnv = typeEnvironment.translate(factory);
 
-		final LinkedHashSet<Predicate> trGlobalHypotheses = translatePreds(
+		final PersistentOrderedSet<Predicate> trGlobalHypotheses = translatePreds(
 				globalHypotheses, factory);
-		final LinkedHashSet<Predicate> trLocalHypotheses = translatePreds(
+		final PersistentOrderedSet<Predicate> trLocalHypotheses = translatePreds(
 				localHypotheses, factory);
 
-		final LinkedHashSet<Predicate> trHiddenHypotheses = translatePreds(
+		final PersistentOrderedSet<Predicate> trHiddenHypotheses = translatePreds(
 				hiddenHypotheses, factory);
-		final LinkedHashSet<Predicate> trSelectedHypotheses = translatePreds(
+		final PersistentOrderedSet<Predicate> trSelectedHypotheses = translatePreds(
 				selectedHypotheses, factory);
 
 		final Predicate trGoal = goal.translate(factory);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013 Systerel and others.
+ * Copyright (c) 2013, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,9 +7,12 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - looked up negations of simple hypotheses directly
  *******************************************************************************/
 package org.eventb.internal.core.seqprover.eventbExtensions;
 
+import static org.eventb.core.seqprover.eventbExtensions.DLib.makeNeg;
+import static org.eventb.core.seqprover.eventbExtensions.Lib.isNeg;
 import static org.eventb.internal.core.seqprover.eventbExtensions.ContrHyps.contradictingPredicates;
 
 import java.util.List;
@@ -18,6 +21,7 @@ import java.util.Set;
 import java.util.Map.Entry;
 
 import org.eventb.core.ast.Predicate;
+import org.eventb.core.ast.RelationalPredicate;
 import org.eventb.core.seqprover.IProverSequent;
 
 /**
@@ -37,6 +41,13 @@ public abstract class ContradictionFinder {
 	 */
 	public Predicate getContrHyp() {
 		for (final Predicate hyp : getCandidates()) {
+			if (isSimple(hyp)) {
+				// The only contradiction of a simple predicate is its negation
+				if (isNegationContained(hyp)) {
+					return hyp;
+				}
+				continue;
+			}
 			final Map<Predicate, List<Predicate>> cntrs = contradictingPredicates(hyp);
 			if (cntrs != null && areContained(cntrs)) {
 				return hyp;
@@ -72,10 +83,29 @@ public abstract class ContradictionFinder {
 		return true;
 	}
 
+	/*
+	 * Tells whether the given predicate is neither a negation nor a relational
+	 * predicate, in which case its negation is its only contradiction.
+	 */
+	private static boolean isSimple(Predicate pred) {
+		return !isNeg(pred) && !(pred instanceof RelationalPredicate);
+	}
+
 	protected abstract Iterable<Predicate> getCandidates();
 
 	protected abstract boolean isContained(Predicate pred);
 
+	/**
+	 * Tells whether the negation of the given predicate is contained.
+	 * 
+	 * @param pred
+	 *            a predicate which is not a negation
+	 * @return <code>true</code> iff the negation of the predicate is contained
+	 */
+	protected boolean isNegationContained(Predicate pred) {
+		return isContained(makeNeg(pred));
+	}
+
 	/**
 	 * Find a predicate which is contradicted by the other predicates of a set
 	 * (used in the reasoner).
@@ -123,6 +153,11 @@ public abstract class ContradictionFinder {
 			return sequent.containsHypothesis(pred);
 		}
 
+		@Override
+		protected boolean isNegationContained(Predicate pred) {
+			return sequent.containsNegation(pred);
+		}
+
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,10 +7,12 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - looked up hypotheses by tag
  *******************************************************************************/
 package org.eventb.internal.core.seqprover.eventbExtensions;
 
 import org.eventb.core.ast.Expression;
+import org.eventb.core.ast.Formula;
 import org.eventb.core.ast.Predicate;
 import org.eventb.core.seqprover.IProofMonitor;
 import org.eventb.core.seqprover.IProofRule;
@@ -79,8 +81,8 @@ public class IsFunGoal extends EmptyInputReasoner{
 		// TODO : maybe look first in selected hypotheses.
 		
 		Predicate funHyp = null;
-		for (Predicate hyp : seq.visibleHypIterable()) {
-			if (Lib.isInclusion(hyp) && 
+		for (Predicate hyp : seq.hypsWithTag(Formula.IN)) {
+			if (!seq.isHidden(hyp) &&
 					Lib.isFun(Lib.getSet(hyp)) && 
 					element.equals(Lib.getElement(hyp)) ){
 				funHyp = hyp;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 ETH Zurich and others.
+ * Copyright (c) 2007, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - memoized normal forms
  *******************************************************************************/
 package org.eventb.internal.core.seqprover.eventbExtensions.rewriters;
 
@@ -46,12 +47,13 @@ public abstract class AbstractAutoRewrites extends EmptyInputReasoner {
 		
 		final FormulaFactory ff = seq.getFormulaFactory();
 		final IFormulaRewriter rewriter = getRewriter();
+		final Object normalFormKey = getNormalFormKey();
 		
 		final List<IHypAction> hypActions = new ArrayList<IHypAction>();
 		for (Predicate hyp : seq.visibleHypIterable()) {
 			
 			// Rewrite the hypothesis
-			Predicate inferredHyp = recursiveRewrite(hyp, rewriter);
+			Predicate inferredHyp = normalForm(hyp, rewriter, normalFormKey);
 
 			final Collection<Predicate> inferredHyps = postProcessInferredHyp(inferredHyp);
 
@@ -85,7 +87,7 @@ public abstract class AbstractAutoRewrites extends EmptyInputReasoner {
 		}
 
 		Predicate goal = seq.goal();
-		Predicate newGoal = recursiveRewrite(goal, rewriter);
+		Predicate newGoal = normalForm(goal, rewriter, normalFormKey);
 
 		if (newGoal != goal) {
 			IAntecedent[] antecedent = new IAntecedent[] { ProverFactory
@@ -121,6 +123,25 @@ public abstract class AbstractAutoRewrites extends EmptyInputReasoner {
 		return Lib.breakPossibleConjunct(inferredHyp);
 	}
 
+	/**
+	 * Returns the normal form of the given predicate, taking it from the
+	 * shared {@link NormalFormCache} when possible.
+	 */
+	private Predicate normalForm(Predicate pred, IFormulaRewriter rewriter,
+			Object normalFormKey) {
+		final NormalFormCache cache = NormalFormCache.getDefault();
+		if (normalFormKey == null || !cache.isEnabled()) {
+			return recursiveRewrite(pred, rewriter);
+		}
+		final Predicate cached = cache.get(pred, normalFormKey);
+		if (cached != null) {
+			return cached;
+		}
+		final Predicate result = recursiveRewrite(pred, rewriter);
+		cache.put(pred, normalFormKey, result);
+		return result;
+	}
+
 	/**
 	 * An utility method which try to rewrite a predicate recursively until
 	 * reaching a fix-point.
@@ -149,6 +170,21 @@ public abstract class AbstractAutoRewrites extends EmptyInputReasoner {
 	
 	
 	protected abstract IFormulaRewriter getRewriter();
+
+	/**
+	 * Returns the key under which the normal forms computed by the rewriter of
+	 * this reasoner are cached, or <code>null</code> if they must not be
+	 * cached. Reasoners returning equal keys must have rewriters computing the
+	 * same normal forms.
+	 * <p>
+	 * By default, normal forms are not cached.
+	 * </p>
+	 * 
+	 * @return the key of the rewriter or <code>null</code>
+	 */
+	protected Object getNormalFormKey() {
+		return null;
+	}
 	
 	protected abstract String getDisplayName();
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
  *     Systerel - incremented to reasonerVersion 3 after fixing bug #3025836
  *     Systerel - incremented to reasonerVersion 4 after adding datatype rules
  *     Systerel - introduction of new levels
+ *     ISP RAS - memoized normal forms
  *******************************************************************************/
 package org.eventb.internal.core.seqprover.eventbExtensions.rewriters;
 
@@ -131,4 +132,12 @@ public abstract class AutoRewrites extends AbstractAutoRewrites implements
 		return new AutoRewriterImpl(level);
 	}
 
+	/**
+	 * Normal forms only depend on the level of the rewriter.
+	 */
+	@Override
+	protected final Object getNormalFormKey() {
+		return level;
+	}
+
 }
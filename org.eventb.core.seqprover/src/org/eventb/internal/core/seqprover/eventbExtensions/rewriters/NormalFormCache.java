@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover.eventbExtensions.rewriters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eventb.core.ast.Predicate;
+
+/**
+ * Cache of the normal forms computed by automatic rewriters.
+ * <p>
+ * Entries are keyed by a predicate instance (compared with <code>==</code>)
+ * and a rewriter key, such as the level of the automatic rewriter. Both a
+ * rewritten predicate and its normal form are recorded, so that rewriting
+ * again a predicate already in normal form costs one lookup. As the
+ * hypotheses of a sequent are shared with the sequents of the descendant
+ * nodes of a proof tree, and with the other proof obligations of the same
+ * component when they are loaded from the same predicate sets, the cache is
+ * effective both within one proof attempt and across the proof obligations of
+ * a component.
+ * </p>
+ * <p>
+ * Only a bounded number of entries are kept, the least recently used ones
+ * being discarded first. The bound is given by system property
+ * {@value #CACHE_SIZE}; a non-positive value disables the cache.
+ * </p>
+ * <p>
+ * This class is thread-safe. Entries are spread over segments, each with its
+ * own lock and its own share of the bound, so that concurrent lookups seldom
+ * contend. Least recently used entries are thus discarded per segment, which
+ * approximates a global LRU policy.
+ * </p>
+ */
+public final class NormalFormCache {
+
+	/**
+	 * Name of the system property giving the maximal number of entries.
+	 */
+	public static final String CACHE_SIZE = "org.eventb.core.seqprover.normalFormCacheSize";
+
+	private static final int DEFAULT_CACHE_SIZE = 8192;
+
+	private static final NormalFormCache DEFAULT_INSTANCE = new NormalFormCache(
+			Integer.getInteger(CACHE_SIZE, DEFAULT_CACHE_SIZE));
+
+	/**
+	 * Returns the cache shared by all automatic rewriters.
+	 *
+	 * @return the shared normal form cache
+	 */
+	public static NormalFormCache getDefault() {
+		return DEFAULT_INSTANCE;
+	}
+
+	/*
+	 * A predicate compared by identity, together with a rewriter key.
+	 */
+	private static final class Key {
+
+		private final Predicate pred;
+		private final Object rewriterKey;
+
+		Key(Predicate pred, Object rewriterKey) {
+			this.pred = pred;
+			this.rewriterKey = rewriterKey;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(pred) + rewriterKey.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return pred == other.pred && rewriterKey.equals(other.rewriterKey);
+		}
+
+	}
+
+	// Maximal number of segments, a power of two
+	private static final int MAX_SEGMENTS = 16;
+
+	/*
+	 * A segment of the cache, access-ordered to discard its least recently
+	 * used entries first. Accesses are guarded by the segment itself.
+	 */
+	private static final class Segment extends LinkedHashMap<Key, Predicate> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maxSize;
+
+		Segment(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Predicate> eldest) {
+			return size() > maxSize;
+		}
+
+	}
+
+	private final int maxSize;
+
+	private final Segment[] segments;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	NormalFormCache(final int maxSize) {
+		this.maxSize = maxSize;
+		// Every segment gets at least one entry, and all of them at most maxSize
+		int count = 1;
+		while (count < MAX_SEGMENTS && 2 * count <= maxSize) {
+			count *= 2;
+		}
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment(maxSize / count);
+		}
+	}
+
+	private Segment segmentFor(Key key) {
+		final int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+
+	/**
+	 * Tells whether this cache is enabled.
+	 *
+	 * @return <code>true</code> iff this cache may record entries
+	 */
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * Returns the normal form of the given predicate for the given rewriter,
+	 * or <code>null</code> if it is not known.
+	 *
+	 * @param pred
+	 *            a predicate
+	 * @param rewriterKey
+	 *            the key of the rewriter
+	 * @return the recorded normal form or <code>null</code>
+	 */
+	public Predicate get(Predicate pred, Object rewriterKey) {
+		final Key key = new Key(pred, rewriterKey);
+		final Segment segment = segmentFor(key);
+		final Predicate result;
+		synchronized (segment) {
+			result = segment.get(key);
+		}
+		if (result == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		return result;
+	}
+
+	/**
+	 * Records the normal form of the given predicate for the given rewriter.
+	 * The normal form is also recorded as being its own normal form.
+	 *
+	 * @param pred
+	 *            a predicate
+	 * @param rewriterKey
+	 *            the key of the rewriter
+	 * @param normalForm
+	 *            the normal form of the predicate
+	 */
+	public void put(Predicate pred, Object rewriterKey, Predicate normalForm) {
+		if (!isEnabled()) {
+			return;
+		}
+		if (normalForm != pred) {
+			record(new Key(normalForm, rewriterKey), normalForm);
+		}
+		record(new Key(pred, rewriterKey), normalForm);
+	}
+
+	private void record(Key key, Predicate normalForm) {
+		final Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, normalForm);
+		}
+	}
+
+	/**
+	 * Removes all entries from this cache.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of entries in this cache.
+	 */
+	public int size() {
+		int result = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				result += segment.size();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of successful lookups since the creation of this
+	 * cache, for tracing purposes.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of failed lookups since the creation of this cache,
+	 * for tracing purposes.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - looked up hypotheses by tag
  *******************************************************************************/
 package org.eventb.internal.core.seqprover.eventbExtensions.tactics;
 
@@ -69,23 +70,27 @@ public class MembershipGoalTac implements ITactic {
 
 	private static Set<Predicate> getUsefulHyps(IProverSequent sequent) {
 		final Set<Predicate> hyps = new HashSet<Predicate>();
-		for (final Predicate hyp : sequent.visibleHypIterable()) {
-			switch (hyp.getTag()) {
-			case IN:
-			case SUBSET:
-			case SUBSETEQ:
+		addVisibleHyps(sequent, IN, hyps);
+		addVisibleHyps(sequent, SUBSET, hyps);
+		addVisibleHyps(sequent, SUBSETEQ, hyps);
+		for (final Predicate hyp : sequent.hypsWithTag(EQUAL)) {
+			if (!sequent.isHidden(hyp)
+					&& isSetEquality((RelationalPredicate) hyp)) {
 				hyps.add(hyp);
-				break;
-			case EQUAL:
-				if (isSetEquality((RelationalPredicate) hyp)) {
-					hyps.add(hyp);
-				}
-				break;
 			}
 		}
 		return hyps;
 	}
 
+	private static void addVisibleHyps(IProverSequent sequent, int tag,
+			Set<Predicate> hyps) {
+		for (final Predicate hyp : sequent.hypsWithTag(tag)) {
+			if (!sequent.isHidden(hyp)) {
+				hyps.add(hyp);
+			}
+		}
+	}
+
 	public static boolean isSetEquality(RelationalPredicate rHyp) {
 		return rHyp.getLeft().getType().getBaseType() != null;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - shared executor for prover calls
  *******************************************************************************/
 package org.eventb.internal.core.seqprover.xprover;
 
@@ -18,13 +19,16 @@ import java.io.OutputStream;
 /**
  * Asynchronously read all data from the given input stream and send it to the
  * output stream.
+ * <p>
+ * Pumpers are run by the shared pool of {@link XProverExecutor}.
+ * </p>
  * 
  * The design of this class is strongly inspired from a similar class in Apache
  * Ant, version 1.6.5.
  * 
  * @author Laurent Voisin
  */
-public class StreamPumper extends Thread {
+public class StreamPumper implements Runnable {
 	
     private static final int SIZE = 128;
     private final InputStream inputStream;
@@ -33,13 +37,10 @@ public class StreamPumper extends Thread {
 	/**
 	 * Creates a new stream pumper for the given input stream.
 	 * 
-	 * @param threadName name of this thread
 	 * @param is input stream to read from
 	 * @param os output stream to write to
 	 */
-	public StreamPumper(String threadName, InputStream is, OutputStream os) {
-		super(threadName);
-		this.setDaemon(true);
+	public StreamPumper(InputStream is, OutputStream os) {
 		this.inputStream = is;
 		this.outputStream = os;
 	}
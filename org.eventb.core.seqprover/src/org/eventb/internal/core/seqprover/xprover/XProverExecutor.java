@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.seqprover.xprover;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared thread pools for running prover calls and pumping the streams of
+ * external processes.
+ * <p>
+ * Prover calls are run by a bounded pool, whose size is given by system
+ * property {@value #MAX_PROVER_CALLS} and defaults to the number of available
+ * processors. Calls exceeding this bound wait for a thread to become
+ * available, which also caps the number of external provers running
+ * concurrently. Stream pumpers are run by an unbounded pool, as every running
+ * process needs all its streams to be pumped for making progress. Idle
+ * threads of both pools terminate after a while.
+ * </p>
+ */
+public final class XProverExecutor {
+
+	/**
+	 * Name of the system property giving the maximal number of prover calls
+	 * that can run concurrently.
+	 */
+	public static final String MAX_PROVER_CALLS = "org.eventb.core.seqprover.maxProverCalls";
+
+	private static final long KEEP_ALIVE = 60; // seconds
+
+	private static final ThreadPoolExecutor PROVER_CALLS;
+	static {
+		final int max = getMaxProverCalls();
+		PROVER_CALLS = new ThreadPoolExecutor(max, max, KEEP_ALIVE,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+				new DaemonThreadFactory("Prover call"));
+		PROVER_CALLS.allowCoreThreadTimeOut(true);
+	}
+
+	private static final ExecutorService STREAM_PUMPERS = new ThreadPoolExecutor(
+			0, Integer.MAX_VALUE, KEEP_ALIVE, TimeUnit.SECONDS,
+			new SynchronousQueue<Runnable>(), new DaemonThreadFactory(
+					"Stream pumper"));
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		DaemonThreadFactory(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r, prefix + " "
+					+ count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+	private XProverExecutor() {
+		// no instance
+	}
+
+	/**
+	 * Returns the maximal number of prover calls that can run concurrently, as
+	 * given by system property {@value #MAX_PROVER_CALLS}.
+	 *
+	 * @return a positive number of prover calls
+	 */
+	public static int getMaxProverCalls() {
+		return Math.max(1, Integer.getInteger(MAX_PROVER_CALLS, Runtime
+				.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Schedules the given prover call. Cancelling the given task interrupts
+	 * the thread running it, if any.
+	 *
+	 * @param task
+	 *            a prover call
+	 */
+	public static void execute(FutureTask<?> task) {
+		PROVER_CALLS.execute(task);
+	}
+
+	/**
+	 * Starts pumping a stream with the given pumper.
+	 *
+	 * @param pumper
+	 *            a stream pumper
+	 * @return a future telling when the stream has been entirely pumped
+	 */
+	public static Future<?> pump(StreamPumper pumper) {
+		return STREAM_PUMPERS.submit(pumper);
+	}
+
+}
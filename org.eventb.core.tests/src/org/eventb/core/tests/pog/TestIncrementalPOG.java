@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.tests.pog;
+
+import static java.util.Arrays.asList;
+import static org.eventb.core.tests.pom.POUtil.mTypeEnvironment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eventb.core.IEvent;
+import org.eventb.core.IMachineRoot;
+import org.eventb.core.IPORoot;
+import org.eventb.core.IPOSequent;
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.internal.core.pog.IncrementalPOGInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the incremental generation of proof obligations.
+ */
+public class TestIncrementalPOG extends EventBPOTest {
+
+	private IMachineRoot mac;
+	private IEvent evt1;
+
+	@Before
+	public void enableIncremental() throws Exception {
+		IncrementalPOGInfo.setEnabled(true);
+	}
+
+	@After
+	public void disableIncremental() throws Exception {
+		IncrementalPOGInfo.setEnabled(false);
+	}
+
+	private void createMachineWithTwoEvents() throws Exception {
+		mac = createMachine("mac");
+		addVariables(mac, "V1");
+		addInvariants(mac, makeSList("I1"), makeSList("V1∈0‥4"), false);
+		evt1 = addEvent(mac, "evt1", makeSList(),
+				makeSList("G1"), makeSList("V1>0"),
+				makeSList("A1"), makeSList("V1≔V1−1"));
+		addEvent(mac, "evt2", makeSList(),
+				makeSList("G1"), makeSList("V1<4"),
+				makeSList("A1"), makeSList("V1≔V1+1"));
+		saveRodinFileOf(mac);
+		runBuilder();
+		assertReusedEvents();
+	}
+
+	private void assertReusedEvents(String... labels) {
+		final Set<String> expected = new HashSet<String>(asList(labels));
+		assertEquals(expected,
+				IncrementalPOGInfo.getReusedEvents(mac.getPORoot()));
+	}
+
+	/**
+	 * Ensures that only the proof obligations of a modified event are
+	 * generated again, the other ones keeping their stamp.
+	 */
+	@Test
+	public void testIncremental_00_modifiedEvent() throws Exception {
+		createMachineWithTwoEvents();
+		final IPORoot po = mac.getPORoot();
+		final long stamp1 = getSequent(po, "evt1/I1/INV").getPOStamp();
+		final long stamp2 = getSequent(po, "evt2/I1/INV").getPOStamp();
+
+		evt1.getGuards()[0].setPredicateString("V1>1", null);
+		saveRodinFileOf(mac);
+		runBuilder();
+		assertReusedEvents("evt2");
+
+		final ITypeEnvironmentBuilder typeEnvironment = mTypeEnvironment(
+				"V1=ℤ", factory);
+		final IPOSequent sequent1 = getSequent(po, "evt1/I1/INV");
+		sequentHasHypotheses(sequent1, typeEnvironment, "V1∈0‥4", "V1>1");
+		sequentHasGoal(sequent1, typeEnvironment, "V1−1∈0‥4");
+		hasNewStamp(sequent1);
+		assertTrue(stamp1 < sequent1.getPOStamp());
+
+		final IPOSequent sequent2 = getSequent(po, "evt2/I1/INV");
+		sequentHasHypotheses(sequent2, typeEnvironment, "V1∈0‥4", "V1<4");
+		sequentHasGoal(sequent2, typeEnvironment, "V1+1∈0‥4");
+		hasStamp(sequent2, stamp2);
+	}
+
+	/**
+	 * Ensures that the proof obligations of all events are generated again
+	 * when the machine is modified outside of events.
+	 */
+	@Test
+	public void testIncremental_01_modifiedMachine() throws Exception {
+		createMachineWithTwoEvents();
+		final IPORoot po = mac.getPORoot();
+
+		addInvariants(mac, makeSList("I2"), makeSList("V1≠5"), false);
+		saveRodinFileOf(mac);
+		runBuilder();
+		assertReusedEvents();
+
+		final ITypeEnvironmentBuilder typeEnvironment = mTypeEnvironment(
+				"V1=ℤ", factory);
+		final IPOSequent sequent2 = getSequent(po, "evt2/I2/INV");
+		sequentHasHypotheses(sequent2, typeEnvironment, "V1∈0‥4", "V1≠5",
+				"V1<4");
+		sequentHasGoal(sequent2, typeEnvironment, "V1+1≠5");
+		hasNewStamp(sequent2);
+	}
+
+	/**
+	 * Ensures that a removed event does not leave proof obligations behind,
+	 * while the other events are reused.
+	 */
+	@Test
+	public void testIncremental_02_removedEvent() throws Exception {
+		createMachineWithTwoEvents();
+		final IPORoot po = mac.getPORoot();
+		final long stamp2 = getSequent(po, "evt2/I1/INV").getPOStamp();
+
+		evt1.delete(true, null);
+		saveRodinFileOf(mac);
+		runBuilder();
+		assertReusedEvents("evt2");
+
+		noSequent(po, "evt1/I1/INV");
+		hasStamp(getSequent(po, "evt2/I1/INV"), stamp2);
+	}
+
+}
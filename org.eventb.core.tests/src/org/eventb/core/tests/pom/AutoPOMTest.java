@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
  *     Systerel - mathematical language V2
+ *     ISP RAS - test for parallel proving
  *******************************************************************************/
 package org.eventb.core.tests.pom;
 
@@ -17,7 +18,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eventb.core.EventBPlugin;
 import org.eventb.core.IPOPredicateSet;
 import org.eventb.core.IPORoot;
@@ -33,6 +39,7 @@ import org.eventb.core.seqprover.IConfidence;
 import org.eventb.core.seqprover.IProofTree;
 import org.eventb.core.seqprover.eventbExtensions.Tactics;
 import org.eventb.core.tests.BuilderTest;
+import org.eventb.internal.core.pom.AutoProver;
 import org.junit.Test;
 import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinElement;
@@ -43,53 +50,58 @@ public class AutoPOMTest extends BuilderTest {
 	protected IPORoot poRoot;
 	
 	private void createPOFile() throws CoreException {
-		poRoot = createPOFile("x");
-		final IPOPredicateSet hyp0 = POUtil.addPredicateSet(poRoot, "hyp0", null,
+		poRoot = createPOs("x");
+	}
+
+	private IPORoot createPOs(String bareName) throws CoreException {
+		final IPORoot root = createPOFile(bareName);
+		final IPOPredicateSet hyp0 = POUtil.addPredicateSet(root, "hyp0", null,
 				mTypeEnvironment("x=ℤ"),
 				"1=1", "2=2", "x∈ℕ"
 		);
-		POUtil.addSequent(poRoot, "PO1", 
+		POUtil.addSequent(root, "PO1", 
 				"1=1 ∧2=2 ∧x ∈ℕ",
 				hyp0, 
 				mTypeEnvironment()
 		);
-		POUtil.addSequent(poRoot, "PO2", 
+		POUtil.addSequent(root, "PO2", 
 				"1=1 ∧2=2 ∧x ∈ℕ∧y ∈ℕ",
 				hyp0, 
 				mTypeEnvironment("y=ℤ"), 
 				"y∈ℕ" 
 		);
-		POUtil.addSequent(poRoot, "PO3", 
+		POUtil.addSequent(root, "PO3", 
 				"3=3", 
 				hyp0, 
 				mTypeEnvironment(),
 				"3=3"
 		);
-		POUtil.addSequent(poRoot, "PO4", 
+		POUtil.addSequent(root, "PO4", 
 				"1=1 ∧2=2 ∧x ∈ℕ", 
 				hyp0, 
 				mTypeEnvironment(),
 				"3=3"
 		);
-		POUtil.addSequent(poRoot, "PO5", 
+		POUtil.addSequent(root, "PO5", 
 				"1=1 ∧2=2 ∧y ∈ℕ∧y ∈ℕ", 
 				hyp0, 
 				mTypeEnvironment("y=ℤ"), 
 				"y∈ℕ"
 		);
-		POUtil.addSequent(poRoot, "PO6", 
+		POUtil.addSequent(root, "PO6", 
 				"1=1 ∧2=2 ∧x ∈ℕ∧y ∈ℕ", 
 				hyp0, 
 				mTypeEnvironment("y=ℤ; x'=ℤ"), 
 				"y∈ℕ"
 		);
-		POUtil.addSequent(poRoot, "PO7", 
+		POUtil.addSequent(root, "PO7", 
 				"y∈ℕ", 
 				hyp0, 
 				mTypeEnvironment("y=ℤ"), 
 				"x=x"
 		);
-		saveRodinFileOf(poRoot);
+		saveRodinFileOf(root);
+		return root;
 	}
 
 	/*
@@ -137,6 +149,64 @@ public class AutoPOMTest extends BuilderTest {
 	}
 	
 
+	/**
+	 * Ensures that proving the POs of a component in parallel gives the same
+	 * proof file as proving them sequentially.
+	 */
+	@Test
+	public final void testParallelAutoProver() throws Exception {
+		final IPORoot seqRoot = createPOs("x");
+		final IPORoot parRoot = createPOs("y");
+		disableAutoProver();
+		runBuilder();
+
+		enableAutoProver();
+		final String seqContents = runAutoProver(seqRoot, 1);
+		final String parContents = runAutoProver(parRoot, 4);
+		assertEquals(seqContents, parContents);
+
+		final IPSStatus[] statuses = parRoot.getPSRoot().getStatuses();
+		for (int i = 0; i < statuses.length - 1; i++) {
+			assertDischarged(statuses[i]);
+		}
+		assertNotDischarged(statuses[statuses.length - 1]);
+		checkProofsConsistent(parRoot.getPRRoot(), parRoot.getPSRoot());
+	}
+
+	private String runAutoProver(IPORoot root, int threads) throws Exception {
+		final IProofManager pm = EventBPlugin.getProofManager();
+		final IProofComponent pc = pm.getProofComponent(root.getPSRoot());
+		final String old = System.setProperty(AutoProver.THREADS,
+				Integer.toString(threads));
+		try {
+			AutoProver.run(pc, root.getPSRoot().getStatuses(),
+					new NullProgressMonitor());
+		} finally {
+			if (old == null) {
+				System.clearProperty(AutoProver.THREADS);
+			} else {
+				System.setProperty(AutoProver.THREADS, old);
+			}
+		}
+		assertFalse(pc.hasUnsavedChanges());
+		return readContents(root.getPRRoot().getResource());
+	}
+
+	private static String readContents(IFile file) throws Exception {
+		final InputStream in = file.getContents();
+		try {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toString("UTF-8");
+		} finally {
+			in.close();
+		}
+	}
+
 	protected void checkProofsConsistent(IPRRoot prRoot, IPSRoot psRoot) throws RodinDBException {
 		IPSStatus[] statuses = psRoot.getStatuses();
 		for (IPSStatus status : statuses) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 ETH Zurich and others.
+ * Copyright (c) 2008, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,14 @@
  *     Systerel - separation of file and root element
  *     Systerel - mathematical language V2
  *     Systerel - changed condition for including WD predicates
+ *     ISP RAS - added tests for the predicate set cache
  *******************************************************************************/
 package org.eventb.core.tests.pom;
 
 import static org.eventb.core.tests.pom.POUtil.mTypeEnvironment;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -23,6 +25,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eventb.core.IPOPredicateSet;
 import org.eventb.core.IPORoot;
 import org.eventb.core.IPOSequent;
+import org.eventb.core.ast.Predicate;
 import org.eventb.core.seqprover.IProverSequent;
 import org.eventb.core.tests.BuilderTest;
 import org.eventb.internal.core.pom.POLoader;
@@ -132,6 +135,39 @@ public class POLoaderTest extends BuilderTest {
 		
 	}
 	
+	/**
+	 * Ensures that stamped predicate sets shared by several POs are loaded only
+	 * once, and that they are reloaded as soon as they get modified.
+	 */
+	@Test
+	public final void testPredicateSetCache() throws CoreException {
+		poRoot = createPOFile("x");
+		final IPOPredicateSet hyp0 = POUtil.addPredicateSet(poRoot, "hyp0",
+				null, mTypeEnvironment("x=ℤ"), "x∈ℕ");
+		hyp0.setPOStamp(1, null);
+		POUtil.addSequent(poRoot, "PO1", "x ≠ 0", hyp0, mTypeEnvironment());
+		POUtil.addSequent(poRoot, "PO2", "x ≠ 1", hyp0, mTypeEnvironment());
+		saveRodinFileOf(poRoot);
+
+		final Predicate hyp1 = firstHyp(poRoot.getSequent("PO1"));
+		final Predicate hyp2 = firstHyp(poRoot.getSequent("PO2"));
+		assertEquals("x∈ℕ", hyp1.toString());
+		assertSame(hyp1, hyp2);
+
+		hyp0.getPredicate("p1").setPredicateString("x∈ℕ1", null);
+		hyp0.setPOStamp(2, null);
+		saveRodinFileOf(poRoot);
+
+		final Predicate hyp3 = firstHyp(poRoot.getSequent("PO1"));
+		assertEquals("x∈ℕ1", hyp3.toString());
+		assertNotSame(hyp1, hyp3);
+	}
+
+	private Predicate firstHyp(IPOSequent poSequent) throws CoreException {
+		final IProverSequent seq = POLoader.readPO(poSequent, factory);
+		return seq.hypIterable().iterator().next();
+	}
+
 	public static String[] mp(String... strings) {
 		return strings;
 	}
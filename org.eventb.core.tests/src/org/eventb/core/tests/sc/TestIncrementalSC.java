@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.core.tests.sc;
+
+import static org.eventb.core.EventBAttributes.PREDICATE_ATTRIBUTE;
+import static org.eventb.core.sc.ParseProblem.TypesDoNotMatchError;
+import static org.eventb.core.tests.MarkerMatcher.marker;
+import static org.eventb.core.tests.pom.POUtil.mTypeEnvironment;
+import static org.junit.Assert.assertEquals;
+
+import org.eventb.core.IContextRoot;
+import org.eventb.core.IMachineRoot;
+import org.eventb.core.ISCMachineRoot;
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.internal.core.sc.IncrementalSCInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the incremental static checking of components.
+ */
+public class TestIncrementalSC extends BasicSCTest {
+
+	@Before
+	public void enableIncremental() throws Exception {
+		IncrementalSCInfo.setEnabled(true);
+		IncrementalSCInfo.resetStatistics();
+	}
+
+	@After
+	public void disableIncremental() throws Exception {
+		IncrementalSCInfo.setEnabled(false);
+	}
+
+	/**
+	 * Ensures that only a modified invariant is parsed again.
+	 */
+	@Test
+	public void testIncremental_00_modifiedInvariant() throws Exception {
+		final IMachineRoot mac = createMachine("mac");
+		addVariables(mac, "V1");
+		addInvariants(mac, makeSList("I1", "I2"),
+				makeSList("V1∈ℕ", "V1≠2"), false, false);
+		addInitialisation(mac, makeSList("A1"), makeSList("V1:∣ ⊤"));
+		saveRodinFileOf(mac);
+		runBuilder();
+		final long misses = IncrementalSCInfo.getMisses();
+
+		mac.getInvariants()[1].setPredicateString("V1≠3", null);
+		saveRodinFileOf(mac);
+		runBuilder();
+
+		final ITypeEnvironmentBuilder typeEnvironment = mTypeEnvironment(
+				"V1=ℤ", factory);
+		final ISCMachineRoot file = mac.getSCMachineRoot();
+		containsInvariants(file, typeEnvironment, makeSList("I1", "I2"),
+				makeSList("V1∈ℕ", "V1≠3"), false, false);
+		assertEquals(1, IncrementalSCInfo.getMisses() - misses);
+	}
+
+	/**
+	 * Ensures that formulas are type-checked again when the type of one of
+	 * their identifiers changes.
+	 */
+	@Test
+	public void testIncremental_01_modifiedType() throws Exception {
+		final IContextRoot con = createContext("ctx");
+		addCarrierSets(con, "S1");
+		saveRodinFileOf(con);
+
+		final IMachineRoot mac = createMachine("mac");
+		addMachineSees(mac, "ctx");
+		addVariables(mac, "V1");
+		addInvariants(mac, makeSList("I1", "I2"),
+				makeSList("V1∈S1", "V1=V1"), false, false);
+		addInitialisation(mac, makeSList("A1"), makeSList("V1:∣ ⊤"));
+		saveRodinFileOf(mac);
+		runBuilder();
+		final long misses = IncrementalSCInfo.getMisses();
+
+		mac.getInvariants()[0].setPredicateString("V1∈ℕ", null);
+		saveRodinFileOf(mac);
+		runBuilder();
+
+		final ITypeEnvironmentBuilder typeEnvironment = mTypeEnvironment(
+				"S1=ℙ(S1); V1=ℤ", factory);
+		containsInvariants(mac.getSCMachineRoot(), typeEnvironment,
+				makeSList("I1", "I2"), makeSList("V1∈ℕ", "V1=V1"), false,
+				false);
+		assertEquals(3, IncrementalSCInfo.getMisses() - misses);
+	}
+
+	/**
+	 * Ensures that the problems of reused formulas are reported again.
+	 */
+	@Test
+	public void testIncremental_02_reusedProblems() throws Exception {
+		final IContextRoot con = createContext("ctx");
+		addCarrierSets(con, "S1");
+		saveRodinFileOf(con);
+
+		final IMachineRoot mac = createMachine("mac");
+		addMachineSees(mac, "ctx");
+		addVariables(mac, "V1");
+		addInvariants(mac, makeSList("I1", "I2"),
+				makeSList("V1∈ℕ∪S1", "V1∈S1"), false, false);
+		addInitialisation(mac, makeSList("A1"), makeSList("V1:∣ ⊤"));
+		saveRodinFileOf(mac);
+		runBuilderCheck(marker(mac.getInvariants()[0], PREDICATE_ATTRIBUTE, 3,
+				7, TypesDoNotMatchError, "ℤ", "S1"));
+
+		addInvariants(mac, makeSList("I3"), makeSList("V1≠V1"), true);
+		saveRodinFileOf(mac);
+		runBuilderCheck(marker(mac.getInvariants()[0], PREDICATE_ATTRIBUTE, 3,
+				7, TypesDoNotMatchError, "ℤ", "S1"));
+		assertEquals(3, IncrementalSCInfo.getHits());
+
+		final ITypeEnvironmentBuilder typeEnvironment = mTypeEnvironment(
+				"S1=ℙ(S1); V1=S1", factory);
+		containsInvariants(mac.getSCMachineRoot(), typeEnvironment,
+				makeSList("I2", "I3"), makeSList("V1∈S1", "V1≠V1"), false,
+				true);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - streamlined interface
+ *     ISP RAS - intern loaded predicates
  *******************************************************************************/
 package org.eventb.core.basis;
 
@@ -46,7 +47,8 @@ public class PRStoredPred extends SCPredicateElement implements IPRStoredPred {
 	public Predicate getPredicate(ISealedTypeEnvironment baseTypenv)
 			throws CoreException {
 		final ISealedTypeEnvironment typenv = buildTypenv(this, baseTypenv);
-		return super.getPredicate(typenv);
+		final Predicate pred = super.getPredicate(typenv);
+		return pred.getFactory().intern(pred);
 	}
 
 	/**
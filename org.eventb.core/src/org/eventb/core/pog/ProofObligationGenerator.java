@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  *     Systerel - create a marker when no configuration for file (no exception)
  *     Systerel - added config in message for problem LoadingRootModuleError
  *     Systerel - added removal of temporary file
+ *     ISP RAS - added incremental generation
  *******************************************************************************/
 package org.eventb.core.pog;
 
@@ -34,12 +35,14 @@ import org.eventb.core.IPOStampedElement;
 import org.eventb.core.pog.state.IPOGStateRepository;
 import org.eventb.core.sc.GraphProblem;
 import org.eventb.internal.core.Util;
+import org.eventb.internal.core.pog.IncrementalPOGInfo;
 import org.eventb.internal.core.pog.Messages;
 import org.eventb.internal.core.pog.POGStateRepository;
 import org.eventb.internal.core.pog.POGUtil;
 import org.eventb.internal.core.sc.SCUtil;
 import org.eventb.internal.core.tool.IModuleFactory;
 import org.eventb.internal.core.tool.POGModuleManager;
+import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinElement;
 import org.rodinp.core.IRodinFile;
 import org.rodinp.core.IRodinProject;
@@ -82,11 +85,14 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 	// Changed parent predicate sets are taken into account in the
 	// comparison: if a parent predicate set has changed, then the 
 	// child predicate set or sequent is considered changed too.
+	// Elements that have been copied from the current proof obligation
+	// file are known to be unchanged and are not compared.
 	//
 	// TODO progress monitor
 	private boolean compareAndSave(
 			IRodinFile oldFile, 
 			IRodinFile newFile,
+			Set<IInternalElement> reused,
 			IProgressMonitor monitor) throws CoreException {
 		final SubMonitor sMonitor = SubMonitor.convert(monitor, 2);
 		assert oldFile != null;
@@ -103,10 +109,10 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 		}
 
 		IPOPredicateSet[] predSets = newRoot.getPredicateSets();
-		Set<IPOPredicateSet> chPrdSets = comparePredicateSets(oldRoot, predSets, freshStamp, null);
+		Set<IPOPredicateSet> chPrdSets = comparePredicateSets(oldRoot, predSets, reused, freshStamp, null);
 		
 		IPOSequent[] sequents = newRoot.getSequents();
-		boolean chSeqs = compareSequents(oldRoot, sequents, chPrdSets, freshStamp, null);
+		boolean chSeqs = compareSequents(oldRoot, sequents, chPrdSets, reused, freshStamp, null);
 		
 		// the delta check is only valid if the PO file only contains predicate sets and sequents
 		// and not any other element types. Predicate sets and sequents themselves can be extended though.
@@ -138,6 +144,7 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 			IPORoot oldRoot, 
 			IPOSequent[] sequents, 
 			Set<IPOPredicateSet> chPrdSets,
+			Set<IInternalElement> reused,
 			long freshStamp, 
 			IProgressMonitor monitor) throws CoreException {
 		boolean changed = false;
@@ -148,7 +155,7 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 			if (chPrdSets.contains(hyp.getParentPredicateSet())) {
 				sequent.setPOStamp(freshStamp, monitor);
 				changed = true;
-			} else {
+			} else if (!reused.contains(sequent)) {
 
 				String name = sequent.getElementName();
 				IPOSequent oldSequent = oldRoot.getSequent(name);
@@ -175,6 +182,7 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 	private Set<IPOPredicateSet> comparePredicateSets(
 			IPORoot oldRoot, 
 			IPOPredicateSet[] predSets, 
+			Set<IInternalElement> reused,
 			long freshStamp,
 			IProgressMonitor monitor) throws CoreException {
 		HashSet<IPOPredicateSet> done = new HashSet<IPOPredicateSet>(predSets.length * 4 / 3 + 1);
@@ -188,7 +196,8 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 			if (oldSet.exists()) {
 				long oldStamp = oldSet.getPOStamp();
 				newSet.setPOStamp(oldStamp, monitor);
-				if (newSet.hasSameAttributes(oldSet) 
+				if (reused.contains(newSet)
+						|| newSet.hasSameAttributes(oldSet) 
 						&& newSet.hasSameChildren(oldSet)) {
 					IPOPredicateSet parentSet = newSet.getParentPredicateSet();
 					if (parentSet == null) {
@@ -252,6 +261,8 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 		
 			monitor.beginTask(Messages.bind(Messages.build_cleaning, file.getName()), 1);
 			
+			IncrementalPOGInfo.forget(file);
+			
 			if (file.exists())
 				file.delete(true, monitor);
 			
@@ -333,6 +344,8 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 				IRodinFile srcRodinFile = RodinCore.valueOf(source).getSnapshot();
 				final IRodinFile poTmpFile = getTmpPOFile(poFile);
 				IPORoot poRoot = (IPORoot) poFile.getRoot();
+				IncrementalPOGInfo incrementalInfo = null;
+				boolean saved = false;
 				
 				// TODO progress monitor
 				try {
@@ -349,6 +362,11 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 					(IEventBRoot) srcRodinFile.getRoot(),
 					(IPORoot) poTmpFile.getRoot(), monitor);
 
+					incrementalInfo = IncrementalPOGInfo.create(
+							(IEventBRoot) srcRodinFile.getRoot(), poRoot,
+							(IPORoot) poTmpFile.getRoot());
+					repository.setState(incrementalInfo);
+
 					IPOGProcessorModule rootModule = getRootModule(srcRodinFile);
 				
 					if (rootModule != null) {
@@ -359,7 +377,10 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 							monitor);
 					}
 					
-					return compareAndSave(poFile, poTmpFile, monitor);
+					final boolean changed = compareAndSave(poFile, poTmpFile,
+							incrementalInfo.getReusedElements(), monitor);
+					saved = true;
+					return changed;
 				} finally {
 					// Ensure that the temporary file gets deleted
 					if (poTmpFile.exists()) {
@@ -367,6 +388,9 @@ public abstract class ProofObligationGenerator implements IAutomaticTool, IExtra
 					}
 					monitor.done();
 					poFile.makeConsistent(null);
+					if (saved) {
+						incrementalInfo.commit();
+					}
 				}
 			}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  *     Systerel - added config in message for problem LoadingRootModuleError
  *     Systerel - added warnings for unknown configuration ids
  *     Systerel - added removal of temporary file
+ *     ISP RAS - added incremental mode
  *******************************************************************************/
 package org.eventb.core.sc;
 
@@ -22,6 +23,7 @@ import org.eclipse.core.runtime.SubMonitor;
 import org.eventb.core.IConfigurationElement;
 import org.eventb.core.IEventBRoot;
 import org.eventb.core.sc.state.ISCStateRepository;
+import org.eventb.internal.core.sc.IncrementalSCInfo;
 import org.eventb.internal.core.sc.Messages;
 import org.eventb.internal.core.sc.SCStateRepository;
 import org.eventb.internal.core.sc.SCUtil;
@@ -69,6 +71,8 @@ public abstract class StaticChecker implements IAutomaticTool, IExtractor {
 			
 			IRodinFile eventbFile = RodinCore.valueOf(file);
 		
+			IncrementalSCInfo.forget(source);
+
 			monitor.beginTask(Messages.bind(Messages.build_cleaning, file.getName()), 1);
 			
 			if (eventbFile.exists())
@@ -220,8 +224,13 @@ public abstract class StaticChecker implements IAutomaticTool, IExtractor {
 				final ISCProcessorModule rootModule = getRootModule(sourceFile, config);
 
 				if (rootModule != null) {
+					final IncrementalSCInfo incrementalInfo = IncrementalSCInfo
+							.create(sourceFile, config,
+									repository.getFormulaFactory());
+					repository.setState(incrementalInfo);
 					runProcessorModules(rootModule, sourceFile, scTmpFile.getRoot(), repository,
 							sMonitor.split(childCount));
+					incrementalInfo.commit();
 				}
 
 			}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added replay cache
  *******************************************************************************/
 package org.eventb.internal.core.pm;
 
@@ -29,6 +30,7 @@ import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.pm.IProofAttempt;
 import org.eventb.core.pm.IProofComponent;
 import org.eventb.core.seqprover.IProofSkeleton;
+import org.eventb.core.seqprover.proofBuilder.ReplayCache;
 import org.rodinp.core.RodinCore;
 import org.rodinp.core.RodinDBException;
 
@@ -49,6 +51,9 @@ public class ProofComponent implements IProofComponent {
 	// The PS file of this component
 	private final IPSRoot psRoot;
 
+	// Rules produced by reasoners when rebuilding proofs of this component
+	private final ReplayCache replayCache = new ReplayCache();
+
 	public ProofComponent(IPSRoot psRoot) {
 		this.psRoot = psRoot;
 		this.known = new HashMap<String, Map<String, ProofAttempt>>();
@@ -104,6 +109,16 @@ public class ProofComponent implements IProofComponent {
 		return psRoot;
 	}
 
+	/**
+	 * Returns the cache shared by the rebuilds of the proofs of this
+	 * component.
+	 * 
+	 * @return the replay cache of this component
+	 */
+	public ReplayCache getReplayCache() {
+		return replayCache;
+	}
+
 	@Override
 	public ISchedulingRule getSchedulingRule() {
 		final ISchedulingRule[] rules = new ISchedulingRule[] {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added replay cache statistics
  *******************************************************************************/
 package org.eventb.internal.core.pm;
 
@@ -66,6 +67,36 @@ public class ProofManager implements IProofManager {
 		return res.toArray(new ProofAttempt[res.size()]);
 	}
 
+	/**
+	 * Returns the number of reasoner replays avoided by the replay caches of
+	 * the known proof components, for tracing purposes.
+	 */
+	public synchronized long getReplayCacheHits() {
+		long result = 0;
+		for (final Reference<ProofComponent> ref : known.values()) {
+			final ProofComponent pc = ref.get();
+			if (pc != null) {
+				result += pc.getReplayCache().getHits();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of failed lookups in the replay caches of the known
+	 * proof components, for tracing purposes.
+	 */
+	public synchronized long getReplayCacheMisses() {
+		long result = 0;
+		for (final Reference<ProofComponent> ref : known.values()) {
+			final ProofComponent pc = ref.get();
+			if (pc != null) {
+				result += pc.getReplayCache().getMisses();
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public IProofComponent getProofComponent(IEventBRoot file) {
 		return internalGet(file.getPSRoot());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2014 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - used the replay cache of the component
  *******************************************************************************/
 package org.eventb.internal.core.pm;
 
@@ -45,8 +46,10 @@ public class ProofRebuilder extends ProofModifier {
 	protected boolean makeNewProof(IProofAttempt pa,
 			IProofSkeleton originalSkeleton, IProgressMonitor monitor) {
 		final IProofTree pt = pa.getProofTree();
-		final Object result = BasicTactics.rebuildTac(originalSkeleton).apply(
-				pt.getRoot(), new ProofMonitor(monitor));
+		final ProofComponent pc = (ProofComponent) pa.getComponent();
+		final Object result = BasicTactics.rebuildTac(originalSkeleton,
+				pc.getReplayCache()).apply(pt.getRoot(),
+				new ProofMonitor(monitor));
 
 		final boolean success = (result == null);
 		if (applyPostTactics && !pt.isClosed()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2014 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
  *     Systerel - got formula factory from proof attempt
  *     Systerel - added more getters
  *     Systerel - added simplify proof preference
+ *     ISP RAS - used the replay cache of the component
  *******************************************************************************/
 package org.eventb.internal.core.pm;
 
@@ -190,7 +191,8 @@ public class ProofState implements IProofState {
 		if (skeleton != null) {
 			final IProofTreeNode root = pt.getRoot();
 			final ProofMonitor pm = new ProofMonitor(monitor);
-			if (!rebuild(root, skeleton, null, true, pm))
+			final ProofComponent pc = (ProofComponent) pa.getComponent();
+			if (!rebuild(root, skeleton, null, true, pc.getReplayCache(), pm))
 				setDirty(true);
 		}
 		if (hasBrokenStatus())
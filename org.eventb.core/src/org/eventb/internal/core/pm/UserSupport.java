@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,12 +11,12 @@
  *     Systerel - added missing cleanup in dispose() and refresh()
  *     Systerel - separation of file and root element
  *     Systerel - added saving state
+ *     ISP RAS - searched visible hypotheses only when hidden ones are ignored
  *******************************************************************************/
 package org.eventb.internal.core.pm;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -396,11 +396,9 @@ public class UserSupport implements IUserSupport {
 		checkCurrentPS();
 		token = token.trim();
 		final IProverSequent sequent = currentPS.getCurrentNode().getSequent();
-		final Set<Predicate> hyps = ProverLib.hypsTextSearch(sequent, token);
 		final boolean considerHiddenHyps = manager.isConsiderHiddenHypotheses();
-		if (!considerHiddenHyps) {
-			removeHiddenHyps(hyps, sequent);
-		}
+		final Set<Predicate> hyps = ProverLib.hypsTextSearch(sequent, token,
+				considerHiddenHyps);
 		manager.run(new Runnable() {
 			@Override
 			public void run() {
@@ -412,17 +410,6 @@ public class UserSupport implements IUserSupport {
 		});
 	}
 
-	private static void removeHiddenHyps(Set<Predicate> hyps,
-			IProverSequent sequent) {
-		final Iterator<Predicate> iter = hyps.iterator();
-		while (iter.hasNext()) {
-			final Predicate hyp = iter.next();
-			if (sequent.isHidden(hyp)) {
-				iter.remove();
-			}
-		}
-	}
-
 	@Override
 	public void removeSearchedHypotheses(final Collection<Predicate> hyps) {
 		checkCurrentPS();
@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.pog;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eventb.core.EventBPlugin;
+import org.eventb.core.IEventBRoot;
+import org.eventb.core.IPORoot;
+import org.eventb.core.ISCEvent;
+import org.eventb.core.ISCMachineRoot;
+import org.eventb.core.ISCRefinesMachine;
+import org.eventb.core.pog.POGCore;
+import org.eventb.core.pog.state.IPOGState;
+import org.eventb.core.tool.IStateType;
+import org.eventb.internal.core.tool.state.State;
+import org.rodinp.core.IAttributeValue;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.RodinCore;
+import org.rodinp.core.RodinDBException;
+
+/**
+ * Information for generating the proof obligations of a machine
+ * incrementally.
+ * <p>
+ * After each run of the proof obligation generator on a machine, we remember
+ * a digest of the statically checked machine without its events (together
+ * with its abstract machine), and for every event, a digest of the statically
+ * checked event and the elements of the PO file that were generated for it.
+ * </p>
+ * <p>
+ * On the next run, if the machine digest has not changed and the PO file has
+ * not been modified in between, the elements of the unchanged events are
+ * copied from the current PO file instead of being generated again. These
+ * copies keep their PO stamps and need not be compared when the PO file is
+ * saved. The proof obligations of the other events are generated as usual.
+ * </p>
+ * <p>
+ * Generated elements only depend on their event and on the machine: the
+ * machine level states are immutable when events are processed. However, the
+ * incremental mode assumes that it also holds for the modules contributed by
+ * other plug-ins, which is why it is only enabled on demand, with the system
+ * property {@value #INCREMENTAL}.
+ * </p>
+ *
+ * @see org.eventb.internal.core.pog.modules.FwdMachineEventModule
+ */
+public class IncrementalPOGInfo extends State implements IPOGState {
+
+	public static final IStateType<IncrementalPOGInfo> STATE_TYPE = POGCore
+			.getToolStateType(EventBPlugin.PLUGIN_ID + ".incrementalPOGInfo");
+
+	/**
+	 * Name of the system property enabling incremental proof obligation
+	 * generation.
+	 */
+	public static final String INCREMENTAL = "org.eventb.core.incrementalPOG";
+
+	private static volatile boolean enabled = Boolean.getBoolean(INCREMENTAL);
+
+	// Records of the last run, per PO file
+	private static final Map<IFile, ComponentRecord> records = new HashMap<IFile, ComponentRecord>();
+
+	private static class EventRecord {
+
+		final byte[] digest;
+
+		// Generated elements, as children of the temporary PO file
+		final List<IInternalElement> elements;
+
+		EventRecord(byte[] digest, List<IInternalElement> elements) {
+			this.digest = digest;
+			this.elements = elements;
+		}
+
+	}
+
+	private static class ComponentRecord {
+
+		final byte[] digest;
+
+		final Map<String, EventRecord> events = new HashMap<String, EventRecord>();
+
+		// Labels of the events whose elements have been reused
+		final Set<String> reusedEvents = new HashSet<String>();
+
+		long stamp;
+
+		ComponentRecord(byte[] digest) {
+			this.digest = digest;
+		}
+
+	}
+
+	private final IPORoot poRoot;
+
+	private final IPORoot target;
+
+	// Record of the previous run, or null if it cannot be used
+	private final ComponentRecord previous;
+
+	// Record of this run, or null if not incremental
+	private final ComponentRecord current;
+
+	private final Set<IInternalElement> reused = new HashSet<IInternalElement>();
+
+	// Digest of the event being processed and elements before processing it
+	private byte[] eventDigest;
+	private Set<IRodinElement> before;
+
+	private IncrementalPOGInfo(IPORoot poRoot, IPORoot target,
+			ComponentRecord previous, ComponentRecord current) {
+		this.poRoot = poRoot;
+		this.target = target;
+		this.previous = previous;
+		this.current = current;
+	}
+
+	/**
+	 * Returns the information for generating the given PO file from the given
+	 * source.
+	 *
+	 * @param source
+	 *            the statically checked component
+	 * @param poRoot
+	 *            the root of the current PO file
+	 * @param target
+	 *            the root of the temporary PO file being generated
+	 * @return the information for this run
+	 * @throws CoreException
+	 *             if the source or PO file cannot be read
+	 */
+	public static IncrementalPOGInfo create(IEventBRoot source,
+			IPORoot poRoot, IPORoot target) throws CoreException {
+		final ComponentRecord previous;
+		synchronized (records) {
+			previous = records.remove(getKey(poRoot));
+		}
+		if (!enabled) {
+			return new IncrementalPOGInfo(poRoot, target, null, null);
+		}
+		final ComponentRecord current = new ComponentRecord(
+				digestComponent(source));
+		if (previous != null && poRoot.exists()
+				&& poRoot.getPOStamp() == previous.stamp
+				&& MessageDigest.isEqual(previous.digest, current.digest)) {
+			return new IncrementalPOGInfo(poRoot, target, previous, current);
+		}
+		return new IncrementalPOGInfo(poRoot, target, null, current);
+	}
+
+	/**
+	 * Forgets about the last run on the given PO file.
+	 *
+	 * @param poFile
+	 *            a PO file
+	 */
+	public static void forget(IFile poFile) {
+		synchronized (records) {
+			records.remove(poFile);
+		}
+	}
+
+	/**
+	 * Returns the labels of the events whose elements were reused by the last
+	 * run on the given PO file. This method is intended for testing purposes
+	 * only.
+	 *
+	 * @param poRoot
+	 *            the root of a PO file
+	 * @return the labels of the reused events, empty if the last run was not
+	 *         incremental
+	 */
+	public static Set<String> getReusedEvents(IPORoot poRoot) {
+		final ComponentRecord record;
+		synchronized (records) {
+			record = records.get(getKey(poRoot));
+		}
+		if (record == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(record.reusedEvents);
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean value) {
+		enabled = value;
+		if (!value) {
+			synchronized (records) {
+				records.clear();
+			}
+		}
+	}
+
+	private static IFile getKey(IPORoot poRoot) {
+		return poRoot.getRodinFile().getResource();
+	}
+
+	@Override
+	public IStateType<?> getStateType() {
+		return STATE_TYPE;
+	}
+
+	/**
+	 * Tries to reuse the elements generated for the given event in the
+	 * previous run. If this method returns <code>false</code>, the event must
+	 * be processed, and then {@link #endEvent(ISCEvent)} called.
+	 *
+	 * @param event
+	 *            the event to process
+	 * @param monitor
+	 *            a progress monitor
+	 * @return <code>true</code> iff the elements of the event have been
+	 *         copied from the current PO file
+	 * @throws CoreException
+	 *             if some element cannot be read or copied
+	 */
+	public boolean reuseEvent(ISCEvent event, IProgressMonitor monitor)
+			throws CoreException {
+		if (current == null) {
+			return false;
+		}
+		eventDigest = digestElement(event);
+		final String name = event.getElementName();
+		final EventRecord old = previous == null ? null : previous.events
+				.get(name);
+		if (old != null && MessageDigest.isEqual(old.digest, eventDigest)
+				&& copyElements(old.elements, monitor)) {
+			current.events.put(name, old);
+			current.reusedEvents.add(event.getLabel());
+			reused.addAll(old.elements);
+			eventDigest = null;
+			return true;
+		}
+		before = new HashSet<IRodinElement>(Arrays.asList(target
+				.getChildren()));
+		return false;
+	}
+
+	private boolean copyElements(List<IInternalElement> elements,
+			IProgressMonitor monitor) throws CoreException {
+		if (elements.isEmpty()) {
+			return true;
+		}
+		final IInternalElement[] sources = new IInternalElement[elements
+				.size()];
+		for (int i = 0; i < sources.length; i++) {
+			final IInternalElement element = elements.get(i);
+			sources[i] = poRoot.getInternalElement(element.getElementType(),
+					element.getElementName());
+			if (!sources[i].exists()) {
+				return false;
+			}
+		}
+		RodinCore.getRodinDB().copy(sources, new IRodinElement[] { target },
+				null, null, false, monitor);
+		return true;
+	}
+
+	/**
+	 * Records the elements generated for the given event, which has just been
+	 * processed.
+	 *
+	 * @param event
+	 *            the processed event
+	 * @throws CoreException
+	 *             if the generated PO file cannot be read
+	 */
+	public void endEvent(ISCEvent event) throws CoreException {
+		if (current == null) {
+			return;
+		}
+		final List<IInternalElement> elements = new ArrayList<IInternalElement>();
+		for (IRodinElement child : target.getChildren()) {
+			if (!before.contains(child)) {
+				elements.add((IInternalElement) child);
+			}
+		}
+		current.events.put(event.getElementName(), new EventRecord(
+				eventDigest, elements));
+		eventDigest = null;
+		before = null;
+	}
+
+	/**
+	 * Returns the elements of the temporary PO file that have been copied
+	 * from the current PO file.
+	 *
+	 * @return the reused elements
+	 */
+	public Set<IInternalElement> getReusedElements() {
+		return Collections.unmodifiableSet(reused);
+	}
+
+	/**
+	 * Remembers this run for the next one. This method must only be called
+	 * once the PO file has been successfully saved.
+	 *
+	 * @throws CoreException
+	 *             if the PO file cannot be read
+	 */
+	public void commit() throws CoreException {
+		if (current == null || !poRoot.exists()) {
+			return;
+		}
+		current.stamp = poRoot.getPOStamp();
+		synchronized (records) {
+			records.put(getKey(poRoot), current);
+		}
+	}
+
+	// Digest of the component without its events, and of its abstraction
+	private static byte[] digestComponent(IEventBRoot source)
+			throws CoreException {
+		final MessageDigest md = newDigest();
+		update(md, source, true);
+		if (source instanceof ISCMachineRoot) {
+			final ISCMachineRoot root = (ISCMachineRoot) source;
+			for (ISCRefinesMachine refines : root.getSCRefinesClauses()) {
+				final IRodinFile abs = refines.getAbstractSCMachine();
+				if (abs.exists()) {
+					update(md, abs.getRoot(), false);
+				}
+			}
+		}
+		return md.digest();
+	}
+
+	private static byte[] digestElement(IInternalElement element)
+			throws RodinDBException {
+		final MessageDigest md = newDigest();
+		update(md, element, false);
+		return md.digest();
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void update(MessageDigest md, IInternalElement element,
+			boolean skipEvents) throws RodinDBException {
+		update(md, element.getElementType().getId());
+		update(md, element.getElementName());
+		for (IAttributeValue value : element.getAttributeValues()) {
+			update(md, value.getType().getId());
+			final Object object = value.getValue();
+			if (object instanceof IRodinElement) {
+				update(md, ((IRodinElement) object).getHandleIdentifier());
+			} else {
+				update(md, String.valueOf(object));
+			}
+		}
+		for (IRodinElement child : element.getChildren()) {
+			if (skipEvents && child.getElementType() == ISCEvent.ELEMENT_TYPE) {
+				continue;
+			}
+			md.update((byte) 1);
+			update(md, (IInternalElement) child, false);
+		}
+		md.update((byte) 2);
+	}
+
+	private static void update(MessageDigest md, String string) {
+		md.update(string.getBytes(StandardCharsets.UTF_8));
+		md.update((byte) 0);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
+ *     ISP RAS - reuse proof obligations of unchanged events
  *******************************************************************************/
 package org.eventb.internal.core.pog.modules;
 
@@ -21,6 +22,7 @@ import org.eventb.core.pog.POGCore;
 import org.eventb.core.pog.state.IMachineHypothesisManager;
 import org.eventb.core.pog.state.IPOGStateRepository;
 import org.eventb.core.tool.IModuleType;
+import org.eventb.internal.core.pog.IncrementalPOGInfo;
 import org.rodinp.core.IRodinElement;
 import org.rodinp.core.IRodinFile;
 
@@ -58,6 +60,9 @@ public class FwdMachineEventModule extends UtilityModule {
 		
 		for (ISCEvent event : events) {
 			
+			if (incrementalInfo.reuseEvent(event, monitor))
+				continue;
+			
 			ITypeEnvironmentBuilder typeEnvironment = machineTypeEnvironment
 					.makeBuilder();
 			
@@ -68,12 +73,15 @@ public class FwdMachineEventModule extends UtilityModule {
 			processModules(event, repository, monitor);
 			
 			endProcessorModules(event, repository, monitor);
+			
+			incrementalInfo.endEvent(event);
 		}
 
 	}
 	
 	ITypeEnvironmentBuilder machineTypeEnvironment;
 	IMachineHypothesisManager machineHypothesisManager;
+	IncrementalPOGInfo incrementalInfo;
 	/* (non-Javadoc)
 	 * @see org.eventb.core.pog.ProcessorModule#initModule(org.rodinp.core.IRodinElement, org.eventb.core.IPOFile, org.eventb.core.sc.IStateRepository, org.eclipse.core.runtime.IProgressMonitor)
 	 */
@@ -86,6 +94,7 @@ public class FwdMachineEventModule extends UtilityModule {
 		machineTypeEnvironment = repository.getTypeEnvironment();
 		machineHypothesisManager =
 			repository.getState(IMachineHypothesisManager.STATE_TYPE);
+		incrementalInfo = repository.getState(IncrementalPOGInfo.STATE_TYPE);
 	}
 
 	/* (non-Javadoc)
@@ -100,6 +109,7 @@ public class FwdMachineEventModule extends UtilityModule {
 		repository.setTypeEnvironment(machineTypeEnvironment);
 		machineTypeEnvironment = null;
 		machineHypothesisManager = null;
+		incrementalInfo = null;
 		factory = null;
 	}
 
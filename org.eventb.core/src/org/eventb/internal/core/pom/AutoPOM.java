@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2017 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,8 @@
  *     Systerel - refactored for using the Proof Manager API
  *     Systerel - separation of file and root element
  *     Systerel - added formula extensions
+ *     ISP RAS - added WD cache statistics to performance trace
+ *     ISP RAS - added replay cache statistics to performance trace
  *******************************************************************************/
 package org.eventb.internal.core.pom;
 
@@ -28,6 +30,8 @@ import org.eventb.core.IPSRoot;
 import org.eventb.core.pm.IProofComponent;
 import org.eventb.core.pm.IProofManager;
 import org.eventb.internal.core.Util;
+import org.eventb.internal.core.ast.wd.WDCache;
+import org.eventb.internal.core.pm.ProofManager;
 import org.rodinp.core.IRodinFile;
 import org.rodinp.core.RodinCore;
 import org.rodinp.core.RodinDBException;
@@ -117,6 +121,8 @@ public class AutoPOM implements IAutomaticTool, IExtractor {
 				proofReuse = ((PSUpdater.recoverablePOsWithProofs + PSUpdater.unchangedPOsWithProofs) * 100)
 								 / (float) (PSUpdater.totalPOs - PSUpdater.newPOs);
 				}
+				final WDCache wdCache = WDCache.getDefault();
+				final ProofManager proofManager = ProofManager.getDefault();
 				
 				System.out.println(
 						"=========== Cumulative POM Proof reuse performance ==========" +
@@ -130,6 +136,10 @@ public class AutoPOM implements IAutomaticTool, IExtractor {
 						"\t(with non-empty proofs: " + PSUpdater.irrecoverablePOsWithProofs +")" +
 						"\n # New: " + PSUpdater.newPOs +
 						"\n\n%'age Proofs Reused: " + proofReuse +
+						"\n\nWD cache hits: " + wdCache.getHits() +
+						"\t(misses: " + wdCache.getMisses() + ")" +
+						"\nReplay cache hits: " + proofManager.getReplayCacheHits() +
+						"\t(misses: " + proofManager.getReplayCacheMisses() + ")" +
 						"\n=============================================================\n");
 			}
 		}
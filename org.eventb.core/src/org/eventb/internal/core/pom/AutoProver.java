@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
  *     Systerel - fixed bar progression
  *     Systerel - added simplify proof preference
  *     ISP RAS - parallelize code
+ *     ISP RAS - prove the POs of a component in parallel
  *******************************************************************************/
 package org.eventb.internal.core.pom;
 
@@ -20,11 +21,18 @@ import static org.eventb.core.seqprover.IConfidence.PENDING;
 import static org.eventb.internal.core.pom.AutoPOM.tryMakeConsistent;
 import static org.eventb.internal.core.preferences.PreferenceUtils.getSimplifyProofPref;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eventb.core.EventBPlugin;
@@ -48,6 +56,16 @@ public final class AutoProver {
 
 	public static final String AUTO_PROVER = "auto-prover";
 
+	/**
+	 * Name of the system property giving the number of threads used for
+	 * proving the POs of a component. By default, one thread per available
+	 * processor is used. A value of <code>1</code> disables parallel proving.
+	 */
+	public static final String THREADS = "org.eventb.core.autoProverThreads";
+
+	// Maximal number of loaded POs per thread waiting to be committed
+	private static final int POS_PER_THREAD = 2;
+
 	private static final IAutoPostTacticManager AUTOTACTIC_MANAGER = EventBPlugin
 			.getAutoPostTacticManager();
 
@@ -59,8 +77,33 @@ public final class AutoProver {
 		// Nothing to do.
 	}
 
+	private static int getNumberOfThreads() {
+		final int cores = Runtime.getRuntime().availableProcessors();
+		return Math.max(1, Integer.getInteger(THREADS, cores));
+	}
+
+	/**
+	 * Runs the auto-prover on the given POs of the given proof component and
+	 * saves the component once at the end.
+	 * <p>
+	 * If several threads are available, the POs are proved in parallel.
+	 * However, they are always loaded and committed in the order given, from
+	 * the calling thread, so that the resulting proof files do not depend on
+	 * the scheduling of the threads.
+	 * </p>
+	 */
 	public static void run(IProofComponent pc, IPSStatus[] pos,
 			IProgressMonitor monitor) throws RodinDBException {
+		final int nbThreads = Math.min(pos.length, getNumberOfThreads());
+		if (nbThreads > 1) {
+			runParallel(pc, pos, nbThreads, monitor);
+		} else {
+			runSequential(pc, pos, monitor);
+		}
+	}
+
+	private static void runSequential(IProofComponent pc, IPSStatus[] pos,
+			IProgressMonitor monitor) throws RodinDBException {
 		final SubMonitor sMonitor = SubMonitor.convert(monitor, "auto-proving", pos.length + 1);
 		boolean dirty = false;
 		try {
@@ -80,6 +123,161 @@ public final class AutoProver {
 		}
 	}
 
+	/*
+	 * A proof attempt being proved by a worker thread.
+	 */
+	private static class PendingAttempt {
+
+		final IProofAttempt pa;
+		final Future<?> proof;
+
+		PendingAttempt(IProofAttempt pa, Future<?> proof) {
+			this.pa = pa;
+			this.proof = proof;
+		}
+
+	}
+
+	private static void runParallel(IProofComponent pc, IPSStatus[] pos,
+			int nbThreads, IProgressMonitor monitor) throws RodinDBException {
+		final SubMonitor sMonitor = SubMonitor.convert(monitor, "auto-proving",
+				2 * pos.length + 1);
+		final ExecutorService executor = Executors
+				.newFixedThreadPool(nbThreads);
+		final CancelMonitor workerMonitor = new CancelMonitor(sMonitor);
+		final Deque<PendingAttempt> pending = new ArrayDeque<PendingAttempt>();
+		final int maxPending = POS_PER_THREAD * nbThreads;
+		boolean dirty = false;
+		try {
+			for (IPSStatus status : pos) {
+				if (pending.size() >= maxPending) {
+					dirty |= complete(pending, sMonitor.split(1));
+				}
+				final IProofAttempt pa = load(pc, status.getElementName(),
+						sMonitor.split(1));
+				final ITactic tactic = getTactic(pa);
+				final Future<?> proof = executor.submit(new Runnable() {
+					@Override
+					public void run() {
+						prove(pa, tactic, workerMonitor);
+					}
+				});
+				pending.addLast(new PendingAttempt(pa, proof));
+			}
+			while (!pending.isEmpty()) {
+				dirty |= complete(pending, sMonitor.split(1));
+			}
+			if (dirty) {
+				pc.save(sMonitor.split(1), false);
+			} else {
+				sMonitor.worked(1);
+			}
+		} catch (OperationCanceledException e) {
+			tryMakeConsistent(pc);
+			throw e;
+		} finally {
+			workerMonitor.abort();
+			stopWorkers(executor, pending);
+			for (PendingAttempt attempt : pending) {
+				attempt.pa.dispose();
+			}
+			monitor.done();
+		}
+	}
+
+	/*
+	 * Waits for the end of the first pending proof, then commits and disposes
+	 * its attempt. The attempt is left pending if the wait fails, as its proof
+	 * may still be running.
+	 */
+	private static boolean complete(Deque<PendingAttempt> pending,
+			IProgressMonitor pm) throws RodinDBException {
+		final PendingAttempt attempt = pending.getFirst();
+		waitFor(attempt.proof);
+		pending.removeFirst();
+		try {
+			return commit(attempt.pa, pm);
+		} finally {
+			attempt.pa.dispose();
+		}
+	}
+
+	/*
+	 * Cancels the pending proofs not started yet and waits for the running ones
+	 * to terminate, so that their attempts can be disposed safely. Running
+	 * proofs are not interrupted, but stop soon as their monitor has been
+	 * aborted.
+	 */
+	private static void stopWorkers(ExecutorService executor,
+			Deque<PendingAttempt> pending) {
+		for (PendingAttempt attempt : pending) {
+			attempt.proof.cancel(false);
+		}
+		executor.shutdown();
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+						return;
+					}
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static void waitFor(Future<?> proof) {
+		try {
+			proof.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (CancellationException e) {
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/*
+	 * Progress monitor for worker threads, which only reports the cancellation
+	 * of the monitor of the calling thread, or the abortion of the whole run.
+	 * Progress is reported by the calling thread only, as progress monitors are
+	 * not thread-safe.
+	 */
+	private static class CancelMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor parent;
+		private volatile boolean aborted;
+
+		CancelMonitor(IProgressMonitor parent) {
+			this.parent = parent;
+		}
+
+		void abort() {
+			aborted = true;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return aborted || parent.isCanceled();
+		}
+
+	}
+
 	public static void run(IPSStatus[] pos, IProgressMonitor monitor)
 			throws RodinDBException {
 		if (pos.length == 0) {
@@ -151,10 +349,19 @@ public final class AutoProver {
 
 	// Consumes one tick of the given progress monitor
 	private static void prove(IProofAttempt pa, IProgressMonitor pm) {
+		prove(pa, getTactic(pa), pm);
+	}
+
+	private static ITactic getTactic(IProofAttempt pa) {
+		final IEventBRoot poRoot = pa.getComponent().getPORoot();
+		return AUTOTACTIC_MANAGER.getSelectedAutoTactics(poRoot);
+	}
+
+	// Consumes one tick of the given progress monitor
+	private static void prove(IProofAttempt pa, ITactic tactic,
+			IProgressMonitor pm) {
 		final SubMonitor sMonitor = SubMonitor.convert(pm, 1);
 		sMonitor.subTask("proving");
-		final IEventBRoot poRoot = pa.getComponent().getPORoot();
-		final ITactic tactic = AUTOTACTIC_MANAGER.getSelectedAutoTactics(poRoot);
 		tactic.apply(pa.getProofTree().getRoot(), new ProofMonitor(sMonitor.split(1)));
 	}
 
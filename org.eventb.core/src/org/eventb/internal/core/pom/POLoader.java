@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,19 +10,20 @@
  *     Systerel - added formula factory parameter
  *     Systerel - changed condition for including WD predicates
  *     Systerel - set the origin of the resulting prover sequent
+ *     ISP RAS - reuse predicate sets from the predicate set cache
+ *     ISP RAS - intern loaded goals
  *******************************************************************************/
 package org.eventb.internal.core.pom;
 
 import static org.eventb.core.ast.Formula.FORALL;
 import static org.eventb.core.seqprover.ProverFactory.makeSequent;
-import static org.eventb.core.seqprover.eventbExtensions.Lib.breakPossibleConjunct;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eventb.core.IPOIdentifier;
 import org.eventb.core.IPOPredicate;
 import org.eventb.core.IPOPredicateSet;
 import org.eventb.core.IPOSelectionHint;
@@ -37,7 +38,6 @@ import org.eventb.core.ast.BoundIdentDecl;
 import org.eventb.core.ast.BoundIdentifier;
 import org.eventb.core.ast.ExtendedExpression;
 import org.eventb.core.ast.ExtendedPredicate;
-import org.eventb.core.ast.Formula;
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.FreeIdentifier;
 import org.eventb.core.ast.IAccumulator;
@@ -58,6 +58,7 @@ import org.eventb.core.ast.UnaryExpression;
 import org.eventb.core.ast.UnaryPredicate;
 import org.eventb.core.seqprover.IProverSequent;
 import org.eventb.internal.core.Util;
+import org.eventb.internal.core.pom.PredicateSetCache.LoadedPredicateSet;
 import org.rodinp.core.RodinDBException;
 import org.rodinp.core.basis.RodinElement;
 
@@ -172,22 +173,30 @@ public final class POLoader {
 			Set<Predicate> selHyps, ITypeEnvironmentBuilder typeEnv,
 			FormulaFactory factory) throws CoreException {
 
-		final IPOPredicateSet parentSet = poPredSet.getParentPredicateSet();
+		final LoadedPredicateSet loaded = PredicateSetCache.getDefault()
+				.getPredicateSet(poPredSet, factory);
+		addPredicateSet(loaded, selHints, hypotheses, selHyps, typeEnv);
+	}
+
+	private static void addPredicateSet(LoadedPredicateSet predSet,
+			SelectionHints selHints, Set<Predicate> hypotheses,
+			Set<Predicate> selHyps, ITypeEnvironmentBuilder typeEnv) {
+
+		final LoadedPredicateSet parentSet = predSet.getParent();
 		if (parentSet != null) {
-			loadPredicateSet(parentSet, selHints, hypotheses, selHyps, typeEnv,
-					factory);
+			addPredicateSet(parentSet, selHints, hypotheses, selHyps, typeEnv);
 		}
-		for (final IPOIdentifier poIdent: poPredSet.getIdentifiers()) {
-			typeEnv.add(poIdent.getIdentifier(factory));
+		for (final FreeIdentifier ident : predSet.getIdentifiers()) {
+			typeEnv.add(ident);
 		}
-		
-		boolean selected = selHints.contains(poPredSet);
-		for (final IPOPredicate poPred : poPredSet.getPredicates()) {
-			final Predicate predicate = poPred.getPredicate(typeEnv);
-			final Predicate hypothesis = predicate;
-			if ( selected || selHints.contains(poPred)) selHyps.add(hypothesis);
+
+		boolean selected = selHints.contains(predSet.getHandle());
+		for (int i = 0; i < predSet.size(); i++) {
+			final Predicate hypothesis = predSet.getPredicate(i);
+			if (selected || selHints.contains(predSet.getPredicateHandle(i)))
+				selHyps.add(hypothesis);
 			hypotheses.add(hypothesis);
-			addWDpredicates(hypothesis, hypotheses, factory);
+			Collections.addAll(hypotheses, predSet.getWDPredicates(i));
 		}
 	}
 	
@@ -215,7 +224,7 @@ public final class POLoader {
 		if (dbGoals.length != 1) {
 			Util.log(null, "More than one goal for PO " + poSeq);
 		}
-		return dbGoals[0].getPredicate(typeEnv);
+		return factory.intern(dbGoals[0].getPredicate(typeEnv));
 	}
 	
 
@@ -238,10 +247,8 @@ public final class POLoader {
 	 */
 	private static void addWDpredicates(Predicate pred, Set<Predicate> predSet,
 			FormulaFactory ff) {
-		if (! shouldWDpredBeAdded(pred)) return;
-		Set<Predicate> toAdd = breakPossibleConjunct(pred.getWDPredicate());
-		toAdd.remove(ff.makeLiteralPredicate(Formula.BTRUE, null));
-		predSet.addAll(toAdd);
+		Collections.addAll(predSet,
+				PredicateSetCache.computeWDPredicates(pred, ff));
 	}
 
 	/**
@@ -416,7 +423,7 @@ public final class POLoader {
 	 * 
 	 * @see #addWDpredicates(Predicate, Set, FormulaFactory)
 	 */
-	private static boolean shouldWDpredBeAdded(Predicate pred) {
+	static boolean shouldWDpredBeAdded(Predicate pred) {
 		return !NoForall.containsForall(pred);
 	}
 	
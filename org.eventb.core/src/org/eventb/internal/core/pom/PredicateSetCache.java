@@ -0,0 +1,366 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.pom;
+
+import static org.eventb.core.seqprover.eventbExtensions.Lib.breakPossibleConjunct;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eventb.core.IPOIdentifier;
+import org.eventb.core.IPOPredicate;
+import org.eventb.core.IPOPredicateSet;
+import org.eventb.core.IPORoot;
+import org.eventb.core.IPOStampedElement;
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.ITypeEnvironmentBuilder;
+import org.eventb.core.ast.Predicate;
+import org.rodinp.core.ElementChangedEvent;
+import org.rodinp.core.IElementChangedListener;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinElementDelta;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.RodinCore;
+
+/**
+ * Cache of the predicate sets of PO files, once parsed and type-checked.
+ * <p>
+ * The hypotheses of all proof obligations of a component are stored in a few
+ * shared predicate sets. Without this cache, these shared predicate sets are
+ * parsed and type-checked again for every proof obligation that is loaded.
+ * </p>
+ * <p>
+ * The cache is organized per PO root. A predicate set is stored together with
+ * its PO stamp and is reused only if its stamp has not changed. As the proof
+ * obligation generator changes the stamp of a predicate set whenever the set
+ * or one of its ancestors changes, this ensures that the type environment
+ * used for type-checking is still valid. Moreover, the cache of a PO root is
+ * discarded as soon as a Rodin delta is reported for its file. Only a bounded
+ * number of PO roots are cached at a given time.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @see POLoader
+ */
+public final class PredicateSetCache implements IElementChangedListener {
+
+	// Maximal number of PO roots kept in the cache
+	private static final int MAX_ROOTS = 16;
+
+	private static final PredicateSetCache DEFAULT_INSTANCE = new PredicateSetCache();
+
+	static {
+		RodinCore.addElementChangedListener(DEFAULT_INSTANCE);
+	}
+
+	/**
+	 * Returns the cache shared by all loaders of proof obligations.
+	 *
+	 * @return the shared predicate set cache
+	 */
+	public static PredicateSetCache getDefault() {
+		return DEFAULT_INSTANCE;
+	}
+
+	/**
+	 * A predicate set of a PO file, with its parsed and type-checked contents.
+	 * Instances are immutable.
+	 */
+	public static final class LoadedPredicateSet {
+
+		private final IPOPredicateSet handle;
+		private final long stamp;
+		private final LoadedPredicateSet parent;
+		private final FreeIdentifier[] identifiers;
+		private final IPOPredicate[] predicateHandles;
+		private final Predicate[] predicates;
+		private final Predicate[][] wdPredicates;
+
+		LoadedPredicateSet(IPOPredicateSet handle, long stamp,
+				LoadedPredicateSet parent, FreeIdentifier[] identifiers,
+				IPOPredicate[] predicateHandles, Predicate[] predicates,
+				Predicate[][] wdPredicates) {
+			this.handle = handle;
+			this.stamp = stamp;
+			this.parent = parent;
+			this.identifiers = identifiers;
+			this.predicateHandles = predicateHandles;
+			this.predicates = predicates;
+			this.wdPredicates = wdPredicates;
+		}
+
+		public IPOPredicateSet getHandle() {
+			return handle;
+		}
+
+		public LoadedPredicateSet getParent() {
+			return parent;
+		}
+
+		public FreeIdentifier[] getIdentifiers() {
+			return identifiers;
+		}
+
+		public int size() {
+			return predicates.length;
+		}
+
+		public IPOPredicate getPredicateHandle(int index) {
+			return predicateHandles[index];
+		}
+
+		public Predicate getPredicate(int index) {
+			return predicates[index];
+		}
+
+		/**
+		 * Returns the WD predicates that are assumed together with the
+		 * predicate at the given index. They have already been filtered and
+		 * split as documented in {@link POLoader}.
+		 */
+		public Predicate[] getWDPredicates(int index) {
+			return wdPredicates[index];
+		}
+
+	}
+
+	/*
+	 * Predicate sets of one PO root, valid for the given formula factory only.
+	 */
+	private static class RootCache {
+
+		final FormulaFactory factory;
+
+		final Map<IPOPredicateSet, LoadedPredicateSet> sets = new ConcurrentHashMap<IPOPredicateSet, LoadedPredicateSet>();
+
+		public RootCache(FormulaFactory factory) {
+			this.factory = factory;
+		}
+
+	}
+
+	// Access-ordered, to discard the least recently used roots first
+	private final Map<IPORoot, RootCache> roots = new LinkedHashMap<IPORoot, RootCache>(
+			MAX_ROOTS, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IPORoot, RootCache> eldest) {
+			return size() > MAX_ROOTS;
+		}
+
+	};
+
+	private int hits;
+	private int misses;
+
+	private PredicateSetCache() {
+		// singleton
+	}
+
+	/**
+	 * Returns the given predicate set, parsed and type-checked with the given
+	 * formula factory, together with all its ancestors. The result is taken
+	 * from the cache if possible.
+	 *
+	 * @param poPredSet
+	 *            the predicate set to load
+	 * @param factory
+	 *            the formula factory to use
+	 * @return the loaded predicate set
+	 * @throws CoreException
+	 *             if some problem occurred when reading the PO file
+	 */
+	public LoadedPredicateSet getPredicateSet(IPOPredicateSet poPredSet,
+			FormulaFactory factory) throws CoreException {
+		final RootCache rootCache = getRootCache(
+				(IPORoot) poPredSet.getRoot(), factory);
+		return getPredicateSet(poPredSet, factory, rootCache);
+	}
+
+	private LoadedPredicateSet getPredicateSet(IPOPredicateSet poPredSet,
+			FormulaFactory factory, RootCache rootCache) throws CoreException {
+		if (!poPredSet.hasPOStamp()) {
+			// Cannot check validity, do not cache
+			return load(poPredSet, factory, IPOStampedElement.INIT_STAMP, null);
+		}
+		final long stamp = poPredSet.getPOStamp();
+		final LoadedPredicateSet cached = rootCache.sets.get(poPredSet);
+		if (cached != null && cached.stamp == stamp) {
+			countHit();
+			return cached;
+		}
+		countMiss();
+		final LoadedPredicateSet result = load(poPredSet, factory, stamp,
+				rootCache);
+		rootCache.sets.put(poPredSet, result);
+		return result;
+	}
+
+	private LoadedPredicateSet load(IPOPredicateSet poPredSet,
+			FormulaFactory factory, long stamp, RootCache rootCache)
+			throws CoreException {
+		final IPOPredicateSet parentSet = poPredSet.getParentPredicateSet();
+		final LoadedPredicateSet parent;
+		final ITypeEnvironmentBuilder typeEnv = factory.makeTypeEnvironment();
+		if (parentSet == null) {
+			parent = null;
+		} else {
+			if (rootCache == null) {
+				parent = load(parentSet, factory, IPOStampedElement.INIT_STAMP, null);
+			} else {
+				parent = getPredicateSet(parentSet, factory, rootCache);
+			}
+			addIdentifiers(parent, typeEnv);
+		}
+
+		final IPOIdentifier[] poIdents = poPredSet.getIdentifiers();
+		final FreeIdentifier[] identifiers = new FreeIdentifier[poIdents.length];
+		for (int i = 0; i < poIdents.length; i++) {
+			identifiers[i] = poIdents[i].getIdentifier(factory);
+			typeEnv.add(identifiers[i]);
+		}
+
+		final IPOPredicate[] poPreds = poPredSet.getPredicates();
+		final Predicate[] predicates = new Predicate[poPreds.length];
+		final Predicate[][] wdPredicates = new Predicate[poPreds.length][];
+		for (int i = 0; i < poPreds.length; i++) {
+			predicates[i] = factory.intern(poPreds[i].getPredicate(typeEnv));
+			wdPredicates[i] = computeWDPredicates(predicates[i], factory);
+		}
+		return new LoadedPredicateSet(poPredSet, stamp, parent, identifiers,
+				poPreds, predicates, wdPredicates);
+	}
+
+	private static void addIdentifiers(LoadedPredicateSet set,
+			ITypeEnvironmentBuilder typeEnv) {
+		if (set.parent != null) {
+			addIdentifiers(set.parent, typeEnv);
+		}
+		for (final FreeIdentifier ident : set.identifiers) {
+			typeEnv.add(ident);
+		}
+	}
+
+	private static final Predicate[] NO_PREDICATES = new Predicate[0];
+
+	/**
+	 * Returns the WD predicates to assume for the given predicate, as
+	 * specified by <code>POLoader.addWDpredicates()</code>.
+	 */
+	static Predicate[] computeWDPredicates(Predicate pred, FormulaFactory ff) {
+		if (!POLoader.shouldWDpredBeAdded(pred)) {
+			return NO_PREDICATES;
+		}
+		final Set<Predicate> wds = breakPossibleConjunct(pred.getWDPredicate());
+		wds.remove(ff.makeLiteralPredicate(Formula.BTRUE, null));
+		return wds.toArray(new Predicate[wds.size()]);
+	}
+
+	private RootCache getRootCache(IPORoot root, FormulaFactory factory) {
+		synchronized (roots) {
+			RootCache result = roots.get(root);
+			if (result == null || result.factory != factory) {
+				result = new RootCache(factory);
+				roots.put(root, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Removes all predicate sets of the given PO root from this cache.
+	 *
+	 * @param root
+	 *            a PO root
+	 */
+	public void invalidate(IPORoot root) {
+		synchronized (roots) {
+			roots.remove(root);
+		}
+	}
+
+	private void invalidate(IRodinProject project) {
+		synchronized (roots) {
+			final Iterator<IPORoot> iter = roots.keySet().iterator();
+			while (iter.hasNext()) {
+				if (project.equals(iter.next().getRodinProject())) {
+					iter.remove();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all predicate sets from this cache.
+	 */
+	public void clear() {
+		synchronized (roots) {
+			roots.clear();
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		processDelta(event.getDelta());
+	}
+
+	private void processDelta(IRodinElementDelta delta) {
+		final IRodinElement element = delta.getElement();
+		if (element instanceof IRodinFile) {
+			final IRodinFile file = (IRodinFile) element;
+			if (file.getRoot() instanceof IPORoot) {
+				invalidate((IPORoot) file.getRoot());
+			}
+			return;
+		}
+		if (element instanceof IRodinProject
+				&& delta.getKind() == IRodinElementDelta.REMOVED) {
+			invalidate((IRodinProject) element);
+			return;
+		}
+		for (final IRodinElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	private synchronized void countHit() {
+		++hits;
+	}
+
+	private synchronized void countMiss() {
+		++misses;
+	}
+
+	/**
+	 * Returns a list of the numbers of hits and misses of this cache since its
+	 * creation, for tracing purposes.
+	 */
+	public synchronized List<Integer> getStatistics() {
+		final List<Integer> result = new ArrayList<Integer>(2);
+		result.add(hits);
+		result.add(misses);
+		return result;
+	}
+
+}
@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.core.sc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eventb.core.EventBPlugin;
+import org.eventb.core.ast.Formula;
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IParseResult;
+import org.eventb.core.ast.ITypeCheckResult;
+import org.eventb.core.ast.ITypeEnvironment;
+import org.eventb.core.ast.Type;
+import org.eventb.core.sc.SCCore;
+import org.eventb.core.sc.state.ISCState;
+import org.eventb.core.tool.IStateType;
+import org.eventb.internal.core.tool.state.State;
+import org.rodinp.core.IAttributeType;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinFile;
+
+/**
+ * Information for statically checking a component incrementally.
+ * <p>
+ * After each run of the static checker on a component, we remember the
+ * formulas that have been parsed and type-checked, keyed by their element
+ * handle and formula attribute. Together with every formula, we remember the
+ * string it was parsed from and, once type-checked, the types that its free
+ * identifiers had in the type environment.
+ * </p>
+ * <p>
+ * On the next run, a formula is not parsed again if its string has not
+ * changed. It is not type-checked again either if, moreover, its free
+ * identifiers still have the same types. In both cases, the problems of the
+ * previous results are reported again. A formula is thus processed again only
+ * if it has been modified, or if the declaration of one of its identifiers
+ * has changed. When the configuration or the formula factory of the component
+ * changes, everything is processed again.
+ * </p>
+ * <p>
+ * The incremental mode is only enabled on demand, with the system property
+ * {@value #INCREMENTAL}.
+ * </p>
+ *
+ * @see org.eventb.internal.core.sc.modules.LabeledFormulaModule
+ */
+public class IncrementalSCInfo extends State implements ISCState {
+
+	public static final IStateType<IncrementalSCInfo> STATE_TYPE = SCCore
+			.getToolStateType(EventBPlugin.PLUGIN_ID + ".incrementalSCInfo");
+
+	/**
+	 * Name of the system property enabling incremental static checking.
+	 */
+	public static final String INCREMENTAL = "org.eventb.core.incrementalSC";
+
+	private static volatile boolean enabled = Boolean.getBoolean(INCREMENTAL);
+
+	// Records of the last run, per source file
+	private static final Map<IFile, ComponentRecord> records = new HashMap<IFile, ComponentRecord>();
+
+	private static long hits;
+	private static long misses;
+
+	private static enum Kind {
+		PREDICATE, EXPRESSION, ASSIGNMENT
+	}
+
+	private static class FormulaRecord {
+
+		final Kind kind;
+
+		final String string;
+
+		final IParseResult parseResult;
+
+		// Types of the free identifiers when type-checked, null if not yet
+		Map<String, Type> environment;
+
+		ITypeCheckResult typeCheckResult;
+
+		FormulaRecord(Kind kind, String string, IParseResult parseResult) {
+			this.kind = kind;
+			this.string = string;
+			this.parseResult = parseResult;
+		}
+
+		Formula<?> getFormula() {
+			switch (kind) {
+			case PREDICATE:
+				return parseResult.getParsedPredicate();
+			case EXPRESSION:
+				return parseResult.getParsedExpression();
+			default:
+				return parseResult.getParsedAssignment();
+			}
+		}
+
+	}
+
+	private static class ComponentRecord {
+
+		final String configuration;
+
+		final FormulaFactory factory;
+
+		final Map<String, FormulaRecord> formulas = new HashMap<String, FormulaRecord>();
+
+		ComponentRecord(String configuration, FormulaFactory factory) {
+			this.configuration = configuration;
+			this.factory = factory;
+		}
+
+	}
+
+	private final IFile source;
+
+	// Record of the previous run, or null if it cannot be used
+	private final ComponentRecord previous;
+
+	// Record of this run, or null if not incremental
+	private final ComponentRecord current;
+
+	private IncrementalSCInfo(IFile source, ComponentRecord previous,
+			ComponentRecord current) {
+		this.source = source;
+		this.previous = previous;
+		this.current = current;
+	}
+
+	/**
+	 * Returns the information for statically checking the given component.
+	 *
+	 * @param source
+	 *            the component to check
+	 * @param configuration
+	 *            the configuration of the component
+	 * @param factory
+	 *            the formula factory of the component
+	 * @return the information for this run
+	 */
+	public static IncrementalSCInfo create(IRodinFile source,
+			String configuration, FormulaFactory factory) {
+		final IFile key = source.getResource();
+		final ComponentRecord previous;
+		synchronized (records) {
+			previous = records.remove(key);
+		}
+		if (!enabled) {
+			return new IncrementalSCInfo(key, null, null);
+		}
+		final ComponentRecord current = new ComponentRecord(configuration,
+				factory);
+		if (previous != null
+				&& previous.configuration.equals(configuration)
+				&& previous.factory == factory) {
+			return new IncrementalSCInfo(key, previous, current);
+		}
+		return new IncrementalSCInfo(key, null, current);
+	}
+
+	/**
+	 * Forgets about the last run on the given component.
+	 *
+	 * @param source
+	 *            an unchecked component file
+	 */
+	public static void forget(IFile source) {
+		synchronized (records) {
+			records.remove(source);
+		}
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean value) {
+		enabled = value;
+		if (!value) {
+			synchronized (records) {
+				records.clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of formulas that have not been parsed again since the
+	 * last call to {@link #resetStatistics()}.
+	 *
+	 * @return the number of reused formulas
+	 */
+	public static synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of formulas that have been parsed since the last call
+	 * to {@link #resetStatistics()}, while in incremental mode.
+	 *
+	 * @return the number of parsed formulas
+	 */
+	public static synchronized long getMisses() {
+		return misses;
+	}
+
+	public static synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+	}
+
+	private static synchronized void count(boolean hit) {
+		if (hit) {
+			++hits;
+		} else {
+			++misses;
+		}
+	}
+
+	@Override
+	public IStateType<?> getStateType() {
+		return STATE_TYPE;
+	}
+
+	public IParseResult parsePredicate(IInternalElement element,
+			IAttributeType.String attributeType, String string,
+			FormulaFactory factory, ITypeEnvironment environment) {
+		return parse(Kind.PREDICATE, element, attributeType, string, factory,
+				environment);
+	}
+
+	public IParseResult parseExpression(IInternalElement element,
+			IAttributeType.String attributeType, String string,
+			FormulaFactory factory, ITypeEnvironment environment) {
+		return parse(Kind.EXPRESSION, element, attributeType, string,
+				factory, environment);
+	}
+
+	public IParseResult parseAssignment(IInternalElement element,
+			IAttributeType.String attributeType, String string,
+			FormulaFactory factory, ITypeEnvironment environment) {
+		return parse(Kind.ASSIGNMENT, element, attributeType, string,
+				factory, environment);
+	}
+
+	/*
+	 * Returns the result of parsing the given string, which is the value of
+	 * the given attribute of the given element. The formula of the result may
+	 * have been type-checked already, in which case it has been in a type
+	 * environment compatible with the given one.
+	 */
+	private IParseResult parse(Kind kind, IInternalElement element,
+			IAttributeType.String attributeType, String string,
+			FormulaFactory factory, ITypeEnvironment environment) {
+		if (current == null) {
+			return doParse(kind, string, element, factory);
+		}
+		final String key = getKey(element, attributeType);
+		FormulaRecord record = current.formulas.get(key);
+		if (record == null && previous != null) {
+			record = previous.formulas.get(key);
+		}
+		if (record != null && record.kind == kind
+				&& record.string.equals(string)
+				&& isCompatible(record, environment)) {
+			count(true);
+		} else {
+			count(false);
+			record = new FormulaRecord(kind, string, doParse(kind, string,
+					element, factory));
+		}
+		current.formulas.put(key, record);
+		return record.parseResult;
+	}
+
+	private static IParseResult doParse(Kind kind, String string,
+			IInternalElement element, FormulaFactory factory) {
+		switch (kind) {
+		case PREDICATE:
+			return factory.parsePredicate(string, element);
+		case EXPRESSION:
+			return factory.parseExpression(string, element);
+		default:
+			return factory.parseAssignment(string, element);
+		}
+	}
+
+	private static boolean isCompatible(FormulaRecord record,
+			ITypeEnvironment environment) {
+		if (record.environment == null) {
+			return true;
+		}
+		for (Map.Entry<String, Type> entry : record.environment.entrySet()) {
+			final Type type = environment.getType(entry.getKey());
+			if (type == null ? entry.getValue() != null : !type.equals(entry
+					.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Type-checks the given formula, which has been parsed from the given
+	 * attribute of the given element. If the formula has already been
+	 * type-checked in a compatible environment, the previous result is
+	 * returned instead.
+	 *
+	 * @param element
+	 *            the formula element
+	 * @param attributeType
+	 *            the formula attribute
+	 * @param formula
+	 *            the formula to type-check
+	 * @param environment
+	 *            the type environment
+	 * @return the result of type-checking the formula
+	 */
+	public ITypeCheckResult typeCheck(IInternalElement element,
+			IAttributeType.String attributeType, Formula<?> formula,
+			ITypeEnvironment environment) {
+		if (current == null) {
+			return formula.typeCheck(environment);
+		}
+		final FormulaRecord record = current.formulas.get(getKey(element,
+				attributeType));
+		if (record == null || record.getFormula() != formula) {
+			return formula.typeCheck(environment);
+		}
+		if (record.typeCheckResult != null
+				&& isCompatible(record, environment)) {
+			return record.typeCheckResult;
+		}
+		final Map<String, Type> types = new HashMap<String, Type>();
+		for (FreeIdentifier ident : formula.getFreeIdentifiers()) {
+			final String name = ident.getName();
+			types.put(name, environment.getType(name));
+		}
+		final ITypeCheckResult result = formula.typeCheck(environment);
+		record.environment = types;
+		record.typeCheckResult = result;
+		return result;
+	}
+
+	private static String getKey(IInternalElement element,
+			IAttributeType.String attributeType) {
+		return element.getHandleIdentifier() + "#" + attributeType.getId();
+	}
+
+	/**
+	 * Remembers this run for the next one. This method must only be called
+	 * once the component has been successfully checked.
+	 */
+	public void commit() {
+		if (current == null) {
+			return;
+		}
+		synchronized (records) {
+			records.put(source, current);
+		}
+	}
+
+}
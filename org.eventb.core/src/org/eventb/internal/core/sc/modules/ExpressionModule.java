@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - separation of file and root element
  *     Systerel - ensure that all AST problems are reported
  *     Systerel - mathematical language V2
+ *     ISP RAS - added incremental mode
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -66,7 +67,7 @@ public abstract class ExpressionModule<I extends IInternalElement> extends
 
 		// parse the predicate
 
-		IParseResult parseResult = factory.parseExpression(expressionString, expressionElement);
+		IParseResult parseResult = parseExpression(formulaElement, expressionString, factory);
 		if (issueASTProblemMarkers(expressionElement, attributeType,
 				parseResult)) {
 			return null;
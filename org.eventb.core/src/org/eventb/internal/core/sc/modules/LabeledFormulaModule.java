@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  *     Systerel - ensure that all AST problems are reported
  *     Systerel - got factory from repository
  *     Systerel - adapted to parser 2.0 problem kinds
+ *     ISP RAS - added incremental mode
  *******************************************************************************/
 package org.eventb.internal.core.sc.modules;
 
@@ -23,6 +24,7 @@ import org.eventb.core.ast.ASTProblem;
 import org.eventb.core.ast.Formula;
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.FreeIdentifier;
+import org.eventb.core.ast.IParseResult;
 import org.eventb.core.ast.IResult;
 import org.eventb.core.ast.ITypeCheckResult;
 import org.eventb.core.ast.ITypeEnvironment;
@@ -36,6 +38,7 @@ import org.eventb.core.sc.state.IIdentifierSymbolTable;
 import org.eventb.core.sc.state.ILabelSymbolInfo;
 import org.eventb.core.sc.state.IParsedFormula;
 import org.eventb.core.sc.state.ISCStateRepository;
+import org.eventb.internal.core.sc.IncrementalSCInfo;
 import org.eventb.internal.core.sc.ParsedFormula;
 import org.rodinp.core.IAttributeType;
 import org.rodinp.core.IInternalElement;
@@ -60,6 +63,11 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 
 	private IAccuracyInfo accuracyInfo;
 
+	private IncrementalSCInfo incrementalInfo;
+
+	// Type environment of the formulas being checked
+	private ITypeEnvironment checkEnvironment;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -74,6 +82,7 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 		super.initModule(element, repository, monitor);
 		identifierSymbolTable = repository.getState(IIdentifierSymbolTable.STATE_TYPE);
 		accuracyInfo = getAccuracyInfo(repository);
+		incrementalInfo = repository.getState(IncrementalSCInfo.STATE_TYPE);
 
 		formulaElements = getFormulaElements(element);
 
@@ -102,6 +111,7 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 			IProgressMonitor monitor) throws CoreException {
 		identifierSymbolTable = null;
 		accuracyInfo = null;
+		incrementalInfo = null;
 		formulaElements = null;
 		formulas = null;
 		symbolInfos = null;
@@ -246,6 +256,31 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 			Collection<FreeIdentifier> freeIdentifierContext,
 			FormulaFactory factory) throws CoreException;
 
+	/*
+	 * The following methods parse the value of the formula attribute of the
+	 * given element. They must be used by implementations of parseFormula(),
+	 * so that the formulas which have not changed since the last run of the
+	 * static checker need not be parsed and type-checked again.
+	 */
+
+	protected IParseResult parsePredicate(I formulaElement, String string,
+			FormulaFactory factory) {
+		return incrementalInfo.parsePredicate(formulaElement,
+				getFormulaAttributeType(), string, factory, checkEnvironment);
+	}
+
+	protected IParseResult parseExpression(I formulaElement, String string,
+			FormulaFactory factory) {
+		return incrementalInfo.parseExpression(formulaElement,
+				getFormulaAttributeType(), string, factory, checkEnvironment);
+	}
+
+	protected IParseResult parseAssignment(I formulaElement, String string,
+			FormulaFactory factory) {
+		return incrementalInfo.parseAssignment(formulaElement,
+				getFormulaAttributeType(), string, factory, checkEnvironment);
+	}
+
 	/**
 	 * @param formulaElement
 	 *            the formula element
@@ -259,7 +294,8 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 	protected ITypeEnvironment typeCheckFormula(I formulaElement, F formula,
 			ITypeEnvironment environment) throws CoreException {
 
-		ITypeCheckResult typeCheckResult = formula.typeCheck(environment);
+		ITypeCheckResult typeCheckResult = incrementalInfo.typeCheck(
+				formulaElement, getFormulaAttributeType(), formula, environment);
 
 		if (issueASTProblemMarkers(formulaElement, getFormulaAttributeType(),
 				typeCheckResult)) {
@@ -310,6 +346,8 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 		final Collection<FreeIdentifier> freeIdentifiers = identifierSymbolTable
 				.getFreeIdentifiers();
 
+		checkEnvironment = typeEnvironment;
+
 		createParsedState(repository);
 
 		initFilterModules(repository, null);
@@ -371,6 +409,8 @@ public abstract class LabeledFormulaModule<F extends Formula<F>, I extends IInte
 		endFilterModules(repository, null);
 
 		removeParsedState(repository);
+
+		checkEnvironment = null;
 	}
 
 	protected void setImmutable(ILabelSymbolInfo symbolInfo) {
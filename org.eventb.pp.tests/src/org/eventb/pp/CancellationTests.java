@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,14 +7,18 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added allocation limit and metrics tests
  *******************************************************************************/
 package org.eventb.pp;
 
 import static org.eventb.core.ast.Formula.BUNION;
 import static org.eventb.core.ast.Formula.SUBSETEQ;
 import static org.eventb.core.seqprover.transformer.SimpleSequents.make;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 import java.util.Collections;
 
@@ -24,6 +28,9 @@ import org.eventb.core.ast.Predicate;
 import org.eventb.core.ast.Type;
 import org.eventb.core.seqprover.IProofMonitor;
 import org.eventb.core.seqprover.transformer.ISimpleSequent;
+import org.eventb.internal.pp.AllocationCounter;
+import org.eventb.internal.pp.AllocationLimitException;
+import org.eventb.internal.pp.CancellationChecker;
 import org.eventb.internal.pp.PPInput;
 import org.eventb.internal.pp.PPProverCall;
 import org.junit.Before;
@@ -66,6 +73,8 @@ public class CancellationTests {
 
 	private PPProverCall call;
 
+	private ISimpleSequent sequent;
+
 	IProofMonitor monitor = new ProofMonitor();
 
 	private Runnable canceller = new Runnable() {
@@ -79,7 +88,7 @@ public class CancellationTests {
 	public void setUp() {
 		PPInput input = new PPInput(false, 1000, 1000);
 		Iterable<Predicate> hyps = Collections.emptySet();
-		final ISimpleSequent sequent = make(hyps, makeGoal(), ff);
+		sequent = make(hyps, makeGoal(), ff);
 		call = new PPProverCall(input, sequent, monitor);
 	}
 
@@ -130,4 +139,59 @@ public class CancellationTests {
 		}
 	}
 
+	/**
+	 * Ensures that a checker with an allocation limit cancels the call once
+	 * the limit has been exceeded.
+	 */
+	@Test
+	public void allocationLimit() throws Exception {
+		assumeTrue(AllocationCounter.isSupported());
+		final CancellationChecker checker = CancellationChecker.newChecker(
+				null, 1024);
+		final StringBuilder garbage = new StringBuilder();
+		try {
+			for (int i = 0; i < 100000; i++) {
+				garbage.append(i);
+				checker.check();
+			}
+			fail("Allocation limit not detected");
+		} catch (AllocationLimitException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Ensures that a checker without allocation limit never cancels the call.
+	 */
+	@Test
+	public void noAllocationLimit() throws Exception {
+		final CancellationChecker checker = CancellationChecker.newChecker(
+				null, 0);
+		final StringBuilder garbage = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			garbage.append(i);
+			checker.check();
+		}
+	}
+
+	/**
+	 * Ensures that the time spent and the memory allocated are recorded in
+	 * the result.
+	 */
+	@Test
+	public void metrics() throws Exception {
+		final PPProof proof = new PPProof(sequent, null);
+		proof.translate();
+		proof.load();
+		proof.prove(1000);
+		final PPResult result = proof.getResult();
+		assertEquals(PPResult.Result.valid, result.getResult());
+		assertTrue(result.getElapsedTime() >= 0);
+		if (AllocationCounter.isSupported()) {
+			assertTrue(result.getAllocatedBytes() > 0);
+		} else {
+			assertEquals(-1, result.getAllocatedBytes());
+		}
+	}
+
 }
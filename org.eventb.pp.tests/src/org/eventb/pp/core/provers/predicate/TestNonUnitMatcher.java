@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.pp.core.provers.predicate;
+
+import static org.eventb.internal.pp.core.elements.terms.Util.cClause;
+import static org.eventb.internal.pp.core.elements.terms.Util.cEqClause;
+import static org.eventb.internal.pp.core.elements.terms.Util.cNotProp;
+import static org.eventb.internal.pp.core.elements.terms.Util.cProp;
+import static org.eventb.internal.pp.core.elements.terms.Util.descriptor;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eventb.internal.pp.core.elements.Clause;
+import org.eventb.internal.pp.core.elements.PredicateLiteralDescriptor;
+import org.eventb.internal.pp.core.elements.terms.AbstractPPTest;
+import org.eventb.internal.pp.core.provers.predicate.iterators.ClauseMatchIterable;
+import org.eventb.internal.pp.core.provers.predicate.iterators.NonUnitMatcher;
+import org.junit.Test;
+
+/**
+ * Ensures that the non-unit clause index returns exactly the clauses that
+ * match a predicate, in the order in which they were added.
+ */
+public class TestNonUnitMatcher extends AbstractPPTest {
+
+	private static final Clause[] CLAUSES = {
+		cClause(cProp(0), cProp(1)),
+		cClause(cNotProp(0), cProp(2)),
+		cEqClause(cProp(0), cProp(1)),
+		cClause(cProp(1), cProp(2)),
+		cClause(cProp(0), cProp(0)),
+	};
+
+	private static List<Clause> matching(ClauseMatchIterable iterable,
+			PredicateLiteralDescriptor desc, boolean isPositive) {
+		final List<Clause> result = new ArrayList<Clause>();
+		final Iterator<Clause> iterator = iterable.iterator(desc, isPositive);
+		while (iterator.hasNext()) {
+			result.add(iterator.next());
+		}
+		return result;
+	}
+
+	private static List<Clause> expected(PredicateLiteralDescriptor desc,
+			boolean isPositive, List<Clause> clauses) {
+		final List<Clause> result = new ArrayList<Clause>();
+		for (Clause clause : clauses) {
+			if (clause.matches(desc, isPositive)) {
+				result.add(clause);
+			}
+		}
+		return result;
+	}
+
+	private static void assertMatching(ClauseMatchIterable iterable,
+			List<Clause> clauses) {
+		for (int i = 0; i < 4; i++) {
+			final PredicateLiteralDescriptor desc = descriptor(i);
+			for (boolean isPositive : new boolean[] { true, false }) {
+				assertEquals(expected(desc, isPositive, clauses),
+						matching(iterable, desc, isPositive));
+			}
+		}
+	}
+
+	@Test
+	public void testMatching() {
+		final NonUnitMatcher matcher = new NonUnitMatcher();
+		final ClauseMatchIterable iterable = new ClauseMatchIterable(matcher);
+		final List<Clause> clauses = new ArrayList<Clause>();
+		for (Clause clause : CLAUSES) {
+			matcher.newClause(clause);
+			clauses.add(clause);
+			assertMatching(iterable, clauses);
+		}
+	}
+
+	@Test
+	public void testRemove() {
+		final NonUnitMatcher matcher = new NonUnitMatcher();
+		final ClauseMatchIterable iterable = new ClauseMatchIterable(matcher);
+		final List<Clause> clauses = new ArrayList<Clause>();
+		for (Clause clause : CLAUSES) {
+			matcher.newClause(clause);
+			clauses.add(clause);
+		}
+		for (Clause clause : CLAUSES) {
+			matcher.removeClause(clause);
+			clauses.remove(clause);
+			assertMatching(iterable, clauses);
+		}
+	}
+
+}
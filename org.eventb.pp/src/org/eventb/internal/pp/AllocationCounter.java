@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pp;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * Gives access to the number of bytes allocated by the current thread, when
+ * the Java virtual machine supports it. This number is provided by the
+ * <code>com.sun.management.ThreadMXBean</code> extension, which is accessed
+ * reflectively as it is not part of the Java SE API.
+ */
+public class AllocationCounter {
+
+	private static final ThreadMXBean BEAN = ManagementFactory
+			.getThreadMXBean();
+
+	// Method getThreadAllocatedBytes(long), or null if not supported
+	private static final Method METHOD = findMethod();
+
+	private static Method findMethod() {
+		try {
+			final Class<?> clazz = Class.forName(
+					"com.sun.management.ThreadMXBean", false,
+					BEAN.getClass().getClassLoader());
+			if (!clazz.isInstance(BEAN)) {
+				return null;
+			}
+			final Method method = clazz.getMethod("getThreadAllocatedBytes",
+					long.class);
+			// Also checks that allocation counting is enabled
+			if ((Long) method.invoke(BEAN, Thread.currentThread().getId()) < 0) {
+				return null;
+			}
+			return method;
+		} catch (Exception e) {
+			return null;
+		} catch (LinkageError e) {
+			return null;
+		}
+	}
+
+	private AllocationCounter() {
+		// Static methods only
+	}
+
+	/**
+	 * Tells whether the number of allocated bytes is available.
+	 *
+	 * @return <code>true</code> iff allocated bytes can be counted
+	 */
+	public static boolean isSupported() {
+		return METHOD != null;
+	}
+
+	/**
+	 * Returns the number of bytes allocated so far by the current thread.
+	 *
+	 * @return the number of bytes allocated by the current thread, or
+	 *         <code>-1</code> if not supported
+	 */
+	public static long getAllocatedBytes() {
+		if (METHOD == null) {
+			return -1;
+		}
+		try {
+			return (Long) METHOD.invoke(BEAN, Thread.currentThread().getId());
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+}
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pp;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown by a {@link CancellationChecker} when a call of PP has allocated more
+ * memory than allowed. Being a cancellation, it stops the call at the same
+ * places as a cancellation by the user.
+ */
+public class AllocationLimitException extends CancellationException {
+
+	private static final long serialVersionUID = 3520512851726475137L;
+
+	public AllocationLimitException(long allocatedBytes) {
+		super("PP allocated " + allocatedBytes + " bytes");
+	}
+
+}
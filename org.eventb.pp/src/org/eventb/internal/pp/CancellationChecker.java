@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2012 Systerel and others.
+ * Copyright (c) 2010, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added allocation limit
  *******************************************************************************/
 package org.eventb.internal.pp;
 
@@ -20,11 +21,21 @@ import org.eventb.pp.IPPMonitor;
  * {@link #newChecker(IPPMonitor)} and regularly call the {@link #check()}
  * method. In case of cancellation, this latter call will throw a
  * {@link CancellationException}.
- * 
+ * <p>
+ * A checker created with {@link #newChecker(IPPMonitor, long)} also bounds the
+ * memory allocated by the thread that created it. When the bound is exceeded,
+ * the call is cancelled with an {@link AllocationLimitException}. The number
+ * of allocated bytes is only polled once every {@value #ALLOCATION_PERIOD}
+ * checks, as polling is much more expensive than checking the monitor.
+ * </p>
+ *
  * @author Laurent Voisin
  */
 public class CancellationChecker {
 
+	// Number of checks between two polls of allocated bytes
+	private static final int ALLOCATION_PERIOD = 256;
+
 	public static CancellationChecker newChecker(IPPMonitor monitor) {
 		if (monitor == null) {
 			return new CancellationChecker(null) {
@@ -37,6 +48,53 @@ public class CancellationChecker {
 		return new CancellationChecker(monitor);
 	}
 
+	/**
+	 * Returns a checker that also cancels the call when the current thread
+	 * has allocated more than the given number of bytes since the creation of
+	 * the checker. The limit is ignored if allocations cannot be counted.
+	 *
+	 * @param monitor
+	 *            the monitor of the call or <code>null</code>
+	 * @param maxAllocatedBytes
+	 *            the maximal number of bytes to allocate, or a non-positive
+	 *            number for no limit
+	 * @return a cancellation checker
+	 */
+	public static CancellationChecker newChecker(IPPMonitor monitor,
+			long maxAllocatedBytes) {
+		if (maxAllocatedBytes <= 0 || !AllocationCounter.isSupported()) {
+			return newChecker(monitor);
+		}
+		return new AllocationChecker(monitor, maxAllocatedBytes);
+	}
+
+	private static class AllocationChecker extends CancellationChecker {
+
+		private final long maxAllocatedBytes;
+		private final long initialBytes;
+		private int countDown = ALLOCATION_PERIOD;
+
+		AllocationChecker(IPPMonitor monitor, long maxAllocatedBytes) {
+			super(monitor);
+			this.maxAllocatedBytes = maxAllocatedBytes;
+			this.initialBytes = AllocationCounter.getAllocatedBytes();
+		}
+
+		@Override
+		public void check() {
+			if (--countDown <= 0) {
+				countDown = ALLOCATION_PERIOD;
+				final long allocated = AllocationCounter.getAllocatedBytes()
+						- initialBytes;
+				if (allocated > maxAllocatedBytes) {
+					throw new AllocationLimitException(allocated);
+				}
+			}
+			super.check();
+		}
+
+	}
+
 	private final IPPMonitor monitor;
 
 	protected CancellationChecker(IPPMonitor monitor) {
@@ -46,11 +104,11 @@ public class CancellationChecker {
 	/**
 	 * Checks for cancellation. Throws a {@link CancellationException} in case
 	 * of cancellation of this call has been detected.
-	 * 
+	 *
 	 * @throws CancellationException
 	 */
 	public void check() {
-		if (monitor.isCanceled()) {
+		if (monitor != null && monitor.isCanceled()) {
 			throw new CancellationException();
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  *     Systerel - fixed assertions in isValid() and others
  *     Systerel - changed proof display to NewPP to avoid ambiguity
  *     Systerel - adapted to XProver v2 API
+ *     ISP RAS - replaced forced garbage collection by an allocation limit
  *******************************************************************************/
 package org.eventb.internal.pp;
 
@@ -29,12 +30,27 @@ import org.eventb.pp.PPResult.Result;
 
 /**
  * Implementation of {@link XProverCall2} for PP.
+ * <p>
+ * The memory allocated by a call can be bounded with the
+ * {@value #ALLOCATION_LIMIT} system property. It gives the limit in megabytes.
+ * When a call exceeds it, it is stopped with a timeout result, as when the
+ * maximal number of steps is reached. By default, there is no limit.
+ * </p>
  * 
  * @author François Terrier
  * 
  */
 public class PPProverCall extends XProverCall2 implements IPPMonitor {
 
+	/**
+	 * Name of the system property giving the maximal number of megabytes
+	 * allocated by a call to PP.
+	 */
+	public static final String ALLOCATION_LIMIT = "org.eventb.pp.allocationLimit"; //$NON-NLS-1$
+
+	private static final long MAX_ALLOCATED_BYTES = Long.getLong(
+			ALLOCATION_LIMIT, 0) * 1024 * 1024;
+
 	private final int maxSteps;
 	private PPResult result;
 
@@ -46,8 +62,8 @@ public class PPProverCall extends XProverCall2 implements IPPMonitor {
 
 	@Override
 	public void cleanup() {
-		// Run the garbage collector
-		System.gc();
+		// Nothing to do, the memory used by the proof is left to the garbage
+		// collector
 	}
 
 	@Override
@@ -67,7 +83,8 @@ public class PPProverCall extends XProverCall2 implements IPPMonitor {
 	@Override
 	public void run() {
 		try {
-			final PPProof prover = new PPProof(sequent, this);
+			final PPProof prover = new PPProof(sequent, this,
+					MAX_ALLOCATED_BYTES);
 			checkCancellation();
 			prover.translate();
 			checkCancellation();
@@ -75,6 +92,10 @@ public class PPProverCall extends XProverCall2 implements IPPMonitor {
 			checkCancellation();
 			prover.prove(maxSteps);
 			result = prover.getResult();
+		} catch (AllocationLimitException e) {
+			if (PPReasoner.DEBUG)
+				System.out.println("PP stopped: " + e.getMessage());
+			result = new PPResult(PPResult.Result.timeout, null);
 		} catch (CancellationException e) {
 			result = new PPResult(PPResult.Result.cancel, null);
 		}
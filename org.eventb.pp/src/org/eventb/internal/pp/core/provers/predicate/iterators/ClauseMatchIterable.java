@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pp.core.provers.predicate.iterators;
+
+import java.util.HashMap;
+import java.util.Iterator;
+
+import org.eventb.internal.pp.core.elements.Clause;
+import org.eventb.internal.pp.core.elements.PredicateLiteralDescriptor;
+import org.eventb.internal.pp.core.search.RandomAccessList;
+import org.eventb.internal.pp.core.search.ResetIterator;
+
+/**
+ * Match iterable that returns all clauses matching the given predicate
+ * from an {@link IClauseMatcher}.
+ */
+public class ClauseMatchIterable implements IMatchIterable {
+
+	private final IClauseMatcher matcher;
+	private final HashMap<RandomAccessList<Clause>, ResetIterator<Clause>> setIteratorMap = new HashMap<RandomAccessList<Clause>, ResetIterator<Clause>>();
+
+	public ClauseMatchIterable(IClauseMatcher matcher) {
+		this.matcher = matcher;
+	}
+
+	private ResetIterator<Clause> getIterator(RandomAccessList<Clause> set) {
+		ResetIterator<Clause> iterator = setIteratorMap.get(set);
+		if (iterator == null) {
+			iterator = set.iterator();
+			setIteratorMap.put(set, iterator);
+		}
+		return iterator;
+	}
+
+	/**
+	 * Returns an iterator over the clauses matching the predicate passed as a
+	 * parameter. Two subsequent calls of this method with the same predicate
+	 * return the same iterator.
+	 * 
+	 * @see IMatchIterable#iterator(PredicateLiteralDescriptor, boolean)
+	 */
+	@Override
+	public Iterator<Clause> iterator(PredicateLiteralDescriptor predicate, boolean isPositive) {
+		final RandomAccessList<Clause> set = matcher.getMatchingClauses(predicate, isPositive);
+		final ResetIterator<Clause> iterator = getIterator(set);
+		iterator.reset();
+		return iterator;
+	}
+
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pp.core.provers.predicate.iterators;
+
+import org.eventb.internal.pp.core.elements.Clause;
+import org.eventb.internal.pp.core.elements.PredicateLiteralDescriptor;
+import org.eventb.internal.pp.core.search.RandomAccessList;
+
+/**
+ * Index of clauses by the predicate literals they can be resolved on.
+ */
+public interface IClauseMatcher {
+
+	/**
+	 * Returns the indexed clauses that match the given predicate with the
+	 * given sign. The returned list is updated when clauses are added to or
+	 * removed from this index.
+	 * 
+	 * @param predicate
+	 *            the descriptor of the predicate to match
+	 * @param isPositive
+	 *            the sign of the predicate to match
+	 * @return the list of matching clauses
+	 */
+	RandomAccessList<Clause> getMatchingClauses(
+			PredicateLiteralDescriptor predicate, boolean isPositive);
+
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pp.core.provers.predicate.iterators;
+
+import java.util.HashMap;
+
+import org.eventb.internal.pp.core.elements.Clause;
+import org.eventb.internal.pp.core.elements.PredicateLiteralDescriptor;
+import org.eventb.internal.pp.core.search.RandomAccessList;
+
+/**
+ * Index of non-unit clauses by predicate descriptor and sign.
+ * <p>
+ * A clause is filed under each descriptor and sign for which
+ * {@link Clause#matches(PredicateLiteralDescriptor, boolean)} holds, so that
+ * the clauses that can be resolved with a unit clause are retrieved without
+ * scanning all non-unit clauses. Matching clauses are returned in the order
+ * in which they were added.
+ */
+public class NonUnitMatcher implements IClauseMatcher {
+
+	private final HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> positiveMap = new HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>>();
+	private final HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> negativeMap = new HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>>();
+
+	public void newClause(Clause clause) {
+		assert !clause.isUnit();
+
+		for (int i = 0; i < clause.getPredicateLiteralsSize(); i++) {
+			final PredicateLiteralDescriptor desc = clause.getPredicateLiteral(i).getDescriptor();
+			if (clause.matches(desc, true)) {
+				getList(positiveMap, desc).add(clause);
+			}
+			if (clause.matches(desc, false)) {
+				getList(negativeMap, desc).add(clause);
+			}
+		}
+	}
+
+	public void removeClause(Clause clause) {
+		assert !clause.isUnit();
+
+		for (int i = 0; i < clause.getPredicateLiteralsSize(); i++) {
+			final PredicateLiteralDescriptor desc = clause.getPredicateLiteral(i).getDescriptor();
+			removeFrom(positiveMap, desc, clause);
+			removeFrom(negativeMap, desc, clause);
+		}
+	}
+
+	@Override
+	public RandomAccessList<Clause> getMatchingClauses(PredicateLiteralDescriptor predicate, boolean isPositive) {
+		return getList(isPositive ? positiveMap : negativeMap, predicate);
+	}
+
+	private static RandomAccessList<Clause> getList(
+			HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> map,
+			PredicateLiteralDescriptor desc) {
+		RandomAccessList<Clause> list = map.get(desc);
+		if (list == null) {
+			list = new RandomAccessList<Clause>();
+			map.put(desc, list);
+		}
+		return list;
+	}
+
+	private static void removeFrom(
+			HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> map,
+			PredicateLiteralDescriptor desc, Clause clause) {
+		final RandomAccessList<Clause> list = map.get(desc);
+		if (list != null && list.contains(clause)) {
+			list.remove(clause);
+		}
+	}
+
+}
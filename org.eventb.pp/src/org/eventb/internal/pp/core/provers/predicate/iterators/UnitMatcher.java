@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - implemented IClauseMatcher
  *******************************************************************************/
 package org.eventb.internal.pp.core.provers.predicate.iterators;
 
@@ -25,7 +26,7 @@ import org.eventb.internal.pp.core.search.RandomAccessList;
  * @author François Terrier
  *
  */
-public class UnitMatcher {
+public class UnitMatcher implements IClauseMatcher {
 	// this class has a state
 	private HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> positiveUnitClauseMap = new HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>>();
 	private HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> negativeUnitClauseMap = new HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>>();
@@ -62,6 +63,7 @@ public class UnitMatcher {
 		removeFromIndex(clause);
 	}
 
+	@Override
 	public RandomAccessList<Clause> getMatchingClauses(PredicateLiteralDescriptor predicate, boolean isPositive) {
 		HashMap<PredicateLiteralDescriptor, RandomAccessList<Clause>> map = !isPositive?positiveUnitClauseMap:negativeUnitClauseMap;
 		RandomAccessList<Clause> result;
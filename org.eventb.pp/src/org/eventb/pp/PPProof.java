@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2013 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Systerel - added cancellation tests
  *     Systerel - added sequent normalization
  *     Systerel - adapted to XProver v2 API
+ *     ISP RAS - added allocation limit and metrics
  *******************************************************************************/
 package org.eventb.pp;
 
@@ -18,6 +19,7 @@ import java.util.List;
 
 import org.eventb.core.seqprover.transformer.ISimpleSequent;
 import org.eventb.core.seqprover.transformer.ITrackedPredicate;
+import org.eventb.internal.pp.AllocationCounter;
 import org.eventb.internal.pp.CancellationChecker;
 import org.eventb.internal.pp.PPTranslator;
 import org.eventb.internal.pp.core.ClauseDispatcher;
@@ -49,6 +51,12 @@ import org.eventb.pp.PPResult.Result;
  * invoked using {@link #prove(long)}. 
  * Once the prover is done, the result of the proof can be retrieved by using
  * {@link #getResult()}. To cancel a proof, method {@link #cancel()}.
+ * </p>
+ * <p>
+ * The time spent and the memory allocated since the creation of the proof are
+ * recorded in its result. As allocations are counted per thread, all methods
+ * should be called by the thread that created the proof.
+ * </p>
  *
  * @author François Terrier
  *
@@ -83,12 +91,39 @@ public class PPProof {
 	private PPResult result;
 	
 	private ClauseDispatcher proofStrategy;
+
+	private final long startTime;
+	private final long startBytes;
 	
 	/**
 	 * @since 0.7
 	 */
 	public PPProof(ISimpleSequent sequent, IPPMonitor monitor) {
-		this.cancellation = CancellationChecker.newChecker(monitor);
+		this(sequent, monitor, 0);
+	}
+
+	/**
+	 * Creates a proof which is cancelled as soon as it has allocated more
+	 * than the given number of bytes. In this case, a
+	 * {@link java.util.concurrent.CancellationException} is thrown by the
+	 * method being run. The limit is ignored if the Java virtual machine does
+	 * not support counting allocations of threads.
+	 * 
+	 * @param sequent
+	 *            the sequent to prove
+	 * @param monitor
+	 *            the monitor for cancellation or <code>null</code>
+	 * @param maxAllocatedBytes
+	 *            the maximal number of bytes to allocate, or a non-positive
+	 *            number for no limit
+	 * @since 0.9
+	 */
+	public PPProof(ISimpleSequent sequent, IPPMonitor monitor,
+			long maxAllocatedBytes) {
+		this.startTime = System.nanoTime();
+		this.startBytes = AllocationCounter.getAllocatedBytes();
+		this.cancellation = CancellationChecker.newChecker(monitor,
+				maxAllocatedBytes);
 		this.sequent = sequent;
 	}
 
@@ -104,6 +139,14 @@ public class PPProof {
 	private void proofFound(ITrackedPredicate predicate) {
 		final SimpleTracer tracer = new SimpleTracer(predicate);
 		result = new PPResult(Result.valid, tracer);
+		recordMetrics();
+	}
+
+	private void recordMetrics() {
+		final long elapsed = (System.nanoTime() - startTime) / 1000000;
+		final long bytes = AllocationCounter.getAllocatedBytes();
+		result.setMetrics(elapsed, bytes < 0 || startBytes < 0 ? -1 : bytes
+				- startBytes);
 	}
 	
 	public Collection<Clause> getClauses() {
@@ -181,6 +224,7 @@ public class PPProof {
 		proofStrategy.setClauses(clauses);
 		proofStrategy.mainLoop(maxSteps);
 		result = proofStrategy.getResult();
+		recordMetrics();
 		
 		debugResult();
 	}
@@ -198,6 +242,8 @@ public class PPProof {
 			} else {
 				debug("** no proof found **");
 			}
+			debug("time: " + result.getElapsedTime() + " ms, allocated: "
+					+ result.getAllocatedBytes() + " bytes");
 		}
 	}
 	
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - added time and allocation metrics
  *******************************************************************************/
 package org.eventb.pp;
 
@@ -29,6 +30,8 @@ public class PPResult {
 	
 	private Result result;
 	private ITracer tracer;
+	private long elapsedTime = -1;
+	private long allocatedBytes = -1;
 	
 	public PPResult (Result result, ITracer tracer) {
 		assert result == Result.valid || tracer == null; 
@@ -57,5 +60,34 @@ public class PPResult {
 	public ITracer getTracer() {
 		return tracer;
 	}
+
+	/**
+	 * Returns the time spent by the proof run that produced this result.
+	 * 
+	 * @return the time spent by the proof run in milliseconds, or
+	 *         <code>-1</code> if unknown
+	 * @since 0.9
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * Returns the number of bytes allocated by the proof run that produced
+	 * this result. This number is only known if the Java virtual machine
+	 * supports counting allocations of threads.
+	 * 
+	 * @return the number of bytes allocated by the proof run, or
+	 *         <code>-1</code> if unknown
+	 * @since 0.9
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	void setMetrics(long elapsedTime, long allocatedBytes) {
+		this.elapsedTime = elapsedTime;
+		this.allocatedBytes = allocatedBytes;
+	}
 	
 }
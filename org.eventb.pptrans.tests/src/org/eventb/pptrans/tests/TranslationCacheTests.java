@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.pptrans.tests;
+
+import static org.eventb.pptrans.Translator.reduceToPredicateCalculus;
+import static org.eventb.pptrans.Translator.Option.expandSetEquality;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.eventb.core.ast.Predicate;
+import org.eventb.core.seqprover.transformer.ISimpleSequent;
+import org.eventb.internal.pptrans.translator.TranslationCache;
+import org.eventb.pptrans.Translator.Option;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the sharing of translations between sequents.
+ */
+public class TranslationCacheTests extends AbstractTranslationTests {
+
+	private static final TranslationCache CACHE = TranslationCache.getDefault();
+
+	@Before
+	public void clearCache() {
+		CACHE.clear();
+	}
+
+	private static Predicate translateHyp(ISimpleSequent sequent,
+			Option... options) {
+		final ISimpleSequent result = reduceToPredicateCalculus(sequent,
+				options);
+		return result.getPredicates()[0].getPredicate();
+	}
+
+	/**
+	 * Ensures that a hypothesis common to two sequents is translated only
+	 * once, with the same result as without cache.
+	 */
+	@Test
+	public void sharedHypothesis() {
+		final ISimpleSequent first = make("a ∈ B", "A ⊆ B ∧ B ⊆ ℤ", "a ∈ A");
+		final ISimpleSequent second = make("b ∈ B", "A ⊆ B ∧ B ⊆ ℤ", "b ∈ A");
+		final long misses = CACHE.getMisses();
+		final long hits = CACHE.getHits();
+		final Predicate translated = translateHyp(first);
+		assertEquals(misses + 3, CACHE.getMisses());
+		assertEquals(hits, CACHE.getHits());
+
+		assertSame(translated, translateHyp(second));
+		assertEquals(misses + 5, CACHE.getMisses());
+		assertEquals(hits + 1, CACHE.getHits());
+
+		CACHE.clear();
+		assertEquals(translated, translateHyp(second));
+	}
+
+	/**
+	 * Ensures that translations are not shared between different options.
+	 */
+	@Test
+	public void differentOptions() {
+		final ISimpleSequent sequent = make("⊥", "A = B ∧ B ⊆ ℤ");
+		final Predicate plain = translateHyp(sequent);
+		final long misses = CACHE.getMisses();
+		final Predicate expanded = translateHyp(sequent, expandSetEquality);
+		assertEquals(misses + 1, CACHE.getMisses());
+		assertSame(plain, translateHyp(sequent));
+		assertSame(expanded, translateHyp(sequent, expandSetEquality));
+	}
+
+}
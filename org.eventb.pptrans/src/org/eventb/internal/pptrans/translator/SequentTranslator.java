@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2020 Systerel and others.
+ * Copyright (c) 2011, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,9 +8,14 @@
  * Contributors:
  *     Systerel - initial API and implementation
  *     University of Southampton - Remove unused import
+ *     ISP RAS - shared translations between sequents
  *******************************************************************************/
 package org.eventb.internal.pptrans.translator;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
 import org.eventb.core.ast.FormulaFactory;
 import org.eventb.core.ast.Predicate;
 import org.eventb.core.seqprover.transformer.ISequentTransformer;
@@ -25,10 +30,14 @@ import org.eventb.pptrans.Translator.Option;
  */
 public class SequentTranslator implements ISequentTransformer {
 
+	private final FormulaFactory ff;
+	private final Set<Option> options;
 	private final Translator translator;
 
 	public SequentTranslator(ISimpleSequent sequent, Option... options) {
-		final FormulaFactory ff = sequent.getFormulaFactory();
+		this.ff = sequent.getFormulaFactory();
+		this.options = EnumSet.noneOf(Option.class);
+		this.options.addAll(Arrays.asList(options));
 		this.translator = new Translator(ff, options);
 	}
 
@@ -36,7 +45,8 @@ public class SequentTranslator implements ISequentTransformer {
 	public Predicate transform(ITrackedPredicate tpred) {
 		final Predicate pred = tpred.getPredicate();
 		try {
-			return translator.translate(pred);
+			return TranslationCache.getDefault().translate(pred, translator,
+					ff, options);
 		} catch (UnsupportedOperationException e) {
 			return null;
 		}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.eventb.internal.pptrans.translator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eventb.core.ast.FormulaFactory;
+import org.eventb.core.ast.Predicate;
+import org.eventb.pptrans.Translator.Option;
+
+/**
+ * Cache of the predicates reduced to predicate calculus.
+ * <p>
+ * The proof obligations of a component share most of their hypotheses, and
+ * PP translates all of them again for each proof obligation. As the
+ * translation of a predicate only depends on the predicate itself, on its
+ * formula factory and on the translation options, it is recorded here under
+ * these three keys. Predicates are compared with <code>equals()</code>, which
+ * takes the types of their identifiers into account: a hypothesis is thus
+ * only shared by proof obligations where its free identifiers have the same
+ * types.
+ * </p>
+ * <p>
+ * Only a bounded number of entries are kept, the least recently used ones
+ * being discarded first. The bound is given by system property
+ * {@value #CACHE_SIZE}; a non-positive value disables the cache.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class TranslationCache {
+
+	/**
+	 * Name of the system property giving the maximal number of entries.
+	 */
+	public static final String CACHE_SIZE = "org.eventb.pptrans.translationCacheSize";
+
+	private static final int DEFAULT_CACHE_SIZE = 4096;
+
+	private static final TranslationCache DEFAULT_INSTANCE = new TranslationCache(
+			Integer.getInteger(CACHE_SIZE, DEFAULT_CACHE_SIZE));
+
+	/**
+	 * Returns the cache shared by all sequent translators.
+	 *
+	 * @return the shared translation cache
+	 */
+	public static TranslationCache getDefault() {
+		return DEFAULT_INSTANCE;
+	}
+
+	/*
+	 * A predicate together with its factory and the translation options.
+	 */
+	private static final class Key {
+
+		private final Predicate pred;
+		private final FormulaFactory ff;
+		private final Set<Option> options;
+
+		Key(Predicate pred, FormulaFactory ff, Set<Option> options) {
+			this.pred = pred;
+			this.ff = ff;
+			this.options = options;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * pred.hashCode() + System.identityHashCode(ff))
+					+ options.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return ff == other.ff && options.equals(other.options)
+					&& pred.equals(other.pred);
+		}
+
+	}
+
+	private final int maxSize;
+
+	// Access-ordered, to discard the least recently used entries first
+	private final Map<Key, Predicate> entries;
+
+	private long hits;
+	private long misses;
+
+	TranslationCache(final int maxSize) {
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<Key, Predicate>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Predicate> eldest) {
+				return size() > maxSize;
+			}
+
+		};
+	}
+
+	/**
+	 * Tells whether this cache is enabled.
+	 *
+	 * @return <code>true</code> iff this cache may record entries
+	 */
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	/**
+	 * Returns the translation of the given predicate with the given
+	 * translator, taking it from this cache if possible.
+	 * 
+	 * @param pred
+	 *            a type-checked predicate in decomposed form
+	 * @param translator
+	 *            the translator to use on a cache miss
+	 * @param ff
+	 *            the formula factory of the translator
+	 * @param options
+	 *            the options of the translator
+	 * @return the translation of the given predicate
+	 * @throws UnsupportedOperationException
+	 *             if the predicate cannot be translated
+	 */
+	public Predicate translate(Predicate pred, Translator translator,
+			FormulaFactory ff, Set<Option> options) {
+		if (!isEnabled()) {
+			return translator.translate(pred);
+		}
+		final Key key = new Key(pred, ff, options);
+		synchronized (this) {
+			final Predicate cached = entries.get(key);
+			if (cached != null) {
+				++hits;
+				return cached;
+			}
+			++misses;
+		}
+		// Computed outside the lock, concurrent computations are harmless
+		final Predicate result = translator.translate(pred);
+		synchronized (this) {
+			entries.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all entries from this cache.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Returns the number of entries in this cache.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of successful lookups since the creation of this
+	 * cache, for tracing purposes.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of failed lookups since the creation of this cache,
+	 * for tracing purposes.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+}
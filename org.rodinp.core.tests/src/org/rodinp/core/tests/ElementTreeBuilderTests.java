@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.rodinp.core.IRodinDBStatusConstants.INVALID_ATTRIBUTE_TYPE;
+import static org.rodinp.core.IRodinDBStatusConstants.INVALID_CHILD_TYPE;
+import static org.rodinp.core.IRodinDBStatusConstants.NAME_COLLISION;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IElementTreeBuilder;
+import org.rodinp.core.IElementTreeBuilder.INode;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.RodinCore;
+import org.rodinp.core.RodinDBException;
+import org.rodinp.core.tests.basis.NamedElement;
+import org.rodinp.core.tests.basis.NamedElement2;
+import org.rodinp.core.tests.basis.RodinTestRoot;
+
+/**
+ * Tests about element tree builders.
+ */
+public class ElementTreeBuilderTests extends ModifyingResourceTests {
+
+	private IRodinFile rodinFile;
+	private RodinTestRoot root;
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		createRodinProject("P");
+		rodinFile = createRodinFile("P/X.test");
+		root = (RodinTestRoot) rodinFile.getRoot();
+		createNEPositive(root, "foo", null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		deleteProject("P");
+		super.tearDown();
+	}
+
+	private static void commitNegative(IElementTreeBuilder builder,
+			int failureCode) {
+		try {
+			builder.commit(null);
+			fail("Committing should have failed");
+		} catch (RodinDBException e) {
+			assertEquals(failureCode, e.getRodinDBStatus().getCode());
+		}
+	}
+
+	/**
+	 * Ensures that a tree is written with its attributes after the existing
+	 * children, and reported in one delta.
+	 */
+	@Test
+	public void testBuildTree() throws Exception {
+		final IElementTreeBuilder builder = RodinCore
+				.newElementTreeBuilder(root);
+		final INode bar = builder.getRoot().createChild(
+				NamedElement.ELEMENT_TYPE, "bar");
+		bar.setAttributeValue(fString.makeValue("bar"));
+		bar.createChild(NamedElement.ELEMENT_TYPE, "baz").setAttributeValue(
+				fInt.makeValue(3));
+		builder.getRoot().setAttributeValue(fBool.makeValue(true));
+		try {
+			startDeltas();
+			builder.commit(null);
+			assertDeltas("Unexpected delta",
+					"P[*]: {CHILDREN}\n" +
+					"	X.test[*]: {CHILDREN}\n" +
+					"		X[org.rodinp.core.tests.test][*]: {CHILDREN | ATTRIBUTE}\n" +
+					"			bar[org.rodinp.core.tests.namedElement][+]: {}");
+		} finally {
+			stopDeltas();
+		}
+
+		final NamedElement barElement = getNamedElement(root, "bar");
+		final NamedElement bazElement = getNamedElement(barElement, "baz");
+		assertArrayEquals(new IRodinElement[] {
+				getNamedElement(root, "foo"), barElement }, root.getChildren());
+		assertEquals("bar", barElement.getAttributeValue(fString));
+		assertEquals(3, bazElement.getAttributeValue(fInt));
+		assertEquals(true, root.getAttributeValue(fBool));
+	}
+
+	/**
+	 * Ensures that fresh names do not collide with existing or recorded
+	 * children.
+	 */
+	@Test
+	public void testFreshNames() throws Exception {
+		final IElementTreeBuilder builder = RodinCore
+				.newElementTreeBuilder(root);
+		final INode first = builder.getRoot().createChild(
+				NamedElement.ELEMENT_TYPE);
+		final INode second = builder.getRoot().createChild(
+				NamedElement.ELEMENT_TYPE);
+		final INode grandChild = first.createChild(NamedElement.ELEMENT_TYPE);
+		builder.commit(null);
+		assertFalse(first.getElement().equals(second.getElement()));
+		assertExists("Fresh element", first.getElement());
+		assertExists("Fresh element", second.getElement());
+		assertExists("Fresh element", grandChild.getElement());
+		assertEquals(3, root.getChildren().length);
+	}
+
+	/**
+	 * Ensures that nothing is written when a new element already exists.
+	 */
+	@Test
+	public void testCollisionExisting() throws Exception {
+		final IElementTreeBuilder builder = RodinCore
+				.newElementTreeBuilder(root);
+		builder.getRoot().createChild(NamedElement.ELEMENT_TYPE, "bar");
+		builder.getRoot().createChild(NamedElement.ELEMENT_TYPE, "foo");
+		builder.getRoot().setAttributeValue(fBool.makeValue(true));
+		commitNegative(builder, NAME_COLLISION);
+		assertNotExists("Element should not exist", getNamedElement(root,
+				"bar"));
+		assertFalse(root.hasAttribute(fBool));
+	}
+
+	/**
+	 * Ensures that an element cannot be recorded twice.
+	 */
+	@Test
+	public void testCollisionRecorded() throws Exception {
+		final IElementTreeBuilder builder = RodinCore
+				.newElementTreeBuilder(root);
+		builder.getRoot().createChild(NamedElement.ELEMENT_TYPE, "bar");
+		builder.getRoot().createChild(NamedElement.ELEMENT_TYPE, "bar");
+		commitNegative(builder, NAME_COLLISION);
+	}
+
+	/**
+	 * Ensures that the types of children and attributes are checked.
+	 */
+	@Test
+	public void testInvalidTypes() throws Exception {
+		final IInternalElement foo = getNamedElement(root, "foo");
+		final IElementTreeBuilder builder1 = RodinCore
+				.newElementTreeBuilder(foo);
+		builder1.getRoot().createChild(NamedElement2.ELEMENT_TYPE, "bar");
+		commitNegative(builder1, INVALID_CHILD_TYPE);
+
+		final IElementTreeBuilder builder2 = RodinCore
+				.newElementTreeBuilder(root);
+		builder2.getRoot().createChild(NamedElement2.ELEMENT_TYPE, "bar")
+				.setAttributeValue(fString.makeValue("bar"));
+		commitNegative(builder2, INVALID_ATTRIBUTE_TYPE);
+	}
+
+	/**
+	 * Ensures that a builder cannot be committed twice.
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void testCommitTwice() throws Exception {
+		final IElementTreeBuilder builder = RodinCore
+				.newElementTreeBuilder(root);
+		builder.getRoot().createChild(NamedElement.ELEMENT_TYPE, "bar");
+		builder.commit(null);
+		builder.commit(null);
+	}
+
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.tests.basis.NamedElement;
+import org.rodinp.core.tests.basis.RodinTestRoot;
+import org.rodinp.internal.core.RodinFile;
+import org.rodinp.internal.core.RodinFileElementInfo;
+
+/**
+ * Tests about internal elements accessed directly through their handle, before
+ * the children of their parent have been computed.
+ */
+public class LazyElementInfoTests extends ModifyingResourceTests {
+
+	private IRodinFile rodinFile;
+	private RodinTestRoot root;
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		createRodinProject("P");
+		rodinFile = createRodinFile("P/X.test");
+		root = (RodinTestRoot) rodinFile.getRoot();
+		for (int i = 1; i <= 5; i++) {
+			final NamedElement ne = createNEPositive(root, "ne" + i, null);
+			ne.setAttributeValue(fString, "value" + i, null);
+			createNEPositive(ne, "child", null);
+		}
+		rodinFile.save(null, false);
+		rodinFile.close();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		deleteProject("P");
+		super.tearDown();
+	}
+
+	private NamedElement getNE(String name) {
+		return root.getInternalElement(NamedElement.ELEMENT_TYPE, name);
+	}
+
+	/**
+	 * Ensures that an attribute of an element can be read through its handle
+	 * and that the children of its parent are still complete afterwards.
+	 */
+	@Test
+	public void testAttributeThroughHandle() throws Exception {
+		assertEquals("value4", getNE("ne4").getAttributeValue(fString));
+		final IRodinElement[] children = root.getChildren();
+		assertEquals(5, children.length);
+		for (int i = 1; i <= 5; i++) {
+			assertEquals(getNE("ne" + i), children[i - 1]);
+		}
+	}
+
+	/**
+	 * Ensures that a deep element can be accessed through its handle and that
+	 * inexistent elements are reported as such.
+	 */
+	@Test
+	public void testDeepHandle() throws Exception {
+		final NamedElement child = getNamedElement(getNE("ne3"), "child");
+		assertExists("Deep element should exist", child);
+		assertArrayEquals(new IRodinElement[] { child }, getNE("ne3")
+				.getChildren());
+		assertNotExists("Inexistent element", getNamedElement(getNE("ne6"),
+				"child"));
+		assertNotExists("Inexistent element", getNamedElement(getNE("ne3"),
+				"other"));
+	}
+
+	/**
+	 * Ensures that the descendants of an element which have been accessed
+	 * through their handle disappear together with their ancestor.
+	 */
+	@Test
+	public void testDeleteAfterHandle() throws Exception {
+		final NamedElement child = getNamedElement(getNE("ne2"), "child");
+		assertExists("Deep element should exist", child);
+		getNE("ne2").delete(false, null);
+		assertNotExists("Deleted element", child);
+		assertFalse(getNE("ne2").exists());
+		assertEquals(4, root.getChildren().length);
+	}
+
+	/**
+	 * Ensures that a renamed element accessed through its handle is found
+	 * under its new name only.
+	 */
+	@Test
+	public void testRenameAfterHandle() throws Exception {
+		assertEquals("value5", getNE("ne5").getAttributeValue(fString));
+		getNE("ne5").rename("ne6", false, null);
+		assertNotExists("Renamed element", getNE("ne5"));
+		assertEquals("value5", getNE("ne6").getAttributeValue(fString));
+		assertExists("Child of renamed element", getNamedElement(getNE("ne6"),
+				"child"));
+	}
+
+	/**
+	 * Ensures that creating many siblings does not look up each new element in
+	 * the DOM document, as the children of their parent are then known.
+	 */
+	@Test
+	public void testCreateManySiblings() throws Exception {
+		final RodinFile file = (RodinFile) rodinFile;
+		final RodinFileElementInfo info = (RodinFileElementInfo) file
+				.getElementInfo(null);
+		final int lookups = info.getDOMLookupCount();
+		for (int i = 6; i <= 105; i++) {
+			createNEPositive(root, "ne" + i, null);
+		}
+		assertNotExists("Inexistent element", getNE("ne106"));
+		assertEquals(lookups, info.getDOMLookupCount());
+		assertEquals(105, root.getChildren().length);
+	}
+
+}
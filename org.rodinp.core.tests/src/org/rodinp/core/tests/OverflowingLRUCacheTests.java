@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.internal.core.OverflowingLRUCache;
+import org.rodinp.internal.core.util.ICacheEnumeration;
+
+/**
+ * Unit tests for the space, eviction order and statistics of
+ * {@link OverflowingLRUCache}.
+ */
+public class OverflowingLRUCacheTests {
+
+	/*
+	 * Cache where the space of an entry is its value and the reload cost of
+	 * some entries can be specified.
+	 */
+	private static class TestCache extends OverflowingLRUCache<String, Integer> {
+
+		final Map<String, Double> costs = new HashMap<String, Double>();
+
+		final Set<String> pinned = new HashSet<String>();
+
+		public TestCache(int size) {
+			super(size);
+			setLoadFactor(1.0);
+		}
+
+		@Override
+		protected boolean canClose(LRUCacheEntry<String, Integer> entry) {
+			return !pinned.contains(entry._fKey);
+		}
+
+		@Override
+		protected boolean doClose(LRUCacheEntry<String, Integer> entry) {
+			return true;
+		}
+
+		@Override
+		protected int spaceFor(String key, Integer value) {
+			return value;
+		}
+
+		@Override
+		protected double reloadCost(LRUCacheEntry<String, Integer> entry) {
+			final Double cost = costs.get(entry._fKey);
+			if (cost == null) {
+				return super.reloadCost(entry);
+			}
+			return cost;
+		}
+
+		@Override
+		protected OverflowingLRUCache<String, Integer> newInstance(
+				int newSize, int overflow) {
+			return new TestCache(newSize);
+		}
+
+		// Returns whether the key is in the hard cache, without touching it
+		public boolean isHard(String key) {
+			final ICacheEnumeration<String, Integer> e = keysAndValues();
+			while (e.hasMoreElements()) {
+				if (key.equals(e.nextElement())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+	private TestCache cache;
+
+	@Before
+	public void setUp() {
+		cache = new TestCache(100);
+	}
+
+	/**
+	 * Ensures that the used space is the sum of the spaces of the entries.
+	 */
+	@Test
+	public void testSpace() {
+		cache.put("a", 10);
+		cache.put("b", 20);
+		assertEquals(30, cache.getCurrentSpace());
+		assertEquals(2, cache.getEntryCount());
+		cache.put("a", 5);
+		assertEquals(25, cache.getCurrentSpace());
+		cache.remove("b");
+		assertEquals(5, cache.getCurrentSpace());
+	}
+
+	/**
+	 * Ensures that entries are evicted in LRU order when their reload cost is
+	 * proportional to their space.
+	 */
+	@Test
+	public void testLRUEviction() {
+		cache.put("a", 40);
+		cache.put("b", 40);
+		cache.get("a");
+		cache.put("c", 40);
+		assertTrue(cache.isHard("a"));
+		assertFalse(cache.isHard("b"));
+		assertTrue(cache.isHard("c"));
+		assertEquals(1, cache.getEvictions());
+	}
+
+	/**
+	 * Ensures that entries that are cheap to reload are evicted first.
+	 */
+	@Test
+	public void testCostWeightedEviction() {
+		cache.costs.put("a", 400.0);
+		cache.put("a", 40);
+		cache.put("b", 40);
+		cache.put("c", 40);
+		assertTrue(cache.isHard("a"));
+		assertFalse(cache.isHard("b"));
+		assertTrue(cache.isHard("c"));
+	}
+
+	/**
+	 * Ensures that an expensive entry which is not used anymore is eventually
+	 * evicted.
+	 */
+	@Test
+	public void testCostlyEntryAging() {
+		cache.costs.put("a", 120.0);
+		cache.put("a", 40);
+		for (int i = 0; i < 10; i++) {
+			cache.put("x" + i, 40);
+		}
+		assertFalse(cache.isHard("a"));
+	}
+
+	/**
+	 * Ensures that entries that cannot be closed are kept, the cache
+	 * overflowing if needed.
+	 */
+	@Test
+	public void testPinnedEntries() {
+		cache.pinned.add("a");
+		cache.pinned.add("b");
+		cache.put("a", 60);
+		cache.put("b", 60);
+		assertEquals(120, cache.getCurrentSpace());
+		assertEquals(20, cache.getOverflow());
+		cache.pinned.clear();
+		cache.put("c", 10);
+		assertFalse(cache.isHard("a"));
+		assertTrue(cache.isHard("c"));
+		assertEquals(0, cache.getOverflow());
+	}
+
+	/**
+	 * Ensures that hits and misses are counted.
+	 */
+	@Test
+	public void testStatistics() {
+		cache.put("a", 10);
+		assertNotNull(cache.get("a"));
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("a"));
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(0, cache.getEvictions());
+	}
+
+}
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.internal.core.DOMProvider;
+import org.rodinp.internal.core.StreamingDOMLoader;
+import org.rodinp.internal.core.StreamingDOMSerializer;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Unit tests for the streaming loading and saving of Rodin files. The results
+ * are compared with the ones obtained with a DOM builder and a DOM
+ * transformer.
+ */
+public class StreamingXMLTests {
+
+	private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n";
+
+	private DocumentBuilder builder;
+
+	@Before
+	public void setUp() throws Exception {
+		builder = DOMProvider.getInstance().getDocumentBuilder();
+	}
+
+	// Same as Buffer.normalize()
+	private static void normalize(Element element) {
+		if (element.getAttributeNodeNS(null, "contents") == null) {
+			for (Node child = element.getLastChild(); child != null; child = child
+					.getPreviousSibling()) {
+				if (child.getNodeType() == Node.TEXT_NODE
+						&& child.getNodeValue().trim().length() != 0) {
+					element.setAttributeNS(null, "contents",
+							child.getNodeValue());
+					break;
+				}
+			}
+		}
+		Node child = element.getFirstChild();
+		while (child != null) {
+			final Node next = child.getNextSibling();
+			switch (child.getNodeType()) {
+			case Node.ELEMENT_NODE:
+				normalize((Element) child);
+				break;
+			case Node.TEXT_NODE:
+				element.removeChild(child);
+				break;
+			}
+			child = next;
+		}
+	}
+
+	private Document domLoad(String contents) throws Exception {
+		final Document document = builder.parse(new ByteArrayInputStream(
+				contents.getBytes(StandardCharsets.UTF_8)));
+		normalize(document.getDocumentElement());
+		return document;
+	}
+
+	private Document streamLoad(String contents) throws Exception {
+		final Document document = builder.newDocument();
+		StreamingDOMLoader.load(document, new ByteArrayInputStream(
+				contents.getBytes(StandardCharsets.UTF_8)));
+		return document;
+	}
+
+	private static byte[] transform(Document document) throws Exception {
+		final Transformer transformer = DOMProvider.getInstance()
+				.getDOMTransformer();
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transformer.transform(new DOMSource(document), new StreamResult(out));
+		return out.toByteArray();
+	}
+
+	private static byte[] serialize(Document document) throws Exception {
+		assertTrue(StreamingDOMSerializer.isSupported(document));
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		StreamingDOMSerializer.serialize(document, out);
+		return out.toByteArray();
+	}
+
+	private void assertSameLoad(String contents) throws Exception {
+		final byte[] expected = transform(domLoad(contents));
+		final Document actual = streamLoad(contents);
+		assertArrayEquals(expected, transform(actual));
+	}
+
+	private void assertSameSave(Document document) throws Exception {
+		assertArrayEquals(transform(document), serialize(document));
+	}
+
+	/**
+	 * Ensures that a file in the current format is loaded and saved as with a
+	 * DOM builder and transformer.
+	 */
+	@Test
+	public void testCurrentFormat() throws Exception {
+		final String contents = HEADER
+				+ "<org.rodinp.core.tests.test version=\"1\">\n"
+				+ "<org.rodinp.core.tests.namedElement name=\"a\" org.rodinp.core.tests.fString=\"x&gt;0 &amp; y&lt;&quot;z&quot;\"/>\n"
+				+ "<org.rodinp.core.tests.namedElement name=\"b\">\n"
+				+ "<org.rodinp.core.tests.namedElement name=\"c\" org.rodinp.core.tests.fString=\"∀x·x∈ℕ&#10;line&#9;tab\"/>\n"
+				+ "</org.rodinp.core.tests.namedElement>\n"
+				+ "</org.rodinp.core.tests.test>\n";
+		assertSameLoad(contents);
+		final Document document = streamLoad(contents);
+		assertSameSave(document);
+		assertArrayEquals(transform(domLoad(contents)), serialize(document));
+	}
+
+	/**
+	 * Ensures that text contents of elements in the old format are converted
+	 * to the contents attribute as done by the buffer normalization.
+	 */
+	@Test
+	public void testOldFormat() throws Exception {
+		assertSameLoad(HEADER + "<r>\n  <e name=\"a\">  some &amp; text "
+				+ "<![CDATA[<cd>]]>\n  </e>\n"
+				+ "  <e name=\"b\">first<f/>  \n second<!-- c --> more"
+				+ "  <g>x</g>\n</e>\n"
+				+ "  <e name=\"c\" contents=\"k\">ignored</e>\n</r>\n");
+	}
+
+	/**
+	 * Ensures that attribute values are escaped as done by the DOM
+	 * transformer, for all characters.
+	 */
+	@Test
+	public void testEscapes() throws Exception {
+		final Document document = builder.newDocument();
+		final Element root = document.createElementNS(null, "r");
+		document.appendChild(root);
+		final StringBuilder value = new StringBuilder();
+		for (int c = 1; c < 0x10000; c++) {
+			if (Character.isSurrogate((char) c)) {
+				continue;
+			}
+			value.append((char) c);
+			if (value.length() == 1024) {
+				addElement(root, value.toString());
+				value.setLength(0);
+			}
+		}
+		value.appendCodePoint(0x1F600).append('a').appendCodePoint(0x10FFFF);
+		addElement(root, value.toString());
+		assertSameSave(document);
+	}
+
+	private static void addElement(Element parent, String value) {
+		final Element element = parent.getOwnerDocument().createElementNS(
+				null, "e");
+		element.setAttributeNS(null, "value", value);
+		parent.appendChild(element);
+	}
+
+	/**
+	 * Ensures that documents that cannot be serialized identically are
+	 * reported as not supported.
+	 */
+	@Test
+	public void testUnsupported() throws Exception {
+		assertFalse(StreamingDOMSerializer.isSupported(streamLoad(HEADER
+				+ "<r xmlns:p=\"urn:x\"><p:e/></r>")));
+		assertFalse(StreamingDOMSerializer.isSupported(streamLoad(HEADER
+				+ "<?pi data?><r/>")));
+		final Document document = streamLoad(HEADER + "<r/>");
+		document.getDocumentElement().setAttributeNS(null, "a", "\uD800");
+		assertFalse(StreamingDOMSerializer.isSupported(document));
+		assertEquals("r", document.getDocumentElement().getNodeName());
+	}
+
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests.builder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.eclipse.core.resources.IProject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.internal.core.RodinDBManager;
+import org.rodinp.internal.core.builder.BuildState;
+
+/**
+ * Tests for the serialization of the builder state.
+ */
+public class BuildStateTest extends AbstractBuilderTest {
+
+	private IRodinProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		SCTool.RUN_SC = true;
+		SCTool.SHOW_CLEAN = false;
+		SCTool.SHOW_EXTRACT = false;
+		SCTool.SHOW_RUN = true;
+		POTool.RUN_PO = true;
+		POTool.SHOW_CLEAN = false;
+		POTool.SHOW_EXTRACT = false;
+		POTool.SHOW_RUN = true;
+		project = createRodinProject("P");
+		ToolTrace.flush();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (IProject p : getWorkspaceRoot().getProjects()) {
+			p.delete(true, true, null);
+		}
+		super.tearDown();
+	}
+
+	private static byte[] write(BuildState state) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		state.write(out);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private BuildState read(byte[] bytes) throws IOException {
+		final DataInputStream in = new DataInputStream(
+				new ByteArrayInputStream(bytes));
+		final BuildState state = BuildState.read(project.getProject(), in);
+		assertNotNull(state);
+		return state;
+	}
+
+	private void createFiles() throws Exception {
+		IRodinFile ctx = createRodinFile("P/x.ctx");
+		createData(ctx, "one");
+		ctx.save(null, true);
+
+		IRodinFile cty = createRodinFile("P/y.ctx");
+		createDependency(cty, "x");
+		createData(cty, "two");
+		cty.save(null, true);
+
+		IRodinFile ctz = createRodinFile("P/z.ctx");
+		createData(ctz, "five");
+		ctz.save(null, true);
+
+		IRodinFile mca = createRodinFile("P/a.mch");
+		createDependency(mca, "y");
+		createData(mca, "three");
+		mca.save(null, true);
+
+		IRodinFile mcb = createRodinFile("P/b.mch");
+		createReference(mcb, "a");
+		createData(mcb, "four");
+		mcb.save(null, true);
+	}
+
+	/**
+	 * Ensures that the dependency graph read back is the same as the one
+	 * written, and that an undecoded graph is written back unchanged.
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		createFiles();
+		runBuilder(project);
+
+		final BuildState state = RodinDBManager.getRodinDBManager()
+				.getLastBuiltState(project.getProject(), null);
+		final byte[] bytes = write(state);
+		assertArrayEquals(bytes, write(read(bytes)));
+		final BuildState copy = read(bytes);
+		assertEquals(state.getGraph().toString(), copy.getGraph().toString());
+	}
+
+	/**
+	 * Ensures that a build with a state read back is incremental: only the
+	 * tools depending on the changed file are run.
+	 */
+	@Test
+	public void testIncrementalBuildAfterRead() throws Exception {
+		createFiles();
+		runBuilder(project);
+
+		final RodinDBManager manager = RodinDBManager.getRodinDBManager();
+		final IProject p = project.getProject();
+		manager.setLastBuiltState(p,
+				read(write(manager.getLastBuiltState(p, null))));
+		ToolTrace.flush();
+
+		final IRodinFile ctz = getRodinFile("P/z.ctx");
+		createData(ctz, "six");
+		ctz.save(null, true);
+		runBuilder(project,
+				"CSC run /P/z.csc",
+				"CPO run /P/z.po"
+		);
+	}
+
+}
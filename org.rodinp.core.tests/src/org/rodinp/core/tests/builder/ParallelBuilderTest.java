@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests.builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.rodinp.internal.core.builder.RodinBuilder.PARALLEL_BUILD_THREADS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.RodinCore;
+import org.rodinp.internal.core.builder.ToolSchedulingRule;
+
+/**
+ * Tests for builds where tools are run by several worker threads.
+ */
+public class ParallelBuilderTest extends AbstractBuilderTest {
+
+	private IRodinProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		getPreferences().putInt(PARALLEL_BUILD_THREADS, 4);
+		SCTool.RUN_SC = true;
+		SCTool.SHOW_CLEAN = false;
+		SCTool.SHOW_EXTRACT = false;
+		SCTool.SHOW_RUN = true;
+		POTool.RUN_PO = true;
+		POTool.SHOW_CLEAN = false;
+		POTool.SHOW_EXTRACT = false;
+		POTool.SHOW_RUN = true;
+		project = createRodinProject("P");
+		ToolTrace.flush();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		getPreferences().remove(PARALLEL_BUILD_THREADS);
+		for (IProject p : getWorkspaceRoot().getProjects()) {
+			p.delete(true, true, null);
+		}
+		super.tearDown();
+	}
+
+	private static IEclipsePreferences getPreferences() {
+		return InstanceScope.INSTANCE.getNode(RodinCore.PLUGIN_ID);
+	}
+
+	/*
+	 * Ensures that every expected run occurred exactly once and that each run
+	 * occurred after the runs it depends on.
+	 */
+	private void assertRuns(String[] expected, String[]... orders) {
+		final List<String> traces = ToolTrace.getTraces();
+		final List<String> actual = new ArrayList<String>(traces);
+		final List<String> sortedExpected = new ArrayList<String>(
+				Arrays.asList(expected));
+		Collections.sort(actual);
+		Collections.sort(sortedExpected);
+		assertEquals("Unexpected tool runs", sortedExpected, actual);
+		for (String[] order : orders) {
+			for (int i = 1; i < order.length; i++) {
+				assertTrue("Run " + order[i] + " should follow " + order[i - 1],
+						traces.indexOf(order[i - 1]) < traces.indexOf(order[i]));
+			}
+		}
+	}
+
+	/**
+	 * Ensures that a parallel build runs the same tools as a sequential one,
+	 * in an order compatible with the dependencies, and produces the same
+	 * files.
+	 */
+	@Test
+	public void testGraphBuild() throws Exception {
+		IRodinFile ctx = createRodinFile("P/x.ctx");
+		createData(ctx, "cone");
+		ctx.save(null, true);
+		
+		IRodinFile cty = createRodinFile("P/y.ctx");
+		createDependency(cty, "x");
+		createData(cty, "ctwo");
+		cty.save(null, true);		
+		
+		IRodinFile ctz = createRodinFile("P/z.ctx");
+		createData(ctz, "cthree");
+		ctz.save(null, true);
+	
+		IRodinFile mca = createRodinFile("P/a.mch");
+		createDependency(mca, "x");
+		createData(mca, "mone");
+		mca.save(null, true);
+		
+		IRodinFile mcb = createRodinFile("P/b.mch");
+		createDependency(mcb, "y");
+		createReference(mcb, "a");
+		createData(mcb, "mtwo");
+		mcb.save(null, true);
+		
+		IRodinFile mcd = createRodinFile("P/d.mch");
+		createDependency(mcd, "y");
+		createDependency(mcd, "z");
+		createReference(mcd, "b");
+		createData(mcd, "mfour");
+		mcd.save(null, true);
+
+		runBuilder(project);
+		assertRuns(new String[] {
+					"CSC run /P/x.csc", "CPO run /P/x.po",
+					"CSC run /P/y.csc", "CPO run /P/y.po",
+					"CSC run /P/z.csc", "CPO run /P/z.po",
+					"MSC run /P/a.msc", "MPO run /P/a.po",
+					"MSC run /P/b.msc", "MPO run /P/b.po",
+					"MSC run /P/d.msc", "MPO run /P/d.po" },
+				new String[] { "CSC run /P/x.csc", "CSC run /P/y.csc",
+						"MSC run /P/b.msc", "MSC run /P/d.msc",
+						"MPO run /P/d.po" },
+				new String[] { "CSC run /P/x.csc", "MSC run /P/a.msc",
+						"MSC run /P/b.msc" },
+				new String[] { "CSC run /P/z.csc", "MSC run /P/d.msc" });
+
+		assertContents("Invalid contents of checked machine",
+				"d.msc\n" + 
+				"  data: mfour\n" + 
+				"  data: mtwo\n" + 
+				"  data: mone\n" + 
+				"  data: cone\n" + 
+				"  data: ctwo\n" + 
+				"  data: cone\n" + 
+				"  data: ctwo\n" + 
+				"  data: cone\n" + 
+				"  data: cthree",
+				getRodinFile("P/d.msc"));
+	}
+
+	/**
+	 * Ensures that an incremental parallel build only runs the tools of the
+	 * nodes that depend on the changed file.
+	 */
+	@Test
+	public void testIncrementalBuild() throws Exception {
+		IRodinFile ctx = createRodinFile("P/x.ctx");
+		createData(ctx, "one");
+		ctx.save(null, true);
+
+		IRodinFile cty = createRodinFile("P/y.ctx");
+		createDependency(cty, "x");
+		createData(cty, "two");
+		cty.save(null, true);
+
+		IRodinFile ctz = createRodinFile("P/z.ctx");
+		createData(ctz, "three");
+		ctz.save(null, true);
+
+		runBuilder(project);
+		ToolTrace.flush();
+
+		createData(ctx, "four");
+		ctx.save(null, true);
+		runBuilder(project);
+		assertRuns(new String[] {
+					"CSC run /P/x.csc", "CPO run /P/x.po",
+					"CSC run /P/y.csc", "CPO run /P/y.po" },
+				new String[] { "CSC run /P/x.csc", "CSC run /P/y.csc",
+						"CPO run /P/y.po" });
+		assertContents("Invalid contents of checked context",
+				"y.csc\n" +
+				"  data: two\n" +
+				"  data: one\n" +
+				"  data: four",
+				getRodinFile("P/y.csc"));
+	}
+
+	/**
+	 * Ensures that the rule of a tool run only contains the resources that the
+	 * tool may modify.
+	 */
+	@Test
+	public void testToolRuleContainment() throws Exception {
+		final ISchedulingRule rule = new ToolSchedulingRule(
+				getFile("P/x.po"), getFile("P/x.pr"));
+		assertTrue(rule.contains(rule));
+		assertTrue(rule.contains(getFile("P/x.po")));
+		assertTrue(rule.contains(getFile("P/x.pr")));
+		assertTrue(rule.contains(getFile("P/x.ps")));
+		assertTrue(rule.contains(getProject("P")));
+		assertTrue(rule.contains(MultiRule.combine(getFile("P/x.pr"),
+				getFile("P/x.ps"))));
+		assertFalse(rule.contains(getFile("P/y.pr")));
+		assertFalse(rule.contains(getFile("Q/x.pr")));
+		assertFalse(rule.contains(getProject("Q")));
+		assertFalse(rule.contains(getWorkspaceRoot()));
+		assertFalse(rule.contains(MultiRule.combine(getFile("P/x.pr"),
+				getFile("P/y.pr"))));
+		assertFalse(rule.contains(new ToolSchedulingRule(getFile("P/x.po"),
+				getFile("P/x.pr"))));
+	}
+
+	/**
+	 * Ensures that the rules of tool runs conflict iff the runs work on the
+	 * same component or one run reads the target of the other.
+	 */
+	@Test
+	public void testToolRuleConflicts() throws Exception {
+		final ISchedulingRule rule = new ToolSchedulingRule(
+				getFile("P/x.csc"), getFile("P/x.po"));
+		assertTrue(rule.isConflicting(new ToolSchedulingRule(
+				getFile("P/x.ctx"), getFile("P/x.csc"))));
+		assertTrue(rule.isConflicting(new ToolSchedulingRule(
+				getFile("P/x.po"), getFile("P/y.pr"))));
+		assertFalse(rule.isConflicting(new ToolSchedulingRule(
+				getFile("P/y.csc"), getFile("P/y.po"))));
+		assertTrue(rule.isConflicting(getFile("P/x.po")));
+		assertTrue(rule.isConflicting(getFile("P/x.pr")));
+		assertTrue(rule.isConflicting(getProject("P")));
+		assertFalse(rule.isConflicting(getFile("P/y.po")));
+		assertFalse(rule.isConflicting(getProject("Q")));
+		assertTrue(rule.isConflicting(MultiRule.combine(getFile("P/x.po"),
+				getFile("P/x.pr"))));
+	}
+
+	/**
+	 * Ensures that the rule of a tool and the rule of the builder do not
+	 * conflict, whichever way they are compared.
+	 */
+	@Test
+	public void testToolRuleBuilderRule() throws Exception {
+		final ISchedulingRule rule = new ToolSchedulingRule(
+				getFile("P/x.csc"), getFile("P/x.po"));
+		final ISchedulingRule builderRule = getWorkspaceRoot();
+		assertFalse(rule.isConflicting(builderRule));
+		assertFalse(builderRule.isConflicting(rule));
+	}
+
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests.indexer;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.indexer.IIndexingBridge;
+import org.rodinp.internal.core.indexer.tables.IRodinIndex;
+
+/**
+ * Fake indexer that blocks while indexing the files of a given project, until
+ * it gets released. The files of the other projects are indexed as with
+ * {@link FakeIndexer}.
+ */
+public class FakeBlockingIndexer extends FakeIndexer {
+
+	private static final long TIMEOUT = 10;
+
+	private final IRodinProject blockedProject;
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	private final CountDownLatch released = new CountDownLatch(1);
+
+	public FakeBlockingIndexer(IRodinIndex index, IRodinProject blockedProject) {
+		super(index);
+		this.blockedProject = blockedProject;
+	}
+
+	@Override
+	public boolean index(IIndexingBridge bridge) {
+		final IRodinProject project = bridge.getRootToIndex().getRodinProject();
+		if (project.equals(blockedProject)) {
+			started.countDown();
+			try {
+				released.await(TIMEOUT, SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return super.index(bridge);
+	}
+
+	/**
+	 * Waits until the indexing of a file of the blocked project has started.
+	 *
+	 * @return <code>true</code> iff indexing started before the timeout
+	 */
+	public boolean awaitBlocked() throws InterruptedException {
+		return started.await(TIMEOUT, SECONDS);
+	}
+
+	public void release() {
+		released.countDown();
+	}
+
+}
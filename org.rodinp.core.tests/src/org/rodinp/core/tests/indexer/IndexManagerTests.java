@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,9 +7,11 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added concurrent indexing tests
  *******************************************************************************/
 package org.rodinp.core.tests.indexer;
 
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.rodinp.core.tests.util.IndexTestsUtil.TEST_FILE_TYPE;
 import static org.rodinp.core.tests.util.IndexTestsUtil.assertDescriptor;
@@ -25,6 +27,7 @@ import java.util.Set;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.rodinp.core.IInternalElement;
 import org.rodinp.core.IRodinFile;
 import org.rodinp.core.IRodinProject;
 import org.rodinp.core.indexer.IDeclaration;
@@ -230,4 +233,97 @@ public class IndexManagerTests extends IndexTests {
 		final Set<IDeclaration> declarations = manager.getDeclarations(file);
 		assertTrue("no element expected", declarations.isEmpty());
 	}
+
+	/**
+	 * Ensures that queries on a project are answered while a file of that
+	 * project is being indexed.
+	 */
+	@Test(timeout = 20000)
+	public void testQueryDuringIndexing() throws Exception {
+		manager.scheduleIndexing(file);
+
+		manager.clearIndexers();
+		final FakeBlockingIndexer blocking = new FakeBlockingIndexer(
+				rodinIndex, project);
+		manager.addIndexer(blocking, TEST_FILE_TYPE);
+
+		final Thread indexing = startIndexing(file);
+		try {
+			assertTrue("indexing should have started", blocking.awaitBlocked());
+			assertDescriptor(manager, declElt1, 1);
+			assertDescriptor(manager, declElt2, 1);
+		} finally {
+			blocking.release();
+			indexing.join();
+		}
+	}
+
+	/**
+	 * Ensures that a project gets indexed while the indexing of another
+	 * project is blocked.
+	 */
+	@Test(timeout = 20000)
+	public void testIndexProjectsConcurrently() throws Exception {
+		final IRodinProject project2 = createRodinProject("P2");
+		try {
+			final IRodinFile file2 = createRodinFile(project2, "file2P2.test");
+			final NamedElement eltF2 = createNamedElement(file2, "eltF2");
+			final Declaration declEltF2 = new Declaration(eltF2, "eltF2Name");
+			makeDescAndDefaultOcc(rodinIndex, declEltF2, file2.getRoot());
+
+			manager.clearIndexers();
+			final FakeBlockingIndexer blocking = new FakeBlockingIndexer(
+					rodinIndex, project);
+			manager.addIndexer(blocking, TEST_FILE_TYPE);
+
+			// P2 is indexed first from now on
+			manager.scheduleIndexing(file2);
+
+			final Thread indexing = startIndexing(file);
+			Thread indexing2 = null;
+			try {
+				assertTrue("indexing should have started",
+						blocking.awaitBlocked());
+				final NamedElement eltF3 = createNamedElement(file2, "eltF3");
+				final Declaration declEltF3 = new Declaration(eltF3,
+						"eltF3Name");
+				makeDescAndDefaultOcc(rodinIndex, declEltF3, file2.getRoot());
+
+				indexing2 = startIndexing(file2);
+				waitForDeclaration(eltF3);
+				assertDescriptor(manager, declEltF3, 1);
+			} finally {
+				blocking.release();
+				indexing.join();
+				if (indexing2 != null) {
+					indexing2.join();
+				}
+			}
+			assertDescriptor(manager, declElt1, 1);
+		} finally {
+			deleteProject("P2");
+		}
+	}
+
+	private static Thread startIndexing(final IRodinFile toIndex) {
+		final Thread thread = new Thread() {
+			@Override
+			public void run() {
+				manager.scheduleIndexing(toIndex);
+			}
+		};
+		thread.start();
+		return thread;
+	}
+
+	private static void waitForDeclaration(IInternalElement element)
+			throws Exception {
+		final long deadline = System.currentTimeMillis() + 10000;
+		while (manager.getDeclaration(element) == null
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertNotNull("element " + element.getElementName()
+				+ " should have been indexed", manager.getDeclaration(element));
+	}
 }
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core.tests.indexer.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.rodinp.core.tests.indexer.persistence.Resources.EMPTY_RESOURCE;
+import static org.rodinp.core.tests.indexer.persistence.Resources.getNewFile;
+import static org.rodinp.core.tests.indexer.persistence.Resources.makeBasicFile;
+import static org.rodinp.core.tests.indexer.persistence.XMLPersistorTests.assertIMData;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.tests.indexer.IndexTests;
+import org.rodinp.core.tests.indexer.persistence.Resources.IPersistResource;
+import org.rodinp.internal.core.indexer.IIndexDelta;
+import org.rodinp.internal.core.indexer.IndexManager;
+import org.rodinp.internal.core.indexer.PerProjectPIM;
+import org.rodinp.internal.core.indexer.ProjectIndexManager;
+import org.rodinp.internal.core.indexer.Registry;
+import org.rodinp.internal.core.indexer.persistence.IPersistor;
+import org.rodinp.internal.core.indexer.persistence.PersistentIndexManager;
+import org.rodinp.internal.core.indexer.persistence.bin.BinaryPersistor;
+
+/**
+ * Tests for the binary persistence of the index, which are round-trips
+ * through the same resources as the XML persistence tests.
+ */
+public class BinaryPersistorTests extends IndexTests {
+
+	private static IRodinProject project;
+
+	private File file;
+	private File projectDir;
+
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		project = createRodinProject("P");
+		file = getNewFile(getName());
+		projectDir = getNewFile(getName() + "-projects");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		file.delete();
+		final File[] projectFiles = projectDir.listFiles();
+		if (projectFiles != null) {
+			for (File projectFile : projectFiles) {
+				projectFile.delete();
+			}
+		}
+		projectDir.delete();
+		deleteProject("P");
+		IndexManager.getDefault().clear();
+		super.tearDown();
+	}
+
+	private static PersistentIndexManager newIMData() {
+		return new PersistentIndexManager(new PerProjectPIM(),
+				new ArrayList<IIndexDelta>(), new Registry<String, String>());
+	}
+
+	private void roundTrip(IPersistResource pr, IPersistor ps) {
+		assertTrue("error while saving", ps.save(pr.getIMData(), file));
+		assertTrue(BinaryPersistor.isBinary(file));
+
+		final PersistentIndexManager restored = newIMData();
+		assertTrue("error while restoring", ps.restore(file, restored));
+		assertIMData(pr, restored);
+	}
+
+	private void roundTrip(IPersistResource pr) {
+		roundTrip(pr, new BinaryPersistor());
+		roundTrip(pr, new BinaryPersistor(projectDir));
+	}
+
+	@Test
+	public void testNoPIM() throws Exception {
+		roundTrip(Resources.makeNoPIM(project));
+	}
+
+	@Test
+	public void testBasic() throws Exception {
+		roundTrip(Resources.makeBasic(project));
+	}
+
+	@Test
+	public void test2PIMs() throws Exception {
+		final IRodinProject p1 = createRodinProject("P1");
+		final IRodinProject p2 = createRodinProject("P2");
+		try {
+			roundTrip(Resources.make2PIMs(p1, p2));
+		} finally {
+			deleteProject("P1");
+			deleteProject("P2");
+		}
+	}
+
+	@Test
+	public void testSortedFiles() throws Exception {
+		roundTrip(Resources.makeSortedFiles(project));
+	}
+
+	@Test
+	public void testIterating() throws Exception {
+		roundTrip(Resources.makeIterating(project));
+	}
+
+	@Test
+	public void testDelta() throws Exception {
+		roundTrip(Resources.makeDelta(project));
+	}
+
+	/**
+	 * Ensures that an incremental save only writes the projects that changed
+	 * since they were last saved.
+	 */
+	@Test
+	public void testIncrementalSave() throws Exception {
+		final IPersistResource pr = Resources.makeBasic(project);
+		final IPersistor ps = new BinaryPersistor(projectDir);
+		final PersistentIndexManager data = pr.getIMData();
+		final ProjectIndexManager pim = data.getPPPIM().get(project);
+		assertFalse(pim.isSaved());
+
+		assertTrue(ps.save(data, file));
+		assertTrue(pim.isSaved());
+		final File projectFile = new File(projectDir, "save-P");
+		assertTrue(projectFile.exists());
+
+		projectFile.setLastModified(0);
+		assertTrue(ps.save(data, file));
+		assertEquals(0, projectFile.lastModified());
+	}
+
+	/**
+	 * Ensures that XML save files are not taken for binary ones.
+	 */
+	@Test
+	public void testRestoreXMLFile() throws Exception {
+		final File xmlFile = makeBasicFile();
+		try {
+			assertFalse(BinaryPersistor.isBinary(xmlFile));
+			final PersistentIndexManager restored = newIMData();
+			assertFalse(new BinaryPersistor().restore(xmlFile, restored));
+			assertIMData(EMPTY_RESOURCE, restored);
+		} finally {
+			xmlFile.delete();
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - shared assertions with binary persistence tests
  *******************************************************************************/
 package org.rodinp.core.tests.indexer.persistence;
 
@@ -130,7 +131,7 @@ public class XMLPersistorTests extends IndexTests {
 	}
 
 
-	private static void assertIMData(IPersistResource resource,
+	public static void assertIMData(IPersistResource resource,
 			PersistentIndexManager actual) {
 		final Map<IRodinProject, PublicPIM> expectedPIMs = resource.getPublicPIMs();
 		final List<IRodinFile> files = resource.getRodinFiles();
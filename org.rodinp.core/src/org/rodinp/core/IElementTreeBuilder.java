@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.core;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Builder of a tree of new internal elements under an existing parent
+ * element.
+ * <p>
+ * Elements and attributes are first recorded in the builder, without
+ * accessing the database. They are then all written at once when the builder
+ * is committed, by one database operation which produces one delta. This is
+ * much cheaper than creating each element and setting each attribute with a
+ * separate call when writing a large number of elements.
+ * </p>
+ * <p>
+ * New elements are appended after the existing children of the parent
+ * element. Attributes can also be set on the parent element itself. A builder
+ * can be committed only once.
+ * </p>
+ * <p>
+ * Instances can be created via <code>RodinCore.newElementTreeBuilder</code>.
+ * </p>
+ *
+ * @see RodinCore#newElementTreeBuilder(IInternalElement)
+ * @since 1.9
+ * @noimplement This interface is not intended to be implemented by clients.
+ */
+public interface IElementTreeBuilder {
+
+	/**
+	 * A node of the tree being built, that is either the parent element of the
+	 * builder or a new element.
+	 *
+	 * @noimplement This interface is not intended to be implemented by
+	 *              clients.
+	 */
+	interface INode {
+
+		/**
+		 * Returns the handle of the element of this node.
+		 *
+		 * @return the element of this node
+		 */
+		IInternalElement getElement();
+
+		/**
+		 * Records a new child of the given type and name for the element of
+		 * this node, after the children recorded so far.
+		 *
+		 * @param type
+		 *            the type of the child to create
+		 * @param name
+		 *            the name of the child to create
+		 * @return the node of the new child
+		 * @exception IllegalStateException
+		 *                if the builder has already been committed
+		 */
+		INode createChild(IInternalElementType<?> type, String name);
+
+		/**
+		 * Records a new child of the given type for the element of this node,
+		 * with a name that is fresh among the children of this element.
+		 *
+		 * @param type
+		 *            the type of the child to create
+		 * @return the node of the new child
+		 * @exception IllegalStateException
+		 *                if the builder has already been committed
+		 * @see IInternalElement#createChild(IInternalElementType,
+		 *      IInternalElement, IProgressMonitor)
+		 */
+		INode createChild(IInternalElementType<?> type);
+
+		/**
+		 * Records the given attribute value for the element of this node,
+		 * replacing any value previously recorded for the same attribute.
+		 *
+		 * @param value
+		 *            the attribute value to set
+		 * @return this node
+		 * @exception IllegalStateException
+		 *                if the builder has already been committed
+		 */
+		INode setAttributeValue(IAttributeValue value);
+
+	}
+
+	/**
+	 * Returns the node of the existing parent element of this builder.
+	 *
+	 * @return the node of the parent element
+	 */
+	INode getRoot();
+
+	/**
+	 * Writes all the recorded elements and attributes to the database, in one
+	 * operation.
+	 *
+	 * @param monitor
+	 *            the given progress monitor
+	 * @exception RodinDBException
+	 *                if the tree cannot be written. Reasons include:
+	 *                <ul>
+	 *                <li>The parent element does not exist
+	 *                (ELEMENT_DOES_NOT_EXIST)</li>
+	 *                <li>The parent element is read-only (READ_ONLY)</li>
+	 *                <li>A new element already exists or is recorded twice
+	 *                (NAME_COLLISION)</li>
+	 *                <li>A new element cannot be a child of its parent
+	 *                (INVALID_CHILD_TYPE)</li>
+	 *                <li>An element cannot carry one of its recorded
+	 *                attributes (INVALID_ATTRIBUTE_TYPE)</li>
+	 *                </ul>
+	 * @exception IllegalStateException
+	 *                if this builder has already been committed
+	 */
+	void commit(IProgressMonitor monitor) throws RodinDBException;
+
+}
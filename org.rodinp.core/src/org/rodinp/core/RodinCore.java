@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@
  *     Systerel - separation of file and root element
  *     Systerel - added database indexer
  *     Systerel - added refinements
+ *     ISP RAS - added element tree builder
  *******************************************************************************/
 package org.rodinp.core;
 
@@ -35,6 +36,7 @@ import org.rodinp.core.location.IAttributeSubstringLocation;
 import org.rodinp.core.location.IInternalLocation;
 import org.rodinp.core.location.IRodinLocation;
 import org.rodinp.internal.core.BatchOperation;
+import org.rodinp.internal.core.ElementTreeBuilder;
 import org.rodinp.internal.core.ElementTypeManager;
 import org.rodinp.internal.core.RefinementManager;
 import org.rodinp.internal.core.Region;
@@ -316,6 +318,23 @@ public class RodinCore extends Plugin {
 		return new Region();
 	}
 
+	/**
+	 * Returns a new builder of a tree of internal elements under the given
+	 * parent element.
+	 * <p>
+	 * This is a handle-only method.
+	 * </p>
+	 * 
+	 * @param parent
+	 *            the element under which new elements are to be created
+	 * @return a new element tree builder
+	 * @since 1.9
+	 */
+	public static IElementTreeBuilder newElementTreeBuilder(
+			IInternalElement parent) {
+		return new ElementTreeBuilder(parent);
+	}
+
 	/**
 	 * Removes the given element changed listener.
 	 * Has no affect if an identical listener is not registered.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2021 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,9 @@
  *     Systerel - fix file not closed on erroneous XML
  *     Systerel - fix upgrade deadlock
  *     CentraleSupelec - remove unnecessary @SuppressWarnings labels
+ *     ISP RAS - added size and reload cost estimation
+ *     ISP RAS - added streaming load and save
+ *     ISP RAS - added lookup of a single child
  *******************************************************************************/
 package org.rodinp.internal.core;
 
@@ -30,6 +33,7 @@ import static org.rodinp.internal.core.version.VersionManager.UNKNOWN_VERSION;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
@@ -38,6 +42,7 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.ErrorListener;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
@@ -74,7 +79,9 @@ import org.xml.sax.SAXParseException;
 /**
  * Implements a Rodin file loaded into memory. 
  * <p>
- * The file is stored as a DOM document.
+ * The file is stored as a DOM document. Unless disabled by the system property
+ * {@link #STREAMING_XML}, the document is built directly from a StAX stream
+ * and serialized without going through a DOM transformer.
  * </p>
  * 
  * @author Laurent Voisin
@@ -82,6 +89,17 @@ import org.xml.sax.SAXParseException;
 public class Buffer {
 	
 	public static boolean DEBUG = false;	
+
+	/**
+	 * Name of the system property that tells whether Rodin files are loaded
+	 * and saved in streaming mode (the default). When set to
+	 * <code>false</code>, a DOM builder and a DOM transformer are used
+	 * instead.
+	 */
+	public static final String STREAMING_XML = "org.rodinp.core.streamingXML"; //$NON-NLS-1$
+
+	private static final boolean STREAMING = Boolean.parseBoolean(System
+			.getProperty(STREAMING_XML, "true"));
 	
 	protected static class XMLErrorHandler implements ErrorHandler {
 		
@@ -121,7 +139,58 @@ public class Buffer {
 		
 	}
 
-	private static final String CONTENTS_ATTRIBUTE = "contents";
+	/*
+	 * Input stream that counts the bytes read from the underlying stream.
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+
+		long count;
+
+		public CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int result = super.read();
+			if (result >= 0) {
+				count++;
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			final int result = super.read(b, off, len);
+			if (result > 0) {
+				count += result;
+			}
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			final long result = super.skip(n);
+			count += result;
+			return result;
+		}
+
+	}
+
+	// Estimated memory used by a buffer, independently of its contents
+	private static final int BUFFER_OVERHEAD = 512;
+
+	// Estimated memory used by a DOM document per byte of its XML contents
+	private static final int DOM_BYTES_PER_XML_BYTE = 8;
+
+	// Estimated cost of loading a buffer, independently of its contents,
+	// expressed in bytes of XML parsing
+	private static final int LOAD_OVERHEAD = 4096;
+
+	// Factor applied to the reload cost of a buffer that must be upgraded
+	private static final int UPGRADE_COST_FACTOR = 4;
+
+	static final String CONTENTS_ATTRIBUTE = "contents";
 	
 	public static final String NAME_ATTRIBUTE = "name";
 
@@ -146,6 +215,13 @@ public class Buffer {
 	// Whether this buffer has changed since latest load or save.
 	private volatile boolean changed;
 
+	// Length of the XML contents from which this buffer was loaded, if any.
+	private volatile long contentsLength;
+
+	// Whether the file of this buffer has an old version, so that an upgrade
+	// will be needed for reloading it.
+	private volatile boolean needsUpgrade;
+
 	public Buffer(RodinFile owner) {
 		this.owner = owner;
 		this.stamp = IResource.NULL_STAMP;
@@ -182,7 +258,10 @@ public class Buffer {
 			throw versionProblem(status, Long.toString(version));
 		}
 		
-		normalize(domDocument.getDocumentElement());
+		if (!STREAMING) {
+			// Already normalized by the streaming loader
+			normalize(domDocument.getDocumentElement());
+		}
 		changed = false;
 		loaded.set(true);
 	}
@@ -193,7 +272,13 @@ public class Buffer {
 		final DocumentBuilder builder = manager.getDocumentBuilder();
 		builder.setErrorHandler(errorHandler);
 
-		domDocument = parseXML(builder, input);
+		final CountingInputStream counter = new CountingInputStream(input);
+		if (STREAMING) {
+			domDocument = parseXMLStream(builder, counter);
+		} else {
+			domDocument = parseXML(builder, counter);
+		}
+		contentsLength = counter.count;
 
 		// the version is always fetched from the file;
 		// if it cannot be verified, then the document is not fetched (although it was parsed successfully)
@@ -230,6 +315,23 @@ public class Buffer {
 		}
 	}
 
+	private Document parseXMLStream(DocumentBuilder builder,
+			InputStream contents) throws RodinDBException {
+		try {
+			final Document document = builder.newDocument();
+			StreamingDOMLoader.load(document, contents);
+			return document;
+		} catch (XMLStreamException e) {
+			throw new RodinDBException(e, XML_PARSE_ERROR);
+		} finally {
+			try {
+				contents.close();
+			} catch (IOException e) {
+				throw new RodinDBException(e, IO_EXCEPTION);
+			}
+		}
+	}
+
 	private int checkVersion() throws RodinDBException {
 		Element root = domDocument.getDocumentElement();
 		IInternalElementType<?> rootType = getElementType(root);
@@ -263,6 +365,7 @@ public class Buffer {
 				// Reload from in-memory byte array
 				if (DEBUG) printDebug("Not saving file: not owning scheduling rule");
 				attemptLoad(cv.toInputStream(), sm.newChild(1));
+				needsUpgrade = true;
 			}
 		} else {
 			if (DEBUG) printDebug("Upgrade failed");
@@ -284,6 +387,38 @@ public class Buffer {
 		return new RodinDBException(status);
 	}
 
+	/**
+	 * Returns the estimated memory footprint of this buffer. Before the buffer
+	 * is loaded, this is a small constant.
+	 * <p>
+	 * This method does not lock this buffer, so that it can be called by the
+	 * Rodin database caches.
+	 * </p>
+	 * 
+	 * @return the estimated size of this buffer in bytes
+	 */
+	public int getEstimatedSize() {
+		final long size = BUFFER_OVERHEAD + contentsLength
+				* DOM_BYTES_PER_XML_BYTE;
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the estimated cost of loading this buffer again after it has been
+	 * dropped, that is of parsing its file contents and upgrading them if
+	 * needed. This cost is expressed in bytes of parsed XML. This method does
+	 * not lock this buffer.
+	 * 
+	 * @return the estimated reload cost of this buffer
+	 */
+	public double getReloadCost() {
+		final double cost = LOAD_OVERHEAD + contentsLength;
+		if (needsUpgrade) {
+			return cost * UPGRADE_COST_FACTOR;
+		}
+		return cost;
+	}
+
 	public Element getDocumentElement() {
 		return domDocument.getDocumentElement();
 	}
@@ -438,6 +573,38 @@ public class Buffer {
 		return result;
 	}
 	
+	/**
+	 * Returns the first DOM child of the given element which has the given
+	 * type and name, without building the handles of the other children.
+	 * 
+	 * @param domElement
+	 *            the parent DOM element
+	 * @param type
+	 *            the type of the child
+	 * @param name
+	 *            the name of the child
+	 * @return the DOM element of the child or <code>null</code> if there is
+	 *         no such child
+	 * @see #getChildren(IInternalElement, Element)
+	 */
+	public Element getChild(Element domElement,
+			IInternalElementType<?> type, String name) {
+		assert domElement.getParentNode() != null;
+		final String typeId = type.getId();
+		for (Node domChildNode = domElement.getFirstChild();
+				domChildNode != null;
+				domChildNode = domChildNode.getNextSibling()) {
+			if (domChildNode.getNodeType() == Node.ELEMENT_NODE
+					&& typeId.equals(domChildNode.getNodeName())) {
+				final Element domChild = (Element) domChildNode;
+				if (name.equals(getElementName(domChild))) {
+					return domChild;
+				}
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Returns the Rodin element corresponding to <code>domChild</code> in the
 	 * given parent. Returns <code>null</code> in case of error building the
@@ -598,19 +765,14 @@ public class Buffer {
 			final boolean keepHistory, ISchedulingRule rule, IProgressMonitor pm)
 			throws RodinDBException {
 		
-		final RodinDBManager manager = RodinDBManager.getRodinDBManager();
-		final Transformer transformer = manager.getDOMTransformer();
-
 		// TODO use the progress monitor while transforming
 		try {
 			final ByteArrayOutputStream oStream = new ByteArrayOutputStream();
-			final StreamResult domResult = new StreamResult(oStream);
-
-			transformer.setErrorListener(errorListener);
-	        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-	        transformer.setOutputProperty(OutputKeys.METHOD, "xml");
-	        transformer.setOutputProperty(OutputKeys.MEDIA_TYPE, "text/xml");
-	        transformer.transform(new DOMSource(domDocument), domResult);
+			if (STREAMING && StreamingDOMSerializer.isSupported(domDocument)) {
+				StreamingDOMSerializer.serialize(domDocument, oStream);
+			} else {
+				transform(oStream);
+			}
 			
 			byte[] bytes = oStream.toByteArray();
 			final ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
@@ -626,6 +788,8 @@ public class Buffer {
 			file.getWorkspace().run(action, rule, 0, pm);
 		} catch (TransformerException e) {
 			throw new RodinDBException(e, XML_SAVE_ERROR);
+		} catch (IOException e) {
+			throw new RodinDBException(e, XML_SAVE_ERROR);
 		} catch (RodinDBException e) {
 			throw e;
 		} catch (CoreException e) {
@@ -636,6 +800,19 @@ public class Buffer {
 		this.changed = false;
 	}
 	
+	private void transform(ByteArrayOutputStream oStream)
+			throws RodinDBException, TransformerException {
+		final RodinDBManager manager = RodinDBManager.getRodinDBManager();
+		final Transformer transformer = manager.getDOMTransformer();
+		final StreamResult domResult = new StreamResult(oStream);
+
+		transformer.setErrorListener(errorListener);
+		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+		transformer.setOutputProperty(OutputKeys.METHOD, "xml");
+		transformer.setOutputProperty(OutputKeys.MEDIA_TYPE, "text/xml");
+		transformer.transform(new DOMSource(domDocument), domResult);
+	}
+
 	public void setAttributeRawValue(Element domElement, String attrName,
 			String newRawValue) {
 		domElement.setAttributeNS(null, attrName, newRawValue);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - space in bytes, reload cost and pinned components
  *******************************************************************************/
 package org.rodinp.internal.core;
 
@@ -14,29 +15,47 @@ import org.rodinp.core.IRodinFile;
 
 /**
  * Implements a cache of Rodin file buffers.
- * 
+ * <p>
+ * The space limit of this cache is expressed in bytes, as estimated by
+ * {@link Buffer#getEstimatedSize()}. Buffers with unsaved changes and buffers
+ * of pinned components are never removed to make space.
+ * </p>
+ *
  * @author Laurent Voisin
  */
 public class BufferCache extends OverflowingLRUCache<IRodinFile, Buffer> {
 
-	public BufferCache(int size) {
-		super(size);
+	private final PinnedComponents pinned;
+
+	public BufferCache(int size, PinnedComponents pinned) {
+		this(size, 0, pinned);
 	}
 
-	public BufferCache(int size, int overflow) {
+	public BufferCache(int size, int overflow, PinnedComponents pinned) {
 		super(size, overflow);
+		this.pinned = pinned;
 	}
 
 	@Override
 	protected boolean canClose(LRUCacheEntry<IRodinFile, Buffer> entry) {
 		Buffer buffer = entry._fValue;
-		return !buffer.hasUnsavedChanges();
+		return !buffer.hasUnsavedChanges() && !pinned.isPinned(entry._fKey);
+	}
+
+	@Override
+	protected int spaceFor(IRodinFile key, Buffer value) {
+		return value.getEstimatedSize();
+	}
+
+	@Override
+	protected double reloadCost(LRUCacheEntry<IRodinFile, Buffer> entry) {
+		return entry._fValue.getReloadCost();
 	}
 
 	@Override
 	protected OverflowingLRUCache<IRodinFile, Buffer> newInstance(int newSize,
 			int overflow) {
-		return null;
+		return new BufferCache(newSize, overflow, pinned);
 	}
 
 	@Override
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core;
+
+import static org.rodinp.core.IRodinDBStatusConstants.INVALID_ATTRIBUTE_TYPE;
+import static org.rodinp.core.IRodinDBStatusConstants.INVALID_CHILD_TYPE;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.rodinp.core.IInternalElementType;
+import org.rodinp.core.IRodinDBStatus;
+import org.rodinp.core.IRodinDBStatusConstants;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinElementDelta;
+import org.rodinp.core.RodinDBException;
+import org.rodinp.core.basis.InternalElement;
+import org.rodinp.internal.core.ElementTreeBuilder.Node;
+import org.rodinp.internal.core.util.Messages;
+
+/**
+ * Writes the tree recorded by an element tree builder. All new elements are
+ * reported in one delta.
+ */
+public class BuildElementTreeOperation extends RodinDBOperation {
+
+	private final Node root;
+
+	public BuildElementTreeOperation(ElementTreeBuilder builder) {
+		super(new IRodinElement[] { builder.getRoot().getElement() });
+		this.root = builder.getRoot();
+	}
+
+	@Override
+	protected void executeOperation() throws RodinDBException {
+		try {
+			beginTask(Messages.operation_buildElementTreeProgress, 2);
+			final InternalElement parent = root.getElement();
+			final RodinFile file = parent.getRodinFile();
+			final RodinFileElementInfo fileInfo = (RodinFileElementInfo) file
+					.getElementInfo(getSubProgressMonitor(1));
+			fileInfo.create(root);
+			final RodinElementDelta delta = newRodinElementDelta();
+			if (!root.getAttributeValues().isEmpty()) {
+				delta.changed(parent, IRodinElementDelta.F_ATTRIBUTE);
+			}
+			for (Node child : root.getChildren()) {
+				delta.added(child.getElement());
+			}
+			addDelta(delta);
+			worked(1);
+		} finally {
+			done();
+		}
+	}
+
+	@Override
+	protected ISchedulingRule getSchedulingRule() {
+		assert false;
+		return null;
+	}
+
+	/**
+	 * Possible failures:
+	 * <ul>
+	 * <li>NO_ELEMENTS_TO_PROCESS - the parent element is <code>null</code>.</li>
+	 * <li>ELEMENT_DOES_NOT_EXIST - the parent element doesn't exist.</li>
+	 * <li>READ_ONLY - the parent element is read only.</li>
+	 * <li>NAME_COLLISION - two new siblings have the same type and name.</li>
+	 * <li>INVALID_CHILD_TYPE - a new element cannot be a child of its parent.</li>
+	 * <li>INVALID_ATTRIBUTE_TYPE - an element cannot carry one of its
+	 * attributes.</li>
+	 * </ul>
+	 * Collisions with existing children of the parent element are detected
+	 * when the tree is written.
+	 */
+	@Override
+	public IRodinDBStatus verify() {
+		final IRodinDBStatus status = super.verify();
+		if (!status.isOK())
+			return status;
+
+		final InternalElement parent = root.getElement();
+		if (!parent.exists()) {
+			return new RodinDBStatus(
+					IRodinDBStatusConstants.ELEMENT_DOES_NOT_EXIST,
+					parent
+			);
+		}
+		if (parent.isReadOnly()) {
+			return new RodinDBStatus(
+					IRodinDBStatusConstants.READ_ONLY,
+					parent
+			);
+		}
+		return verify(root);
+	}
+
+	private IRodinDBStatus verify(Node node) {
+		final InternalElement element = node.getElement();
+		final IInternalElementType<?> type = element.getElementType();
+		for (AttributeValue<?, ?> value : node.getAttributeValues()) {
+			final AttributeType<?> attrType = value.getType();
+			if (!type.canCarry(attrType)) {
+				return new RodinDBStatus(INVALID_ATTRIBUTE_TYPE, element,
+						attrType.getId());
+			}
+		}
+		final Set<InternalElement> children = new HashSet<InternalElement>();
+		for (Node child : node.getChildren()) {
+			final InternalElement childElement = child.getElement();
+			final IInternalElementType<?> childType = childElement
+					.getElementType();
+			if (!type.canParent(childType)) {
+				return new RodinDBStatus(INVALID_CHILD_TYPE, element,
+						childType.toString());
+			}
+			if (!children.add(childElement)) {
+				return new RodinDBStatus(
+						IRodinDBStatusConstants.NAME_COLLISION,
+						childElement
+				);
+			}
+			final IRodinDBStatus status = verify(child);
+			if (!status.isOK())
+				return status;
+		}
+		return RodinDBStatus.VERIFIED_OK;
+	}
+
+}
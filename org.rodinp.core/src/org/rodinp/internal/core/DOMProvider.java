@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,13 +7,19 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - added StAX reader
  *******************************************************************************/
 package org.rodinp.internal.core;
 
+import java.io.InputStream;
+
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.FactoryConfigurationError;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
@@ -53,6 +59,9 @@ public class DOMProvider {
 	
 	// Locked by this
 	private TransformerFactory transformerFactory;
+
+	private ThreadLocal<XMLInputFactory> inputFactory =
+		new ThreadLocal<XMLInputFactory>();
 	
 	private DOMProvider() {
 		// singleton class
@@ -128,6 +137,36 @@ public class DOMProvider {
 		return result;
 	}
 	
+	private XMLInputFactory createXMLInputFactory() {
+		final XMLInputFactory result = XMLInputFactory.newInstance();
+		result.setProperty(XMLInputFactory.IS_COALESCING, true);
+		result.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		result.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES,
+				true);
+		result.setProperty(XMLInputFactory.IS_VALIDATING, false);
+		return result;
+	}
+
+	/**
+	 * Returns a new StAX reader on the given stream. The result of this method
+	 * call must be kept confined in the current thread.
+	 * 
+	 * @param contents
+	 *            the XML contents to read
+	 * @return a StAX reader of the given contents
+	 * @throws XMLStreamException
+	 *             in case of XML configuration error
+	 */
+	public XMLStreamReader createXMLStreamReader(InputStream contents)
+			throws XMLStreamException {
+		XMLInputFactory factory = inputFactory.get();
+		if (factory == null) {
+			factory = createXMLInputFactory();
+			inputFactory.set(factory);
+		}
+		return factory.createXMLStreamReader(contents);
+	}
+
 	public Transformer getDOMTransformer() throws RodinDBException {
 		Transformer result = transformer.get();
 		if (result == null) {
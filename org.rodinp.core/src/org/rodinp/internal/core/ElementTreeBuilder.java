@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.rodinp.core.IAttributeValue;
+import org.rodinp.core.IElementTreeBuilder;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IInternalElementType;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.RodinDBException;
+import org.rodinp.core.basis.InternalElement;
+
+/**
+ * Implementation of element tree builders. The recorded tree is written by a
+ * {@link BuildElementTreeOperation}.
+ */
+public class ElementTreeBuilder implements IElementTreeBuilder {
+
+	public class Node implements INode {
+
+		private final InternalElement element;
+
+		private final List<Node> children = new ArrayList<Node>();
+
+		private final Map<String, AttributeValue<?, ?>> attributes = new LinkedHashMap<String, AttributeValue<?, ?>>();
+
+		// Generator of fresh child names, created on demand
+		private NameGenerator generator;
+
+		Node(InternalElement element) {
+			this.element = element;
+		}
+
+		@Override
+		public InternalElement getElement() {
+			return element;
+		}
+
+		@Override
+		public Node createChild(IInternalElementType<?> type, String name) {
+			checkNotCommitted();
+			final InternalElement child = (InternalElement) element
+					.getInternalElement(type, name);
+			if (generator != null) {
+				generator.addUsedName(name);
+			}
+			final Node node = new Node(child);
+			children.add(node);
+			return node;
+		}
+
+		@Override
+		public Node createChild(IInternalElementType<?> type) {
+			checkNotCommitted();
+			if (generator == null) {
+				initializeGenerator();
+			}
+			return createChild(type, generator.advance());
+		}
+
+		private void initializeGenerator() {
+			generator = new NameGenerator();
+			if (this == root) {
+				try {
+					for (IRodinElement child : element.getChildren()) {
+						generator.addUsedName(child.getElementName());
+					}
+				} catch (RodinDBException e) {
+					// Reported when committing
+				}
+			}
+			for (Node child : children) {
+				generator.addUsedName(child.element.getElementName());
+			}
+		}
+
+		@Override
+		public Node setAttributeValue(IAttributeValue value) {
+			checkNotCommitted();
+			final AttributeValue<?, ?> attrValue = (AttributeValue<?, ?>) value;
+			attributes.put(attrValue.getId(), attrValue);
+			return this;
+		}
+
+		public List<Node> getChildren() {
+			return children;
+		}
+
+		public Collection<AttributeValue<?, ?>> getAttributeValues() {
+			return attributes.values();
+		}
+
+	}
+
+	private final Node root;
+
+	private boolean committed;
+
+	public ElementTreeBuilder(IInternalElement parent) {
+		this.root = new Node((InternalElement) parent);
+	}
+
+	@Override
+	public Node getRoot() {
+		return root;
+	}
+
+	void checkNotCommitted() {
+		if (committed) {
+			throw new IllegalStateException("Builder already committed");
+		}
+	}
+
+	@Override
+	public void commit(IProgressMonitor monitor) throws RodinDBException {
+		checkNotCommitted();
+		new BuildElementTreeOperation(this).runOperation(monitor);
+		committed = true;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     ETH Zurich - adapted from org.eclipse.jdt.internal.core.ElementCache
+ *     ISP RAS - space in bytes, reload cost and pinned components
  *******************************************************************************/
 package org.rodinp.internal.core;
 
@@ -15,28 +16,39 @@ import org.rodinp.core.RodinDBException;
 
 /**
  * An LRU cache of <code>Openable</code>s.
+ * <p>
+ * The space limit of this cache is expressed in bytes. The space of a Rodin
+ * file info includes the space of its buffer, as the info keeps a reference to
+ * it.
+ * </p>
  */
 public class OpenableCache extends
 		OverflowingLRUCache<Openable, OpenableElementInfo> {
 
+	// Estimated size of an info that is not the info of a Rodin file
+	private static final int DEFAULT_INFO_SIZE = 1024;
+
+	private final PinnedComponents pinned;
+
 	/**
 	 * Constructs a new element cache of the given size.
 	 */
-	public OpenableCache(int size) {
-		super(size);
+	public OpenableCache(int size, PinnedComponents pinned) {
+		this(size, 0, pinned);
 	}
 
 	/**
 	 * Constructs a new element cache of the given size.
 	 */
-	public OpenableCache(int size, int overflow) {
+	public OpenableCache(int size, int overflow, PinnedComponents pinned) {
 		super(size, overflow);
+		this.pinned = pinned;
 	}
 
 	/**
 	 * Returns true if the element is successfully closed and removed from the
 	 * cache, otherwise false.
-	 * 
+	 *
 	 * <p>
 	 * NOTE: this triggers an external removal of this element by closing the
 	 * element.
@@ -57,14 +69,35 @@ public class OpenableCache extends
 	 */
 	@Override
 	protected OpenableCache newInstance(int newSize, int overflow) {
-		return new OpenableCache(newSize, overflow);
+		return new OpenableCache(newSize, overflow, pinned);
 	}
 
 	@Override
 	protected boolean canClose(
 			LRUCacheEntry<Openable, OpenableElementInfo> entry) {
 		final Openable element = entry._fKey;
+		if (element instanceof RodinFile && pinned.isPinned((RodinFile) element)) {
+			return false;
+		}
 		return element.canBeRemovedFromCache();
 	}
 
+	@Override
+	protected int spaceFor(Openable key, OpenableElementInfo value) {
+		if (value instanceof RodinFileElementInfo) {
+			return ((RodinFileElementInfo) value).getEstimatedSize();
+		}
+		return DEFAULT_INFO_SIZE;
+	}
+
+	@Override
+	protected double reloadCost(
+			LRUCacheEntry<Openable, OpenableElementInfo> entry) {
+		final OpenableElementInfo info = entry._fValue;
+		if (info instanceof RodinFileElementInfo) {
+			return ((RodinFileElementInfo) info).getReloadCost();
+		}
+		return super.reloadCost(entry);
+	}
+
 }
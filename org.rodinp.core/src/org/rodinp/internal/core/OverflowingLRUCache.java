@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,10 +8,15 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     ETH Zurich - adapted from org.eclipse.jdt.internal.core.OverflowingLRUCache
+ *     ISP RAS - eviction weighted by reload cost
  *******************************************************************************/
 package org.rodinp.internal.core;
 
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 import org.rodinp.internal.core.util.LRUCache;
 import org.rodinp.internal.core.util.Messages;
@@ -41,8 +46,19 @@ import org.rodinp.internal.core.util.Messages;
  * will also cause the cache to attempt to shrink.
  * </p>
  * <p>
- * The used space of every element is one. Hence, the notion of used space is
- * actually a number of hardly cached elements.
+ * The used space of every element is given by
+ * <code>spaceFor(Object, Object)</code>, which is one by default.
+ * </p>
+ * <p>
+ * Entries are not evicted in strict LRU order, but take into account the cost
+ * of reloading them, as given by <code>reloadCost(LRUCacheEntry)</code>. Every
+ * entry gets a credit equal to its reload cost per unit of space plus an
+ * inflation value when it is added or accessed. Entries with the lowest credit
+ * are evicted first, and the inflation value is then raised to the credit of
+ * the last evicted entry, so that entries which are not used anymore
+ * eventually get evicted. Entries with the same credit are evicted in LRU
+ * order. In particular, when the reload cost of every entry is equal to its
+ * space, which is the default, entries are evicted in plain LRU order.
  * </p>
  * <p>
  * Use the <code>#peek(Object)</code> and <code>#disableTimestamps()</code>
@@ -74,6 +90,20 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 	 */
 	protected double fLoadFactor = 0.333;
 
+	/**
+	 * Credit of the last evicted entry, which is the base of the credit given
+	 * to entries when they are added or accessed.
+	 */
+	protected double fInflation = 0.0;
+
+	// Orders entries by increasing credit
+	private final Comparator<LRUCacheEntry<K, V>> creditComparator = new Comparator<LRUCacheEntry<K, V>>() {
+		@Override
+		public int compare(LRUCacheEntry<K, V> e1, LRUCacheEntry<K, V> e2) {
+			return Double.compare(e1._fCredit, e2._fCredit);
+		}
+	};
+
 	/**
 	 * Creates a OverflowingLRUCache.
 	 * 
@@ -129,6 +159,24 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 	protected abstract boolean canClose(LRUCacheEntry<K,V> entry);
 
 	protected abstract boolean doClose(LRUCacheEntry<K,V> entry);
+
+	/**
+	 * Returns the cost of reloading the value of the given entry once it has
+	 * been removed from the cache. This default implementation returns the
+	 * space of the entry, which results in plain LRU eviction.
+	 * 
+	 * @param entry
+	 *            an entry of this cache
+	 * @return the cost of reloading the value of the entry
+	 */
+	protected double reloadCost(LRUCacheEntry<K, V> entry) {
+		return entry._fSpace;
+	}
+
+	private void updateCredit(LRUCacheEntry<K, V> entry) {
+		entry._fCredit = fInflation + reloadCost(entry)
+				/ Math.max(1, entry._fSpace);
+	}
 	
 	/**
 	 * Returns an enumerator of the values in the cache with the most recently
@@ -184,6 +232,7 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 	@Override
 	protected boolean makeSpace(int space) {
 
+		updateSpaces();
 		final int limit = getSpaceLimit();
 		if (fOverflow == 0) {
 			/* if space is already available */
@@ -195,7 +244,6 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 		/* Free up space by removing oldest entries */
 		int spaceNeeded = (int) ((1 - fLoadFactor) * limit);
 		spaceNeeded = (spaceNeeded > space) ? spaceNeeded : space;
-		LRUCacheEntry<K,V> entry = fEntryQueueTail;
 
 		try {
 			// disable timestamps update while making space so that the previous
@@ -203,9 +251,14 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 			// (by a call to get(Object) for example)
 			fTimestampsOn = false;
 
-			while (getCurrentSpace() + spaceNeeded > limit && entry != null) {
+			for (LRUCacheEntry<K, V> entry : getEvictionCandidates()) {
+				if (getCurrentSpace() + spaceNeeded <= limit) {
+					break;
+				}
 				removeForSpace(entry);
-				entry = entry._fPrevious;
+				if (entry._fCredit > fInflation) {
+					fInflation = entry._fCredit;
+				}
 			}
 		} finally {
 			fTimestampsOn = true;
@@ -222,6 +275,24 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 		return false;
 	}
 
+	/*
+	 * Returns the entries that can be closed, in eviction order: by increasing
+	 * credit, least recently used first.
+	 */
+	private List<LRUCacheEntry<K, V>> getEvictionCandidates() {
+		final List<LRUCacheEntry<K, V>> result = new ArrayList<LRUCacheEntry<K, V>>();
+		LRUCacheEntry<K, V> entry = fEntryQueueTail;
+		while (entry != null) {
+			if (canClose(entry)) {
+				result.add(entry);
+			}
+			entry = entry._fPrevious;
+		}
+		// Stable sort, preserves LRU order among entries with the same credit
+		Collections.sort(result, creditComparator);
+		return result;
+	}
+
 	@Override
 	protected void removeForSpace(LRUCacheEntry<K, V> entry) {
 		if (!canClose(entry))
@@ -321,8 +392,8 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 		if (entry != null) {
 
 			if (entry.isHard && getCurrentSpace() <= getSpaceLimit()) {
+				setValue(entry, value);
 				updateTimestamp(entry);
-				entry._fValue = value;
 				fOverflow = 0;
 				return value;
 			} else {
@@ -331,7 +402,7 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 		}
 
 		// attempt to make new space
-		makeSpace(1);
+		makeSpace(spaceFor(key, value));
 
 		// add without worring about space, it will
 		// be handled later in a makeSpace call
@@ -396,9 +467,18 @@ public abstract class OverflowingLRUCache<K, V> extends LRUCache<K, V> {
 	 * <p>
 	 * This method will do nothing if timestamps have been disabled.
 	 */
+	@Override
+	protected void privateAddEntry(LRUCacheEntry<K, V> entry, boolean shuffle) {
+		if (!shuffle) {
+			updateCredit(entry);
+		}
+		super.privateAddEntry(entry, shuffle);
+	}
+
 	@Override
 	protected void updateTimestamp(LRUCacheEntry<K,V> entry) {
 		if (fTimestampsOn) {
+			updateCredit(entry);
 			entry._fTimestamp = fTimestampCounter++;
 			if (fEntryQueue != entry) {
 				this.privateRemoveEntry(entry, true);
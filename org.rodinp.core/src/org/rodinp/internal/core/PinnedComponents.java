@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+import org.rodinp.core.IRodinFile;
+
+/**
+ * Records the components whose files must be kept in the Rodin database
+ * caches. A component is identified by the path of its files without their
+ * extension, so that pinning a component pins all files of this component
+ * (e.g., the proof obligation, proof and proof status files of a machine).
+ * <p>
+ * Components can be pinned several times, they get unpinned when they have
+ * been unpinned as many times as they have been pinned.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class PinnedComponents {
+
+	private final Map<IPath, Integer> pins = new HashMap<IPath, Integer>();
+
+	private static IPath getComponent(IFile file) {
+		return file.getFullPath().removeFileExtension();
+	}
+
+	/**
+	 * Pins the component of the given file.
+	 *
+	 * @param file
+	 *            a file of the component to pin
+	 */
+	public synchronized void pin(IFile file) {
+		final IPath component = getComponent(file);
+		final Integer count = pins.get(component);
+		pins.put(component, count == null ? 1 : count + 1);
+	}
+
+	/**
+	 * Unpins the component of the given file.
+	 *
+	 * @param file
+	 *            a file of the component to unpin
+	 */
+	public synchronized void unpin(IFile file) {
+		final IPath component = getComponent(file);
+		final Integer count = pins.get(component);
+		if (count == null) {
+			return;
+		}
+		if (count == 1) {
+			pins.remove(component);
+		} else {
+			pins.put(component, count - 1);
+		}
+	}
+
+	/**
+	 * Tells whether the component of the given Rodin file is currently pinned.
+	 *
+	 * @param rodinFile
+	 *            a Rodin file
+	 * @return <code>true</code> iff the given file must be kept in caches
+	 */
+	public synchronized boolean isPinned(IRodinFile rodinFile) {
+		if (pins.isEmpty()) {
+			return false;
+		}
+		return pins.containsKey(getComponent(rodinFile.getResource()));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,29 +12,48 @@
  *     Systerel - removed deprecated methods and occurrence count
  *     Systerel - separation of file and root element
  *     Systerel - fixed invalid buffer removal during file conversion
+ *     ISP RAS - configurable cache size in bytes, statistics and pinning
  *******************************************************************************/
 package org.rodinp.internal.core;
 
 import java.text.NumberFormat;
 import java.util.HashMap;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.rodinp.core.IElementType;
 import org.rodinp.core.IRodinDB;
 import org.rodinp.core.IRodinFile;
 import org.rodinp.core.IRodinProject;
+import org.rodinp.core.RodinCore;
+import org.rodinp.internal.core.util.LRUCache;
 
 /**
  * The cache of Rodin elements to their respective info.
  */
 public class RodinDBCache {
 
+	/**
+	 * Name of the preference (and of the system property giving its default
+	 * value) that contains the size, in kilobytes, of the memory that each of
+	 * the Rodin file cache and of the buffer cache may use. By default, this
+	 * is a fraction of the maximum heap size.
+	 */
+	public static final String CACHE_SIZE = "org.rodinp.core.cacheSize"; //$NON-NLS-1$
+
 	// average 25552 bytes per project.
 	private static final int DEFAULT_PROJECT_SIZE = 5;
 
-	// number of files in hard cache (absolute minimum = 3)
-	private static final int DEFAULT_OPENABLE_SIZE = 3;
+	// bounds of the default cache size in kilobytes
+	private static final int MIN_DEFAULT_CACHE_SIZE = 8 * 1024;
+	private static final int MAX_DEFAULT_CACHE_SIZE = 128 * 1024;
+
+	// absolute minimum of the cache size in kilobytes
+	private static final int MIN_CACHE_SIZE = 256;
 
-	private static final int DEFAULT_BUFFER_SIZE = DEFAULT_OPENABLE_SIZE;
+	// absolute maximum of the cache size in kilobytes
+	private static final int MAX_CACHE_SIZE = Integer.MAX_VALUE / 2048;
 	
 	/**
 	 * Active Rodin Model Info
@@ -56,13 +75,72 @@ public class RodinDBCache {
 	 */
 	private BufferCache bufferCache;
 
+	/**
+	 * Components whose files shall stay in the caches
+	 */
+	private final PinnedComponents pinned = new PinnedComponents();
+
 	public RodinDBCache() {
+		this(getCacheSize());
+	}
+
+	/**
+	 * Creates a new cache where each of the Rodin file cache and of the buffer
+	 * cache uses at most the given number of kilobytes.
+	 */
+	public RodinDBCache(int cacheSize) {
 		// NB: Don't use a LRUCache for projects as they are constantly reopened
 		// (e.g. during delta processing)
 		this.projectCache = new HashMap<RodinProject, RodinProjectElementInfo>(
 				DEFAULT_PROJECT_SIZE);
-		this.openableCache = new OpenableCache(DEFAULT_OPENABLE_SIZE);
-		this.bufferCache = new BufferCache(DEFAULT_BUFFER_SIZE);
+		final int limit = Math.max(MIN_CACHE_SIZE,
+				Math.min(cacheSize, MAX_CACHE_SIZE)) * 1024;
+		this.openableCache = new OpenableCache(limit, pinned);
+		this.bufferCache = new BufferCache(limit, pinned);
+	}
+
+	/**
+	 * Returns the size of the caches in kilobytes, as given by the preference
+	 * or system property {@link #CACHE_SIZE}.
+	 * 
+	 * @return the size of the caches in kilobytes
+	 */
+	public static int getCacheSize() {
+		final int defaultSize = Integer.getInteger(CACHE_SIZE,
+				getDefaultCacheSize());
+		final IPreferencesService prefs = Platform.getPreferencesService();
+		if (prefs == null) {
+			return defaultSize;
+		}
+		return prefs.getInt(RodinCore.PLUGIN_ID, CACHE_SIZE, defaultSize, null);
+	}
+
+	private static int getDefaultCacheSize() {
+		final long size = Runtime.getRuntime().maxMemory() / 32 / 1024;
+		return (int) Math.max(MIN_DEFAULT_CACHE_SIZE,
+				Math.min(size, MAX_DEFAULT_CACHE_SIZE));
+	}
+
+	/**
+	 * Pins the component of the given file, so that the caches keep the infos
+	 * and buffers of all its files until it gets unpinned.
+	 * 
+	 * @param file
+	 *            a file of the component to pin
+	 */
+	public void pinComponent(IFile file) {
+		pinned.pin(file);
+	}
+
+	/**
+	 * Unpins the component of the given file.
+	 * 
+	 * @param file
+	 *            a file of the component to unpin
+	 * @see #pinComponent(IFile)
+	 */
+	public void unpinComponent(IFile file) {
+		pinned.unpin(file);
 	}
 
 	/**
@@ -168,13 +246,29 @@ public class RodinDBCache {
 		buffer.append("]: "); //$NON-NLS-1$
 		buffer.append(NumberFormat.getInstance().format(
 				this.openableCache.fillingRatio()));
-		buffer.append("%\n"); //$NON-NLS-1$
+		buffer.append("%"); //$NON-NLS-1$
+		appendStatistics(buffer, this.openableCache);
+		buffer.append(prefix);
 		buffer.append("Buffer cache["); //$NON-NLS-1$
 		buffer.append(this.bufferCache.getSpaceLimit());
 		buffer.append("]: "); //$NON-NLS-1$
 		buffer.append(NumberFormat.getInstance().format(
 				this.bufferCache.fillingRatio()));
-		buffer.append("%\n"); //$NON-NLS-1$
+		buffer.append("%"); //$NON-NLS-1$
+		appendStatistics(buffer, this.bufferCache);
 		return buffer.toString();
 	}
+
+	private static void appendStatistics(StringBuilder buffer,
+			LRUCache<?, ?> cache) {
+		buffer.append(", "); //$NON-NLS-1$
+		buffer.append(cache.getEntryCount());
+		buffer.append(" entries, hits: "); //$NON-NLS-1$
+		buffer.append(cache.getHits());
+		buffer.append(", misses: "); //$NON-NLS-1$
+		buffer.append(cache.getMisses());
+		buffer.append(", evictions: "); //$NON-NLS-1$
+		buffer.append(cache.getEvictions());
+		buffer.append("\n"); //$NON-NLS-1$
+	}
 }
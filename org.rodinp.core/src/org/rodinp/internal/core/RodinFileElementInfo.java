@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2009 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,9 @@
  *     Systerel - separation of file and root element
  *     Systerel - added creation of new internal element child
  *     Systerel - generic attribute manipulation
+ *     ISP RAS - added size estimation for caches
+ *     ISP RAS - added lazy lookup of internal elements
+ *     ISP RAS - added creation of element trees
  *******************************************************************************/
 package org.rodinp.internal.core;
 
@@ -36,21 +39,60 @@ import org.rodinp.core.RodinDBException;
 import org.rodinp.core.basis.InternalElement;
 import org.rodinp.core.basis.RodinElement;
 import org.w3c.dom.Element;
-
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Holds the structure of an opened Rodin file.
+ * <p>
+ * Unless disabled by the system property {@link #LAZY_ELEMENT_INFO}, an
+ * internal element is looked up directly in the DOM document of the file when
+ * accessed through its handle. Only the element and its ancestors then get
+ * recorded, the children of its ancestors being only computed when they are
+ * asked for. Reading an attribute of a single element of a large file is
+ * therefore cheap.
+ * </p>
+ * <p>
+ * Once the children of an element have been computed, its info is kept in a
+ * local cache, so that looking up an inexistent child of that element, e.g.,
+ * when creating a new child, does not need to search the DOM document.
+ * </p>
+ */
 public class RodinFileElementInfo extends OpenableElementInfo {
 	
 	public static boolean DEBUG = false;
 
+	/**
+	 * Name of the system property that tells whether internal elements are
+	 * looked up lazily (the default). When set to <code>false</code>, all the
+	 * children of the parent of an element are computed when the element is
+	 * looked up.
+	 */
+	public static final String LAZY_ELEMENT_INFO = "org.rodinp.core.lazyElementInfo"; //$NON-NLS-1$
+
+	private static final boolean LAZY = Boolean.parseBoolean(System
+			.getProperty(LAZY_ELEMENT_INFO, "true"));
+
+	// Estimated size of the maps of this info, without the buffer
+	private static final int INFO_OVERHEAD = 1024;
+
 	// Buffer associated to this Rodin file
-	private Buffer buffer;
+	// Volatile as it is read without locking for cache management.
+	private volatile Buffer buffer;
 	
 	// Tells whether the list of children is up to date
 	private boolean childrenUpToDate;
 	
 	// Local cache of internal element informations
+	// When an element is in this cache, so are all its children in
+	// internalElements.
 	private Map<InternalElement, InternalElementInfo> internalCache;
+
+	// Number of lookups done in the DOM document, for testing purposes
+	private int domLookups;
 	
 	// Map of internal elements inside this file (at any depth)
+	// When an element is in this map, so are all its internal ancestors.
 	// All accesses to this field must be synchronized.
 	private Map<InternalElement, Element> internalElements;
 
@@ -200,6 +242,8 @@ public class RodinFileElementInfo extends OpenableElementInfo {
 		}
 		final IInternalElement parent = (IInternalElement) newParent;
 		final Element domParent = getDOMElementCheckExists(parent);
+		// Compute the siblings once, so that creating many children is linear
+		getElementInfo((InternalElement) parent);
 		checkDOMElementForCollision(newElement);
 		final Element domNextSibling;
 		if (nextSibling != null) {
@@ -221,6 +265,74 @@ public class RodinFileElementInfo extends OpenableElementInfo {
 		}
 	}
 
+	/**
+	 * Creates all the elements recorded in the given builder node, and sets
+	 * all the recorded attributes. Nothing is written if one of the new
+	 * children of the node already exists.
+	 * 
+	 * @param root
+	 *            the root node of an element tree builder
+	 * @throws RodinDBException
+	 *             if the root element does not exist or one of its new
+	 *             children already exists
+	 */
+	public synchronized void create(ElementTreeBuilder.Node root)
+			throws RodinDBException {
+
+		if (DEBUG) {
+			System.out.println("--- CREATE TREE ---");
+			System.out.println("Destination file " + buffer.getOwner().getResource());
+			printInternalElement("parent: ", root.getElement());
+			printCaches();
+		}
+
+		final InternalElement parent = root.getElement();
+		final Element domParent = getDOMElementCheckExists(parent);
+		if (!root.getChildren().isEmpty()) {
+			final Set<InternalElement> existing = buffer.getChildren(parent,
+					domParent).keySet();
+			for (ElementTreeBuilder.Node child : root.getChildren()) {
+				if (existing.contains(child.getElement())) {
+					throw child.getElement().newRodinDBException(
+							new RodinDBStatus(
+									IRodinDBStatusConstants.NAME_COLLISION,
+									child.getElement()));
+				}
+			}
+		}
+		setAttributes(domParent, root);
+		for (ElementTreeBuilder.Node child : root.getChildren()) {
+			final Element domChild = createTree(child, domParent);
+			addToMap(child.getElement(), domChild);
+			addToParentInfo(child.getElement(), null);
+		}
+
+		if (DEBUG) {
+			printCaches();
+			System.out.println("--- END OF CREATE TREE ---");
+		}
+	}
+
+	// Descendants are not recorded, they will be looked up when accessed
+	private Element createTree(ElementTreeBuilder.Node node, Element domParent) {
+		final InternalElement element = node.getElement();
+		final Element domElement = buffer.createElement(
+				element.getElementType(), element.getElementName(),
+				domParent, null);
+		setAttributes(domElement, node);
+		for (ElementTreeBuilder.Node child : node.getChildren()) {
+			createTree(child, domElement);
+		}
+		return domElement;
+	}
+
+	private void setAttributes(Element domElement, ElementTreeBuilder.Node node) {
+		for (AttributeValue<?, ?> value : node.getAttributeValues()) {
+			buffer.setAttributeRawValue(domElement, value.getId(),
+					value.getRawValue());
+		}
+	}
+
 	public synchronized <T extends IInternalElement> T create(InternalElement parent,
 			InternalElementType<T> childType,
 			InternalElement nextSibling) throws RodinDBException {
@@ -252,20 +364,18 @@ public class RodinFileElementInfo extends OpenableElementInfo {
 		}
 	}
 
-	private synchronized Map<String, String> getAttributes(
+	public synchronized IAttributeType[] getAttributeTypes(
 			IInternalElement element) throws RodinDBException {
 		final Element domElement = getDOMElementCheckExists(element);
-		return buffer.getAttributes(domElement);
-	}
-
-	public IAttributeType[] getAttributeTypes(IInternalElement element)
-			throws RodinDBException {
-		final Set<String> attrNames = getAttributes(element).keySet();
+		final NamedNodeMap attributes = domElement.getAttributes();
+		final int length = attributes.getLength();
 		final ElementTypeManager etm = ElementTypeManager.getInstance();
 		final List<IAttributeType> result = new ArrayList<IAttributeType>(
-				attrNames.size());
-		for (String attrName : attrNames) {
-			final AttributeType<?> type = etm.getAttributeType(attrName);
+				length);
+		for (int i = 0; i < length; i++) {
+			final Node item = attributes.item(i);
+			final AttributeType<?> type = etm.getAttributeType(item
+					.getLocalName());
 			if (type != null) {
 				result.add(type);
 			}
@@ -273,16 +383,20 @@ public class RodinFileElementInfo extends OpenableElementInfo {
 		return result.toArray(new IAttributeType[result.size()]);
 	}
 
-	public IAttributeValue[] getAttributeValues(IInternalElement element)
-			throws RodinDBException {
-		final Map<String, String> attributes = getAttributes(element);
+	public synchronized IAttributeValue[] getAttributeValues(
+			IInternalElement element) throws RodinDBException {
+		final Element domElement = getDOMElementCheckExists(element);
+		final NamedNodeMap attributes = domElement.getAttributes();
+		final int length = attributes.getLength();
 		final ElementTypeManager etm = ElementTypeManager.getInstance();
 		final List<IAttributeValue> result = new ArrayList<IAttributeValue>(
-				attributes.size());
-		for (Map.Entry<String, String> entry : attributes.entrySet()) {
-			final AttributeType<?> type = etm.getAttributeType(entry.getKey());
+				length);
+		for (int i = 0; i < length; i++) {
+			final Node item = attributes.item(i);
+			final AttributeType<?> type = etm.getAttributeType(item
+					.getLocalName());
 			if (type != null) {
-				result.add(type.makeValueFromRaw(entry.getValue()));
+				result.add(type.makeValueFromRaw(item.getNodeValue()));
 			}
 		}
 		return result.toArray(new IAttributeValue[result.size()]);
@@ -367,6 +481,13 @@ public class RodinFileElementInfo extends OpenableElementInfo {
 		// Not found, force a cache update
 		IRodinElement parent = element.getParent();
 		if (parent instanceof InternalElement) {
+			if (internalCache.containsKey(parent)) {
+				// All children of the parent are known
+				return null;
+			}
+			if (LAZY) {
+				return lookupDOMElement(element, (InternalElement) parent);
+			}
 			getElementInfo((InternalElement) parent);
 		} else if (! childrenUpToDate) {
 			computeChildren();
@@ -374,6 +495,25 @@ public class RodinFileElementInfo extends OpenableElementInfo {
 		return internalElements.get(element);
 	}
 
+	/*
+	 * Looks up the DOM element of the given element among the DOM children of
+	 * its parent, without computing the other children.
+	 */
+	private Element lookupDOMElement(IInternalElement element,
+			InternalElement parent) {
+		final Element domParent = getDOMElement(parent);
+		if (domParent == null) {
+			return null;
+		}
+		++domLookups;
+		final Element result = buffer.getChild(domParent,
+				element.getElementType(), element.getElementName());
+		if (result != null) {
+			addToMap((InternalElement) element, result);
+		}
+		return result;
+	}
+
 	private Element getDOMElementCheckExists(IInternalElement element)
 			throws RodinDBException {
 		
@@ -397,9 +537,21 @@ public class RodinFileElementInfo extends OpenableElementInfo {
 		}
 		info = new InternalElementInfo();
 		computeChildren(element, domElement, info);
+		internalCache.put(element, info);
 		return info;
 	}
 
+	/**
+	 * Returns the number of internal elements that have been looked up
+	 * directly in the DOM document of this file. This method is intended for
+	 * testing purposes only.
+	 * 
+	 * @return the number of direct lookups done so far
+	 */
+	public synchronized int getDOMLookupCount() {
+		return domLookups;
+	}
+
 	public synchronized boolean hasAttribute(IInternalElement element,
 			IAttributeType attrType) throws RodinDBException {
 		Element domElement = getDOMElementCheckExists(element);
@@ -426,6 +578,36 @@ public class RodinFileElementInfo extends OpenableElementInfo {
 		}
 	}
 
+	/**
+	 * Returns the estimated memory footprint of this info, including its
+	 * buffer. This method does not lock this info, so that it can be called
+	 * by the Rodin database caches.
+	 * 
+	 * @return the estimated size of this info in bytes
+	 */
+	public int getEstimatedSize() {
+		final Buffer currentBuffer = buffer;
+		if (currentBuffer == null) {
+			return INFO_OVERHEAD;
+		}
+		return INFO_OVERHEAD + currentBuffer.getEstimatedSize();
+	}
+
+	/**
+	 * Returns the estimated cost of reopening the Rodin file of this info.
+	 * This method does not lock this info.
+	 * 
+	 * @return the estimated reload cost of this info
+	 * @see Buffer#getReloadCost()
+	 */
+	public double getReloadCost() {
+		final Buffer currentBuffer = buffer;
+		if (currentBuffer == null) {
+			return INFO_OVERHEAD;
+		}
+		return currentBuffer.getReloadCost();
+	}
+
 	private void printCaches() {
 		System.out.println("Keys of internalCache:");
 		printSet(internalCache.keySet());
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.rodinp.internal.core.util.Util;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Builds the DOM document of a Rodin file directly from a StAX stream.
+ * <p>
+ * The document built is the same as the one obtained by parsing the file with
+ * a DOM builder and then normalizing it as done in {@link Buffer}: text nodes
+ * are never created, and for elements in the old format that do not carry a
+ * <code>contents</code> attribute, the last non-blank text of the element is
+ * stored in this attribute. This avoids creating and then deleting the
+ * numerous whitespace text nodes used for indenting Rodin files.
+ * </p>
+ * <p>
+ * Instances must be confined to one thread.
+ * </p>
+ */
+public class StreamingDOMLoader {
+
+	private final Document document;
+
+	// Ancestors of the element being read, innermost last
+	private final List<Element> parents = new ArrayList<Element>();
+
+	// Last non-blank text of each element being read, innermost last
+	private final List<String> texts = new ArrayList<String>();
+
+	// Text read since the last tag
+	private final StringBuilder text = new StringBuilder();
+
+	// Canonical instances of element and attribute names, which are shared by
+	// all nodes of the document as done by DOM builders
+	private final Map<String, String> names = new HashMap<String, String>();
+
+	private StreamingDOMLoader(Document document) {
+		this.document = document;
+	}
+
+	/**
+	 * Parses the given stream into the given DOM document. The stream is not
+	 * closed by this method.
+	 *
+	 * @param document
+	 *            an empty document where to build the contents
+	 * @param contents
+	 *            the XML contents to parse
+	 * @throws XMLStreamException
+	 *             if the contents are not well-formed XML
+	 */
+	public static void load(Document document, InputStream contents)
+			throws XMLStreamException {
+		final XMLStreamReader reader = DOMProvider.getInstance()
+				.createXMLStreamReader(contents);
+		try {
+			if (reader.standaloneSet()) {
+				document.setXmlStandalone(reader.isStandalone());
+			}
+			new StreamingDOMLoader(document).load(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private void load(XMLStreamReader reader) throws XMLStreamException {
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case START_ELEMENT:
+				endText();
+				startElement(reader);
+				break;
+			case END_ELEMENT:
+				endText();
+				endElement();
+				break;
+			case CHARACTERS:
+			case CDATA:
+			case SPACE:
+				if (!parents.isEmpty()) {
+					text.append(reader.getTextCharacters(),
+							reader.getTextStart(), reader.getTextLength());
+				}
+				break;
+			case PROCESSING_INSTRUCTION:
+				endText();
+				appendChild(document.createProcessingInstruction(
+						reader.getPITarget(), reader.getPIData()));
+				break;
+			default:
+				// Ignore comments, DTD and document delimiters
+				break;
+			}
+		}
+	}
+
+	private void startElement(XMLStreamReader reader) {
+		final Element element = document.createElementNS(
+				emptyToNull(reader.getNamespaceURI()),
+				name(reader.getPrefix(), reader.getLocalName()));
+		final int nsCount = reader.getNamespaceCount();
+		for (int i = 0; i < nsCount; i++) {
+			final String prefix = reader.getNamespacePrefix(i);
+			final String name = prefix == null || prefix.length() == 0 ? "xmlns"
+					: "xmlns:" + prefix;
+			element.setAttributeNS("http://www.w3.org/2000/xmlns/", name,
+					reader.getNamespaceURI(i));
+		}
+		final int count = reader.getAttributeCount();
+		for (int i = 0; i < count; i++) {
+			element.setAttributeNS(
+					emptyToNull(reader.getAttributeNamespace(i)),
+					name(reader.getAttributePrefix(i),
+							reader.getAttributeLocalName(i)),
+					reader.getAttributeValue(i));
+		}
+		appendChild(element);
+		parents.add(element);
+		texts.add(null);
+	}
+
+	private void appendChild(Node node) {
+		if (parents.isEmpty()) {
+			document.appendChild(node);
+		} else {
+			parents.get(parents.size() - 1).appendChild(node);
+		}
+	}
+
+	/*
+	 * Records the text read since the last tag as the last non-blank text of
+	 * the current element, if appropriate.
+	 */
+	private void endText() {
+		if (text.length() == 0) {
+			return;
+		}
+		final String contents = text.toString();
+		text.setLength(0);
+		if (Util.trimSpaceChars(contents).length() != 0) {
+			texts.set(texts.size() - 1, contents);
+		}
+	}
+
+	private void endElement() {
+		final int last = parents.size() - 1;
+		final Element element = parents.remove(last);
+		final String contents = texts.remove(last);
+		if (contents != null
+				&& element.getAttributeNodeNS(null, Buffer.CONTENTS_ATTRIBUTE) == null) {
+			// Old format
+			element.setAttributeNS(null, Buffer.CONTENTS_ATTRIBUTE, contents);
+		}
+	}
+
+	private static String emptyToNull(String string) {
+		if (string == null || string.length() == 0) {
+			return null;
+		}
+		return string;
+	}
+
+	private String name(String prefix, String localName) {
+		final String name;
+		if (prefix == null || prefix.length() == 0) {
+			name = localName;
+		} else {
+			name = prefix + ":" + localName;
+		}
+		final String canonical = names.get(name);
+		if (canonical != null) {
+			return canonical;
+		}
+		names.put(name, name);
+		return name;
+	}
+
+}
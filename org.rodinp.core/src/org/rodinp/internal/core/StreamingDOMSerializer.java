@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Serializes the DOM document of a Rodin file directly to a character stream.
+ * <p>
+ * The output is byte-identical to the one of the DOM transformer provided by
+ * {@link DOMProvider}. The XML declaration, line separator and indentation
+ * used by this transformer are found out once, by serializing a small sample
+ * document with it. Documents that contain anything else than elements and
+ * attributes without namespace (which is the case of normalized Rodin files)
+ * are not supported by this class and must be serialized with the DOM
+ * transformer.
+ * </p>
+ */
+public class StreamingDOMSerializer {
+
+	private static class Format {
+
+		final String declaration;
+		final String lineSeparator;
+		final String indent;
+
+		Format(String declaration, String lineSeparator, String indent) {
+			this.declaration = declaration;
+			this.lineSeparator = lineSeparator;
+			this.indent = indent;
+		}
+
+	}
+
+	// Format of the DOM transformer, computed lazily
+	private static Format format;
+
+	private final Writer writer;
+	private final Format fmt;
+
+	private StreamingDOMSerializer(Writer writer, Format fmt) {
+		this.writer = writer;
+		this.fmt = fmt;
+	}
+
+	/**
+	 * Tells whether the given document can be serialized by this class.
+	 *
+	 * @param document
+	 *            a DOM document
+	 * @return <code>true</code> iff the document can be serialized by this
+	 *         class
+	 */
+	public static boolean isSupported(Document document) {
+		if (document.getXmlStandalone()
+				|| !"1.0".equals(document.getXmlVersion())) {
+			return false;
+		}
+		final Element root = document.getDocumentElement();
+		if (root == null || document.getFirstChild() != root
+				|| root.getNextSibling() != null) {
+			return false;
+		}
+		return isSupported(root);
+	}
+
+	private static boolean isSupported(Element element) {
+		if (element.getNamespaceURI() != null) {
+			return false;
+		}
+		final NamedNodeMap attributes = element.getAttributes();
+		final int length = attributes.getLength();
+		for (int i = 0; i < length; i++) {
+			final Node attribute = attributes.item(i);
+			if (attribute.getNamespaceURI() != null
+					|| !isSupported(attribute.getNodeValue())) {
+				return false;
+			}
+		}
+		for (Node child = element.getFirstChild(); child != null; child = child
+				.getNextSibling()) {
+			if (child.getNodeType() != Node.ELEMENT_NODE
+					|| !isSupported((Element) child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Rejects unpaired surrogates, for which the transformer reports errors
+	private static boolean isSupported(String value) {
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			if (Character.isHighSurrogate(c)) {
+				if (i + 1 == length
+						|| !Character.isLowSurrogate(value.charAt(i + 1))) {
+					return false;
+				}
+				i++;
+			} else if (Character.isLowSurrogate(c)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Serializes the given document to the given stream in UTF-8. The document
+	 * must be supported by this class.
+	 *
+	 * @param document
+	 *            the document to serialize
+	 * @param stream
+	 *            the stream where to write the document
+	 * @throws IOException
+	 *             in case of error while writing to the stream
+	 * @throws TransformerException
+	 *             in case of error while finding out the output format
+	 * @see #isSupported(Document)
+	 */
+	public static void serialize(Document document, OutputStream stream)
+			throws IOException, TransformerException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(stream,
+				StandardCharsets.UTF_8));
+		final StreamingDOMSerializer serializer = new StreamingDOMSerializer(
+				writer, getFormat());
+		serializer.serialize(document);
+		writer.flush();
+	}
+
+	private static synchronized Format getFormat() throws TransformerException {
+		if (format == null) {
+			format = computeFormat();
+		}
+		return format;
+	}
+
+	/*
+	 * Serializes a sample document with the DOM transformer and extracts the
+	 * format from the result.
+	 */
+	private static Format computeFormat() throws TransformerException {
+		final Document sample;
+		try {
+			sample = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+					.newDocument();
+		} catch (Exception e) {
+			throw new TransformerException(e);
+		}
+		final Element root = sample.createElementNS(null, "r");
+		sample.appendChild(root);
+		root.appendChild(sample.createElementNS(null, "c"));
+		final Transformer transformer;
+		try {
+			transformer = DOMProvider.getInstance().getDOMTransformer();
+		} catch (Exception e) {
+			throw new TransformerException(e);
+		}
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		transformer.transform(new DOMSource(sample), new StreamResult(out));
+		final String result = new String(out.toByteArray(),
+				StandardCharsets.UTF_8);
+
+		// Expected: <decl><r>LINE_SEP INDENT <c/> LINE_SEP </r> LINE_SEP
+		final int rootStart = result.indexOf("<r>");
+		final int childStart = result.indexOf("<c/>");
+		final int rootEnd = result.indexOf("</r>");
+		if (rootStart < 0 || childStart < 0 || rootEnd < 0) {
+			throw new TransformerException("Unexpected transformer output: "
+					+ result);
+		}
+		final String lineSeparator = result.substring(childStart + 4, rootEnd);
+		final String afterRoot = result.substring(rootStart + 3, childStart);
+		if (!afterRoot.startsWith(lineSeparator)
+				|| !result.endsWith("</r>" + lineSeparator)) {
+			throw new TransformerException("Unexpected transformer output: "
+					+ result);
+		}
+		final String indent = afterRoot.substring(lineSeparator.length());
+		final String declaration = result.substring(0, rootStart);
+		return new Format(declaration, lineSeparator, indent);
+	}
+
+	private void serialize(Document document) throws IOException {
+		writer.write(fmt.declaration);
+		serialize(document.getDocumentElement(), 0);
+		writer.write(fmt.lineSeparator);
+	}
+
+	private void serialize(Element element, int depth) throws IOException {
+		final String name = element.getNodeName();
+		writer.write('<');
+		writer.write(name);
+		final NamedNodeMap attributes = element.getAttributes();
+		final int length = attributes.getLength();
+		for (int i = 0; i < length; i++) {
+			final Node attribute = attributes.item(i);
+			writer.write(' ');
+			writer.write(attribute.getNodeName());
+			writer.write("=\"");
+			writeAttributeValue(attribute.getNodeValue());
+			writer.write('"');
+		}
+		Node child = element.getFirstChild();
+		if (child == null) {
+			writer.write("/>");
+			return;
+		}
+		writer.write('>');
+		for (; child != null; child = child.getNextSibling()) {
+			newLine(depth + 1);
+			serialize((Element) child, depth + 1);
+		}
+		newLine(depth);
+		writer.write("</");
+		writer.write(name);
+		writer.write('>');
+	}
+
+	private void newLine(int depth) throws IOException {
+		writer.write(fmt.lineSeparator);
+		for (int i = 0; i < depth; i++) {
+			writer.write(fmt.indent);
+		}
+	}
+
+	/*
+	 * Escapes characters as done by the DOM transformer.
+	 */
+	private void writeAttributeValue(String value) throws IOException {
+		final int length = value.length();
+		int start = 0;
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			final String escape;
+			switch (c) {
+			case '&':
+				escape = "&amp;";
+				break;
+			case '<':
+				escape = "&lt;";
+				break;
+			case '>':
+				escape = "&gt;";
+				break;
+			case '"':
+				escape = "&quot;";
+				break;
+			default:
+				if (c < 0x20) {
+					escape = "&#" + (int) c + ";";
+				} else if (Character.isHighSurrogate(c)) {
+					escape = "&#" + value.codePointAt(i) + ";";
+				} else {
+					continue;
+				}
+			}
+			writer.write(value, start, i - start);
+			writer.write(escape);
+			if (Character.isHighSurrogate(c)) {
+				i++;
+			}
+			start = i + 1;
+		}
+		writer.write(value, start, length - start);
+	}
+
+}
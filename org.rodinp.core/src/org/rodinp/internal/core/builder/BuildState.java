@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2012 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - binary format and lazy reading of the graph
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -14,24 +15,37 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.rodinp.internal.core.RodinDBManager;
+import org.rodinp.internal.core.util.Util;
 
 /**
  * State of the incremental builder for a project 
+ * <p>
+ * The dependency graph is serialized with {@link GraphSerializer}. When
+ * reading a state, the graph is only decoded when first accessed, and if it
+ * is never accessed, the same bytes are written back when saving the state.
+ * States serialized by former versions with Java serialization are still
+ * read, so that they do not cause a full build.
+ * </p>
  * 
  * @author Laurent Voisin
  */
 public class BuildState {
 
 	// Version used for serialization
-	private static int VERSION = 1;
+	private static final int VERSION = 2;
+
+	// Former version using Java serialization, only read
+	private static final int JAVA_SERIALIZATION_VERSION = 1;
 	
 	private String projectName;
-	Graph graph;
+	private Graph graph;
+
+	// Serialized graph not decoded yet, or null
+	private byte[] image;
 	
 	private BuildState() {
 		// Empty constructor
@@ -51,6 +65,42 @@ public class BuildState {
 		}
 		return state;
 	}
+
+	/**
+	 * Returns the dependency graph of this state, decoding it if necessary.
+	 * 
+	 * @return the dependency graph of this state
+	 */
+	public synchronized Graph getGraph() {
+		if (graph == null) {
+			graph = decodeGraph();
+			image = null;
+		}
+		return graph;
+	}
+
+	public synchronized void setGraph(Graph graph) {
+		this.graph = graph;
+		this.image = null;
+	}
+
+	private Graph decodeGraph() {
+		long t = System.currentTimeMillis();
+		try {
+			final Graph result = GraphSerializer.decode(image);
+			if (RodinBuilder.DEBUG) {
+				t = System.currentTimeMillis() - t;
+				System.out.println("Decoded builder dependency graph of " //$NON-NLS-1$
+						+ projectName + " with " + result.size() //$NON-NLS-1$
+						+ " nodes in " + t + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return result;
+		} catch (IOException e) {
+			// Same as a missing state: everything will be built again
+			Util.log(e, "while reading builder state for " + projectName); //$NON-NLS-1$
+			return new Graph();
+		}
+	}
 	
 	/**
 	 * Reads the build state for the given project from the given stream
@@ -68,7 +118,8 @@ public class BuildState {
 			System.out.println("About to read builder state for " + project.getName()); //$NON-NLS-1$
 		
 		// Check version
-		if (VERSION != in.readByte()) {
+		final int version = in.readByte();
+		if (version != VERSION && version != JAVA_SERIALIZATION_VERSION) {
 			if (RodinBuilder.DEBUG)
 				System.out.println("Found non-compatible state version... answered null for " + project.getName()); //$NON-NLS-1$
 			return null;
@@ -83,7 +134,15 @@ public class BuildState {
 			return null;
 		}
 		
-		// Read dependency graph
+		// Read dependency graph, decoded lazily
+		if (version == VERSION) {
+			final byte[] bytes = new byte[in.readInt()];
+			in.readFully(bytes);
+			newState.image = bytes;
+			if (RodinBuilder.DEBUG)
+				System.out.println("Successfully read builder state for " + newState.projectName); //$NON-NLS-1$
+			return newState;
+		}
 		ObjectInputStream ois = new ObjectInputStream(in);
 		try {
 			newState.graph = (Graph) ois.readObject();
@@ -102,7 +161,7 @@ public class BuildState {
 		return "Builder state for project " + projectName;
 	}
 
-	public void write(DataOutputStream out) throws IOException {
+	public synchronized void write(DataOutputStream out) throws IOException {
 		if (RodinBuilder.DEBUG)
 			System.out.println("About to write builder state for " + projectName); //$NON-NLS-1$
 		
@@ -112,9 +171,10 @@ public class BuildState {
 		// Write project name
 		out.writeUTF(projectName);
 		
-		// Write dependency graph
-		ObjectOutputStream oos = new ObjectOutputStream(out);
-		oos.writeObject(graph);
+		// Write dependency graph, as read if it has not been decoded
+		final byte[] bytes = graph == null ? image : GraphSerializer.encode(graph);
+		out.writeInt(bytes.length);
+		out.write(bytes);
 
 		if (RodinBuilder.DEBUG)
 			System.out.println("Successfully written builder state for " + projectName); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2010 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     ETH Zurich - initial API and implementation
  *     Systerel - added builder performance trace
+ *     ISP RAS - pin the component of the target in the Rodin database cache
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -17,6 +18,8 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.rodinp.internal.core.RodinDBCache;
+import org.rodinp.internal.core.RodinDBManager;
 
 /**
  * @author Stefan Hallerstede
@@ -34,7 +37,15 @@ public class FileRunnable implements IWorkspaceRunnable {
 	@Override
 	public void run(IProgressMonitor monitor) throws CoreException {
 		final long start = DEBUG_PERF ? System.currentTimeMillis() : 0;
-		changed = toolDesc.getTool().run(source, target, monitor);
+		// Keep the files of the component being built in memory, as tools
+		// usually access several of them (e.g., POs, proofs and statuses)
+		final RodinDBCache cache = RodinDBManager.getRodinDBManager().cache;
+		cache.pinComponent(target);
+		try {
+			changed = toolDesc.getTool().run(source, target, monitor);
+		} finally {
+			cache.unpinComponent(target);
+		}
 		if (DEBUG_PERF) {
 			final long end = System.currentTimeMillis();
 			final String run = toolDesc.getId() + "(" + source.getName()
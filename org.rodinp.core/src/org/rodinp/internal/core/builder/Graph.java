@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,8 @@
  *     Systerel - added builder performance trace
  *     Systerel - rework traces
  *     CentraleSupélec - projects dependencies
+ *     ISP RAS - added parallel build mode
+ *     ISP RAS - binary build state format
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -26,6 +28,14 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -70,6 +80,43 @@ public class Graph implements Serializable, Iterable<Node> {
 	
 	private static final long serialVersionUID = -2582281523890155270L;
 
+	/**
+	 * Run of a tool in a worker thread during a parallel build. The outcome of
+	 * the run is recorded and processed later by the builder thread, which is
+	 * the only one allowed to modify the graph.
+	 */
+	private static class ToolRun implements Callable<ToolRun> {
+
+		final Node node;
+		final ToolDescription toolDescription;
+		final FileRunnable runnable;
+		final ToolSchedulingRule rule;
+		final IProgressMonitor monitor;
+		Throwable error;
+
+		public ToolRun(Node node, ToolDescription toolDescription,
+				IProgressMonitor monitor) {
+			final IFile source = node.getCreator().getFile();
+			final IFile target = node.getTarget().getFile();
+			this.node = node;
+			this.toolDescription = toolDescription;
+			this.runnable = new FileRunnable(toolDescription, source, target);
+			this.rule = new ToolSchedulingRule(source, target);
+			this.monitor = monitor;
+		}
+
+		@Override
+		public ToolRun call() {
+			try {
+				RodinCore.run(runnable, rule, monitor);
+			} catch (Throwable e) {
+				error = e;
+			}
+			return this;
+		}
+
+	}
+
 	private HashMap<String,Node> nodes;
 	
 	transient private HashMap<IPath, Node> nodeCache;
@@ -97,6 +144,11 @@ public class Graph implements Serializable, Iterable<Node> {
 		return node;
 	}
 
+	// Adds a node read from a build state, caches must be initialized after
+	protected void restoreNode(Node node) {
+		nodes.put(node.getTarget().getName(), node);
+	}
+
 	public Node builderAddNodeToGraph(IPath path) {
 		Node node = new Node();
 		node.getTarget().setPath(path);
@@ -181,19 +233,30 @@ public class Graph implements Serializable, Iterable<Node> {
 		 * it can happen that the build would have been started with wrong dependencies, hence,
 		 * the topological order would be invalid for the Rodin project. In this case
 		 * the build is restarted, recreating all derived resources that may have been invalidated.
+		 * <p>
+		 * If <code>threads</code> is greater than one, the tools of nodes that
+		 * do not depend on each other are run concurrently by that many worker
+		 * threads. Otherwise, all tools are run one after the other by the
+		 * calling thread.
+		 * </p>
 		 * @param manager
 		 * 		The progress manager to use
+		 * @param threads
+		 * 		The number of threads to use for running tools
 		 * @throws CoreException
 		 * 		If any problem occurred during build.
 		 */
-		public void builderBuildGraph(ProgressManager manager) throws CoreException {
+		public void builderBuildGraph(ProgressManager manager, int threads) throws CoreException {
 			if(RodinBuilder.DEBUG_GRAPH) {
 				traceGraph("IN Graph:"); //$NON-NLS-1$
 			}
 			instable = true;
 			while(instable) {
 				topSortInit();
-				topSortNodes(nodePreList, true, manager);
+				if (threads > 1)
+					parallelTopSortNodes(nodePreList, manager, threads);
+				else
+					topSortNodes(nodePreList, true, manager);
 				if(RodinBuilder.DEBUG_GRAPH) {
 					traceGraph("OUT Graph:"); //$NON-NLS-1$
 					tracePreList("Build Order:"); //$NON-NLS-1$
@@ -309,13 +372,8 @@ public class Graph implements Serializable, Iterable<Node> {
 	}
 		
 	private void runTool(Node node, ProgressManager manager) {
-		if(node.isPhantom())
+		if(!isRunnable(node))
 			return;
-		if (node.getTarget().getFile() == null) {// resource is not a file
-			Util.log(null, "Builder resource not a file" + 
-					node.getTarget().getName()); //$NON-NLS-1$
-			return;
-		}
 		
 		boolean changed = false;
 		
@@ -326,16 +384,9 @@ public class Graph implements Serializable, Iterable<Node> {
 			changed = true;
 			
 		} else {
-			if(RodinBuilder.DEBUG_RUN)
-				trace("Running tool: " + node.getToolId() + " on node: " + 
-					 node.getTarget().getName()); //$NON-NLS-1$ //$NON-NLS-2$
-			ToolDescription toolDescription = getManager().getToolDescription(node.getToolId());
-			IAutomaticTool tool = toolDescription.getTool();
-			if(tool == null) {
-				Util.log(null, "Unknown tool: " + node.getToolId() + " for node " + 
-						node.getTarget().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			ToolDescription toolDescription = getRunnableToolDescription(node);
+			if(toolDescription == null)
 				return;
-			}
 			try {
 				
 				FileRunnable runnable = 
@@ -354,6 +405,36 @@ public class Graph implements Serializable, Iterable<Node> {
 			}
 		}
 		
+		toolHasRun(node, changed, manager);
+	}
+
+	private boolean isRunnable(Node node) {
+		if(node.isPhantom())
+			return false;
+		if (node.getTarget().getFile() == null) {// resource is not a file
+			Util.log(null, "Builder resource not a file" + 
+					node.getTarget().getName()); //$NON-NLS-1$
+			return false;
+		}
+		return true;
+	}
+
+	private ToolDescription getRunnableToolDescription(Node node) {
+		if(RodinBuilder.DEBUG_RUN)
+			trace("Running tool: " + node.getToolId() + " on node: " + 
+				 node.getTarget().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		ToolDescription toolDescription = getManager().getToolDescription(node.getToolId());
+		IAutomaticTool tool = toolDescription.getTool();
+		if(tool == null) {
+			Util.log(null, "Unknown tool: " + node.getToolId() + " for node " + 
+					node.getTarget().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+		return toolDescription;
+	}
+
+	private void toolHasRun(Node node, boolean changed, ProgressManager manager) {
+		
 		// we can ignore the rest of this method on cancelation
 		// the updated file only becomes committed after node.dated is set to false
 		
@@ -537,6 +618,105 @@ public class Graph implements Serializable, Iterable<Node> {
 		}
 	}
 
+	/**
+	 * Parallel version of <code>topSortNodes()</code>.
+	 * <p>
+	 * Nodes whose predecessors have all been processed are ready. The tool of
+	 * a ready node is run by a worker thread, while all modifications of the
+	 * graph (extraction, successor traversal) are done by the calling thread
+	 * once the tool has finished. Hence the successors of a node are only
+	 * considered after its tool has run, as in the sequential version. When
+	 * the graph becomes instable, no more tools are started and the method
+	 * returns as soon as the running tools have finished.
+	 * </p>
+	 */
+	private void parallelTopSortNodes(LinkedList<Node> sorted,
+			ProgressManager manager, int threads) throws CoreException {
+		final ThreadPoolExecutor executor =
+				(ThreadPoolExecutor) Executors.newFixedThreadPool(threads);
+		final CompletionService<ToolRun> service = new ExecutorCompletionService<ToolRun>(executor);
+		final List<Future<ToolRun>> running = new ArrayList<Future<ToolRun>>();
+		boolean canceled = false;
+		try {
+			while (true) {
+				if (!canceled && manager.isCanceled())
+					canceled = true;
+				if (!canceled && !instable)
+					scheduleReadyNodes(sorted, manager, service, running);
+				if (running.isEmpty())
+					break;
+				final Future<ToolRun> future = service.poll(100, TimeUnit.MILLISECONDS);
+				if (future == null)
+					continue;
+				running.remove(future);
+				final ToolRun run = future.get();
+				if (run.error instanceof OperationCanceledException) {
+					canceled = true;
+				} else if (run.error != null) {
+					issueToolError(run.node, run.toolDescription, run.error);
+				} else {
+					toolHasRun(run.node, run.runnable.targetHasChanged(), manager);
+				}
+				if (!canceled && !instable)
+					traverseSuccessors(run.node);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			// cannot happen, tool errors are recorded by the run itself
+			Util.log(e.getCause(), "while running tools in parallel"); //$NON-NLS-1$
+		} finally {
+			executor.shutdownNow();
+		}
+		if (canceled)
+			throw new OperationCanceledException();
+	}
+
+	private void scheduleReadyNodes(LinkedList<Node> sorted,
+			ProgressManager manager, CompletionService<ToolRun> service,
+			List<Future<ToolRun>> running) {
+		boolean progress = true;
+		while (progress && !instable) {
+			progress = false;
+			for (Node node : new ArrayList<Node>(nodePostList)) {
+				if (instable)
+					break;
+				if (node.done || node.count != 0)
+					continue;
+				progress = true;
+				nodePostList.remove(node);
+				sorted.add(node);
+				MarkerHelper.deleteBuilderProblemMarkers(node.getTarget().getFile());
+				node.done = true;
+				if (node.isDated()) {
+					if (!node.isDerived()) {
+						runTool(node, manager);
+					} else if (isRunnable(node)) {
+						final ToolDescription toolDescription = getRunnableToolDescription(node);
+						if (toolDescription != null) {
+							final ToolRun run = new ToolRun(node, toolDescription,
+									manager.getSliceProgressMonitor());
+							running.add(service.submit(run));
+							continue;
+						}
+					}
+				}
+				if (!instable)
+					traverseSuccessors(node);
+			}
+		}
+	}
+
+	private void traverseSuccessors(Node node) {
+		Node succNode = node.getCurrentSuccessorNode();
+		while (succNode != null) {
+			node.advanceSuccessorPos();
+			succNode.count--;
+			succNode = node.getCurrentSuccessorNode();
+		}
+	}
+
 	private void topSortStep(LinkedList<Node> sorted, Node node, ProgressManager manager) {
 		
 		nodePostList.remove(node);
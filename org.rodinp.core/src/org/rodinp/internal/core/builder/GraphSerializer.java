@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.builder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary representation of a builder dependency graph.
+ * <p>
+ * All strings (paths, tool ids and link ids) are stored once in a string
+ * table and referred to by their index. Nodes and links are also referred to
+ * by their index, so that the graph is stored as arrays of small integers,
+ * which are written in a variable-length encoding. The order of the
+ * predecessor and successor lists of nodes is preserved, so that a graph read
+ * back is processed in the same order as the graph written.
+ * </p>
+ * <p>
+ * The layout is:
+ * <pre>
+ * strings:  count, UTF string*
+ * nodes:    count, mapped count,
+ *           (target + 1, creator + 1, tool id + 1, flags)*
+ * links:    count, (kind, id + 1, source, origin + 1)*
+ * lists:    (predecessor count, link*, successor count, (node, link)*)*
+ * </pre>
+ * where references to nodes and strings are indexes, and <code>0</code>
+ * stands for <code>null</code> for references shifted by one. The first
+ * <i>mapped count</i> nodes are the nodes of the graph; other nodes are only
+ * referred to by links.
+ * </p>
+ */
+final class GraphSerializer {
+
+	private static final int DATED = 1;
+	private static final int PHANTOM = 2;
+	private static final int CYCLE = 4;
+	private static final int PREFERRED = 8;
+
+	private static final Link.Provider[] PROVIDERS = Link.Provider.values();
+	private static final Link.Priority[] PRIORITIES = Link.Priority.values();
+
+	private GraphSerializer() {
+		// Static methods only
+	}
+
+	/**
+	 * Encodes the given graph.
+	 *
+	 * @param graph
+	 *            the graph to encode
+	 * @return the binary representation of the graph
+	 * @throws IOException
+	 *             should not happen
+	 */
+	public static byte[] encode(Graph graph) throws IOException {
+		final Encoder encoder = new Encoder();
+		encoder.collect(graph);
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+				64 * encoder.nodes.size() + 256);
+		final DataOutputStream out = new DataOutputStream(bytes);
+		encoder.write(out);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes a graph. The caches of the graph returned are initialized.
+	 *
+	 * @param image
+	 *            the binary representation of a graph
+	 * @return the decoded graph
+	 * @throws IOException
+	 *             if the representation is corrupted
+	 */
+	public static Graph decode(byte[] image) throws IOException {
+		final DataInputStream in = new DataInputStream(
+				new ByteArrayInputStream(image));
+		try {
+			return new Decoder(in).read();
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupted builder dependency graph", e);
+		}
+	}
+
+	private static class Encoder {
+
+		final Map<String, Integer> stringIndexes = new HashMap<String, Integer>();
+		final List<String> strings = new ArrayList<String>();
+
+		final Map<Node, Integer> nodeIndexes = new IdentityHashMap<Node, Integer>();
+		final List<Node> nodes = new ArrayList<Node>();
+		int mappedCount;
+
+		final Map<Link, Integer> linkIndexes = new IdentityHashMap<Link, Integer>();
+		final List<Link> links = new ArrayList<Link>();
+
+		void collect(Graph graph) {
+			for (Node node : graph) {
+				index(node);
+			}
+			mappedCount = nodes.size();
+			// Nodes are appended while iterating, when not in the graph
+			for (int i = 0; i < nodes.size(); i++) {
+				final Node node = nodes.get(i);
+				for (Link link : node.getPredecessorLinks()) {
+					index(link);
+				}
+				final int count = node.getSuccessorCount();
+				for (int pos = 0; pos < count; pos++) {
+					index(node.getSuccessorNode(pos));
+					index(node.getSuccessorLink(pos));
+				}
+			}
+		}
+
+		private int index(Node node) {
+			final Integer index = nodeIndexes.get(node);
+			if (index != null) {
+				return index;
+			}
+			final int newIndex = nodes.size();
+			nodeIndexes.put(node, newIndex);
+			nodes.add(node);
+			index(node.getTarget().getName());
+			index(node.getCreator().getName());
+			index(node.getToolId());
+			return newIndex;
+		}
+
+		private int index(Link link) {
+			final Integer index = linkIndexes.get(link);
+			if (index != null) {
+				return index;
+			}
+			final int newIndex = links.size();
+			linkIndexes.put(link, newIndex);
+			links.add(link);
+			index(link.id);
+			index(link.source);
+			if (link.origin != null) {
+				index(link.origin);
+			}
+			return newIndex;
+		}
+
+		private int index(String string) {
+			if (string == null) {
+				return -1;
+			}
+			final Integer index = stringIndexes.get(string);
+			if (index != null) {
+				return index;
+			}
+			final int newIndex = strings.size();
+			stringIndexes.put(string, newIndex);
+			strings.add(string);
+			return newIndex;
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			writeInt(out, strings.size());
+			for (String string : strings) {
+				out.writeUTF(string);
+			}
+			writeInt(out, nodes.size());
+			writeInt(out, mappedCount);
+			for (Node node : nodes) {
+				writeInt(out, index(node.getTarget().getName()) + 1);
+				writeInt(out, index(node.getCreator().getName()) + 1);
+				writeInt(out, index(node.getToolId()) + 1);
+				out.writeByte(flags(node));
+			}
+			writeInt(out, links.size());
+			for (Link link : links) {
+				out.writeByte(link.prov.ordinal() | link.prio.ordinal() << 1);
+				writeInt(out, index(link.id) + 1);
+				writeInt(out, index(link.source));
+				writeInt(out, link.origin == null ? 0 : index(link.origin) + 1);
+			}
+			for (Node node : nodes) {
+				final List<Link> preds = node.getPredecessorLinks();
+				writeInt(out, preds.size());
+				for (Link link : preds) {
+					writeInt(out, index(link));
+				}
+				final int count = node.getSuccessorCount();
+				writeInt(out, count);
+				for (int pos = 0; pos < count; pos++) {
+					writeInt(out, index(node.getSuccessorNode(pos)));
+					writeInt(out, index(node.getSuccessorLink(pos)));
+				}
+			}
+		}
+
+		private static int flags(Node node) {
+			int flags = 0;
+			if (node.isDated())
+				flags |= DATED;
+			if (node.isPhantom())
+				flags |= PHANTOM;
+			if (node.isCycle())
+				flags |= CYCLE;
+			if (node.isPreferred())
+				flags |= PREFERRED;
+			return flags;
+		}
+
+	}
+
+	private static class Decoder {
+
+		private final DataInputStream in;
+
+		Decoder(DataInputStream in) {
+			this.in = in;
+		}
+
+		Graph read() throws IOException {
+			final String[] strings = new String[readInt(in)];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = in.readUTF();
+			}
+			final Node[] nodes = new Node[readInt(in)];
+			final int mappedCount = readInt(in);
+			final Graph graph = new Graph();
+			for (int i = 0; i < nodes.length; i++) {
+				final Node node = new Node();
+				node.getTarget().setName(string(strings, readInt(in)));
+				node.getCreator().setName(string(strings, readInt(in)));
+				node.setToolId(string(strings, readInt(in)));
+				final int flags = in.readByte();
+				node.setDated((flags & DATED) != 0);
+				node.setPhantom((flags & PHANTOM) != 0);
+				node.setCycle((flags & CYCLE) != 0);
+				node.setPreferred((flags & PREFERRED) != 0);
+				nodes[i] = node;
+				if (i < mappedCount) {
+					graph.restoreNode(node);
+				}
+			}
+			final Link[] links = new Link[readInt(in)];
+			for (int i = 0; i < links.length; i++) {
+				final int kind = in.readByte();
+				final String id = string(strings, readInt(in));
+				final Node source = nodes[readInt(in)];
+				final int origin = readInt(in);
+				links[i] = new Link(PROVIDERS[kind & 1], PRIORITIES[kind >> 1],
+						id, source, origin == 0 ? null : nodes[origin - 1]);
+			}
+			for (Node node : nodes) {
+				final int predCount = readInt(in);
+				for (int i = 0; i < predCount; i++) {
+					node.restorePredecessorLink(links[readInt(in)]);
+				}
+				final int succCount = readInt(in);
+				for (int i = 0; i < succCount; i++) {
+					final Node succ = nodes[readInt(in)];
+					node.restoreSuccessor(succ, links[readInt(in)]);
+				}
+			}
+			graph.initCaches();
+			return graph;
+		}
+
+		private static String string(String[] strings, int shiftedIndex) {
+			return shiftedIndex == 0 ? null : strings[shiftedIndex - 1];
+		}
+
+	}
+
+	/*
+	 * Writes a non-negative integer using 7 bits per byte, least significant
+	 * bits first.
+	 */
+	private static void writeInt(DataOutputStream out, int value)
+			throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed integer in builder dependency graph");
+	}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     ETH Zurich - initial API and implementation
  *     Systerel - separation of file and root element
  *     Systerel - rework traces
+ *     ISP RAS - binary build state format
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -67,6 +68,13 @@ public class Node implements Serializable, Comparable<Node> {
 			name = path.toString();
 		}
 
+		// Used when reading a build state, the path is computed lazily
+		protected void setName(String name) {
+			this.path = null;
+			this.file = null;
+			this.name = name;
+		}
+
 		@Override
 		public int hashCode() {
 			final int prime = 31;
@@ -180,6 +188,25 @@ public class Node implements Serializable, Comparable<Node> {
 		}
 	}
 	
+	// Restores a predecessor link read from a build state as is
+	protected void restorePredecessorLink(Link link) {
+		predessorLinks.add(link);
+	}
+
+	// Restores a successor read from a build state as is
+	protected void restoreSuccessor(Node node, Link link) {
+		successorNodes.add(node);
+		successorLinks.add(link);
+	}
+
+	protected Node getSuccessorNode(int pos) {
+		return successorNodes.get(pos);
+	}
+
+	protected Link getSuccessorLink(int pos) {
+		return successorLinks.get(pos);
+	}
+
 	protected Collection<IPath> getSources(String id) {
 		ArrayList<IPath> sources = new  ArrayList<IPath>(predessorLinks.size());
 		for(Link link : predessorLinks) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2017 ETH Zurich and others.
+ * Copyright (c) 2006, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     ETH Zurich - initial API and implementation
+ *     ISP RAS - added progress monitors for concurrent tool runs
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -15,7 +16,7 @@ import java.util.List;
 
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.rodinp.internal.core.util.Messages;
 
 /**
@@ -24,7 +25,86 @@ import org.rodinp.internal.core.util.Messages;
  */
 public class ProgressManager {
 
-	private final SubMonitor monitor;
+	/**
+	 * Progress monitor of a slice of the build effort. The work reported on
+	 * this monitor is converted into ticks of the build monitor, which are
+	 * reported as soon as they are complete.
+	 * <p>
+	 * Unlike the children of a <code>SubMonitor</code>, slice monitors do not
+	 * finish each other. Hence, several of them can be used at the same time,
+	 * e.g., by tools run in worker threads during a parallel build. Each slice
+	 * monitor is used by one thread only, while all calls to the build monitor
+	 * are serialized on the progress manager.
+	 * </p>
+	 */
+	private class SliceProgressMonitor implements IProgressMonitor {
+
+		private final int ticks;
+
+		private double totalWork;
+
+		private double work;
+
+		private int reportedTicks;
+
+		public SliceProgressMonitor(int ticks) {
+			this.ticks = ticks;
+		}
+
+		@Override
+		public void beginTask(String name, int total) {
+			this.totalWork = total;
+			this.work = 0;
+		}
+
+		@Override
+		public void done() {
+			report(ticks);
+		}
+
+		@Override
+		public void internalWorked(double amount) {
+			if (totalWork <= 0 || amount <= 0)
+				return;
+			work += amount;
+			report((int) Math.min(ticks, ticks * work / totalWork));
+		}
+
+		private void report(int doneTicks) {
+			if (doneTicks > reportedTicks) {
+				ProgressManager.this.worked(doneTicks - reportedTicks);
+				reportedTicks = doneTicks;
+			}
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return ProgressManager.this.isCanceled();
+		}
+
+		@Override
+		public void setCanceled(boolean value) {
+			ProgressManager.this.setCanceled(value);
+		}
+
+		@Override
+		public void setTaskName(String name) {
+			ProgressManager.this.setTaskName(name);
+		}
+
+		@Override
+		public void subTask(String name) {
+			ProgressManager.this.subTask(name);
+		}
+
+		@Override
+		public void worked(int amount) {
+			internalWorked(amount);
+		}
+
+	}
+
+	private final IProgressMonitor monitor;
 	
 	private final static int MAX_EFFORT = 1000;
 	
@@ -35,7 +115,8 @@ public class ProgressManager {
 	private List<Integer> sList;
 	
 	public ProgressManager(IProgressMonitor monitor, IncrementalProjectBuilder builder) {
-		this.monitor = SubMonitor.convert(new BuilderProgressMonitor(monitor, builder),
+		this.monitor = new BuilderProgressMonitor(monitor, builder);
+		this.monitor.beginTask(
 				Messages.bind(Messages.build_building, builder.getProject().getName()), 
 				MAX_EFFORT);
 		remainingEffort = MAX_EFFORT;
@@ -53,38 +134,56 @@ public class ProgressManager {
 			slices = graph.size();
 	}
 	
-	IProgressMonitor getZeroProgressMonitor() {
-		return monitor.split(0);
+	private IProgressMonitor newSlice(int ticks) {
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+		return new SliceProgressMonitor(ticks);
 	}
 	
-	IProgressMonitor getSliceProgressMonitor() {
+	synchronized IProgressMonitor getZeroProgressMonitor() {
+		return newSlice(0);
+	}
+	
+	synchronized IProgressMonitor getSliceProgressMonitor() {
 		if (slices > 0) {
 			int newSlice = remainingEffort / slices--;
 			remainingEffort -= newSlice;
 			sList.add(remainingEffort);
-			return monitor.split(newSlice);
+			return newSlice(newSlice);
 		} else
 			return getZeroProgressMonitor();
 	}
 	
-	IProgressMonitor getStepProgressMonitor() {
+	synchronized IProgressMonitor getStepProgressMonitor() {
 		if (remainingEffort > 0) {
 			remainingEffort--;
 			sList.add(remainingEffort);
-			return monitor.split(1);
+			return newSlice(1);
 		} else
 			return getZeroProgressMonitor();
 	}
 	
-	void subTask(String name) {
+	synchronized void worked(int ticks) {
+		monitor.worked(ticks);
+	}
+	
+	synchronized void setTaskName(String name) {
+		monitor.setTaskName(name);
+	}
+	
+	synchronized void subTask(String name) {
 		monitor.subTask(name);
 	}
 	
-	public boolean isCanceled() {
+	synchronized void setCanceled(boolean value) {
+		monitor.setCanceled(value);
+	}
+	
+	public synchronized boolean isCanceled() {
 		return monitor.isCanceled();
 	}
 	
-	public void done() {
+	public synchronized void done() {
 		monitor.done();
 	}
 	
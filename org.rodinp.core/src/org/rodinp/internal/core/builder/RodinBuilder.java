@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 ETH Zurich and others.
+ * Copyright (c) 2005, 2026 ETH Zurich and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,8 @@
  *     Systerel - build only direct children of project
  *     Systerel - rework traces
  *     CentraleSupélec - dependencies between projects
+ *     ISP RAS - added parallel build mode
+ *     ISP RAS - lazily decoded dependency graph
  *******************************************************************************/
 package org.rodinp.internal.core.builder;
 
@@ -29,6 +31,8 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+import org.rodinp.core.RodinCore;
 import org.rodinp.internal.core.ElementTypeManager;
 import org.rodinp.internal.core.FileAssociation;
 import org.rodinp.internal.core.util.Util;
@@ -46,6 +50,15 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 	public static boolean DEBUG_PERF = false;
 
 	public static boolean DEBUG_GRAPH = false;
+
+	/**
+	 * Name of the preference (and of the system property giving its default
+	 * value) that contains the number of threads used for running tools during
+	 * a build. With a value less than two, tools are run one after the other
+	 * by the builder thread, which is the default. With a negative value, one
+	 * thread is used per available processor.
+	 */
+	public static final String PARALLEL_BUILD_THREADS = "org.rodinp.core.builder.parallelThreads"; //$NON-NLS-1$
 	
 	BuildState state;
 	
@@ -114,10 +127,10 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 			case IResourceDelta.REMOVED:
 				// handle removed resource
 				
-				Node node = state.graph.getNode(resource.getFullPath());
+				Node node = state.getGraph().getNode(resource.getFullPath());
 				if(node == null)
 					break;
-				state.graph.builderRemoveNodeFromGraph(node, manager);
+				state.getGraph().builderRemoveNodeFromGraph(node, manager);
 				break;
 			case IResourceDelta.CHANGED:
 				// handle changed resource
@@ -151,10 +164,10 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 			elementTypeManager.getFileAssociation(file);
 		if(association == null)
 			return null;
-		Node node = state.graph.getNode(resource.getFullPath());
+		Node node = state.getGraph().getNode(resource.getFullPath());
 		
 		if(node == null) {
-			node = state.graph.builderAddNodeToGraph(resource.getFullPath());
+			node = state.getGraph().builderAddNodeToGraph(resource.getFullPath());
 		}
 		return node;
 	}
@@ -230,7 +243,7 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 				System.out.println("##############################################");
 			}
 		}
-		return state.graph.getProjectDependencies(project);
+		return state.getGraph().getProjectDependencies(project);
 	}
 
 	/**
@@ -242,9 +255,34 @@ public class RodinBuilder extends IncrementalProjectBuilder {
     }
     
 	private void buildGraph(ProgressManager manager) throws CoreException {
-		state.graph.builderBuildGraph(manager);
+		final int threads = getParallelBuildThreads();
+		final long start = DEBUG_PERF ? System.currentTimeMillis() : 0;
+		state.getGraph().builderBuildGraph(manager, threads);
+		if (DEBUG_PERF) {
+			final long end = System.currentTimeMillis();
+			System.out.println("Build of " + getProject().getName() + " with "
+					+ threads + " thread(s) took " + (end - start) + " ms");
+		}
 	}
-	
+
+	/**
+	 * Returns the number of threads to use for running tools during a build,
+	 * as given by the preference or system property
+	 * {@link #PARALLEL_BUILD_THREADS}.
+	 * 
+	 * @return the number of threads to use for running tools
+	 */
+	public static int getParallelBuildThreads() {
+		final int defaultThreads = Integer.getInteger(PARALLEL_BUILD_THREADS, 0);
+		final int threads = Platform.getPreferencesService().getInt(
+				RodinCore.PLUGIN_ID, PARALLEL_BUILD_THREADS, defaultThreads,
+				null);
+		if (threads < 0) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+		return threads;
+	}
+
 	/**
 	 * Hook allowing to initialize some static state before a complete build iteration.
 	 * This hook is invoked during PRE_AUTO_BUILD notification
@@ -254,8 +292,8 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 	}
 
 	private void cleanGraph(ProgressManager manager, boolean onlyClean) throws CoreException {
-		state.graph.builderCleanGraph(getProject(), onlyClean, manager);
-		state.graph = new Graph();
+		state.getGraph().builderCleanGraph(getProject(), onlyClean, manager);
+		state.setGraph(new Graph());
 	}
 	
 	void markNodeDated(IResource resource, boolean userOp, ProgressManager manager) {
@@ -263,7 +301,7 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 		if (ignoredFiles.contains(resource.getName()))
 			return;
 		boolean nodeInProject = resource.getProject().equals(getProject());
-		Node node = state.graph.getNode(resource.getFullPath());
+		Node node = state.getGraph().getNode(resource.getFullPath());
 		if(node == null) {
 			if (!nodeInProject) {
 				return;
@@ -274,7 +312,7 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 		}
 		if(node != null) {
 			if (userOp) {
-				state.graph.builderSetPreferredNode(node);
+				state.getGraph().builderSetPreferredNode(node);
 				node.setPhantom(false);
 			}
 
@@ -286,7 +324,7 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 			 */
 			if (nodeInProject) {
 				try {
-					state.graph.builderExtractNode(node, manager);
+					state.getGraph().builderExtractNode(node, manager);
 				} catch (CoreException e) {
 					Util.log(e, "during extraction after change");
 				}
@@ -300,7 +338,7 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 	protected void fullBuild(final ProgressManager manager) throws CoreException {
 		createGraph(manager);
 		
-		manager.makeSlices(state.graph);
+		manager.makeSlices(state.getGraph());
 		
 		try {
 			buildGraph(manager);
@@ -317,7 +355,7 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 		try {
 			cleanGraph(manager, false);
 			getProject().accept(new RodinBuilderResourceVisitor(manager));
-			state.graph.builderMarkDerivedNodesDated();
+			state.getGraph().builderMarkDerivedNodesDated();
 		} catch (OperationCanceledException e) {
 			if(isInterrupted())
 				return;
@@ -348,7 +386,7 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 					project, 
 					progressManager.getZeroProgressMonitor());
 		
-		progressManager.makeSlices(state.graph);
+		progressManager.makeSlices(state.getGraph());
 		
       try {
         	cleanGraph(progressManager, true);
@@ -373,14 +411,14 @@ public class RodinBuilder extends IncrementalProjectBuilder {
 		// the visitor does the work.
 		var visitor = new RodinBuilderDeltaVisitor(manager);
 		delta.accept(visitor);
-		for (IProject depProject : state.graph.getProjectDependencies(getProject())) {
+		for (IProject depProject : state.getGraph().getProjectDependencies(getProject())) {
 			IResourceDelta depDelta = getDelta(depProject);
 			if (depDelta != null) {
 				depDelta.accept(visitor);
 			}
 		}
 		
-		manager.makeSlices(state.graph);
+		manager.makeSlices(state.getGraph());
 		
 		try {
 			buildGraph(manager);
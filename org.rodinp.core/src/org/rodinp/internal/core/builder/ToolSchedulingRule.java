@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.builder;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
+
+/**
+ * Scheduling rule used for running a tool in a worker thread during a
+ * parallel build.
+ * <p>
+ * Two tool runs conflict when they work on the same component, that is when
+ * their targets have the same name up to the file extension (e.g., the
+ * <code>.bpo</code>, <code>.bpr</code> and <code>.bps</code> files of a
+ * machine).
+ * </p>
+ * <p>
+ * Tool runs are nested in the build: the builder thread holds the rule of the
+ * builder, which covers the project, as long as tools are running. Hence,
+ * other jobs cannot modify the project during a build, and this rule only
+ * needs to ensure mutual exclusion between tools. As resource rules never
+ * conflict with rules of other kinds, worker threads can acquire this rule
+ * while the builder thread holds its rule.
+ * </p>
+ * <p>
+ * Tools run Rodin database operations which acquire resource rules. This rule
+ * contains the rules on its source file and on the files of its component,
+ * together with the rule on the container of these files, which is needed for
+ * creating them. This rule conflicts with the resource rules it contains, and
+ * only with them, as the job manager requires it for nesting them.
+ * </p>
+ * <p>
+ * Conflicts with resource rules are not symmetric, as resource rules never
+ * conflict with this rule. This cannot matter, as the job manager only
+ * compares this rule with resource rules when pushing them in a worker
+ * thread that already owns it. Resource rules of other threads are never
+ * compared with this rule: during a build, they conflict with the rule of
+ * the builder, and the threads that request them wait for the build to end.
+ * In particular, the builder rule and this rule do not conflict, whichever
+ * way they are compared, as the builder rule is not contained in this rule.
+ * </p>
+ */
+public class ToolSchedulingRule implements ISchedulingRule {
+
+	private final IPath sourcePath;
+	private final IPath targetPath;
+	private final IPath component;
+	private final IPath container;
+
+	public ToolSchedulingRule(IFile source, IFile target) {
+		this.sourcePath = source.getFullPath();
+		this.targetPath = target.getFullPath();
+		this.component = targetPath.removeFileExtension();
+		this.container = targetPath.removeLastSegments(1);
+	}
+
+	@Override
+	public boolean contains(ISchedulingRule rule) {
+		if (rule == this) {
+			return true;
+		}
+		if (rule instanceof IResource) {
+			final IPath path = ((IResource) rule).getFullPath();
+			return sourcePath.isPrefixOf(path) || isComponentFile(path)
+					|| container.equals(path);
+		}
+		if (rule instanceof MultiRule) {
+			for (ISchedulingRule child : ((MultiRule) rule).getChildren()) {
+				if (!contains(child)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isConflicting(ISchedulingRule rule) {
+		if (rule == this) {
+			return true;
+		}
+		if (rule instanceof ToolSchedulingRule) {
+			final ToolSchedulingRule other = (ToolSchedulingRule) rule;
+			return component.equals(other.component)
+					|| targetPath.equals(other.sourcePath)
+					|| sourcePath.equals(other.targetPath);
+		}
+		if (rule instanceof IResource) {
+			return contains(rule);
+		}
+		if (rule instanceof MultiRule) {
+			for (ISchedulingRule child : ((MultiRule) rule).getChildren()) {
+				if (isConflicting(child)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isComponentFile(IPath path) {
+		return component.equals(path.removeFileExtension());
+	}
+
+	@Override
+	public String toString() {
+		return "ToolSchedulingRule(" + targetPath + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+}
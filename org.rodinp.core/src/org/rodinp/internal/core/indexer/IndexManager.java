@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2020 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,15 +7,20 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - concurrent indexing of projects
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 
@@ -155,47 +160,68 @@ public final class IndexManager {
 		return pppim.getOrCreate(project);
 	}
 	
-	private final FileIndexing indexing = new FileIndexing("File Indexer");
-	
-	private class FileIndexing extends Job {
-		
-		private IRodinFile file = null;
-		
-		public FileIndexing(String name) {
-			super(name);
+	// Indexing job of every project, guarded by itself
+	private final Map<IRodinProject, ProjectIndexing> jobs = new HashMap<IRodinProject, ProjectIndexing>();
+
+	// Indexing job for all projects at once
+	private final ProjectIndexing indexing = new ProjectIndexing(null);
+
+	/*
+	 * Job indexing the changed files of a project. Jobs of distinct projects
+	 * run concurrently, as the index tables of a project are independent from
+	 * those of the other projects. When the project is null, the job indexes
+	 * the files to index in all projects.
+	 */
+	private class ProjectIndexing extends Job {
+
+		private final IRodinProject project;
+
+		// Files to index, kept until indexing succeeds
+		private final Set<IRodinFile> files = new LinkedHashSet<IRodinFile>();
+
+		public ProjectIndexing(IRodinProject project) {
+			super(project == null ? "File Indexer" : "File Indexer for "
+					+ project.getElementName());
+			this.project = project;
 		}
 
-		public IRodinFile getFile() {
-			return file;
+		public synchronized void setFiles(Collection<IRodinFile> newFiles) {
+			files.clear();
+			files.addAll(newFiles);
 		}
-		
-		public void setFile(IRodinFile file) {
-			this.file = file;
+
+		private synchronized List<IRodinFile> getFiles() {
+			return new ArrayList<IRodinFile>(files);
+		}
+
+		private synchronized void clearFiles() {
+			files.clear();
 		}
-		
+
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
 			if (DEBUG) {
 				Thread.currentThread().setName(this.getName());
 			}
 			// avoid file modification during indexing
-			final IRodinFile fileToIndex = file;
+			final List<IRodinFile> filesToIndex = getFiles();
 			try {
-				if (fileToIndex == null) {
+				if (project == null) {
 					doIndexing(monitor);
 				} else {
-					final IRodinProject project = fileToIndex.getRodinProject();
 					final ProjectIndexManager pim = fetchPIM(project);
-					pim.fileChanged(fileToIndex, monitor);
-					checkCancel(monitor);
+					for (IRodinFile file : filesToIndex) {
+						pim.fileChanged(file, monitor);
+						checkCancel(monitor);
+					}
 					pim.doIndexing(monitor);
 					checkCancel(monitor);
 				}
-				file = null;
+				clearFiles();
 				return Status.OK_STATUS;
 			} catch (CancellationException e) {
 				if (IndexManager.VERBOSE)
-					printVerbose("indexing cancelled for file: " + fileToIndex);
+					printVerbose("indexing cancelled for files: " + filesToIndex);
 				return Status.CANCEL_STATUS;
 			} finally {
 				if (monitor != null) {
@@ -208,6 +234,31 @@ public final class IndexManager {
 		}
 	}
 
+	private ProjectIndexing getJob(IRodinProject project) {
+		synchronized (jobs) {
+			ProjectIndexing job = jobs.get(project);
+			if (job == null) {
+				job = new ProjectIndexing(project);
+				job.setRule(null); // rules are managed for each file by the FIM
+				job.setPriority(Job.DECORATE);
+				jobs.put(project, job);
+			}
+			return job;
+		}
+	}
+
+	private void removeJob(IRodinProject project) {
+		synchronized (jobs) {
+			jobs.remove(project);
+		}
+	}
+
+	private List<ProjectIndexing> getJobs() {
+		synchronized (jobs) {
+			return new ArrayList<ProjectIndexing>(jobs.values());
+		}
+	}
+
 	/**
 	 * Starts the indexing system. It will run until the given progress monitor
 	 * is canceled.
@@ -250,41 +301,98 @@ public final class IndexManager {
 				| IResourceChangeEvent.PRE_DELETE);
 	}
 
+	/*
+	 * Processes the current deltas in order. Consecutive file changes are
+	 * processed together, the files of distinct projects being indexed
+	 * concurrently. Project changes are processed one at a time, after the
+	 * file changes that precede them.
+	 */
 	private void processCurrentDeltas(IProgressMonitor monitor)
 			throws InterruptedException {
-		final int maxAttempts = 3;
-		final Iterator<IIndexDelta> iter = currentDeltas.iterator();
-		while (iter.hasNext()) {
-			final IIndexDelta delta = iter.next();
+		while (!currentDeltas.isEmpty()) {
+			final List<IIndexDelta> batch = nextBatch();
+			if (batch.get(0).getKind() == Kind.FILE_CHANGED) {
+				processFilesChanged(batch);
+			} else {
+				processProjectChanged(batch.get(0), monitor);
+			}
+			for (int i = 0; i < batch.size(); i++) {
+				queue.deltaProcessed();
+				currentDeltas.remove(0);
+			}
+		}
+	}
 
-			int attempts = 0;
-			boolean success = false;
-			do {
-				try {
-					processDelta(delta, monitor);
-					success = true;
-				} catch (CancellationException e) {
-					attempts++;
+	// Returns the leading file changes, or the leading project change
+	private List<IIndexDelta> nextBatch() {
+		final List<IIndexDelta> result = new ArrayList<IIndexDelta>();
+		for (IIndexDelta delta : currentDeltas) {
+			if (delta.getKind() != Kind.FILE_CHANGED) {
+				if (result.isEmpty()) {
+					result.add(delta);
 				}
-			} while (!success && attempts < maxAttempts);
-			queue.deltaProcessed();
-			iter.remove();
+				break;
+			}
+			result.add(delta);
 		}
+		return result;
 	}
 
-	private void processDelta(IIndexDelta delta, IProgressMonitor monitor)
+	private void processFilesChanged(List<IIndexDelta> deltas)
 			throws InterruptedException {
-		if (delta.getKind() == Kind.FILE_CHANGED) {
+		final Map<IRodinProject, List<IRodinFile>> changedFiles = new LinkedHashMap<IRodinProject, List<IRodinFile>>();
+		for (IIndexDelta delta : deltas) {
 			final IRodinFile file = (IRodinFile) delta.getElement();
-
-			processFileChanged(file, monitor);
-		} else {
-			processProjectChanged(delta, monitor);
+			final IRodinProject project = file.getRodinProject();
+			List<IRodinFile> files = changedFiles.get(project);
+			if (files == null) {
+				files = new ArrayList<IRodinFile>();
+				changedFiles.put(project, files);
+			}
+			files.add(file);
+		}
+		List<ProjectIndexing> toRun = new ArrayList<ProjectIndexing>();
+		for (Map.Entry<IRodinProject, List<IRodinFile>> entry : changedFiles
+				.entrySet()) {
+			final ProjectIndexing job = getJob(entry.getKey());
+			job.setFiles(entry.getValue());
+			toRun.add(job);
+		}
+		final int maxAttempts = 3;
+		int attempts = 0;
+		while (!toRun.isEmpty() && attempts < maxAttempts) {
+			for (ProjectIndexing job : toRun) {
+				job.schedule();
+			}
+			final List<ProjectIndexing> cancelled = new ArrayList<ProjectIndexing>();
+			for (ProjectIndexing job : toRun) {
+				job.join();
+				if (Status.CANCEL_STATUS.equals(job.getResult())) {
+					cancelled.add(job);
+				}
+			}
+			toRun = cancelled;
+			attempts++;
 		}
 	}
 
 	private void processProjectChanged(IIndexDelta delta,
 			IProgressMonitor monitor) {
+		final int maxAttempts = 3;
+		int attempts = 0;
+		boolean success = false;
+		do {
+			try {
+				doProcessProjectChanged(delta, monitor);
+				success = true;
+			} catch (CancellationException e) {
+				attempts++;
+			}
+		} while (!success && attempts < maxAttempts);
+	}
+
+	private void doProcessProjectChanged(IIndexDelta delta,
+			IProgressMonitor monitor) {
 		final IRodinProject project = (IRodinProject) delta.getElement();
 		final PersistenceManager persistenceManager = PersistenceManager
 				.getDefault();
@@ -302,6 +410,7 @@ public final class IndexManager {
 		case PROJECT_CLOSED:
 			// already saved by persistence manager (PROJECT_SAVE)
 			pppim.remove(project);
+			removeJob(project);
 			break;
 		case PROJECT_CREATED:
 		case PROJECT_CLEANED:
@@ -309,6 +418,7 @@ public final class IndexManager {
 			break;
 		case PROJECT_DELETED:
 			pppim.remove(project);
+			removeJob(project);
 			persistenceManager.deleteProject(project);
 			break;
 		default:
@@ -316,16 +426,6 @@ public final class IndexManager {
 		}
 	}
 
-	private void processFileChanged(final IRodinFile file, IProgressMonitor monitor)
-			throws InterruptedException {
-		indexing.setFile(file);
-		indexing.schedule();
-		indexing.join();
-		if (Status.CANCEL_STATUS.equals(indexing.getResult())) {
-			throw new CancellationException();
-		}
-	}
-
 	public synchronized PersistentIndexManager getPersistentData() {
 		// TODO move side effects to stop() ?
 		final Set<IIndexDelta> deltaSet = new HashSet<IIndexDelta>();
@@ -438,9 +538,15 @@ public final class IndexManager {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(listener);
 		indexingEnabled = false;
 		indexing.cancel();
-		// Ensure that the indexing job has actually stopped.
+		for (ProjectIndexing job : getJobs()) {
+			job.cancel();
+		}
+		// Ensure that the indexing jobs have actually stopped.
 		try {
 			indexing.join();
+			for (ProjectIndexing job : getJobs()) {
+				job.join();
+			}
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
 		}
@@ -493,6 +599,9 @@ public final class IndexManager {
 		}
 		// stop current indexing
 		indexing.cancel();
+		for (ProjectIndexing job : getJobs()) {
+			job.cancel();
+		}
 	}
 	
 	public void projectVanishing(IRodinProject project) {
@@ -503,12 +612,12 @@ public final class IndexManager {
 			return;
 		}
 		pim.setProjectVanishing();
-		final IRodinFile file = indexing.getFile();
-		if (file == null) {
-			return;
+		final ProjectIndexing job;
+		synchronized (jobs) {
+			job = jobs.get(project);
 		}
-		if (project.isAncestorOf(file)) {
-			indexing.cancel();
+		if (job != null) {
+			job.cancel();
 		}
 	}
 	
@@ -517,7 +626,7 @@ public final class IndexManager {
 		listener.enqueueDelta(new IndexDelta(file, Kind.FILE_CHANGED), false);
 	}
 	
-	public synchronized IDeclaration getDeclaration(IInternalElement element) {
+	public IDeclaration getDeclaration(IInternalElement element) {
 		final ProjectIndexManager pim = pppim.get(element.getRodinProject());
 		if (pim == null) {
 			return null;
@@ -525,7 +634,7 @@ public final class IndexManager {
 		return pim.getDeclaration(element);
 	}
 
-	public synchronized Set<IDeclaration> getDeclarations(IRodinFile file) {
+	public Set<IDeclaration> getDeclarations(IRodinFile file) {
 		final ProjectIndexManager pim = pppim.get(file.getRodinProject());
 		if (pim == null) {
 			return Collections.emptySet();
@@ -533,7 +642,7 @@ public final class IndexManager {
 		return pim.getDeclarations(file);
 	}
 
-	public synchronized Set<IDeclaration> getVisibleDeclarations(IRodinFile file) {
+	public Set<IDeclaration> getVisibleDeclarations(IRodinFile file) {
 		final ProjectIndexManager pim = pppim.get(file.getRodinProject());
 		if (pim == null) {
 			return Collections.emptySet();
@@ -541,7 +650,7 @@ public final class IndexManager {
 		return pim.getVisibleDeclarations(file);
 	}
 
-	public synchronized Set<IDeclaration> getDeclarations(
+	public Set<IDeclaration> getDeclarations(
 			IRodinProject project, String name) {
 		final ProjectIndexManager pim = pppim.get(project);
 		if (pim == null) {
@@ -550,7 +659,7 @@ public final class IndexManager {
 		return pim.getDeclarations(name);
 	}
 
-	public synchronized Set<IOccurrence> getOccurrences(IDeclaration declaration) {
+	public Set<IOccurrence> getOccurrences(IDeclaration declaration) {
 		final ProjectIndexManager pim = pppim.get(declaration.getElement()
 				.getRodinProject());
 		if (pim == null) {
@@ -559,7 +668,7 @@ public final class IndexManager {
 		return pim.getOccurrences(declaration);
 	}
 
-	public synchronized Set<IDeclaration> getExports(IRodinFile file) {
+	public Set<IDeclaration> getExports(IRodinFile file) {
 		final ProjectIndexManager pim = pppim.get(file.getRodinProject());
 		if (pim == null) {
 			return Collections.emptySet();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2010 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,17 +7,23 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - made thread-safe
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.rodinp.core.IRodinProject;
 
 /**
+ * The project index managers of all projects. This class is thread-safe, and
+ * collections returned by its methods are snapshots.
+ * 
  * @author Nicolas Beauger
  * 
  */
@@ -29,19 +35,19 @@ public class PerProjectPIM {
 		this.pims = new LinkedHashMap<IRodinProject, ProjectIndexManager>();
 	}
 
-	public Set<IRodinProject> projects() {
-		return pims.keySet();
+	public synchronized Set<IRodinProject> projects() {
+		return new LinkedHashSet<IRodinProject>(pims.keySet());
 	}
 
-	public Collection<ProjectIndexManager> pims() {
-		return pims.values();
+	public synchronized Collection<ProjectIndexManager> pims() {
+		return new ArrayList<ProjectIndexManager>(pims.values());
 	}
 
-	public ProjectIndexManager get(IRodinProject project) {
+	public synchronized ProjectIndexManager get(IRodinProject project) {
 		return pims.get(project);
 	}
 
-	public ProjectIndexManager getOrCreate(IRodinProject project) {
+	public synchronized ProjectIndexManager getOrCreate(IRodinProject project) {
 		ProjectIndexManager pim = pims.get(project);
 		if (pim == null) {
 			pim = new ProjectIndexManager(project);
@@ -50,15 +56,15 @@ public class PerProjectPIM {
 		return pim;
 	}
 
-	public void put(ProjectIndexManager pim) {
+	public synchronized void put(ProjectIndexManager pim) {
 		pims.put(pim.getProject(), pim);
 	}
 
-	public void remove(IRodinProject project) {
+	public synchronized void remove(IRodinProject project) {
 		pims.remove(project);
 	}
 
-	public void clear() {
+	public synchronized void clear() {
 		pims.clear();
 	}
 }
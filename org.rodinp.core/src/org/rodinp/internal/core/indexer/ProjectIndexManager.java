@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - concurrent queries and modification stamp
  *******************************************************************************/
 package org.rodinp.internal.core.indexer;
 
@@ -21,6 +22,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.rodinp.core.IInternalElement;
@@ -44,10 +48,16 @@ import org.rodinp.internal.core.indexer.tables.RodinIndex;
 /**
  * The ProjectIndexManager (PIM) stores and maintains index tables for a single
  * project.
- * 
- * TODO instead of synchronizing everything, take a snapshot of the tables
- * before any change, then manage exclusive access to writers, meanwhile read of
- * the snapshot shall be non exclusive. Would prevents blocking while building.
+ * <p>
+ * Indexing is performed by one thread at a time (writer methods are
+ * synchronized), but queries are not blocked while files are being indexed:
+ * the tables are only locked for writing when they are updated with the
+ * result of indexing a file, and queries share a read lock.
+ * </p>
+ * <p>
+ * Every change to the tables increments a modification stamp, which tells
+ * the persistence manager whether the project must be saved again.
+ * </p>
  * 
  * @author Nicolas Beauger
  * 
@@ -67,6 +77,18 @@ public class ProjectIndexManager {
 	private final TotalOrder<IRodinFile> order;
 
 	private volatile boolean isProjectVanishing = false;
+
+	// Protects the tables and the order. Writers also synchronize on this
+	// object, so that they can read the tables without locking.
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Lock readLock = lock.readLock();
+	private final Lock writeLock = lock.writeLock();
+
+	// Incremented on every change, guarded by writeLock
+	private volatile long modificationStamp = 1;
+
+	// Value of the modification stamp when last saved
+	private volatile long savedStamp = 0;
 	
 	// FIXME protect from concurrent access
 	private final Set<IRodinFile> unprocessedFiles = Collections
@@ -119,12 +141,20 @@ public class ProjectIndexManager {
 			monitor.beginTask("indexing project " + project,
 					IProgressMonitor.UNKNOWN);
 		}
-		while (order.hasNext()) {
-			final IRodinFile file = order.next();
-			
+		while (true) {
+			final IRodinFile file;
+			writeLock.lock();
+			try {
+				if (!order.hasNext()) {
+					order.end();
+					break;
+				}
+				file = order.next();
+			} finally {
+				writeLock.unlock();
+			}
 			doIndexing(file, monitor);
 		}
-		order.end();
 	}
 
 	private void doIndexing(final IRodinFile file, IProgressMonitor monitor) {
@@ -141,16 +171,22 @@ public class ProjectIndexManager {
 		final IIndexingResult result = fim.doIndexing(file, fileImports, monitor);
 
 		checkCancel(monitor);
-		if (result.isSuccess()) {
-			if (mustReindexDependents(result)) {
+		writeLock.lock();
+		try {
+			if (result.isSuccess()) {
+				if (mustReindexDependents(result)) {
+					order.setToIterSuccessors();
+				}
+
+				updateTables(result);
+			} else {
 				order.setToIterSuccessors();
+				order.remove();
+				clean(file);
 			}
-
-			updateTables(result);
-		} else {
-			order.setToIterSuccessors();
-			order.remove();
-			clean(file);
+			modificationStamp++;
+		} finally {
+			writeLock.unlock();
 		}
 		unprocessedFiles.remove(file);
 	}
@@ -285,8 +321,14 @@ public class ProjectIndexManager {
 
 		try {
 			final Set<IRodinFile> dependFiles = fim.getDependencies(file, monitor);
-			order.setPredecessors(file, dependFiles);
-			order.setToIter(file);
+			writeLock.lock();
+			try {
+				order.setPredecessors(file, dependFiles);
+				order.setToIter(file);
+				modificationStamp++;
+			} finally {
+				writeLock.unlock();
+			}
 		} catch (IndexingException e) {
 			// forget this file
 		}
@@ -368,73 +410,144 @@ public class ProjectIndexManager {
 		this.isProjectVanishing = true;
 	}
 	
-	public synchronized IDeclaration getDeclaration(IInternalElement element) {
-		final Descriptor descriptor = index.getDescriptor(element);
-		if (descriptor == null) {
-			return null;
-		} else {
-			return descriptor.getDeclaration();
+	public IDeclaration getDeclaration(IInternalElement element) {
+		readLock.lock();
+		try {
+			final Descriptor descriptor = index.getDescriptor(element);
+			if (descriptor == null) {
+				return null;
+			} else {
+				return descriptor.getDeclaration();
+			}
+		} finally {
+			readLock.unlock();
 		}
 	}
 
-	public synchronized Set<IDeclaration> getDeclarations(IRodinFile file) {
-		final Set<IDeclaration> decls = fileTable.get(file);
-		return new LinkedHashSet<IDeclaration>(decls);
+	public Set<IDeclaration> getDeclarations(IRodinFile file) {
+		readLock.lock();
+		try {
+			final Set<IDeclaration> decls = fileTable.get(file);
+			return new LinkedHashSet<IDeclaration>(decls);
+		} finally {
+			readLock.unlock();
+		}
 	}
 
-	public synchronized Set<IDeclaration> getVisibleDeclarations(IRodinFile file) {
-		if (!order.contains(file)) {
-			// unknown file
-			return Collections.emptySet();
+	public Set<IDeclaration> getVisibleDeclarations(IRodinFile file) {
+		readLock.lock();
+		try {
+			if (!order.contains(file)) {
+				// unknown file
+				return Collections.emptySet();
+			}
+			final Set<IDeclaration> decls = new LinkedHashSet<IDeclaration>(
+					fileTable.get(file));
+			final Collection<IDeclaration> imports = computeImports(file)
+					.values();
+			decls.addAll(imports);
+			return decls;
+		} finally {
+			readLock.unlock();
 		}
-		final Set<IDeclaration> decls = new LinkedHashSet<IDeclaration>(
-				fileTable.get(file));
-		final Collection<IDeclaration> imports = computeImports(file).values();
-		decls.addAll(imports);
-		return decls;
 	}
 
-	public synchronized Set<IDeclaration> getDeclarations(String name) {
-		final Set<IDeclaration> decls = nameTable.getDeclarations(name);
-		return new LinkedHashSet<IDeclaration>(decls);
+	public Set<IDeclaration> getDeclarations(String name) {
+		readLock.lock();
+		try {
+			final Set<IDeclaration> decls = nameTable.getDeclarations(name);
+			return new LinkedHashSet<IDeclaration>(decls);
+		} finally {
+			readLock.unlock();
+		}
 	}
 
-	private synchronized Set<IOccurrence> getOccurrences(
-			IInternalElement element) {
-		final Descriptor descriptor = index.getDescriptor(element);
-		if (descriptor == null) {
-			return Collections.emptySet();
+	private Set<IOccurrence> getOccurrences(IInternalElement element) {
+		readLock.lock();
+		try {
+			final Descriptor descriptor = index.getDescriptor(element);
+			if (descriptor == null) {
+				return Collections.emptySet();
+			}
+			final Set<IOccurrence> occs = descriptor.getOccurrences();
+			return new LinkedHashSet<IOccurrence>(occs);
+		} finally {
+			readLock.unlock();
 		}
-		final Set<IOccurrence> occs = descriptor.getOccurrences();
-		return new LinkedHashSet<IOccurrence>(occs);
 	}
 
-	public synchronized Set<IOccurrence> getOccurrences(IDeclaration declaration) {
+	public Set<IOccurrence> getOccurrences(IDeclaration declaration) {
 		return getOccurrences(declaration.getElement());
 	}
 
-	public synchronized Set<IRodinFile> exportFiles() {
-		final Set<IRodinFile> files = exportTable.files();
-		return new LinkedHashSet<IRodinFile>(files);
+	public Set<IRodinFile> exportFiles() {
+		readLock.lock();
+		try {
+			final Set<IRodinFile> files = exportTable.files();
+			return new LinkedHashSet<IRodinFile>(files);
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	public Set<IDeclaration> getExports(IRodinFile file) {
+		readLock.lock();
+		try {
+			final Set<IDeclaration> exports = exportTable.get(file);
+			return new LinkedHashSet<IDeclaration>(exports);
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the modification stamp of this PIM, which changes whenever the
+	 * tables of the project change.
+	 * 
+	 * @return the current modification stamp
+	 */
+	public long getModificationStamp() {
+		return modificationStamp;
+	}
+
+	/**
+	 * Records that the tables of this PIM have been saved as they were when
+	 * the given modification stamp was current.
+	 * 
+	 * @param stamp
+	 *            the modification stamp of the saved data
+	 */
+	public void setSavedStamp(long stamp) {
+		savedStamp = stamp;
 	}
 
-	public synchronized Set<IDeclaration> getExports(IRodinFile file) {
-		final Set<IDeclaration> exports = exportTable.get(file);
-		return new LinkedHashSet<IDeclaration>(exports);
+	/**
+	 * Tells whether the tables of this PIM have not changed since they were
+	 * last saved.
+	 * 
+	 * @return <code>true</code> iff this PIM need not be saved
+	 */
+	public boolean isSaved() {
+		return savedStamp == modificationStamp;
 	}
 
 	public PersistentPIM getPersistentData() {
-		final Collection<Descriptor> descColl = index.getDescriptors();
-		final Descriptor[] descriptors = descColl
-				.toArray(new Descriptor[descColl.size()]);
-		final PersistentTotalOrder<IRodinFile> persistOrder = order
-				.getPersistentData();
-		final ExportTable exportClone = exportTable.clone();
-		final List<IRodinFile> unprocessed = new ArrayList<IRodinFile>();
-		synchronized (unprocessedFiles) {
-			unprocessed.addAll(unprocessedFiles);
+		readLock.lock();
+		try {
+			final Collection<Descriptor> descColl = index.getDescriptors();
+			final Descriptor[] descriptors = descColl
+					.toArray(new Descriptor[descColl.size()]);
+			final PersistentTotalOrder<IRodinFile> persistOrder = order
+					.getPersistentData();
+			final ExportTable exportClone = exportTable.clone();
+			final List<IRodinFile> unprocessed = new ArrayList<IRodinFile>();
+			synchronized (unprocessedFiles) {
+				unprocessed.addAll(unprocessedFiles);
+			}
+			return new PersistentPIM(project, descriptors, exportClone,
+					persistOrder, unprocessed, modificationStamp);
+		} finally {
+			readLock.unlock();
 		}
-		return new PersistentPIM(project, descriptors, exportClone,
-				persistOrder, unprocessed);
 	}
 }
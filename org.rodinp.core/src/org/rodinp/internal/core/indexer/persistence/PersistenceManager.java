@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2010 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - binary and incremental persistence
  *******************************************************************************/
 package org.rodinp.internal.core.indexer.persistence;
 
@@ -25,6 +26,7 @@ import org.rodinp.core.RodinCore;
 import org.rodinp.internal.core.indexer.DeltaQueuer;
 import org.rodinp.internal.core.indexer.IndexManager;
 import org.rodinp.internal.core.indexer.PerProjectPIM;
+import org.rodinp.internal.core.indexer.persistence.bin.BinaryPersistor;
 import org.rodinp.internal.core.indexer.persistence.xml.XMLPersistor;
 
 /**
@@ -35,6 +37,9 @@ public class PersistenceManager implements ISaveParticipant {
 
 	public static final IPath INDEX_SAVE_PATH = new Path("index-save");
 
+	// Directory of the project indexes saved along with the workspace
+	private static final IPath INDEX_PROJECTS_PATH = new Path("index-projects");
+
 	private static final Plugin plugin = RodinCore.getPlugin();
 	private static PersistenceManager instance;
 
@@ -158,7 +163,7 @@ public class PersistenceManager implements ISaveParticipant {
 		if (saveFile == null || !saveFile.exists()) {
 			return false;
 		}
-		final IPersistor ps = chooseStrategy();
+		final IPersistor ps = chooseStrategy(saveFile);
 
 		final boolean success = ps.restore(saveFile, persistIM);
 		if (!success) {
@@ -175,7 +180,7 @@ public class PersistenceManager implements ISaveParticipant {
 		final File file = getProjectSaveFile(stateLocation, project);
 
 		if (file.exists()) {
-			final IPersistor ps = chooseStrategy();
+			final IPersistor ps = chooseStrategy(file);
 
 			return ps.restoreProject(file, pppim);
 		}
@@ -197,6 +202,16 @@ public class PersistenceManager implements ISaveParticipant {
 	}
 
 	private IPersistor chooseStrategy() {
+		final IPath stateLocation = plugin.getStateLocation();
+		return new BinaryPersistor(stateLocation.append(INDEX_PROJECTS_PATH)
+				.toFile());
+	}
+
+	// Files saved by former versions are in XML format
+	private IPersistor chooseStrategy(File saveFile) {
+		if (BinaryPersistor.isBinary(saveFile)) {
+			return chooseStrategy();
+		}
 		return new XMLPersistor();
 	}
 
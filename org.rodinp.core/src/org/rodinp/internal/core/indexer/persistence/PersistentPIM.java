@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Systerel and others.
+ * Copyright (c) 2008, 2026 Systerel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     Systerel - initial API and implementation
+ *     ISP RAS - added modification stamp
  *******************************************************************************/
 package org.rodinp.internal.core.indexer.persistence;
 
@@ -28,15 +29,23 @@ public class PersistentPIM {
 	private final IExportTable exportTable;
 	private final PersistentTotalOrder<IRodinFile> order;
 	private final List<IRodinFile> unprocessedFiles;
+	private final long modificationStamp;
 
 	public PersistentPIM(IRodinProject project, Descriptor[] descriptors,
 			IExportTable exportTable, PersistentTotalOrder<IRodinFile> order,
 			List<IRodinFile> unprocessedFiles) {
+		this(project, descriptors, exportTable, order, unprocessedFiles, 0);
+	}
+
+	public PersistentPIM(IRodinProject project, Descriptor[] descriptors,
+			IExportTable exportTable, PersistentTotalOrder<IRodinFile> order,
+			List<IRodinFile> unprocessedFiles, long modificationStamp) {
 		this.project = project;
 		this.descriptors = descriptors;
 		this.exportTable = exportTable;
 		this.order = order;
 		this.unprocessedFiles = unprocessedFiles;
+		this.modificationStamp = modificationStamp;
 	}
 	
 	public IRodinProject getProject() {
@@ -58,4 +67,12 @@ public class PersistentPIM {
 	public List<IRodinFile> getUnprocessedFiles() {
 		return unprocessedFiles;
 	}
+
+	/**
+	 * Returns the modification stamp of the project index manager when this
+	 * data was taken.
+	 */
+	public long getModificationStamp() {
+		return modificationStamp;
+	}
 }
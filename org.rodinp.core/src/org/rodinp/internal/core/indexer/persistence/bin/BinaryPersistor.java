@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.indexer.persistence.bin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.rodinp.core.IRodinProject;
+import org.rodinp.internal.core.indexer.IndexManager;
+import org.rodinp.internal.core.indexer.PerProjectPIM;
+import org.rodinp.internal.core.indexer.ProjectIndexManager;
+import org.rodinp.internal.core.indexer.persistence.IPersistor;
+import org.rodinp.internal.core.indexer.persistence.PersistenceException;
+import org.rodinp.internal.core.indexer.persistence.PersistentIndexManager;
+import org.rodinp.internal.core.indexer.persistence.PersistentPIM;
+
+/**
+ * Persistor storing the index in a compact binary format.
+ * <p>
+ * When given a project directory, the index of every project is stored in a
+ * file of its own in that directory, the main save file only listing the
+ * projects. A full save then only writes the projects which have changed
+ * since they were last saved or restored.
+ * </p>
+ *
+ * @see BinaryWriter
+ * @see BinaryReader
+ */
+public class BinaryPersistor implements IPersistor {
+
+	static final int MAGIC = 0x52494458; // "RIDX"
+	static final byte VERSION = 1;
+
+	// Kinds of save files
+	static final byte FULL_SAVE = 0;
+	static final byte INCREMENTAL_SAVE = 1;
+	static final byte PROJECT_SAVE = 2;
+
+	// Kinds of occurrence locations
+	static final byte ELEMENT_LOCATION = 0;
+	static final byte ATTRIBUTE_LOCATION = 1;
+	static final byte SUBSTRING_LOCATION = 2;
+
+	// Directory of the project save files, or null to save them inline
+	private final File projectDir;
+
+	public BinaryPersistor() {
+		this(null);
+	}
+
+	public BinaryPersistor(File projectDir) {
+		this.projectDir = projectDir;
+	}
+
+	/**
+	 * Tells whether the given file has been written by a binary persistor.
+	 *
+	 * @param file
+	 *            a save file
+	 * @return <code>true</code> iff the file is in binary format
+	 */
+	public static boolean isBinary(File file) {
+		try {
+			final DataInputStream in = openInput(file);
+			try {
+				return in.readInt() == MAGIC;
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean save(PersistentIndexManager data, File file) {
+		try {
+			final Collection<ProjectIndexManager> pims = data.getPPPIM()
+					.pims();
+			if (projectDir != null) {
+				saveProjects(pims);
+			}
+			final DataOutputStream out = openOutput(file);
+			try {
+				final BinaryWriter writer = new BinaryWriter(out);
+				if (projectDir == null) {
+					writer.writeHeader(FULL_SAVE);
+				} else {
+					writer.writeHeader(INCREMENTAL_SAVE);
+				}
+				writer.writeRegistry(data.getIndexerRegistry());
+				writer.writeDeltas(data.getDeltas());
+				final List<IRodinProject> projects = new ArrayList<IRodinProject>();
+				for (ProjectIndexManager pim : pims) {
+					projects.add(pim.getProject());
+				}
+				writer.writeElements(projects);
+				if (projectDir == null) {
+					for (ProjectIndexManager pim : pims) {
+						writer.writePIM(pim.getPersistentData());
+					}
+				}
+			} finally {
+				out.close();
+			}
+			return true;
+		} catch (Exception e) {
+			if (IndexManager.DEBUG) {
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
+	// Writes the projects that are not saved yet, removes the vanished ones
+	private void saveProjects(Collection<ProjectIndexManager> pims)
+			throws IOException {
+		projectDir.mkdirs();
+		final Set<File> projectFiles = new HashSet<File>();
+		for (ProjectIndexManager pim : pims) {
+			final File projectFile = getProjectFile(pim.getProject());
+			projectFiles.add(projectFile);
+			if (pim.isSaved() && projectFile.exists()) {
+				continue;
+			}
+			final PersistentPIM persistentPIM = pim.getPersistentData();
+			if (!saveProject(persistentPIM, projectFile)) {
+				projectFile.delete();
+				throw new IOException("cannot save index of "
+						+ pim.getProject());
+			}
+			pim.setSavedStamp(persistentPIM.getModificationStamp());
+		}
+		final File[] existing = projectDir.listFiles();
+		if (existing == null) {
+			return;
+		}
+		for (File file : existing) {
+			if (!projectFiles.contains(file)) {
+				file.delete();
+			}
+		}
+	}
+
+	private File getProjectFile(IRodinProject project) {
+		return new File(projectDir, "save-" + project.getElementName());
+	}
+
+	@Override
+	public boolean restore(File file, PersistentIndexManager data) {
+		if (IndexManager.VERBOSE) {
+			System.out
+					.println("restoring from file: " + file.getAbsolutePath());
+		}
+		try {
+			final DataInputStream in = openInput(file);
+			try {
+				final BinaryReader reader = new BinaryReader(in);
+				final byte kind = reader.readHeader();
+				final boolean inline = kind == FULL_SAVE;
+				if (!inline && (kind != INCREMENTAL_SAVE || projectDir == null)) {
+					throw new PersistenceException();
+				}
+				reader.readRegistry(data.getIndexerRegistry());
+				reader.readDeltas(data.getDeltas());
+				final List<IRodinProject> projects = reader.readProjects();
+				final PerProjectPIM pppim = data.getPPPIM();
+				for (IRodinProject project : projects) {
+					if (inline) {
+						pppim.put(reader.readPIM());
+					} else {
+						final File projectFile = getProjectFile(project);
+						final ProjectIndexManager pim = readProjectFile(projectFile);
+						if (!project.equals(pim.getProject())) {
+							throw new PersistenceException();
+						}
+						pim.setSavedStamp(pim.getModificationStamp());
+						pppim.put(pim);
+					}
+				}
+			} finally {
+				in.close();
+			}
+			return true;
+		} catch (Exception e) {
+			data.clear();
+
+			if (IndexManager.DEBUG) {
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
+	@Override
+	public boolean saveProject(PersistentPIM pim, File file) {
+		try {
+			final DataOutputStream out = openOutput(file);
+			try {
+				final BinaryWriter writer = new BinaryWriter(out);
+				writer.writeHeader(PROJECT_SAVE);
+				writer.writePIM(pim);
+			} finally {
+				out.close();
+			}
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean restoreProject(File file, PerProjectPIM pppim) {
+		try {
+			final ProjectIndexManager pim = readProjectFile(file);
+			pppim.put(pim);
+			pim.fireUnprocessedFiles();
+			return true;
+		} catch (Exception e) {
+			if (IndexManager.DEBUG) {
+				e.printStackTrace();
+			}
+			return false;
+		}
+	}
+
+	private static ProjectIndexManager readProjectFile(File file)
+			throws IOException, PersistenceException {
+		final DataInputStream in = openInput(file);
+		try {
+			final BinaryReader reader = new BinaryReader(in);
+			if (reader.readHeader() != PROJECT_SAVE) {
+				throw new PersistenceException();
+			}
+			return reader.readPIM();
+		} finally {
+			in.close();
+		}
+	}
+
+	private static DataOutputStream openOutput(File file) throws IOException {
+		return new DataOutputStream(new BufferedOutputStream(
+				new FileOutputStream(file)));
+	}
+
+	private static DataInputStream openInput(File file) throws IOException {
+		return new DataInputStream(new BufferedInputStream(
+				new FileInputStream(file)));
+	}
+
+}
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.indexer.persistence.bin;
+
+import static org.rodinp.internal.core.indexer.persistence.bin.BinaryPersistor.*;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.rodinp.core.IAttributeType;
+import org.rodinp.core.IInternalElement;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.IRodinProject;
+import org.rodinp.core.RodinCore;
+import org.rodinp.core.indexer.IDeclaration;
+import org.rodinp.core.indexer.IOccurrenceKind;
+import org.rodinp.core.location.IInternalLocation;
+import org.rodinp.internal.core.indexer.Declaration;
+import org.rodinp.internal.core.indexer.Descriptor;
+import org.rodinp.internal.core.indexer.IIndexDelta;
+import org.rodinp.internal.core.indexer.IIndexDelta.Kind;
+import org.rodinp.internal.core.indexer.IndexDelta;
+import org.rodinp.internal.core.indexer.Occurrence;
+import org.rodinp.internal.core.indexer.ProjectIndexManager;
+import org.rodinp.internal.core.indexer.Registry;
+import org.rodinp.internal.core.indexer.persistence.PersistenceException;
+import org.rodinp.internal.core.indexer.persistence.PersistentTotalOrder;
+import org.rodinp.internal.core.indexer.sort.Node;
+import org.rodinp.internal.core.indexer.sort.TotalOrder;
+import org.rodinp.internal.core.indexer.tables.ExportTable;
+import org.rodinp.internal.core.indexer.tables.RodinIndex;
+import org.rodinp.internal.core.location.AttributeLocation;
+import org.rodinp.internal.core.location.AttributeSubstringLocation;
+import org.rodinp.internal.core.location.InternalLocation;
+
+/**
+ * Reads index data written by a {@link BinaryWriter}.
+ */
+public class BinaryReader {
+
+	private final DataInputStream in;
+
+	private final List<String> dictionary = new ArrayList<String>();
+
+	public BinaryReader(DataInputStream in) {
+		this.in = in;
+	}
+
+	// Returns the kind of the save file
+	public byte readHeader() throws IOException, PersistenceException {
+		if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+			throw new PersistenceException();
+		}
+		return in.readByte();
+	}
+
+	public String readString() throws IOException, PersistenceException {
+		final int index = in.readInt();
+		if (index < dictionary.size()) {
+			return dictionary.get(index);
+		}
+		if (index != dictionary.size()) {
+			throw new PersistenceException();
+		}
+		final String result = in.readUTF();
+		dictionary.add(result);
+		return result;
+	}
+
+	public IRodinElement readElement() throws IOException,
+			PersistenceException {
+		final IRodinElement element = RodinCore.valueOf(readString());
+		if (element == null) {
+			throw new PersistenceException();
+		}
+		return element;
+	}
+
+	private <T extends IRodinElement> T readElement(Class<T> clazz)
+			throws IOException, PersistenceException {
+		final IRodinElement element = readElement();
+		if (!clazz.isInstance(element)) {
+			throw new PersistenceException();
+		}
+		return clazz.cast(element);
+	}
+
+	public IRodinProject readProject() throws IOException,
+			PersistenceException {
+		return readElement(IRodinProject.class);
+	}
+
+	private List<IRodinFile> readFiles() throws IOException,
+			PersistenceException {
+		final int size = in.readInt();
+		final List<IRodinFile> result = new ArrayList<IRodinFile>(size);
+		for (int i = 0; i < size; i++) {
+			result.add(readElement(IRodinFile.class));
+		}
+		return result;
+	}
+
+	public List<IRodinProject> readProjects() throws IOException,
+			PersistenceException {
+		final int size = in.readInt();
+		final List<IRodinProject> result = new ArrayList<IRodinProject>(size);
+		for (int i = 0; i < size; i++) {
+			result.add(readProject());
+		}
+		return result;
+	}
+
+	public void readRegistry(Registry<String, String> registry)
+			throws IOException, PersistenceException {
+		final int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			final String rootTypeId = readString();
+			final int indexerCount = in.readInt();
+			for (int j = 0; j < indexerCount; j++) {
+				registry.add(rootTypeId, readString());
+			}
+		}
+	}
+
+	public void readDeltas(Collection<IIndexDelta> deltas) throws IOException,
+			PersistenceException {
+		final int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			final Kind kind = readKind();
+			final IRodinElement element = readElement();
+			deltas.add(new IndexDelta(element, kind));
+		}
+	}
+
+	private Kind readKind() throws IOException, PersistenceException {
+		try {
+			return Kind.valueOf(readString());
+		} catch (IllegalArgumentException e) {
+			throw new PersistenceException();
+		}
+	}
+
+	public ProjectIndexManager readPIM() throws IOException,
+			PersistenceException {
+		final IRodinProject project = readProject();
+		final RodinIndex index = new RodinIndex();
+		readDescriptors(index);
+		final ExportTable exportTable = new ExportTable();
+		readExportTable(exportTable);
+		final TotalOrder<IRodinFile> order = new TotalOrder<IRodinFile>();
+		readOrder(order);
+		final List<IRodinFile> unprocessedFiles = readFiles();
+		return new ProjectIndexManager(project, index, exportTable, order,
+				unprocessedFiles);
+	}
+
+	private void readDescriptors(RodinIndex index) throws IOException,
+			PersistenceException {
+		final int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			final IDeclaration declaration = readDeclaration();
+			final Descriptor desc = index.makeDescriptor(declaration);
+			final int occCount = in.readInt();
+			for (int j = 0; j < occCount; j++) {
+				final IOccurrenceKind kind = RodinCore
+						.getOccurrenceKind(readString());
+				if (kind == null) {
+					throw new PersistenceException();
+				}
+				final IInternalLocation location = readLocation();
+				desc.addOccurrence(new Occurrence(kind, location, declaration));
+			}
+		}
+	}
+
+	private IDeclaration readDeclaration() throws IOException,
+			PersistenceException {
+		final IInternalElement element = readElement(IInternalElement.class);
+		final String name = readString();
+		return new Declaration(element, name);
+	}
+
+	private IInternalLocation readLocation() throws IOException,
+			PersistenceException {
+		final IInternalElement element = readElement(IInternalElement.class);
+		final byte locationKind = in.readByte();
+		switch (locationKind) {
+		case ELEMENT_LOCATION:
+			return new InternalLocation(element);
+		case ATTRIBUTE_LOCATION:
+			final IAttributeType attType = RodinCore
+					.getAttributeType(readString());
+			return new AttributeLocation(element, attType);
+		case SUBSTRING_LOCATION:
+			final IAttributeType.String stringType = RodinCore
+					.getStringAttrType(readString());
+			final int charStart = in.readInt();
+			final int charEnd = in.readInt();
+			return new AttributeSubstringLocation(element, stringType,
+					charStart, charEnd);
+		default:
+			throw new PersistenceException();
+		}
+	}
+
+	private void readExportTable(ExportTable exportTable) throws IOException,
+			PersistenceException {
+		final int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			final IRodinFile file = readElement(IRodinFile.class);
+			final int exportedCount = in.readInt();
+			for (int j = 0; j < exportedCount; j++) {
+				exportTable.add(file, readDeclaration());
+			}
+		}
+	}
+
+	private void readOrder(TotalOrder<IRodinFile> order) throws IOException,
+			PersistenceException {
+		final boolean isSorted = in.readBoolean();
+		final int size = in.readInt();
+		final List<Node<IRodinFile>> nodes = new ArrayList<Node<IRodinFile>>(
+				size);
+		final Map<IRodinFile, List<IRodinFile>> predMap = new HashMap<IRodinFile, List<IRodinFile>>();
+		for (int i = 0; i < size; i++) {
+			final IRodinFile label = readElement(IRodinFile.class);
+			final Node<IRodinFile> node = new Node<IRodinFile>(label);
+			node.setMark(in.readBoolean());
+			node.setOrderPos(in.readInt());
+			predMap.put(label, readFiles());
+			nodes.add(node);
+		}
+		final List<IRodinFile> iterated = readFiles();
+		final PersistentTotalOrder<IRodinFile> pto = new PersistentTotalOrder<IRodinFile>(
+				isSorted, nodes, iterated);
+		order.setPersistentData(pto, predMap);
+	}
+
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 ISP RAS and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     ISP RAS - initial API and implementation
+ *******************************************************************************/
+package org.rodinp.internal.core.indexer.persistence.bin;
+
+import static org.rodinp.internal.core.indexer.persistence.bin.BinaryPersistor.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.rodinp.core.IAttributeType;
+import org.rodinp.core.IRodinElement;
+import org.rodinp.core.IRodinFile;
+import org.rodinp.core.indexer.IDeclaration;
+import org.rodinp.core.indexer.IOccurrence;
+import org.rodinp.core.location.IAttributeLocation;
+import org.rodinp.core.location.IAttributeSubstringLocation;
+import org.rodinp.core.location.IInternalLocation;
+import org.rodinp.internal.core.indexer.Descriptor;
+import org.rodinp.internal.core.indexer.IIndexDelta;
+import org.rodinp.internal.core.indexer.Registry;
+import org.rodinp.internal.core.indexer.persistence.PersistentPIM;
+import org.rodinp.internal.core.indexer.persistence.PersistentTotalOrder;
+import org.rodinp.internal.core.indexer.sort.Node;
+import org.rodinp.internal.core.indexer.tables.IExportTable;
+
+/**
+ * Writes index data in binary format. Every string is written in full only
+ * once, later occurrences being replaced by their index in a dictionary.
+ * Handle identifiers share long prefixes, but are repeated many times in an
+ * index, which makes this format much more compact than XML.
+ *
+ * @see BinaryReader
+ */
+public class BinaryWriter {
+
+	private final DataOutputStream out;
+
+	private final Map<String, Integer> dictionary = new HashMap<String, Integer>();
+
+	public BinaryWriter(DataOutputStream out) {
+		this.out = out;
+	}
+
+	public void writeHeader(byte kind) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeByte(kind);
+	}
+
+	public void writeString(String string) throws IOException {
+		final Integer index = dictionary.get(string);
+		if (index != null) {
+			out.writeInt(index);
+			return;
+		}
+		final int newIndex = dictionary.size();
+		dictionary.put(string, newIndex);
+		out.writeInt(newIndex);
+		out.writeUTF(string);
+	}
+
+	public void writeElement(IRodinElement element) throws IOException {
+		writeString(element.getHandleIdentifier());
+	}
+
+	public void writeElements(Collection<? extends IRodinElement> elements)
+			throws IOException {
+		out.writeInt(elements.size());
+		for (IRodinElement element : elements) {
+			writeElement(element);
+		}
+	}
+
+	public void writeRegistry(Registry<String, String> registry)
+			throws IOException {
+		final Set<Entry<String, List<String>>> entries = registry.entrySet();
+		out.writeInt(entries.size());
+		for (Entry<String, List<String>> entry : entries) {
+			writeString(entry.getKey());
+			out.writeInt(entry.getValue().size());
+			for (String indexerId : entry.getValue()) {
+				writeString(indexerId);
+			}
+		}
+	}
+
+	public void writeDeltas(Collection<IIndexDelta> deltas)
+			throws IOException {
+		out.writeInt(deltas.size());
+		for (IIndexDelta delta : deltas) {
+			writeString(delta.getKind().toString());
+			writeElement(delta.getElement());
+		}
+	}
+
+	public void writePIM(PersistentPIM pim) throws IOException {
+		writeElement(pim.getProject());
+		writeDescriptors(pim.getDescriptors());
+		writeExportTable(pim.getExportTable());
+		writeOrder(pim.getOrder());
+		writeElements(pim.getUnprocessedFiles());
+	}
+
+	private void writeDescriptors(Descriptor[] descriptors)
+			throws IOException {
+		out.writeInt(descriptors.length);
+		for (Descriptor desc : descriptors) {
+			writeDeclaration(desc.getDeclaration());
+			final Set<IOccurrence> occurrences = desc.getOccurrences();
+			out.writeInt(occurrences.size());
+			for (IOccurrence occurrence : occurrences) {
+				writeString(occurrence.getKind().getId());
+				writeLocation(occurrence.getLocation());
+			}
+		}
+	}
+
+	private void writeDeclaration(IDeclaration declaration)
+			throws IOException {
+		writeElement(declaration.getElement());
+		writeString(declaration.getName());
+	}
+
+	private void writeLocation(IInternalLocation location) throws IOException {
+		writeElement(location.getElement());
+		if (location instanceof IAttributeSubstringLocation) {
+			final IAttributeSubstringLocation attSubLoc = (IAttributeSubstringLocation) location;
+			out.writeByte(SUBSTRING_LOCATION);
+			writeAttributeType(attSubLoc.getAttributeType());
+			out.writeInt(attSubLoc.getCharStart());
+			out.writeInt(attSubLoc.getCharEnd());
+		} else if (location instanceof IAttributeLocation) {
+			final IAttributeLocation attLoc = (IAttributeLocation) location;
+			out.writeByte(ATTRIBUTE_LOCATION);
+			writeAttributeType(attLoc.getAttributeType());
+		} else {
+			out.writeByte(ELEMENT_LOCATION);
+		}
+	}
+
+	private void writeAttributeType(IAttributeType attType)
+			throws IOException {
+		writeString(attType.getId());
+	}
+
+	private void writeExportTable(IExportTable exportTable)
+			throws IOException {
+		final Set<IRodinFile> files = exportTable.files();
+		out.writeInt(files.size());
+		for (IRodinFile file : files) {
+			writeElement(file);
+			final Set<IDeclaration> exported = exportTable.get(file);
+			out.writeInt(exported.size());
+			for (IDeclaration declaration : exported) {
+				writeDeclaration(declaration);
+			}
+		}
+	}
+
+	private void writeOrder(PersistentTotalOrder<IRodinFile> order)
+			throws IOException {
+		out.writeBoolean(order.isSorted());
+		final Collection<Node<IRodinFile>> nodes = order.getNodes();
+		out.writeInt(nodes.size());
+		for (Node<IRodinFile> node : nodes) {
+			writeElement(node.getLabel());
+			out.writeBoolean(node.isMarked());
+			out.writeInt(node.getOrderPos());
+			writeElements(node.getPredecessorLabels());
+		}
+		writeElements(order.getIterated());
+	}
+
+}
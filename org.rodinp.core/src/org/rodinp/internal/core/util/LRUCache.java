@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     ETH Zurich - adapted from org.eclipse.jdt.internal.core.util.LRUCache
+ *     ISP RAS - added entry space and cache statistics
  *******************************************************************************/
 package org.rodinp.internal.core.util;
 
@@ -28,8 +29,10 @@ import org.rodinp.core.IRodinElement;
  * The data structure is based on the LRU virtual memory paging scheme.
  * </p>
  * <p>
- * Every object takes up an amount of cache space of one. Hence, the notion of
- * used space is actually a number of hardly cached elements.
+ * Every object takes up an amount of cache space given by
+ * <code>spaceFor(Object, Object)</code>, which is one by default. In this
+ * latter case, the notion of used space is actually a number of hardly cached
+ * elements.
  * </p>
  * <p>
  * This implementation is NOT thread-safe. Synchronization wrappers would have
@@ -63,6 +66,17 @@ public class LRUCache<K, V> implements Cloneable {
 		 */
 		public int _fTimestamp;
 
+		/**
+		 * Cache space used by this entry
+		 */
+		public int _fSpace;
+
+		/**
+		 * Priority for keeping this entry in the cache, used by subclasses
+		 * that do not evict entries in plain LRU order
+		 */
+		public double _fCredit;
+
 		/**
 		 * Previous entry in queue
 		 */
@@ -80,8 +94,17 @@ public class LRUCache<K, V> implements Cloneable {
 		 * key, value, and space.
 		 */
 		public LRUCacheEntry(KI key, VI value, boolean isHard) {
+			this(key, value, 1, isHard);
+		}
+
+		/**
+		 * Creates a new instance of the receiver with the provided values for
+		 * key, value, and space.
+		 */
+		public LRUCacheEntry(KI key, VI value, int space, boolean isHard) {
 			_fKey = key;
 			_fValue = value;
+			_fSpace = space;
 			this.isHard = isHard;
 		}
 
@@ -107,10 +130,16 @@ public class LRUCache<K, V> implements Cloneable {
 		private final Hashtable<K, LRUCacheEntry<K, V>> fEntryTable;
 		
 		private final Hashtable<K, SoftReference<V>> softEntryTable = new Hashtable<K, SoftReference<V>>();
-		
+
+		/**
+		 * Space used by the entries of the hard cache
+		 */
+		private int fCurrentSpace;
+
 		public HardAndSoftCache(int hardSize) {
 			fSpaceLimit = hardSize;
-			fEntryTable = new Hashtable<K, LRUCacheEntry<K, V>>(hardSize);
+			fEntryTable = new Hashtable<K, LRUCacheEntry<K, V>>(Math.min(
+					hardSize, DEFAULT_SPACELIMIT));
 		}
 		
 		public LRUCacheEntry<K, V> getEntry(K key) {
@@ -138,32 +167,59 @@ public class LRUCache<K, V> implements Cloneable {
 		}
 		
 		public void putEntry(LRUCacheEntry<K, V> entry) {
-			fEntryTable.put(entry._fKey, entry);
+			final LRUCacheEntry<K, V> old = fEntryTable.put(entry._fKey, entry);
+			if (old != null) {
+				fCurrentSpace -= old._fSpace;
+			}
+			fCurrentSpace += entry._fSpace;
 		}
 		
 		public void removeEntry(K key) {
-			fEntryTable.remove(key);
+			removeHard(key);
 			softEntryTable.remove(key);
 		}
+
+		private LRUCacheEntry<K, V> removeHard(K key) {
+			final LRUCacheEntry<K, V> entry = fEntryTable.remove(key);
+			if (entry != null) {
+				fCurrentSpace -= entry._fSpace;
+			}
+			return entry;
+		}
 		
 		public void moveToSoft(K key) {
 			softEntryTable.remove(key);
-			final LRUCacheEntry<K, V> entry = fEntryTable.remove(key);
+			final LRUCacheEntry<K, V> entry = removeHard(key);
 			if (entry == null) {
 				return;
 			}
 			softEntryTable.put(key, new SoftReference<V>(entry._fValue));
 		}
+
+		/**
+		 * Changes the space used by the given entry of the hard cache.
+		 */
+		public void resize(LRUCacheEntry<K, V> entry, int newSpace) {
+			if (fEntryTable.get(entry._fKey) == entry) {
+				fCurrentSpace += newSpace - entry._fSpace;
+			}
+			entry._fSpace = newSpace;
+		}
 		
 		public void clear() {
 			fEntryTable.clear();
 			softEntryTable.clear();
+			fCurrentSpace = 0;
 		}
 		
 		public int getHardSize() {
 			return fEntryTable.size();
 		}
 
+		public int getCurrentSpace() {
+			return fCurrentSpace;
+		}
+
 		public int getSpaceLimit() {
 			return fSpaceLimit;
 		}
@@ -195,6 +251,21 @@ public class LRUCache<K, V> implements Cloneable {
 	 */
 	protected static final int DEFAULT_SPACELIMIT = 100;
 
+	/**
+	 * Number of successful lookups
+	 */
+	protected int fHits;
+
+	/**
+	 * Number of unsuccessful lookups
+	 */
+	protected int fMisses;
+
+	/**
+	 * Number of entries removed from the hard cache to make space
+	 */
+	protected int fEvictions;
+
 	/**
 	 * Creates a new cache. Size of cache is defined by
 	 * <code>DEFAULT_SPACELIMIT</code>.
@@ -278,8 +349,10 @@ public class LRUCache<K, V> implements Cloneable {
 
 		LRUCacheEntry<K, V> entry = cache.getEntry(key);
 		if (entry == null) {
+			fMisses++;
 			return null;
 		}
+		fHits++;
 		if (entry.isHard) {
 			this.updateTimestamp(entry);
 		} else {
@@ -293,9 +366,38 @@ public class LRUCache<K, V> implements Cloneable {
 	 * Returns the amount of space that is current used in the cache.
 	 */
 	public int getCurrentSpace() {
+		return cache.getCurrentSpace();
+	}
+
+	/**
+	 * Returns the number of entries that are currently in the hard cache.
+	 */
+	public int getEntryCount() {
 		return cache.getHardSize();
 	}
 
+	/**
+	 * Returns the number of lookups that found a value in this cache.
+	 */
+	public int getHits() {
+		return fHits;
+	}
+
+	/**
+	 * Returns the number of lookups that did not find any value in this cache.
+	 */
+	public int getMisses() {
+		return fMisses;
+	}
+
+	/**
+	 * Returns the number of entries that were removed from the hard cache to
+	 * make space for other entries.
+	 */
+	public int getEvictions() {
+		return fEvictions;
+	}
+
 	/**
 	 * Returns the maximum amount of space available in the cache.
 	 */
@@ -380,10 +482,44 @@ public class LRUCache<K, V> implements Cloneable {
 
 		LRUCacheEntry<K, V> entry;
 
-		entry = new LRUCacheEntry<K, V>(key, value, true);
+		entry = new LRUCacheEntry<K, V>(key, value, spaceFor(key, value), true);
 		this.privateAddEntry(entry, false);
 	}
 
+	/**
+	 * Returns the space taken in this cache by the given value. Subclasses
+	 * that do not count entries must override this method.
+	 * 
+	 * @param key
+	 *            key of the value
+	 * @param value
+	 *            value to measure
+	 * @return the space used by the value, which must be positive
+	 */
+	protected int spaceFor(K key, V value) {
+		return 1;
+	}
+
+	/**
+	 * Replaces the value of the given hard entry, updating the used space.
+	 */
+	protected void setValue(LRUCacheEntry<K, V> entry, V value) {
+		entry._fValue = value;
+		cache.resize(entry, spaceFor(entry._fKey, value));
+	}
+
+	/**
+	 * Recomputes the space taken by all entries of the hard cache. This is
+	 * needed when the space used by a value changes while it is in the cache.
+	 */
+	protected void updateSpaces() {
+		LRUCacheEntry<K, V> entry = fEntryQueue;
+		while (entry != null) {
+			cache.resize(entry, spaceFor(entry._fKey, entry._fValue));
+			entry = entry._fNext;
+		}
+	}
+
 	/**
 	 * Adds the given entry from the receiver.
 	 * 
@@ -414,6 +550,7 @@ public class LRUCache<K, V> implements Cloneable {
 	protected void removeForSpace(LRUCacheEntry<K, V> entry) {
 		queueRemove(entry);
 		cache.moveToSoft(entry._fKey);
+		fEvictions++;
 	}
 	
 	/**
@@ -474,13 +611,13 @@ public class LRUCache<K, V> implements Cloneable {
 
 			if (entry.isHard && getCurrentSpace() <= getSpaceLimit()) {
 				updateTimestamp(entry);
-				entry._fValue = value;
+				setValue(entry, value);
 				return value;
 			} else {
 				privateRemoveEntry(entry, false);
 			}
 		}
-		if (makeSpace(1)) {
+		if (makeSpace(spaceFor(key, value))) {
 			privateAdd(key, value);
 		}
 		return value;
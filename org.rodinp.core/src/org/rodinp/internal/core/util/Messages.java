@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     ETH Zurich - adapted from org.eclipse.jdt.internal.core.util.Messages
  *     Systerel - added clear() method
  *     Systerel - separation of file and root element
+ *     ISP RAS - added element tree builder
  *******************************************************************************/
 package org.rodinp.internal.core.util;
 
@@ -43,6 +44,7 @@ public final class Messages {
 	public static String element_doesNotExist;
 	public static String element_invalidResourceForProject;
 	
+	public static String operation_buildElementTreeProgress;
 	public static String operation_cancelled;
 	public static String operation_changeElementAttributeProgress;
 	public static String operation_changeElementContentsProgress;